@@ -0,0 +1,99 @@
+package com.ainan.ecommforallbackend.domain.pricing.service;
+
+import com.ainan.ecommforallbackend.core.config.PricingProperties;
+import com.ainan.ecommforallbackend.domain.pricing.dto.PriceBreakdown;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prices one cart with a plan holding a few regions, shipping tiers and promotions. The
+ * {@code bigDecimalBaseline} is the stream-of-BigDecimal loop that {@code Order.calculateTotals}
+ * used before the plan, for comparison.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec}; add {@code -Djmh.args="-prof gc"} to
+ * check the allocation rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PricingPlanBenchmark {
+
+    @Param({"5", "50"})
+    private int lines;
+
+    private PricingPlan plan;
+    private List<Line> cart;
+    private long[] unitPriceCents;
+    private int[] quantities;
+
+    @Setup
+    public void setUp() {
+        PricingProperties properties = new PricingProperties();
+        properties.getTax().getRegions().putAll(Map.of("DE", new BigDecimal("0.19"), "FR", new BigDecimal("0.20"),
+                "US-CA", new BigDecimal("0.0725")));
+        List<PricingProperties.ShippingTier> tiers = new ArrayList<>();
+        for (String[] tier : new String[][]{{"0", "4.99"}, {"25", "2.99"}, {"50", "0"}}) {
+            PricingProperties.ShippingTier shippingTier = new PricingProperties.ShippingTier();
+            shippingTier.setMinSubtotal(new BigDecimal(tier[0]));
+            shippingTier.setCost(new BigDecimal(tier[1]));
+            tiers.add(shippingTier);
+        }
+        properties.setShippingTiers(tiers);
+        PricingProperties.Promotion promotion = new PricingProperties.Promotion();
+        promotion.setName("ten-off-100");
+        promotion.setMinSubtotal(new BigDecimal("100"));
+        promotion.setPercentOff(new BigDecimal("0.10"));
+        properties.setPromotions(List.of(promotion));
+        plan = PricingPlan.compile(properties);
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        cart = new ArrayList<>(lines);
+        unitPriceCents = new long[lines];
+        quantities = new int[lines];
+        for (int i = 0; i < lines; i++) {
+            unitPriceCents[i] = random.nextLong(100, 20_000);
+            quantities[i] = random.nextInt(1, 4);
+            cart.add(new Line(BigDecimal.valueOf(unitPriceCents[i], 2), quantities[i]));
+        }
+    }
+
+    @Benchmark
+    public PriceBreakdown cartLines() {
+        return plan.evaluate(cart, line -> PricingPlan.toCents(line.price()), Line::quantity, "DE");
+    }
+
+    @Benchmark
+    public PriceBreakdown centArrays() {
+        return plan.evaluate(unitPriceCents, quantities, lines, "DE");
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalBaseline() {
+        BigDecimal subtotal = cart.stream()
+                .map(line -> line.price().multiply(BigDecimal.valueOf(line.quantity())))
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return subtotal.add(subtotal.multiply(new BigDecimal("0.10")));
+    }
+
+    private record Line(BigDecimal price, int quantity) {
+    }
+}
@@ -0,0 +1,20 @@
+package com.ainan.ecommforallbackend.core.config;
+
+import com.ainan.ecommforallbackend.domain.pricing.service.PricingPlan;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(PricingProperties.class)
+@Slf4j
+public class PricingConfig {
+
+    @Bean
+    public PricingPlan pricingPlan(PricingProperties properties) {
+        PricingPlan plan = PricingPlan.compile(properties);
+        log.info("Compiled pricing plan: {}", plan);
+        return plan;
+    }
+}
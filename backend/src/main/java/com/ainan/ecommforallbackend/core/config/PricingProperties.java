@@ -0,0 +1,54 @@
+package com.ainan.ecommforallbackend.core.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pricing rules as configured under {@code pricing.*}. They are only read once, when
+ * {@link PricingConfig} compiles them into the {@code PricingPlan} used for carts and orders.
+ * Rates are fractions ({@code 0.19} for 19%); amounts are in the store currency.
+ */
+@Data
+@ConfigurationProperties(prefix = "pricing")
+public class PricingProperties {
+
+    private Tax tax = new Tax();
+    private List<ShippingTier> shippingTiers = new ArrayList<>();
+    private List<Promotion> promotions = new ArrayList<>();
+
+    @Data
+    public static class Tax {
+        // Applies to orders without a region or with a region that has no rate of its own
+        private BigDecimal defaultRate = new BigDecimal("0.10");
+        // Region code (e.g. DE, US-CA) to rate
+        private Map<String, BigDecimal> regions = new HashMap<>();
+        private boolean includeShipping = false;
+    }
+
+    /**
+     * Shipping cost for merchandise totals from {@code minSubtotal} up to the next tier.
+     */
+    @Data
+    public static class ShippingTier {
+        private BigDecimal minSubtotal = BigDecimal.ZERO;
+        private BigDecimal cost = BigDecimal.ZERO;
+    }
+
+    /**
+     * Automatic discount for subtotals of at least {@code minSubtotal}: {@code percentOff} of the
+     * subtotal plus {@code amountOff}. Only the largest applicable promotion is granted.
+     */
+    @Data
+    public static class Promotion {
+        private String name;
+        private BigDecimal minSubtotal = BigDecimal.ZERO;
+        private BigDecimal percentOff = BigDecimal.ZERO;
+        private BigDecimal amountOff = BigDecimal.ZERO;
+    }
+}
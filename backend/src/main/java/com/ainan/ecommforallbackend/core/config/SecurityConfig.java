@@ -81,6 +81,7 @@ public class SecurityConfig {
                         // public endpoints
                         .requestMatchers("/api/auth/**", "/swagger-ui.html", "/swagger-ui/**", "/v3/api-docs/**", "/error")
                         .permitAll()
+                        .requestMatchers("/api/cart/guest", "/api/cart/guest/**").permitAll()
                         .requestMatchers(HttpMethod.GET,
                                 "/api/products/**",
                                 "/api/categories/**",
@@ -89,10 +90,12 @@ public class SecurityConfig {
                                 "/api/variant-images/**",
                                 "/api/variants/**",
                                 "/api/ai/similar-products/**",
-                                "/api/review/*/reviews")
+                                "/api/review/*/reviews",
+                                "/api/storage/**")
                         .permitAll()
                         // admin only endpoints
                         .requestMatchers("/api/users/**").hasRole("ADMIN")
+                        .requestMatchers("/actuator/jobs/**", "/actuator/metrics/**").hasRole("ADMIN")
                         // all other requests require authentication
                         .anyRequest().authenticated())
                 .addFilterBefore(jwtAuthenticationFilter(), UsernamePasswordAuthenticationFilter.class)
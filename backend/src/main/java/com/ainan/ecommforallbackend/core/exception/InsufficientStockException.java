@@ -0,0 +1,27 @@
+package com.ainan.ecommforallbackend.core.exception;
+
+import com.ainan.ecommforallbackend.domain.inventory.dto.StockShortageDto;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Getter
+public class InsufficientStockException extends IllegalStateException {
+    private final List<StockShortageDto> shortages;
+
+    public InsufficientStockException(List<StockShortageDto> shortages) {
+        super("Insufficient stock for: " + shortages.stream()
+                .map(InsufficientStockException::describe)
+                .collect(Collectors.joining(", ")));
+        this.shortages = shortages;
+    }
+
+    private static String describe(StockShortageDto shortage) {
+        String item = shortage.getVariantId() != null
+                ? "Product variant: " + shortage.getVariantId()
+                : "Product: " + shortage.getProductId();
+        String available = shortage.getAvailable() != null ? shortage.getAvailable().toString() : "not found";
+        return item + " (requested: " + shortage.getRequested() + ", available: " + available + ")";
+    }
+}
@@ -0,0 +1,98 @@
+package com.ainan.ecommforallbackend.core.util;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Compact membership set for object keys. Only a 64-bit hash of each key is kept, in an
+ * open-addressing {@code long[]}, so a million keys cost about 16 MB instead of the hundreds of
+ * megabytes a {@code HashSet<String>} would need.
+ * <p>
+ * A hash collision makes {@link #contains} report a key that was never added. Callers must only
+ * use this where a false positive is the safe outcome (e.g. "still referenced, keep it").
+ */
+public class HashedKeySet {
+    private static final long EMPTY = 0L;
+    private static final double MAX_LOAD = 0.6;
+
+    private long[] slots;
+    private int size;
+    private boolean containsZeroHash;
+
+    public HashedKeySet(int expectedSize) {
+        slots = new long[tableSizeFor(expectedSize)];
+    }
+
+    public void add(String key) {
+        long hash = hash(key);
+        if (hash == EMPTY) {
+            containsZeroHash = true;
+            return;
+        }
+        if (insert(slots, hash)) {
+            size++;
+            if (size > slots.length * MAX_LOAD) {
+                grow();
+            }
+        }
+    }
+
+    public boolean contains(String key) {
+        long hash = hash(key);
+        if (hash == EMPTY) {
+            return containsZeroHash;
+        }
+        int mask = slots.length - 1;
+        for (int i = (int) hash & mask; ; i = (i + 1) & mask) {
+            if (slots[i] == hash) {
+                return true;
+            }
+            if (slots[i] == EMPTY) {
+                return false;
+            }
+        }
+    }
+
+    public int size() {
+        return size + (containsZeroHash ? 1 : 0);
+    }
+
+    private void grow() {
+        long[] grown = new long[slots.length * 2];
+        for (long hash : slots) {
+            if (hash != EMPTY) {
+                insert(grown, hash);
+            }
+        }
+        slots = grown;
+    }
+
+    private static boolean insert(long[] table, long hash) {
+        int mask = table.length - 1;
+        for (int i = (int) hash & mask; ; i = (i + 1) & mask) {
+            if (table[i] == hash) {
+                return false;
+            }
+            if (table[i] == EMPTY) {
+                table[i] = hash;
+                return true;
+            }
+        }
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        int needed = (int) Math.ceil(Math.max(expectedSize, 16) / MAX_LOAD);
+        return Integer.highestOneBit(needed - 1) << 1;
+    }
+
+    // 64-bit FNV-1a over the UTF-8 bytes, finished with a splitmix64 mix so low bits spread well
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= (b & 0xff);
+            h *= 0x100000001b3L;
+        }
+        h = (h ^ (h >>> 30)) * 0xbf58476d1ce4e5b9L;
+        h = (h ^ (h >>> 27)) * 0x94d049bb133111ebL;
+        return h ^ (h >>> 31);
+    }
+}
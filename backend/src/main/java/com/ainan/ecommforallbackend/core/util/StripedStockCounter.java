@@ -0,0 +1,120 @@
+package com.ainan.ecommforallbackend.core.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free stock counter split across several stripes so concurrent buyers of the same SKU CAS on
+ * different cache lines instead of all contending on one value.
+ * <p>
+ * Each thread starts at a stripe derived from its id and only walks to other stripes when its own
+ * runs dry. Quantities larger than one stripe's remainder are gathered from several stripes and
+ * handed back if the total is still insufficient, so the counter never goes negative.
+ */
+public class StripedStockCounter {
+    // 8 longs = 64 bytes, so neighbouring stripes never share a cache line
+    private static final int PADDING = 8;
+
+    private final AtomicLongArray cells;
+    private final int stripes;
+
+    public StripedStockCounter(long initial, int stripes) {
+        if (initial < 0 || stripes <= 0) {
+            throw new IllegalArgumentException("Initial stock must be >= 0 and stripes > 0");
+        }
+        this.stripes = stripes;
+        this.cells = new AtomicLongArray(stripes * PADDING);
+        for (int i = 0; i < stripes; i++) {
+            cells.set(i * PADDING, initial / stripes + (i < initial % stripes ? 1 : 0));
+        }
+    }
+
+    /**
+     * Takes {@code quantity} units if that many are available.
+     *
+     * @return true if the units were taken
+     */
+    public boolean tryAcquire(long quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive");
+        }
+        int home = homeStripe();
+        if (tryTake(home, quantity)) {
+            return true;
+        }
+        // Slow path: gather from all stripes, then give everything back if it was not enough
+        long taken = 0;
+        for (int i = 0; i < stripes && taken < quantity; i++) {
+            taken += takeUpTo((home + i) % stripes, quantity - taken);
+        }
+        if (taken == quantity) {
+            return true;
+        }
+        if (taken > 0) {
+            cells.addAndGet(home * PADDING, taken);
+        }
+        return false;
+    }
+
+    /**
+     * Returns units, e.g. when the order that acquired them rolls back.
+     */
+    public void release(long quantity) {
+        if (quantity > 0) {
+            cells.addAndGet(homeStripe() * PADDING, quantity);
+        }
+    }
+
+    /**
+     * Takes every remaining unit, leaving the counter at zero.
+     */
+    public long drain() {
+        long drained = 0;
+        for (int i = 0; i < stripes; i++) {
+            drained += cells.getAndSet(i * PADDING, 0);
+        }
+        return drained;
+    }
+
+    /**
+     * Sum of all stripes. Only a snapshot while other threads are acquiring.
+     */
+    public long available() {
+        long sum = 0;
+        for (int i = 0; i < stripes; i++) {
+            sum += cells.get(i * PADDING);
+        }
+        return sum;
+    }
+
+    private boolean tryTake(int stripe, long quantity) {
+        int index = stripe * PADDING;
+        while (true) {
+            long current = cells.get(index);
+            if (current < quantity) {
+                return false;
+            }
+            if (cells.compareAndSet(index, current, current - quantity)) {
+                return true;
+            }
+        }
+    }
+
+    private long takeUpTo(int stripe, long wanted) {
+        int index = stripe * PADDING;
+        while (true) {
+            long current = cells.get(index);
+            if (current <= 0) {
+                return 0;
+            }
+            long take = Math.min(current, wanted);
+            if (cells.compareAndSet(index, current, current - take)) {
+                return take;
+            }
+        }
+    }
+
+    private int homeStripe() {
+        // Fibonacci hashing spreads sequential thread ids evenly over the stripes
+        return (int) ((Thread.currentThread().getId() * 0x9E3779B97F4A7C15L) >>> 40) % stripes;
+    }
+}
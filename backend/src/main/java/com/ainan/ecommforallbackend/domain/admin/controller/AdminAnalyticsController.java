@@ -0,0 +1,57 @@
+package com.ainan.ecommforallbackend.domain.admin.controller;
+
+import com.ainan.ecommforallbackend.domain.analytics.dto.SalesRollupDto;
+import com.ainan.ecommforallbackend.domain.analytics.dto.SalesSummaryDto;
+import com.ainan.ecommforallbackend.domain.analytics.entity.RollupGranularity;
+import com.ainan.ecommforallbackend.domain.analytics.service.SalesRollupService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/analytics")
+@PreAuthorize("hasRole('ADMIN')")
+@RequiredArgsConstructor
+@Tag(name = "Admin Analytics", description = "Sales figures served from pre-aggregated rollups")
+public class AdminAnalyticsController {
+
+    private final SalesRollupService salesRollupService;
+
+    @GetMapping("/sales/summary")
+    @Operation(summary = "Sales summary", description = "Order count, revenue, tax and units for orders created in [from, to).")
+    public ResponseEntity<SalesSummaryDto> getSalesSummary(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(salesRollupService.getSummary(from, to));
+    }
+
+    @GetMapping("/sales/series")
+    @Operation(summary = "Sales time series", description = "Hourly or daily rollup rows per status for [from, to).")
+    public ResponseEntity<List<SalesRollupDto>> getSalesSeries(
+            @RequestParam(defaultValue = "DAY") RollupGranularity granularity,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(salesRollupService.getSeries(granularity, from, to));
+    }
+
+    @PostMapping("/rollups/backfill")
+    @Operation(summary = "Back-fill rollups", description = "Rebuilds the rollups of the days [from, to) from the orders table.")
+    public ResponseEntity<Map<String, Object>> backfill(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (!from.isBefore(to)) {
+            return ResponseEntity.badRequest().body(Map.of("message", "'from' must be before 'to'"));
+        }
+        int days = salesRollupService.backfill(from, to);
+        return ResponseEntity.ok(Map.of("message", "Rollups rebuilt", "days", days));
+    }
+}
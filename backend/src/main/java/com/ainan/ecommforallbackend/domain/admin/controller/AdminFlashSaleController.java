@@ -0,0 +1,44 @@
+package com.ainan.ecommforallbackend.domain.admin.controller;
+
+import com.ainan.ecommforallbackend.domain.inventory.dto.FlashSaleCreateDto;
+import com.ainan.ecommforallbackend.domain.inventory.dto.FlashSaleDto;
+import com.ainan.ecommforallbackend.domain.inventory.service.FlashSaleService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/admin/flash-sales")
+@PreAuthorize("hasRole('ADMIN')")
+@RequiredArgsConstructor
+@Tag(name = "Admin Flash Sales", description = "In-memory stock allocation for high-demand SKUs")
+public class AdminFlashSaleController {
+
+    private final FlashSaleService flashSaleService;
+
+    @PostMapping
+    @Operation(summary = "Start a flash sale", description = "Moves the given quantity of a variant into striped in-memory counters on this node.")
+    public ResponseEntity<FlashSaleDto> startFlashSale(@Valid @RequestBody FlashSaleCreateDto createDto) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(flashSaleService.startFlashSale(createDto));
+    }
+
+    @GetMapping
+    @Operation(summary = "List active flash sales", description = "Returns the flash sales served by this node with their remaining and unflushed quantities.")
+    public ResponseEntity<List<FlashSaleDto>> getActiveFlashSales() {
+        return ResponseEntity.ok(flashSaleService.getActiveFlashSales());
+    }
+
+    @DeleteMapping("/{variantId}")
+    @Operation(summary = "End a flash sale", description = "Flushes outstanding allocations and returns unsold units to regular stock.")
+    public ResponseEntity<FlashSaleDto> endFlashSale(@PathVariable UUID variantId) {
+        return ResponseEntity.ok(flashSaleService.endFlashSale(variantId));
+    }
+}
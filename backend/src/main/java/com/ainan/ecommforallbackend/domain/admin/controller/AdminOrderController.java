@@ -1,26 +1,42 @@
 package com.ainan.ecommforallbackend.domain.admin.controller;
 
+import com.ainan.ecommforallbackend.domain.analytics.dto.SalesWindow;
+import com.ainan.ecommforallbackend.domain.order.dto.OrderBulkPaymentUpdateDto;
+import com.ainan.ecommforallbackend.domain.order.dto.OrderBulkStatusUpdateDto;
+import com.ainan.ecommforallbackend.domain.order.dto.OrderBulkUpdateResultDto;
+import com.ainan.ecommforallbackend.domain.order.dto.OrderExportType;
+import com.ainan.ecommforallbackend.domain.order.dto.OrderListItemDto;
 import com.ainan.ecommforallbackend.domain.order.dto.OrderResponseDto;
 import com.ainan.ecommforallbackend.domain.order.dto.OrderStatusUpdateDto;
 import com.ainan.ecommforallbackend.domain.order.dto.PaymentStatusUpdateDto;
 import com.ainan.ecommforallbackend.domain.order.entity.OrderStatus;
+import com.ainan.ecommforallbackend.domain.order.service.OrderExportService;
 import com.ainan.ecommforallbackend.domain.order.service.OrderService;
 import com.ainan.ecommforallbackend.domain.product.dto.ProductSalesDto;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.server.ResponseStatusException;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
 import java.security.Principal;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
@@ -36,29 +52,35 @@ import java.util.UUID;
 public class AdminOrderController {
 
     private final OrderService orderService;
+    private final OrderExportService orderExportService;
+
+    @Value("${orders.export.timeout:30m}")
+    private Duration exportTimeout = Duration.ofMinutes(30);
 
     @GetMapping
-    @Operation(summary = "List orders", description = "Returns paginated orders for admins with sorting options.")
-    public ResponseEntity<Page<OrderResponseDto>> getAllOrders(
+    @Operation(summary = "List orders", description = "Returns paginated orders for admins with sorting options. Item details are only included with includeItems=true.")
+    public ResponseEntity<Page<OrderListItemDto>> getAllOrders(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sort,
-            @RequestParam(defaultValue = "desc") String direction) {
+            @RequestParam(defaultValue = "desc") String direction,
+            @RequestParam(defaultValue = "false") boolean includeItems) {
 
         Pageable pageable = PageRequest.of(page, size, Sort.Direction.fromString(direction), sort);
-        Page<OrderResponseDto> orders = orderService.getAllOrders(pageable);
+        Page<OrderListItemDto> orders = orderService.getAllOrders(pageable, includeItems);
         return ResponseEntity.ok(orders);
     }
 
     @GetMapping("/status/{status}")
-    @Operation(summary = "List orders by status", description = "Returns paginated orders filtered by status.")
-    public ResponseEntity<Page<OrderResponseDto>> getOrdersByStatus(
+    @Operation(summary = "List orders by status", description = "Returns paginated orders filtered by status. Item details are only included with includeItems=true.")
+    public ResponseEntity<Page<OrderListItemDto>> getOrdersByStatus(
             @PathVariable OrderStatus status,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean includeItems) {
 
-        Pageable pageable = PageRequest.of(page, size);
-        Page<OrderResponseDto> orders = orderService.getOrdersByStatus(status, pageable);
+        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
+        Page<OrderListItemDto> orders = orderService.getOrdersByStatus(status, pageable, includeItems);
         return ResponseEntity.ok(orders);
     }
 
@@ -86,6 +108,24 @@ public class AdminOrderController {
         return ResponseEntity.ok(updatedOrder);
     }
 
+    @PutMapping("/bulk/status")
+    @Operation(summary = "Bulk update order status", description = "Moves up to 1000 orders to one status, optionally setting tracking number and carrier. Invalid transitions are skipped and reported per order.")
+    public ResponseEntity<OrderBulkUpdateResultDto> bulkUpdateOrderStatus(
+            @Valid @RequestBody OrderBulkStatusUpdateDto updateDto,
+            Principal principal) {
+
+        return ResponseEntity.ok(orderService.bulkUpdateOrderStatus(updateDto, principal.getName()));
+    }
+
+    @PutMapping("/bulk/payment")
+    @Operation(summary = "Bulk update payment status", description = "Sets the payment status of up to 1000 orders. Invalid transitions are skipped and reported per order.")
+    public ResponseEntity<OrderBulkUpdateResultDto> bulkUpdatePaymentStatus(
+            @Valid @RequestBody OrderBulkPaymentUpdateDto updateDto,
+            Principal principal) {
+
+        return ResponseEntity.ok(orderService.bulkUpdatePaymentStatus(updateDto, principal.getName()));
+    }
+
     @GetMapping("/metrics")
     @Operation(summary = "Get order metrics", description = "Returns aggregate order metrics such as counts and revenue.")
     public ResponseEntity<Map<String, Object>> getOrderMetrics() {
@@ -113,12 +153,41 @@ public class AdminOrderController {
         return ResponseEntity.ok(metrics);
     }
 
+    @GetMapping("/archive/{orderId}")
+    @Operation(summary = "Get archived order", description = "Returns an order moved to the archive, with its items, as stored.")
+    public ResponseEntity<Map<String, Object>> getArchivedOrder(@PathVariable UUID orderId) {
+        return ResponseEntity.ok(orderService.getArchivedOrder(orderId));
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export orders", description = "Streams orders or order lines created between dateFrom and dateTo (inclusive) as gzip-compressed CSV.")
+    public WebAsyncTask<Void> exportOrders(
+            @RequestParam(defaultValue = "ORDERS") OrderExportType type,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateFrom,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateTo,
+            @RequestParam(required = false) OrderStatus status,
+            HttpServletResponse response) {
+        if (dateTo.isBefore(dateFrom)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "dateTo is before dateFrom");
+        }
+        String filename = String.format("%s-%s-%s.csv.gz", type.name().toLowerCase(), dateFrom, dateTo);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"");
+        response.setContentType("application/gzip");
+        // Written straight to the response so only this download gets the long timeout
+        return new WebAsyncTask<>(exportTimeout.toMillis(), () -> {
+            orderExportService.export(type, dateFrom.atStartOfDay(), dateTo.plusDays(1).atStartOfDay(),
+                    status, response.getOutputStream());
+            return null;
+        });
+    }
+
     @GetMapping("/top-selling")
-    @Operation(summary = "Get top selling products", description = "Returns top-selling products based on order history.")
+    @Operation(summary = "Get top selling products", description = "Returns the best-selling products by units sold over a sliding window (24 hours, 7 days, 30 days or all time).")
     public ResponseEntity<List<ProductSalesDto>> getTopSellingProducts(
-            @RequestParam(defaultValue = "10") int limit) {
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(defaultValue = "ALL_TIME") SalesWindow window) {
 
-        List<ProductSalesDto> topProducts = orderService.getTopSellingProducts(limit);
+        List<ProductSalesDto> topProducts = orderService.getTopSellingProducts(Math.max(1, Math.min(limit, 100)), window);
         return ResponseEntity.ok(topProducts);
     }
 }
@@ -0,0 +1,40 @@
+package com.ainan.ecommforallbackend.domain.admin.controller;
+
+import com.ainan.ecommforallbackend.domain.outbox.dto.OutboxEventDto;
+import com.ainan.ecommforallbackend.domain.outbox.service.OutboxService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/admin/outbox")
+@PreAuthorize("hasRole('ADMIN')")
+@RequiredArgsConstructor
+@Tag(name = "Admin Outbox", description = "Inspect and retry dead-lettered events")
+public class AdminOutboxController {
+
+    private final OutboxService outboxService;
+
+    @GetMapping("/dead")
+    @Operation(summary = "List dead events", description = "Returns events that exhausted their retries, newest first.")
+    public ResponseEntity<Page<OutboxEventDto>> getDeadEvents(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(outboxService.getDeadEvents(PageRequest.of(page, size)));
+    }
+
+    @PostMapping("/{eventId}/retry")
+    @Operation(summary = "Retry a dead event", description = "Puts a dead event back in the queue with a fresh attempt budget.")
+    public ResponseEntity<Map<String, String>> retryDeadEvent(@PathVariable UUID eventId) {
+        outboxService.requeueDeadEvent(eventId);
+        return ResponseEntity.accepted().body(Map.of("message", "Event requeued"));
+    }
+}
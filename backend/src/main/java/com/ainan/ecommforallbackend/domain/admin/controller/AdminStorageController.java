@@ -0,0 +1,48 @@
+package com.ainan.ecommforallbackend.domain.admin.controller;
+
+import com.ainan.ecommforallbackend.domain.product.dto.StorageGcRunDto;
+import com.ainan.ecommforallbackend.domain.product.mapper.StorageGcRunMapper;
+import com.ainan.ecommforallbackend.domain.product.repository.StorageGcRunRepository;
+import com.ainan.ecommforallbackend.domain.product.service.OrphanedObjectCollector;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/storage")
+@PreAuthorize("hasRole('ADMIN')")
+@RequiredArgsConstructor
+@Tag(name = "Admin Storage", description = "Object storage maintenance")
+public class AdminStorageController {
+
+    private final OrphanedObjectCollector orphanedObjectCollector;
+    private final StorageGcRunRepository storageGcRunRepository;
+    private final StorageGcRunMapper storageGcRunMapper;
+
+    @PostMapping("/gc")
+    @Operation(summary = "Collect orphaned objects", description = "Starts a background pass that deletes stored objects no longer referenced by any image.")
+    public ResponseEntity<Map<String, String>> collectOrphans() {
+        if (!orphanedObjectCollector.startAsync()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("message", "Orphaned object collection is already running"));
+        }
+        return ResponseEntity.accepted().body(Map.of("message", "Orphaned object collection started"));
+    }
+
+    @GetMapping("/gc/runs")
+    @Operation(summary = "List collection runs", description = "Returns recent orphaned object collection runs, newest first.")
+    public ResponseEntity<Page<StorageGcRunDto>> getRuns(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(storageGcRunRepository.findAllByOrderByStartedAtDesc(PageRequest.of(page, size))
+                .map(storageGcRunMapper::storageGcRunToStorageGcRunDto));
+    }
+}
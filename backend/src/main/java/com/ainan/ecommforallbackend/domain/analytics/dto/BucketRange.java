@@ -0,0 +1,50 @@
+package com.ainan.ecommforallbackend.domain.analytics.dto;
+
+import com.ainan.ecommforallbackend.domain.analytics.entity.RollupGranularity;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rollup rows of one granularity whose bucket starts in {@code [from, to)}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BucketRange {
+    private RollupGranularity granularity;
+    private LocalDateTime from;
+    private LocalDateTime to;
+
+    /**
+     * Covers {@code [from, to)} to the hour with as few rows as possible: whole days from day rows,
+     * the partial days at either end from hour rows.
+     */
+    public static List<BucketRange> cover(LocalDateTime from, LocalDateTime to) {
+        LocalDateTime hourFrom = from.truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime firstFullDay = hourFrom.truncatedTo(ChronoUnit.DAYS);
+        if (firstFullDay.isBefore(hourFrom)) {
+            firstFullDay = firstFullDay.plusDays(1);
+        }
+        LocalDateTime lastFullDayEnd = to.truncatedTo(ChronoUnit.DAYS);
+
+        List<BucketRange> ranges = new ArrayList<>();
+        if (firstFullDay.isBefore(lastFullDayEnd)) {
+            if (hourFrom.isBefore(firstFullDay)) {
+                ranges.add(new BucketRange(RollupGranularity.HOUR, hourFrom, firstFullDay));
+            }
+            ranges.add(new BucketRange(RollupGranularity.DAY, firstFullDay, lastFullDayEnd));
+            if (lastFullDayEnd.isBefore(to)) {
+                ranges.add(new BucketRange(RollupGranularity.HOUR, lastFullDayEnd, to));
+            }
+        } else if (hourFrom.isBefore(to)) {
+            ranges.add(new BucketRange(RollupGranularity.HOUR, hourFrom, to));
+        }
+        return ranges;
+    }
+}
@@ -0,0 +1,23 @@
+package com.ainan.ecommforallbackend.domain.analytics.dto;
+
+import com.ainan.ecommforallbackend.domain.analytics.entity.RollupGranularity;
+import com.ainan.ecommforallbackend.domain.order.entity.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesRollupDto {
+    private RollupGranularity granularity;
+    private LocalDateTime bucketStart;
+    private OrderStatus status;
+    private long orderCount;
+    private BigDecimal revenue;
+    private BigDecimal tax;
+    private long units;
+}
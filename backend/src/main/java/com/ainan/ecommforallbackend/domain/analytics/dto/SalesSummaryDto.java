@@ -0,0 +1,21 @@
+package com.ainan.ecommforallbackend.domain.analytics.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Totals for a time range. {@code orderCount} covers every status; revenue, tax and units leave
+ * out cancelled orders.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesSummaryDto {
+    private long orderCount;
+    private BigDecimal revenue = BigDecimal.ZERO;
+    private BigDecimal tax = BigDecimal.ZERO;
+    private long units;
+}
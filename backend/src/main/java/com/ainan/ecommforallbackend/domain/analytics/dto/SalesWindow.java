@@ -0,0 +1,26 @@
+package com.ainan.ecommforallbackend.domain.analytics.dto;
+
+import java.time.Duration;
+
+/**
+ * Sliding windows ending now for best-seller rankings.
+ */
+public enum SalesWindow {
+    LAST_24_HOURS(Duration.ofHours(24)),
+    LAST_7_DAYS(Duration.ofDays(7)),
+    LAST_30_DAYS(Duration.ofDays(30)),
+    ALL_TIME(null);
+
+    private final Duration length;
+
+    SalesWindow(Duration length) {
+        this.length = length;
+    }
+
+    /**
+     * @return the window length, or null for {@link #ALL_TIME}
+     */
+    public Duration getLength() {
+        return length;
+    }
+}
@@ -0,0 +1,54 @@
+package com.ainan.ecommforallbackend.domain.analytics.entity;
+
+import com.ainan.ecommforallbackend.domain.order.entity.OrderStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Orders created in one hour or day bucket, split by their current status. A status change moves an
+ * order's contribution from one row to another within its creation bucket, so summing a status
+ * over all buckets gives the live count for that status.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "order_sales_rollups", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_order_sales_rollups_bucket_status", columnNames = {"granularity", "bucket_start", "status"})
+})
+public class OrderSalesRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private UUID id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private RollupGranularity granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OrderStatus status;
+
+    @Column(name = "order_count", nullable = false)
+    private long orderCount;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal revenue;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal tax;
+
+    @Column(nullable = false)
+    private long units;
+}
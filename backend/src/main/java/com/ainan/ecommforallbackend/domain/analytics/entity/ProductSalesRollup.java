@@ -0,0 +1,51 @@
+package com.ainan.ecommforallbackend.domain.analytics.entity;
+
+import com.ainan.ecommforallbackend.domain.order.entity.OrderStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Units and revenue per product for orders created in one hour or day bucket, split by the
+ * current order status like {@link OrderSalesRollup}.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "product_sales_rollups", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_product_sales_rollups_bucket_product_status",
+                columnNames = {"granularity", "bucket_start", "product_id", "status"})
+})
+public class ProductSalesRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private UUID id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private RollupGranularity granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(name = "product_id", nullable = false)
+    private UUID productId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OrderStatus status;
+
+    @Column(nullable = false)
+    private long units;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal revenue;
+}
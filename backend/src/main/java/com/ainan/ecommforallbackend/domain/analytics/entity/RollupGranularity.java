@@ -0,0 +1,17 @@
+package com.ainan.ecommforallbackend.domain.analytics.entity;
+
+public enum RollupGranularity {
+    HOUR("hour"),
+    DAY("day");
+
+    // Unit name understood by PostgreSQL's date_trunc
+    private final String truncUnit;
+
+    RollupGranularity(String truncUnit) {
+        this.truncUnit = truncUnit;
+    }
+
+    public String getTruncUnit() {
+        return truncUnit;
+    }
+}
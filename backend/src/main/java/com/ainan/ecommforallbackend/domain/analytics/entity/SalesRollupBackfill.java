@@ -0,0 +1,31 @@
+package com.ainan.ecommforallbackend.domain.analytics.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a long-running rollup back-fill. Every day before {@code backfilled_until} has been
+ * rebuilt, and {@code completed_at} is set once the back-fill reached the day it started on. Rows
+ * are only written by {@code SalesRollupRepository}.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "sales_rollup_backfills")
+public class SalesRollupBackfill {
+    @Id
+    @Column(length = 50)
+    private String name;
+
+    @Column(name = "backfilled_until", nullable = false)
+    private LocalDate backfilledUntil;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+}
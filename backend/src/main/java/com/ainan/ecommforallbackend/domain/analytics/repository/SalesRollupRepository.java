@@ -0,0 +1,272 @@
+package com.ainan.ecommforallbackend.domain.analytics.repository;
+
+import com.ainan.ecommforallbackend.domain.analytics.dto.BucketRange;
+import com.ainan.ecommforallbackend.domain.analytics.dto.SalesRollupDto;
+import com.ainan.ecommforallbackend.domain.analytics.entity.RollupGranularity;
+import com.ainan.ecommforallbackend.domain.order.entity.OrderStatus;
+import com.ainan.ecommforallbackend.domain.product.dto.ProductSalesDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Statements maintaining and reading {@code order_sales_rollups} and {@code product_sales_rollups}.
+ * <p>
+ * Incremental updates and back-fills coordinate through table locks: an incremental update holds
+ * ROW EXCLUSIVE (so updates still run concurrently with each other) and a back-fill holds EXCLUSIVE,
+ * so a back-fill never interleaves with a half-applied event.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SalesRollupRepository {
+    private static final String GRANULARITIES = "(VALUES ('HOUR', 'hour'), ('DAY', 'day')) AS g (granularity, unit)";
+
+    // Live and archived orders created in [?, ?), and their items; each binds from, to twice
+    private static final String SOURCE_ORDERS = "src_orders AS ("
+            + "SELECT id, created_at, status, total_amount, tax FROM orders WHERE created_at >= ? AND created_at < ? "
+            + "UNION ALL "
+            + "SELECT id, created_at, status, total_amount, tax FROM order_archive WHERE created_at >= ? AND created_at < ?)";
+    private static final String SOURCE_ITEMS = "src_items AS ("
+            + "SELECT i.order_id, i.product_id, i.quantity, i.price FROM order_items i "
+            + "JOIN orders o ON o.id = i.order_id WHERE o.created_at >= ? AND o.created_at < ? "
+            + "UNION ALL "
+            + "SELECT a.id, (e ->> 'product_id')::uuid, (e ->> 'quantity')::int, (e ->> 'price')::numeric "
+            + "FROM order_archive a CROSS JOIN jsonb_array_elements(a.document -> 'items') e "
+            + "WHERE a.created_at >= ? AND a.created_at < ?)";
+
+    private static final RowMapper<SalesRollupDto> ROW_MAPPER = (rs, rowNum) -> new SalesRollupDto(
+            RollupGranularity.valueOf(rs.getString("granularity")),
+            rs.getTimestamp("bucket_start").toLocalDateTime(),
+            OrderStatus.valueOf(rs.getString("status")),
+            rs.getLong("order_count"),
+            rs.getBigDecimal("revenue"),
+            rs.getBigDecimal("tax"),
+            rs.getLong("units"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void lockForIncrementalUpdate() {
+        jdbcTemplate.execute("LOCK TABLE order_sales_rollups, product_sales_rollups IN ROW EXCLUSIVE MODE");
+    }
+
+    public void lockForBackfill() {
+        jdbcTemplate.execute("LOCK TABLE order_sales_rollups, product_sales_rollups IN EXCLUSIVE MODE");
+    }
+
+    /**
+     * Records that {@code handler} applied {@code eventId}, in the caller's transaction.
+     *
+     * @return false if the event was applied before
+     */
+    public boolean claimReceipt(UUID eventId, String handler, LocalDateTime now) {
+        return jdbcTemplate.update("INSERT INTO outbox_handler_receipts (id, event_id, handler, handled_at) "
+                + "VALUES (?, ?, ?, ?) ON CONFLICT (event_id, handler) DO NOTHING",
+                UUID.randomUUID(), eventId, handler, now) == 1;
+    }
+
+    /**
+     * Adds ({@code sign = 1}) or removes ({@code sign = -1}) one order's count, amounts and item lines
+     * to the hour and day buckets of its creation time under {@code status}.
+     */
+    public void applyOrder(UUID orderId, OrderStatus status, int sign) {
+        jdbcTemplate.update("WITH o AS (SELECT id, created_at, total_amount, tax FROM orders WHERE id = ?), "
+                        + "order_rollup AS (INSERT INTO order_sales_rollups AS r "
+                        + " (id, granularity, bucket_start, status, order_count, revenue, tax, units) "
+                        + " SELECT gen_random_uuid(), g.granularity, date_trunc(g.unit, o.created_at), ?, ?, "
+                        + " ? * o.total_amount, ? * o.tax, "
+                        + " ? * (SELECT COALESCE(SUM(i.quantity), 0) FROM order_items i WHERE i.order_id = o.id) "
+                        + " FROM o CROSS JOIN " + GRANULARITIES + " "
+                        + " ON CONFLICT (granularity, bucket_start, status) DO UPDATE SET "
+                        + " order_count = r.order_count + EXCLUDED.order_count, revenue = r.revenue + EXCLUDED.revenue, "
+                        + " tax = r.tax + EXCLUDED.tax, units = r.units + EXCLUDED.units) "
+                        + "INSERT INTO product_sales_rollups AS r (id, granularity, bucket_start, product_id, status, units, revenue) "
+                        + "SELECT gen_random_uuid(), g.granularity, date_trunc(g.unit, o.created_at), i.product_id, ?, "
+                        + " ? * SUM(i.quantity), ? * SUM(i.price * i.quantity) "
+                        + "FROM o JOIN order_items i ON i.order_id = o.id CROSS JOIN " + GRANULARITIES + " "
+                        + "WHERE i.product_id IS NOT NULL "
+                        + "GROUP BY g.granularity, g.unit, o.created_at, i.product_id "
+                        + "ON CONFLICT (granularity, bucket_start, product_id, status) DO UPDATE SET "
+                        + " units = r.units + EXCLUDED.units, revenue = r.revenue + EXCLUDED.revenue",
+                orderId, status.name(), sign, sign, sign, sign, status.name(), sign, sign);
+    }
+
+    /**
+     * Marks every not yet processed order event of orders created in {@code [from, to)} as applied
+     * by {@code handler}, so the recomputation that follows is not counted twice.
+     */
+    public int claimPendingReceipts(String handler, LocalDateTime from, LocalDateTime to, LocalDateTime now) {
+        return jdbcTemplate.update("INSERT INTO outbox_handler_receipts (id, event_id, handler, handled_at) "
+                        + "SELECT gen_random_uuid(), e.id, ?, ? FROM outbox_events e JOIN orders o ON o.id = e.aggregate_id "
+                        + "WHERE e.aggregate_type = 'Order' AND e.status IN ('PENDING', 'DEAD') "
+                        + "AND o.created_at >= ? AND o.created_at < ? "
+                        + "ON CONFLICT (event_id, handler) DO NOTHING",
+                handler, now, from, to);
+    }
+
+    /**
+     * Rebuilds every bucket in {@code [from, to)} from the orders table and the order archive. Both
+     * bounds must be bucket boundaries of the coarsest granularity.
+     */
+    public void recompute(LocalDateTime from, LocalDateTime to) {
+        jdbcTemplate.update("DELETE FROM order_sales_rollups WHERE bucket_start >= ? AND bucket_start < ?", from, to);
+        jdbcTemplate.update("DELETE FROM product_sales_rollups WHERE bucket_start >= ? AND bucket_start < ?", from, to);
+        jdbcTemplate.update("WITH " + SOURCE_ORDERS + ", " + SOURCE_ITEMS + " "
+                        + "INSERT INTO order_sales_rollups "
+                        + "(id, granularity, bucket_start, status, order_count, revenue, tax, units) "
+                        + "SELECT gen_random_uuid(), g.granularity, date_trunc(g.unit, o.created_at), o.status, "
+                        + " COUNT(*), SUM(o.total_amount), SUM(o.tax), SUM(COALESCE(u.units, 0)) "
+                        + "FROM src_orders o "
+                        + "LEFT JOIN (SELECT order_id, SUM(quantity) AS units FROM src_items GROUP BY order_id) u "
+                        + " ON u.order_id = o.id "
+                        + "CROSS JOIN " + GRANULARITIES + " "
+                        + "GROUP BY g.granularity, date_trunc(g.unit, o.created_at), o.status",
+                from, to, from, to, from, to, from, to);
+        jdbcTemplate.update("WITH " + SOURCE_ORDERS + ", " + SOURCE_ITEMS + " "
+                        + "INSERT INTO product_sales_rollups "
+                        + "(id, granularity, bucket_start, product_id, status, units, revenue) "
+                        + "SELECT gen_random_uuid(), g.granularity, date_trunc(g.unit, o.created_at), i.product_id, o.status, "
+                        + " SUM(i.quantity), SUM(i.price * i.quantity) "
+                        + "FROM src_orders o JOIN src_items i ON i.order_id = o.id "
+                        + "CROSS JOIN " + GRANULARITIES + " "
+                        + "WHERE i.product_id IS NOT NULL "
+                        + "GROUP BY g.granularity, date_trunc(g.unit, o.created_at), i.product_id, o.status",
+                from, to, from, to, from, to, from, to);
+    }
+
+    /**
+     * Where the back-fill {@code name} left off: every day before the returned one has been rebuilt.
+     */
+    public Optional<LocalDate> findBackfilledUntil(String name) {
+        return jdbcTemplate.query("SELECT backfilled_until FROM sales_rollup_backfills WHERE name = ?",
+                (rs, rowNum) -> rs.getObject("backfilled_until", LocalDate.class), name).stream().findFirst();
+    }
+
+    public boolean isBackfillComplete(String name) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM sales_rollup_backfills "
+                + "WHERE name = ? AND completed_at IS NOT NULL)", Boolean.class, name));
+    }
+
+    /**
+     * Records the progress of the back-fill {@code name}; {@code completedAt} is null while it is
+     * still running.
+     */
+    public void saveBackfillProgress(String name, LocalDate backfilledUntil, LocalDateTime completedAt) {
+        jdbcTemplate.update("INSERT INTO sales_rollup_backfills (name, backfilled_until, completed_at) VALUES (?, ?, ?) "
+                        + "ON CONFLICT (name) DO UPDATE SET backfilled_until = EXCLUDED.backfilled_until, "
+                        + "completed_at = EXCLUDED.completed_at",
+                name, backfilledUntil, completedAt);
+    }
+
+    /**
+     * Day of the oldest live or archived order, if there is any.
+     */
+    public Optional<LocalDate> findFirstOrderDay() {
+        LocalDateTime first = jdbcTemplate.queryForObject("SELECT LEAST((SELECT MIN(created_at) FROM orders), "
+                + "(SELECT MIN(created_at) FROM order_archive))", LocalDateTime.class);
+        return Optional.ofNullable(first).map(LocalDateTime::toLocalDate);
+    }
+
+    /**
+     * Per-status totals of the live and archived orders created in {@code [from, to)}, computed
+     * from the orders themselves rather than the rollups. Reported like {@link #sumByStatus}, with
+     * no granularity.
+     */
+    public List<SalesRollupDto> sumOrdersByStatus(LocalDateTime from, LocalDateTime to) {
+        return jdbcTemplate.query("WITH " + SOURCE_ORDERS + ", " + SOURCE_ITEMS + " "
+                        + "SELECT o.status, COUNT(*) AS order_count, SUM(o.total_amount) AS revenue, SUM(o.tax) AS tax, "
+                        + "SUM(COALESCE(u.units, 0)) AS units FROM src_orders o "
+                        + "LEFT JOIN (SELECT order_id, SUM(quantity) AS units FROM src_items GROUP BY order_id) u "
+                        + " ON u.order_id = o.id "
+                        + "GROUP BY o.status",
+                (rs, rowNum) -> new SalesRollupDto(null, from, OrderStatus.valueOf(rs.getString("status")),
+                        rs.getLong("order_count"), rs.getBigDecimal("revenue"), rs.getBigDecimal("tax"),
+                        rs.getLong("units")),
+                from, to, from, to, from, to, from, to);
+    }
+
+    /**
+     * Current number of live and archived orders per status, counted from the orders themselves.
+     */
+    public Map<OrderStatus, Long> countOrdersByStatus() {
+        Map<OrderStatus, Long> counts = new EnumMap<>(OrderStatus.class);
+        jdbcTemplate.query("SELECT status, COUNT(*) AS order_count FROM (SELECT status FROM orders "
+                        + "UNION ALL SELECT status FROM order_archive) o GROUP BY status",
+                rs -> {
+                    counts.put(OrderStatus.valueOf(rs.getString("status")), rs.getLong("order_count"));
+                });
+        return counts;
+    }
+
+    /**
+     * Per-status totals of the {@code granularity} buckets starting in {@code [from, to)}, reported
+     * as one row per status with {@code bucketStart = from}.
+     */
+    public List<SalesRollupDto> sumByStatus(RollupGranularity granularity, LocalDateTime from, LocalDateTime to) {
+        return jdbcTemplate.query("SELECT status, SUM(order_count) AS order_count, SUM(revenue) AS revenue, "
+                        + "SUM(tax) AS tax, SUM(units) AS units FROM order_sales_rollups "
+                        + "WHERE granularity = ? AND bucket_start >= ? AND bucket_start < ? GROUP BY status",
+                (rs, rowNum) -> new SalesRollupDto(granularity, from, OrderStatus.valueOf(rs.getString("status")),
+                        rs.getLong("order_count"), rs.getBigDecimal("revenue"), rs.getBigDecimal("tax"),
+                        rs.getLong("units")),
+                granularity.name(), from, to);
+    }
+
+    /**
+     * Current number of orders per status, over all time.
+     */
+    public Map<OrderStatus, Long> countByStatus() {
+        Map<OrderStatus, Long> counts = new EnumMap<>(OrderStatus.class);
+        jdbcTemplate.query("SELECT status, SUM(order_count) AS order_count FROM order_sales_rollups "
+                        + "WHERE granularity = 'DAY' GROUP BY status",
+                rs -> {
+                    counts.put(OrderStatus.valueOf(rs.getString("status")), rs.getLong("order_count"));
+                });
+        return counts;
+    }
+
+    /**
+     * Top {@code limit} products by units sold across {@code ranges}, leaving out cancelled orders.
+     * Each range is an index range scan on the unique key; only the grouped result is sorted.
+     */
+    public List<ProductSalesDto> findTopProducts(List<BucketRange> ranges, int limit) {
+        if (ranges.isEmpty()) {
+            return List.of();
+        }
+        StringBuilder sql = new StringBuilder("SELECT product_id, SUM(units) AS units, SUM(revenue) AS revenue "
+                + "FROM product_sales_rollups WHERE status <> 'CANCELLED' AND (");
+        List<Object> args = new ArrayList<>();
+        for (int i = 0; i < ranges.size(); i++) {
+            BucketRange range = ranges.get(i);
+            sql.append(i == 0 ? "" : " OR ").append("(granularity = ? AND bucket_start >= ? AND bucket_start < ?)");
+            args.add(range.getGranularity().name());
+            args.add(range.getFrom());
+            args.add(range.getTo());
+        }
+        sql.append(") GROUP BY product_id HAVING SUM(units) > 0 ORDER BY units DESC, product_id LIMIT ?");
+        args.add(limit);
+        return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> {
+            ProductSalesDto dto = new ProductSalesDto();
+            dto.setProductId(rs.getObject("product_id", UUID.class));
+            dto.setQuantitySold(rs.getInt("units"));
+            dto.setRevenue(rs.getBigDecimal("revenue"));
+            return dto;
+        }, args.toArray());
+    }
+
+    public List<SalesRollupDto> findSeries(RollupGranularity granularity, LocalDateTime from, LocalDateTime to) {
+        return jdbcTemplate.query("SELECT granularity, bucket_start, status, order_count, revenue, tax, units "
+                        + "FROM order_sales_rollups WHERE granularity = ? AND bucket_start >= ? AND bucket_start < ? "
+                        + "ORDER BY bucket_start, status",
+                ROW_MAPPER, granularity.name(), from, to);
+    }
+}
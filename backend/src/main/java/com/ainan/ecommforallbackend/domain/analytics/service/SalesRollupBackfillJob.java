@@ -0,0 +1,49 @@
+package com.ainan.ecommforallbackend.domain.analytics.service;
+
+import com.ainan.ecommforallbackend.domain.job.service.JobCoordinator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Back-fills the sales rollup history once after the first deploy, and reconciles the most recent
+ * days every night. Rebuilding is idempotent, so reconciliation only repairs drift (for example
+ * from orders changed by hand in the database). Both run on one node at a time.
+ */
+@Component
+@RequiredArgsConstructor
+public class SalesRollupBackfillJob {
+
+    private final SalesRollupService salesRollupService;
+    private final JobCoordinator jobCoordinator;
+
+    @Value("${analytics.rollup.reconcile-days:2}")
+    private int reconcileDays = 2;
+
+    // Retried until it completes on some node: a run can lose its lease or fail part way and the
+    // next one resumes from the recorded progress
+    @Scheduled(initialDelayString = "${analytics.rollup.history-check-delay-ms:30000}",
+            fixedDelayString = "${analytics.rollup.history-check-interval-ms:600000}")
+    public void backfillHistory() {
+        if (salesRollupService.isHistoryBackfilled()) {
+            return;
+        }
+        jobCoordinator.runExclusive("sales-rollup-history", lease -> {
+            // Another node may have finished it while this one was waiting for the lease
+            if (!salesRollupService.isHistoryBackfilled()) {
+                salesRollupService.backfillHistory(lease);
+            }
+        });
+    }
+
+    @Scheduled(cron = "${analytics.rollup.reconcile-cron:0 30 3 * * ?}")
+    public void reconcileRecentDays() {
+        jobCoordinator.runExclusive("sales-rollup-reconcile", lease -> {
+            LocalDate today = LocalDate.now();
+            salesRollupService.backfill(today.minusDays(reconcileDays), today);
+        });
+    }
+}
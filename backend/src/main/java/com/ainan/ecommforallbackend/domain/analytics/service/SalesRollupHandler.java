@@ -0,0 +1,44 @@
+package com.ainan.ecommforallbackend.domain.analytics.service;
+
+import com.ainan.ecommforallbackend.domain.order.dto.OrderEventDto;
+import com.ainan.ecommforallbackend.domain.order.entity.OrderEventType;
+import com.ainan.ecommforallbackend.domain.outbox.dto.OutboxEventDto;
+import com.ainan.ecommforallbackend.domain.outbox.service.OutboxEventHandler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Feeds order lifecycle events into the sales rollups. The rollup delta and this handler's receipt
+ * commit together, so a redelivered event is never counted twice.
+ */
+@Component
+@RequiredArgsConstructor
+public class SalesRollupHandler implements OutboxEventHandler {
+    static final String NAME = "sales-rollup";
+
+    private final SalesRollupService salesRollupService;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public boolean supports(String aggregateType, String eventType) {
+        return OrderEventType.AGGREGATE_TYPE.equals(aggregateType)
+                && !OrderEventType.PAYMENT_STATUS_CHANGED.name().equals(eventType);
+    }
+
+    @Override
+    public void handle(OutboxEventDto event) throws Exception {
+        OrderEventDto payload = objectMapper.readValue(event.getPayload(), OrderEventDto.class);
+        boolean created = OrderEventType.ORDER_CREATED.name().equals(event.getEventType());
+        if (!created && payload.getPreviousStatus() == payload.getStatus()) {
+            return;
+        }
+        salesRollupService.applyTransition(event.getId(), payload.getOrderId(),
+                created ? null : payload.getPreviousStatus(), payload.getStatus());
+    }
+}
@@ -0,0 +1,63 @@
+package com.ainan.ecommforallbackend.domain.analytics.service;
+
+import com.ainan.ecommforallbackend.domain.analytics.dto.SalesRollupDto;
+import com.ainan.ecommforallbackend.domain.analytics.dto.SalesSummaryDto;
+import com.ainan.ecommforallbackend.domain.analytics.dto.SalesWindow;
+import com.ainan.ecommforallbackend.domain.analytics.entity.RollupGranularity;
+import com.ainan.ecommforallbackend.domain.job.service.JobLease;
+import com.ainan.ecommforallbackend.domain.order.entity.OrderStatus;
+import com.ainan.ecommforallbackend.domain.product.dto.ProductSalesDto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public interface SalesRollupService {
+    /**
+     * Moves an order's contribution from {@code from} to {@code to} ({@code from} is null for a new
+     * order). Applies at most once per {@code eventId}.
+     */
+    void applyTransition(UUID eventId, UUID orderId, OrderStatus from, OrderStatus to);
+
+    /**
+     * Rebuilds the rollups of the days {@code [from, to)} from the orders table, one day per
+     * transaction.
+     *
+     * @return the number of days rebuilt
+     */
+    int backfill(LocalDate from, LocalDate to);
+
+    /**
+     * Rebuilds every day from the first order up to today, resuming where an earlier run stopped,
+     * and records that the rollups now hold the full history. Renews {@code lease} in each day's
+     * transaction.
+     *
+     * @return the number of days rebuilt by this run
+     */
+    int backfillHistory(JobLease lease);
+
+    /**
+     * Whether {@link #backfillHistory} has completed. Until then the counts and summaries below are
+     * computed from the orders themselves.
+     */
+    boolean isHistoryBackfilled();
+
+    Map<OrderStatus, Long> getOrderCountsByStatus();
+
+    /**
+     * Totals of the orders created in {@code [from, to)}, to the hour: whole days come from day
+     * rows and the partial days at either end from hour rows. Exact before the history back-fill
+     * has completed.
+     */
+    SalesSummaryDto getSummary(LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Products with the most units sold (cancelled orders excluded) in {@code window}, best first.
+     * Only ids and figures are filled in.
+     */
+    List<ProductSalesDto> getTopSellingProducts(SalesWindow window, int limit);
+
+    List<SalesRollupDto> getSeries(RollupGranularity granularity, LocalDateTime from, LocalDateTime to);
+}
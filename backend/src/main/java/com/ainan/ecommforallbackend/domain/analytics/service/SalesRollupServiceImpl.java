@@ -0,0 +1,172 @@
+package com.ainan.ecommforallbackend.domain.analytics.service;
+
+import com.ainan.ecommforallbackend.domain.analytics.dto.BucketRange;
+import com.ainan.ecommforallbackend.domain.analytics.dto.SalesRollupDto;
+import com.ainan.ecommforallbackend.domain.analytics.dto.SalesSummaryDto;
+import com.ainan.ecommforallbackend.domain.analytics.dto.SalesWindow;
+import com.ainan.ecommforallbackend.domain.analytics.entity.RollupGranularity;
+import com.ainan.ecommforallbackend.domain.analytics.repository.SalesRollupRepository;
+import com.ainan.ecommforallbackend.domain.job.service.JobLease;
+import com.ainan.ecommforallbackend.domain.order.entity.OrderStatus;
+import com.ainan.ecommforallbackend.domain.product.dto.ProductSalesDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keeps the sales rollups current from order events and answers dashboard queries from them.
+ * <p>
+ * A back-fill runs each day in a REPEATABLE READ transaction that first takes the rollup tables
+ * EXCLUSIVE, then claims the receipts of all outstanding events for that day's orders and rebuilds
+ * the day from one snapshot. Events committed before the snapshot are therefore counted by the
+ * rebuild only, and events committed after it by the handler only.
+ * <p>
+ * Rollups only hold the orders the handler has seen until the history back-fill has completed;
+ * before that, status counts and summaries are computed from the orders instead.
+ */
+@Service
+@Slf4j
+public class SalesRollupServiceImpl implements SalesRollupService {
+
+    private static final LocalDateTime ALL_TIME_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+    static final String HISTORY_BACKFILL = "history";
+
+    private final SalesRollupRepository rollupRepository;
+    private final TransactionTemplate backfillTransaction;
+
+    // Only ever goes from false to true, so once seen it no longer needs a query
+    private volatile boolean historyBackfilled;
+
+    public SalesRollupServiceImpl(SalesRollupRepository rollupRepository,
+                                  PlatformTransactionManager transactionManager) {
+        this.rollupRepository = rollupRepository;
+        this.backfillTransaction = new TransactionTemplate(transactionManager);
+        this.backfillTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    @Override
+    @Transactional
+    public void applyTransition(UUID eventId, UUID orderId, OrderStatus from, OrderStatus to) {
+        // Lock before claiming the receipt so a concurrent back-fill cannot deadlock on it
+        rollupRepository.lockForIncrementalUpdate();
+        if (!rollupRepository.claimReceipt(eventId, SalesRollupHandler.NAME, LocalDateTime.now())) {
+            return;
+        }
+        if (from != null) {
+            rollupRepository.applyOrder(orderId, from, -1);
+        }
+        rollupRepository.applyOrder(orderId, to, 1);
+    }
+
+    @Override
+    public int backfill(LocalDate from, LocalDate to) {
+        int days = 0;
+        for (LocalDate day = from; day.isBefore(to); day = day.plusDays(1)) {
+            backfillDay(day, () -> { });
+            days++;
+        }
+        log.info("Back-filled sales rollups for {} days from {}", days, from);
+        return days;
+    }
+
+    @Override
+    public int backfillHistory(JobLease lease) {
+        LocalDate until = LocalDate.now().plusDays(1);
+        LocalDate from = rollupRepository.findBackfilledUntil(HISTORY_BACKFILL)
+                .or(rollupRepository::findFirstOrderDay)
+                .orElse(until);
+        int days = 0;
+        for (LocalDate day = from; day.isBefore(until); day = day.plusDays(1)) {
+            LocalDate next = day.plusDays(1);
+            // Progress commits with the day it covers, so a run that stops resumes after it
+            backfillDay(day, () -> {
+                lease.checkpoint();
+                rollupRepository.saveBackfillProgress(HISTORY_BACKFILL, next, null);
+            });
+            days++;
+        }
+        // Orders created from here on reach the rollups through the handler
+        rollupRepository.saveBackfillProgress(HISTORY_BACKFILL, until, LocalDateTime.now());
+        historyBackfilled = true;
+        log.info("Back-filled sales rollup history for {} days from {}", days, from);
+        return days;
+    }
+
+    @Override
+    public boolean isHistoryBackfilled() {
+        if (!historyBackfilled) {
+            historyBackfilled = rollupRepository.isBackfillComplete(HISTORY_BACKFILL);
+        }
+        return historyBackfilled;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<OrderStatus, Long> getOrderCountsByStatus() {
+        return isHistoryBackfilled() ? rollupRepository.countByStatus() : rollupRepository.countOrdersByStatus();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SalesSummaryDto getSummary(LocalDateTime from, LocalDateTime to) {
+        List<SalesRollupDto> rows = new ArrayList<>();
+        if (!isHistoryBackfilled()) {
+            rows.addAll(rollupRepository.sumOrdersByStatus(from, to));
+        } else {
+            for (BucketRange range : BucketRange.cover(from, to)) {
+                rows.addAll(rollupRepository.sumByStatus(range.getGranularity(), range.getFrom(), range.getTo()));
+            }
+        }
+
+        SalesSummaryDto summary = new SalesSummaryDto();
+        for (SalesRollupDto row : rows) {
+            summary.setOrderCount(summary.getOrderCount() + row.getOrderCount());
+            if (row.getStatus() != OrderStatus.CANCELLED) {
+                summary.setRevenue(summary.getRevenue().add(row.getRevenue()));
+                summary.setTax(summary.getTax().add(row.getTax()));
+                summary.setUnits(summary.getUnits() + row.getUnits());
+            }
+        }
+        return summary;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductSalesDto> getTopSellingProducts(SalesWindow window, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<BucketRange> ranges = window.getLength() != null
+                ? BucketRange.cover(now.minus(window.getLength()), now)
+                : List.of(new BucketRange(RollupGranularity.DAY, ALL_TIME_START, now.truncatedTo(ChronoUnit.DAYS).plusDays(1)));
+        return rollupRepository.findTopProducts(ranges, limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<SalesRollupDto> getSeries(RollupGranularity granularity, LocalDateTime from, LocalDateTime to) {
+        return rollupRepository.findSeries(granularity, from, to);
+    }
+
+    // Runs inSnapshot after the lock, in the transaction that rebuilds the day
+    private void backfillDay(LocalDate day, Runnable inSnapshot) {
+        LocalDateTime dayStart = day.atStartOfDay();
+        LocalDateTime dayEnd = dayStart.plusDays(1);
+        backfillTransaction.executeWithoutResult(status -> {
+            // The lock is a utility statement, so the snapshot is only taken after it is granted
+            rollupRepository.lockForBackfill();
+            inSnapshot.run();
+            rollupRepository.claimPendingReceipts(SalesRollupHandler.NAME, dayStart, dayEnd, LocalDateTime.now());
+            rollupRepository.recompute(dayStart, dayEnd);
+        });
+    }
+}
@@ -5,6 +5,8 @@ import com.ainan.ecommforallbackend.domain.auth.dto.*;
 import com.ainan.ecommforallbackend.domain.user.dto.UserDto;
 import com.ainan.ecommforallbackend.domain.user.dto.UserAuthDto;
 import com.ainan.ecommforallbackend.domain.auth.service.AuthService;
+import com.ainan.ecommforallbackend.domain.cart.controller.GuestCartController;
+import com.ainan.ecommforallbackend.domain.cart.service.GuestCartStore;
 import com.ainan.ecommforallbackend.domain.cart.service.ShoppingCartService;
 import com.ainan.ecommforallbackend.domain.user.service.UserService;
 import com.ainan.ecommforallbackend.domain.wishlist.dto.WishlistCreateDto;
@@ -13,16 +15,21 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.security.Principal;
+import java.time.Duration;
 import java.util.Map;
 
 @RestController
 @RequestMapping("/api/auth")
 @RequiredArgsConstructor
+@Slf4j
 @Tag(name = "Authentication", description = "User registration, login, and JWT validation")
 public class AuthController {
     private final AuthService authService;
@@ -31,6 +38,9 @@ public class AuthController {
     private final ShoppingCartService shoppingCartService;
     private final JwtUtil jwtUtil;
 
+    @Value("${cart.guest.cookie-secure:false}")
+    private boolean secureGuestCartCookie;
+
     @PostMapping("/register")
     @Operation(summary = "Register a new user", description = "Creates a user account and initializes a default wishlist and shopping cart.")
     public ResponseEntity<UserDto> register(@Valid @RequestBody UserAuthDto registrationDto) {
@@ -43,12 +53,19 @@ public class AuthController {
     }
 
     @PostMapping("/login")
-    @Operation(summary = "Authenticate a user", description = "Validates credentials and returns a JWT token with the user profile.")
-    public ResponseEntity<?> login(@RequestBody LoginDto loginDto) {
+    @Operation(summary = "Authenticate a user", description = "Validates credentials and returns a JWT token with the user profile. A guest cart is merged into the user's cart.")
+    public ResponseEntity<?> login(@RequestBody LoginDto loginDto,
+                                   @CookieValue(name = GuestCartStore.COOKIE_NAME, required = false) String guestCartToken) {
         try {
             // The service will throw BadCredentialsException if credentials are wrong
             UserDto userDto = authService.login(loginDto.getUsername(), loginDto.getPassword());
             String token = jwtUtil.generateToken(loginDto.getUsername());
+            if (guestCartToken != null && mergeGuestCart(userDto.getId().toString(), guestCartToken)) {
+                return ResponseEntity.ok()
+                        .header(HttpHeaders.SET_COOKIE, GuestCartController
+                                .guestCartCookie("", Duration.ZERO, secureGuestCartCookie).toString())
+                        .body(new JwtResponse(token, userDto));
+            }
             return ResponseEntity.ok(new JwtResponse(token, userDto));
 
         } catch (Exception e) {
@@ -99,6 +116,17 @@ public class AuthController {
         wishlistService.createWishlist(defaultWishlist, userId);
     }
 
+    // A failed merge must not fail the login; the guest cart and its cookie are kept for the next one
+    private boolean mergeGuestCart(String userId, String guestCartToken) {
+        try {
+            shoppingCartService.mergeGuestCart(userId, guestCartToken);
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Failed to merge guest cart into cart of user {}: {}", userId, e.getMessage());
+            return false;
+        }
+    }
+
     private void createDefaultShoppingCart(String userId) {
         shoppingCartService.createShoppingCartIfNotExists(userId);
     }
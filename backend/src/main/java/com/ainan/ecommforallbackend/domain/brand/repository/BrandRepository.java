@@ -1,8 +1,11 @@
 package com.ainan.ecommforallbackend.domain.brand.repository;
 
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import com.ainan.ecommforallbackend.domain.brand.entity.Brand;
@@ -10,9 +13,14 @@ import com.ainan.ecommforallbackend.domain.brand.entity.Brand;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface BrandRepository extends JpaRepository<Brand, UUID> {
     Page<Brand> findByIsActiveTrue(Pageable pageable);
     Optional<Brand> findByNameIgnoreCase(String name);
+
+    @Query("SELECT b.imageUrl FROM Brand b WHERE b.imageUrl IS NOT NULL")
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    Stream<String> streamAllImageUrls();
 }
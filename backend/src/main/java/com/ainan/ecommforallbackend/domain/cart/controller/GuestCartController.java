@@ -0,0 +1,82 @@
+package com.ainan.ecommforallbackend.domain.cart.controller;
+
+import com.ainan.ecommforallbackend.domain.cart.dto.CartBulkUpdateDto;
+import com.ainan.ecommforallbackend.domain.cart.dto.ShoppingCartDto;
+import com.ainan.ecommforallbackend.domain.cart.service.GuestCartStore;
+import com.ainan.ecommforallbackend.domain.cart.service.ShoppingCartService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/cart/guest")
+@Tag(name = "Guest Cart", description = "Cart of anonymous shoppers, merged into the user's cart on login")
+public class GuestCartController {
+    private final ShoppingCartService shoppingCartService;
+    private final GuestCartStore guestCartStore;
+
+    @Value("${cart.guest.ttl-hours:72}")
+    private long ttlHours;
+    @Value("${cart.guest.cookie-secure:false}")
+    private boolean secureCookie;
+
+    @GetMapping
+    @Operation(summary = "Get guest cart", description = "Returns the cart identified by the guest cart cookie, empty if there is none.")
+    public ResponseEntity<ShoppingCartDto> getGuestCart(
+            @CookieValue(name = GuestCartStore.COOKIE_NAME, required = false) String guestToken) {
+        return ResponseEntity.ok(shoppingCartService.getGuestCart(guestToken));
+    }
+
+    @PostMapping("/items/bulk")
+    @Operation(summary = "Update guest cart", description = "Applies add, set and remove operations in order, starting a guest cart and its cookie once it holds an item.")
+    public ResponseEntity<ShoppingCartDto> applyGuestCartOperations(
+            @Valid @RequestBody CartBulkUpdateDto request,
+            @CookieValue(name = GuestCartStore.COOKIE_NAME, required = false) String guestToken,
+            HttpServletRequest servletRequest) {
+        boolean newToken = !guestCartStore.isValidToken(guestToken);
+        String token = newToken ? guestCartStore.newToken() : guestToken;
+        ShoppingCartDto cart = shoppingCartService.applyGuestCartOperations(token, servletRequest.getRemoteAddr(), request);
+        if (newToken && cart.getItems().isEmpty()) {
+            // Nothing was stored, so there is no cart for a cookie to point at
+            return ResponseEntity.ok(cart);
+        }
+        // Re-sent on every change so the cookie lives as long as the cart
+        return ResponseEntity.ok()
+                .header(HttpHeaders.SET_COOKIE, guestCartCookie(token, Duration.ofHours(ttlHours), secureCookie).toString())
+                .body(cart);
+    }
+
+    @DeleteMapping
+    @Operation(summary = "Clear guest cart", description = "Forgets the guest cart and removes its cookie.")
+    public ResponseEntity<Void> clearGuestCart(
+            @CookieValue(name = GuestCartStore.COOKIE_NAME, required = false) String guestToken) {
+        shoppingCartService.clearGuestCart(guestToken);
+        return ResponseEntity.noContent()
+                .header(HttpHeaders.SET_COOKIE, guestCartCookie("", Duration.ZERO, secureCookie).toString())
+                .build();
+    }
+
+    /**
+     * The guest cart cookie; only the cart endpoints and login read it, so it is scoped to
+     * {@code /api} and kept away from scripts.
+     */
+    public static ResponseCookie guestCartCookie(String token, Duration maxAge, boolean secure) {
+        return ResponseCookie.from(GuestCartStore.COOKIE_NAME, token)
+                .path("/api")
+                .httpOnly(true)
+                .secure(secure)
+                .sameSite("Lax")
+                .maxAge(maxAge)
+                .build();
+    }
+}
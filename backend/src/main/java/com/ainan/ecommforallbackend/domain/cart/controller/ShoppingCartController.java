@@ -1,19 +1,23 @@
 package com.ainan.ecommforallbackend.domain.cart.controller;
 
 
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import com.ainan.ecommforallbackend.domain.cart.dto.CartBulkUpdateDto;
 import com.ainan.ecommforallbackend.domain.cart.dto.CartItemCreateDto;
 import com.ainan.ecommforallbackend.domain.cart.dto.CartItemDto;
+import com.ainan.ecommforallbackend.domain.cart.dto.CartSummaryDto;
 import com.ainan.ecommforallbackend.domain.cart.dto.ShoppingCartDto;
 import com.ainan.ecommforallbackend.domain.cart.service.ShoppingCartService;
 import com.ainan.ecommforallbackend.domain.user.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
+import java.math.BigDecimal;
 import java.security.Principal;
 import java.util.List;
 
@@ -45,6 +49,14 @@ public class ShoppingCartController {
         return ResponseEntity.status(HttpStatus.CREATED).body(cartItemDto);
     }
 
+    @PostMapping("/items/bulk")
+    @Operation(summary = "Bulk update cart", description = "Applies a list of add, set and remove operations to the cart in one transaction and returns the resulting cart.")
+    public ResponseEntity<ShoppingCartDto> applyCartOperations(@Valid @RequestBody CartBulkUpdateDto request,
+                                                               Principal principal) {
+        String userId = getCurrentUserId(principal);
+        return ResponseEntity.ok(shoppingCartService.applyCartOperations(userId, request));
+    }
+
     @GetMapping("/items")
     @Operation(summary = "List cart items", description = "Returns all items currently in the user's cart.")
     public ResponseEntity<List<CartItemDto>> getCartItems(Principal principal) {
@@ -86,13 +98,22 @@ public class ShoppingCartController {
     }
 
     @GetMapping("/items/total")
-    @Operation(summary = "Get cart total", description = "Returns the total amount for the cart contents.")
-    public ResponseEntity<Double> getCartTotalAmount(Principal principal) {
+    @Operation(summary = "Get cart total", description = "Returns the total amount for the cart contents, including discounts, shipping and tax for the given region. The tax is an estimate; orders are taxed by their shipping address.")
+    public ResponseEntity<BigDecimal> getCartTotalAmount(Principal principal,
+                                                         @RequestParam(required = false) String region) {
         String userId = getCurrentUserId(principal);
-        double totalAmount = shoppingCartService.getCartTotalAmount(userId);
+        BigDecimal totalAmount = shoppingCartService.getCartTotalAmount(userId, region);
         return ResponseEntity.ok(totalAmount);
     }
 
+    @GetMapping("/summary")
+    @Operation(summary = "Get cart summary", description = "Returns the item count and the priced totals (subtotal, discount, shipping, tax, total) of the cart for the given region. The tax is an estimate; orders are taxed by their shipping address.")
+    public ResponseEntity<CartSummaryDto> getCartSummary(Principal principal,
+                                                         @RequestParam(required = false) String region) {
+        String userId = getCurrentUserId(principal);
+        return ResponseEntity.ok(shoppingCartService.getCartSummary(userId, region));
+    }
+
     private String getCurrentUserId(Principal principal) {
         if (principal == null) {
             throw new IllegalArgumentException("User is not authenticated");
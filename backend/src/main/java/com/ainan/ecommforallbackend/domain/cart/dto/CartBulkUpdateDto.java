@@ -0,0 +1,21 @@
+package com.ainan.ecommforallbackend.domain.cart.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartBulkUpdateDto {
+
+    @NotEmpty(message = "At least one operation is required")
+    @Size(max = 200, message = "At most 200 operations can be applied at once")
+    private List<@Valid @NotNull CartItemOperationDto> operations;
+}
@@ -0,0 +1,29 @@
+package com.ainan.ecommforallbackend.domain.cart.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * One operation of a bulk cart update. Lines are identified by product and variant, so callers
+ * such as "re-order" and "add wishlist to cart" do not need cart item ids.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartItemOperationDto {
+
+    @NotNull(message = "Operation type is required")
+    private CartOperationType type;
+
+    @NotNull(message = "Product id is required")
+    private UUID productId;
+
+    private UUID variantId;
+
+    // Required for ADD and SET
+    private Integer quantity;
+}
@@ -0,0 +1,19 @@
+package com.ainan.ecommforallbackend.domain.cart.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * A cart line by product and, when {@code variantId} is set, variant, with its quantity.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartLineDto {
+    private UUID productId;
+    private UUID variantId;
+    private int quantity;
+}
@@ -0,0 +1,11 @@
+package com.ainan.ecommforallbackend.domain.cart.dto;
+
+/**
+ * What a bulk cart operation does to its line: ADD increases the quantity (creating the line if
+ * needed), SET replaces it, REMOVE deletes the line.
+ */
+public enum CartOperationType {
+    ADD,
+    SET,
+    REMOVE
+}
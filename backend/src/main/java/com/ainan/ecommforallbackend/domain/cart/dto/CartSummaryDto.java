@@ -0,0 +1,25 @@
+package com.ainan.ecommforallbackend.domain.cart.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Cart badge and totals in one response: {@code itemCount} is the sum of quantities,
+ * {@code lineCount} the number of distinct items, and the amounts are priced like the order the
+ * cart would become.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartSummaryDto {
+    private int itemCount;
+    private int lineCount;
+    private BigDecimal subtotal;
+    private BigDecimal discount;
+    private BigDecimal shippingCost;
+    private BigDecimal tax;
+    private BigDecimal totalAmount;
+}
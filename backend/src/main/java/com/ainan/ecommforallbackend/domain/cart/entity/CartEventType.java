@@ -0,0 +1,7 @@
+package com.ainan.ecommforallbackend.domain.cart.entity;
+
+public enum CartEventType {
+    CART_ABANDONED;
+
+    public static final String AGGREGATE_TYPE = "Cart";
+}
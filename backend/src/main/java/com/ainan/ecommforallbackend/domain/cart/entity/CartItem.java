@@ -14,7 +14,9 @@ import com.ainan.ecommforallbackend.domain.product.entity.ProductVariant;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "cart_items")
+@Table(name = "cart_items", indexes = {
+        @Index(name = "idx_cart_items_cart", columnList = "cart_id")
+})
 @EqualsAndHashCode(exclude = {"cart"})
 @ToString(exclude = {"cart"})
 public class CartItem {
@@ -30,8 +32,9 @@ public class CartItem {
     @JoinColumn(name = "product_id")
     private Product product;
 
+    // One line per cart, product and variant: see uk_cart_items_line in CartBatchRepository
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "variant_id", unique = true)
+    @JoinColumn(name = "variant_id")
     private ProductVariant variant;
 
     @Column(nullable = false)
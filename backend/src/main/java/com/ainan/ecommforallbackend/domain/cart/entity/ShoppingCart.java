@@ -14,7 +14,10 @@ import com.ainan.ecommforallbackend.domain.user.entity.User;
 @Entity
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "shopping_carts")
+@Table(name = "shopping_carts", indexes = {
+        // Candidates of the abandoned cart sweep, oldest activity first
+        @Index(name = "idx_shopping_carts_idle", columnList = "swept_at, updated_at, id")
+})
 @EqualsAndHashCode(exclude = {"cartItems"})
 @ToString(exclude = {"cartItems"})
 public class ShoppingCart {
@@ -32,12 +35,23 @@ public class ShoppingCart {
     @Column(nullable = false)
     private boolean status = true; // Default to active
 
+    // Bumped in the database by every item change, never written through JPA; cached cart
+    // snapshots are only served while they carry the current revision
+    @Column(nullable = false, insertable = false, updatable = false,
+            columnDefinition = "bigint default 0")
+    private long revision;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
+    // Also set by every revision bump, so it is the time of the last item change
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Set when the abandoned cart sweep has looked at the cart, cleared by the next change
+    @Column(name = "swept_at", insertable = false, updatable = false)
+    private LocalDateTime sweptAt;
+
     @PrePersist
     protected void onCreate() {
         this.createdAt = LocalDateTime.now();
@@ -28,11 +28,9 @@ public interface CartItemMapper {
 
     default boolean isInStock(CartItem cartItem) {
         if (cartItem.getVariant() != null) {
-            Integer variantStock = cartItem.getVariant().getStock();
-            return variantStock != null && variantStock > 0;
+            return cartItem.getVariant().getAvailableStock() > 0;
         } else {
-            Integer productStock = cartItem.getProduct().getStock();
-            return productStock != null && productStock > 0;
+            return cartItem.getProduct().getAvailableStock() > 0;
         }
     }
 
@@ -25,6 +25,8 @@ public interface ShoppingCartMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "revision", ignore = true)
+    @Mapping(target = "sweptAt", ignore = true)
     ShoppingCart toEntity(ShoppingCartDto shoppingCartDto);
 
     default java.math.BigDecimal calculateTotalAmount(ShoppingCart cart) {
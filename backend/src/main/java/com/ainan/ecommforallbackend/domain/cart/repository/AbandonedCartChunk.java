@@ -0,0 +1,12 @@
+package com.ainan.ecommforallbackend.domain.cart.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Outcome of one sweep chunk: idle carts looked at, carts emptied and lines removed, plus the
+ * keyset position the next chunk continues after (null when nothing was scanned).
+ */
+public record AbandonedCartChunk(int scanned, int abandoned, int linesRemoved,
+                                 LocalDateTime lastUpdatedAt, UUID lastCartId) {
+}
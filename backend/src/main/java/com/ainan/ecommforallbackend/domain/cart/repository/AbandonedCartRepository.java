@@ -0,0 +1,89 @@
+package com.ainan.ecommforallbackend.domain.cart.repository;
+
+import com.ainan.ecommforallbackend.domain.cart.entity.CartEventType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Set-based sweep of carts nobody has changed for a while.
+ * <p>
+ * A chunk takes the next idle carts in {@code (updated_at, id)} order from the
+ * {@code idx_shopping_carts_idle} index, skipping carts locked by a checkout or cart change, and in
+ * one statement removes their lines, marks the carts as swept (bumping the revision so cached
+ * snapshots are dropped) and writes one {@code CART_ABANDONED} outbox event per cart that still had
+ * lines. The event carries the removed lines. Swept carts no longer match until they change again,
+ * so a rerun after a crash continues with whatever is left.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AbandonedCartRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @return the database time {@code idleDays} ago; {@code updated_at} is written with the
+     * database clock, so cutoffs are computed with it too
+     */
+    public LocalDateTime idleCutoff(int idleDays) {
+        return jdbcTemplate.queryForObject("SELECT LOCALTIMESTAMP - make_interval(days => ?)",
+                LocalDateTime.class, idleDays);
+    }
+
+    /**
+     * Sweeps up to {@code limit} carts last changed before {@code cutoff}, continuing after the
+     * given keyset position ({@code null} to start at the oldest).
+     */
+    public AbandonedCartChunk sweep(LocalDateTime cutoff, LocalDateTime afterUpdatedAt, UUID afterCartId,
+                                    LocalDateTime now, int limit) {
+        List<Object> args = new ArrayList<>(List.of(cutoff));
+        String keyset = "";
+        if (afterUpdatedAt != null) {
+            keyset = " AND (updated_at, id) > (?, CAST(? AS uuid))";
+            args.add(afterUpdatedAt);
+            args.add(afterCartId);
+        }
+        args.addAll(List.of(limit, now, now, now));
+        return jdbcTemplate.queryForObject("WITH idle AS ("
+                        + " SELECT id, user_id, updated_at FROM shopping_carts "
+                        + " WHERE swept_at IS NULL AND updated_at < ?" + keyset
+                        + " ORDER BY updated_at, id LIMIT ? FOR UPDATE SKIP LOCKED), "
+                        + "removed AS ("
+                        + " DELETE FROM cart_items i USING idle c WHERE i.cart_id = c.id "
+                        + " RETURNING i.cart_id, i.product_id, i.variant_id, i.quantity, i.unit_price), "
+                        + "swept AS ("
+                        + " UPDATE shopping_carts c SET swept_at = LOCALTIMESTAMP, revision = c.revision + 1 "
+                        + " FROM idle WHERE c.id = idle.id RETURNING c.id), "
+                        + "removed_lines AS ("
+                        + " SELECT cart_id, COUNT(*) AS line_count, SUM(quantity) AS item_count, "
+                        + " SUM(unit_price * quantity) AS subtotal, json_agg(json_build_object('productId', product_id, "
+                        + " 'variantId', variant_id, 'quantity', quantity, 'unitPrice', unit_price)) AS items "
+                        + " FROM removed GROUP BY cart_id), "
+                        + "events AS ("
+                        + " INSERT INTO outbox_events (id, aggregate_type, aggregate_id, event_type, payload, status, "
+                        + " attempts, next_attempt_at, created_at) "
+                        + " SELECT gen_random_uuid(), '" + CartEventType.AGGREGATE_TYPE + "', c.id, '"
+                        + CartEventType.CART_ABANDONED + "', json_build_object('cartId', c.id, 'userId', c.user_id, "
+                        + " 'lastActivityAt', c.updated_at, 'itemCount', l.item_count, 'subtotal', l.subtotal, "
+                        + " 'items', l.items, 'occurredAt', ?::timestamp)::text, 'PENDING', 0, ?, ? "
+                        + " FROM idle c JOIN removed_lines l ON l.cart_id = c.id) "
+                        + "SELECT (SELECT COUNT(*) FROM idle) AS scanned, (SELECT COUNT(*) FROM removed_lines) AS abandoned, "
+                        + " (SELECT COALESCE(SUM(line_count), 0) FROM removed_lines) AS lines_removed, "
+                        + " newest.updated_at, newest.id "
+                        + "FROM (SELECT 1) AS single_row LEFT JOIN ("
+                        + " SELECT updated_at, id FROM idle ORDER BY updated_at DESC, id DESC LIMIT 1) newest ON true",
+                (rs, rowNum) -> {
+                    Timestamp lastUpdatedAt = rs.getTimestamp("updated_at");
+                    return new AbandonedCartChunk(rs.getInt("scanned"), rs.getInt("abandoned"),
+                            rs.getInt("lines_removed"),
+                            lastUpdatedAt != null ? lastUpdatedAt.toLocalDateTime() : null,
+                            rs.getObject("id", UUID.class));
+                },
+                args.toArray());
+    }
+}
@@ -0,0 +1,187 @@
+package com.ainan.ecommforallbackend.domain.cart.repository;
+
+import com.ainan.ecommforallbackend.domain.cart.dto.CartLineDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.UUID;
+
+/**
+ * Set-based writes to {@code cart_items}: any number of lines is added, replaced or removed with one
+ * statement each, instead of loading the cart, product, variant and existing item per line.
+ * <p>
+ * Upserts rely on the {@code uk_cart_items_line} index, one line per cart, product and variant
+ * (a missing variant counts as a value). Hibernate cannot declare a {@code NULLS NOT DISTINCT}
+ * unique index, so {@code CartLineIndexInitializer} builds it before the application serves traffic.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CartBatchRepository {
+    private static final Comparator<CartLineDto> LINE_ORDER = Comparator
+            .comparing(CartLineDto::getProductId)
+            .thenComparing(CartLineDto::getVariantId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Bumps the revision of the user's cart, locking its row until the transaction ends so changes
+     * to one cart are applied one at a time.
+     */
+    public Optional<CartRevision> lockCart(UUID userId) {
+        return jdbcTemplate.query("UPDATE shopping_carts SET revision = revision + 1, updated_at = LOCALTIMESTAMP, "
+                        + "swept_at = NULL WHERE user_id = ? RETURNING id, revision",
+                (rs, rowNum) -> new CartRevision(rs.getObject("id", UUID.class), rs.getLong("revision")),
+                userId).stream().findFirst();
+    }
+
+    /**
+     * Inserts the lines priced at the current product or variant price, or changes the quantity of
+     * lines already in the cart, keeping their original price. Lines whose product or variant does
+     * not exist, or has no price, are skipped. Each line may appear only once.
+     *
+     * @param replaceQuantity whether existing quantities are replaced rather than increased
+     * @return the lines written
+     */
+    public List<CartLineDto> upsert(UUID cartId, Collection<CartLineDto> lines, boolean replaceQuantity,
+                                    LocalDateTime now) {
+        if (lines.isEmpty()) {
+            return List.of();
+        }
+        List<Object> args = new ArrayList<>();
+        StringJoiner values = new StringJoiner(", ");
+        // Sorted so concurrent upserts into the same cart lock lines in the same order
+        lines.stream().sorted(LINE_ORDER).forEach(line -> {
+            values.add("(CAST(? AS uuid), CAST(? AS uuid), ?)");
+            args.add(line.getProductId());
+            args.add(line.getVariantId());
+            args.add(line.getQuantity());
+        });
+        args.addAll(List.of(cartId, now, now));
+        return jdbcTemplate.query("WITH req (product_id, variant_id, quantity) AS (VALUES " + values + ") "
+                        + "INSERT INTO cart_items (id, cart_id, product_id, variant_id, quantity, unit_price, "
+                        + " created_at, updated_at) "
+                        + "SELECT gen_random_uuid(), ?, r.product_id, r.variant_id, r.quantity, "
+                        + " CASE WHEN r.variant_id IS NULL THEN p.price ELSE v.price END, ?, ? "
+                        + "FROM req r JOIN product p ON p.id = r.product_id "
+                        + "LEFT JOIN product_variant v ON v.id = r.variant_id AND v.product_id = r.product_id "
+                        + "WHERE (r.variant_id IS NULL OR v.id IS NOT NULL) "
+                        + " AND CASE WHEN r.variant_id IS NULL THEN p.price ELSE v.price END IS NOT NULL "
+                        + "ON CONFLICT (cart_id, product_id, variant_id) DO UPDATE SET quantity = "
+                        + (replaceQuantity ? "EXCLUDED.quantity" : "cart_items.quantity + EXCLUDED.quantity")
+                        + ", updated_at = EXCLUDED.updated_at "
+                        + "RETURNING product_id, variant_id, quantity",
+                (rs, rowNum) -> new CartLineDto(rs.getObject("product_id", UUID.class),
+                        rs.getObject("variant_id", UUID.class), rs.getInt("quantity")),
+                args.toArray());
+    }
+
+    /**
+     * Adds one line in a single statement: inserted at the current product or variant price, or,
+     * if the cart already holds it, increased by {@code quantity} at its original price.
+     *
+     * @return the line as written, empty if the product or variant does not exist, the variant
+     * belongs to another product, or there is no price
+     */
+    public Optional<CartItemWrite> upsertItem(UUID cartId, UUID productId, UUID variantId, int quantity,
+                                              LocalDateTime now) {
+        return jdbcTemplate.query("INSERT INTO cart_items (id, cart_id, product_id, variant_id, quantity, unit_price, "
+                        + " created_at, updated_at) "
+                        + "SELECT gen_random_uuid(), ?, p.id, v.id, ?, "
+                        + " CASE WHEN v.id IS NULL THEN p.price ELSE v.price END, ?, ? "
+                        + "FROM product p LEFT JOIN product_variant v ON v.id = CAST(? AS uuid) AND v.product_id = p.id "
+                        + "WHERE p.id = ? AND (CAST(? AS uuid) IS NULL OR v.id IS NOT NULL) "
+                        + " AND CASE WHEN v.id IS NULL THEN p.price ELSE v.price END IS NOT NULL "
+                        + "ON CONFLICT (cart_id, product_id, variant_id) DO UPDATE SET "
+                        + "quantity = cart_items.quantity + EXCLUDED.quantity, updated_at = EXCLUDED.updated_at "
+                        + "RETURNING id, quantity, unit_price",
+                (rs, rowNum) -> new CartItemWrite(rs.getObject("id", UUID.class), rs.getInt("quantity"),
+                        rs.getBigDecimal("unit_price")),
+                cartId, quantity, now, now, variantId, productId, variantId).stream().findFirst();
+    }
+
+    /**
+     * @return the number of lines removed
+     */
+    public int delete(UUID cartId, Collection<CartLineDto> lines) {
+        if (lines.isEmpty()) {
+            return 0;
+        }
+        List<Object> args = new ArrayList<>();
+        StringJoiner values = new StringJoiner(", ");
+        lines.stream().sorted(LINE_ORDER).forEach(line -> {
+            values.add("(CAST(? AS uuid), CAST(? AS uuid))");
+            args.add(line.getProductId());
+            args.add(line.getVariantId());
+        });
+        args.add(cartId);
+        return jdbcTemplate.update("DELETE FROM cart_items c USING (VALUES " + values + ") AS r (product_id, variant_id) "
+                        + "WHERE c.cart_id = ? AND c.product_id = r.product_id "
+                        + "AND c.variant_id IS NOT DISTINCT FROM r.variant_id",
+                args.toArray());
+    }
+
+    /**
+     * Where the build of {@code uk_cart_items_line} stands. An invalid index that no session is
+     * building is left over from a failed concurrent build and has to be dropped before retrying.
+     */
+    public CartLineIndexState lineIndexState() {
+        return jdbcTemplate.query("SELECT i.indisvalid, EXISTS (SELECT 1 FROM pg_stat_progress_create_index p "
+                        + " WHERE p.index_relid = i.indexrelid) AS building "
+                        + "FROM pg_index i WHERE i.indexrelid = to_regclass('uk_cart_items_line')",
+                (rs, rowNum) -> rs.getBoolean("indisvalid") ? CartLineIndexState.READY
+                        : rs.getBoolean("building") ? CartLineIndexState.BUILDING : CartLineIndexState.FAILED)
+                .stream().findFirst().orElse(CartLineIndexState.MISSING);
+    }
+
+    /**
+     * Merges the duplicate lines left by the old read-then-insert path into the oldest one, without
+     * locking the table; lines written meanwhile make the index build fail and are merged on retry.
+     *
+     * @return the number of duplicate lines removed
+     */
+    public int mergeDuplicateLines() {
+        return jdbcTemplate.update("WITH ranked AS ("
+                + " SELECT id, first_value(id) OVER w AS keep_id, sum(quantity) OVER w AS total FROM cart_items "
+                + " WINDOW w AS (PARTITION BY cart_id, product_id, variant_id ORDER BY created_at, id "
+                + " ROWS BETWEEN UNBOUNDED PRECEDING AND UNBOUNDED FOLLOWING)), "
+                + "kept AS (UPDATE cart_items c SET quantity = r.total FROM ranked r "
+                + " WHERE c.id = r.id AND r.id = r.keep_id AND c.quantity <> r.total) "
+                + "DELETE FROM cart_items c USING ranked r WHERE c.id = r.id AND r.id <> r.keep_id");
+    }
+
+    /**
+     * Builds the index without blocking cart writes. Must run outside a transaction; a build that
+     * fails on duplicates leaves an invalid index behind (see {@link #dropLineIndex()}).
+     */
+    public void createLineIndexConcurrently() {
+        jdbcTemplate.execute("CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS uk_cart_items_line "
+                + "ON cart_items (cart_id, product_id, variant_id) NULLS NOT DISTINCT");
+    }
+
+    public void dropLineIndex() {
+        jdbcTemplate.execute("DROP INDEX CONCURRENTLY IF EXISTS uk_cart_items_line");
+    }
+
+    /**
+     * Drops the old unique constraint on {@code variant_id} alone, which allowed a variant in only
+     * one cart overall.
+     */
+    public void dropVariantOnlyConstraint() {
+        jdbcTemplate.execute("DO $$ DECLARE con record; BEGIN "
+                + "FOR con IN SELECT c.conname FROM pg_constraint c "
+                + " JOIN pg_attribute a ON a.attrelid = c.conrelid AND a.attnum = ANY (c.conkey) "
+                + " WHERE c.conrelid = 'cart_items'::regclass AND c.contype = 'u' "
+                + " AND cardinality(c.conkey) = 1 AND a.attname = 'variant_id' "
+                + "LOOP EXECUTE format('ALTER TABLE cart_items DROP CONSTRAINT %I', con.conname); END LOOP; "
+                + "END $$");
+    }
+}
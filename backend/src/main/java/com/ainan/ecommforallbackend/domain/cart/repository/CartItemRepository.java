@@ -1,11 +1,12 @@
 package com.ainan.ecommforallbackend.domain.cart.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.ainan.ecommforallbackend.domain.cart.entity.CartItem;
 
-import java.util.DoubleSummaryStatistics;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -16,11 +17,12 @@ public interface CartItemRepository extends JpaRepository<CartItem, UUID> {
 
     void deleteAllByCartId(UUID cartId);
 
-    // Existing method for items with variants
-    Optional<CartItem> findByCartIdAndProductIdAndVariantId(UUID cartId, UUID productId, UUID variantId);
-
-    Optional<CartItem> findByCartIdAndProductIdAndVariantIsNull(UUID cartId, UUID productId);
-
     List<CartItem> findByCartId(UUID cartId);
 
+    // One aggregate over the cart's rows (shopping_carts.user_id is unique, cart_items.cart_id indexed)
+    @Query("SELECT COUNT(i) AS lineCount, COALESCE(SUM(i.quantity), 0) AS itemCount, "
+            + "COALESCE(SUM(i.unitPrice * i.quantity), 0) AS subtotal "
+            + "FROM CartItem i WHERE i.cart.user.id = :userId")
+    CartTotalsView sumByUserId(@Param("userId") UUID userId);
+
 }
\ No newline at end of file
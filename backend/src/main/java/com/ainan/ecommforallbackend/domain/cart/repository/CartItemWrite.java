@@ -0,0 +1,10 @@
+package com.ainan.ecommforallbackend.domain.cart.repository;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * A cart line as left by an upsert: its id, the resulting quantity and the price it was locked at.
+ */
+public record CartItemWrite(UUID id, int quantity, BigDecimal unitPrice) {
+}
@@ -0,0 +1,13 @@
+package com.ainan.ecommforallbackend.domain.cart.repository;
+
+/**
+ * Build state of the {@code uk_cart_items_line} index.
+ */
+public enum CartLineIndexState {
+    MISSING,
+    // A concurrent build is running, here or on another node
+    BUILDING,
+    // Left invalid by a concurrent build that failed
+    FAILED,
+    READY
+}
@@ -0,0 +1,9 @@
+package com.ainan.ecommforallbackend.domain.cart.repository;
+
+import java.util.UUID;
+
+/**
+ * A cart id with the revision its latest change moved it to.
+ */
+public record CartRevision(UUID cartId, long revision) {
+}
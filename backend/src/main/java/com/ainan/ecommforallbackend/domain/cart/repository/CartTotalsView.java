@@ -0,0 +1,14 @@
+package com.ainan.ecommforallbackend.domain.cart.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Line count, unit count and subtotal of one cart, summed by the database.
+ */
+public interface CartTotalsView {
+    Long getLineCount();
+
+    Long getItemCount();
+
+    BigDecimal getSubtotal();
+}
@@ -1,6 +1,9 @@
 package com.ainan.ecommforallbackend.domain.cart.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.ainan.ecommforallbackend.domain.cart.entity.ShoppingCart;
@@ -11,5 +14,16 @@ import java.util.UUID;
 @Repository
 public interface ShoppingCartRepository extends JpaRepository<ShoppingCart, UUID> {
     Optional<ShoppingCart> findByUserId(UUID userId);
-    
+
+    // Cart, items, products and variants in one query instead of one lazy load per item
+    @EntityGraph(attributePaths = {"cartItems", "cartItems.product", "cartItems.variant"})
+    Optional<ShoppingCart> findWithItemsByUserId(UUID userId);
+
+    @Query("SELECT c.revision FROM ShoppingCart c WHERE c.user.id = :userId")
+    Optional<Long> findRevisionByUserId(@Param("userId") UUID userId);
+
+    // Also locks the cart row, so changes to one cart are applied one at a time
+    @Query(value = "UPDATE shopping_carts SET revision = revision + 1, updated_at = LOCALTIMESTAMP, swept_at = NULL "
+            + "WHERE id = :cartId RETURNING revision", nativeQuery = true)
+    long incrementRevision(@Param("cartId") UUID cartId);
 }
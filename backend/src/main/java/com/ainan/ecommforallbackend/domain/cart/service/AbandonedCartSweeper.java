@@ -0,0 +1,135 @@
+package com.ainan.ecommforallbackend.domain.cart.service;
+
+import com.ainan.ecommforallbackend.domain.cart.repository.AbandonedCartChunk;
+import com.ainan.ecommforallbackend.domain.cart.repository.AbandonedCartRepository;
+import com.ainan.ecommforallbackend.domain.job.service.JobCoordinator;
+import com.ainan.ecommforallbackend.domain.job.service.JobLease;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Empties carts that nobody changed for {@code cart.abandoned.idle-days} and publishes a
+ * {@code CART_ABANDONED} event for each, so stale lines and their locked prices do not pile up.
+ * <p>
+ * A run walks the idle carts oldest first in chunks of {@code cart.abandoned.chunk-size}, each
+ * committed on its own after renewing the lease, and stops after
+ * {@code cart.abandoned.max-carts-per-run} carts; the next run picks up the rest. Carts busy in a
+ * checkout are skipped rather than waited for, and {@code cart.abandoned.pause-ms} between chunks
+ * leaves room for regular traffic.
+ * <p>
+ * Progress is published as {@code cart.abandoned.scanned}, {@code cart.abandoned.carts} and
+ * {@code cart.abandoned.lines} counters plus a {@code cart.abandoned.duration} timer.
+ */
+@Service
+@Slf4j
+public class AbandonedCartSweeper {
+    static final String JOB = "abandoned-cart-sweep";
+
+    private final AbandonedCartRepository abandonedCartRepository;
+    private final JobCoordinator jobCoordinator;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate chunkTransaction;
+    private final Counter scannedCounter;
+    private final Counter cartsCounter;
+    private final Counter linesCounter;
+
+    @Value("${cart.abandoned.enabled:false}")
+    private boolean enabled;
+    @Value("${cart.abandoned.idle-days:30}")
+    private int idleDays = 30;
+    @Value("${cart.abandoned.chunk-size:200}")
+    private int chunkSize = 200;
+    @Value("${cart.abandoned.max-carts-per-run:5000}")
+    private int maxCartsPerRun = 5000;
+    @Value("${cart.abandoned.pause-ms:100}")
+    private long pauseMs = 100;
+
+    public AbandonedCartSweeper(AbandonedCartRepository abandonedCartRepository,
+                                JobCoordinator jobCoordinator,
+                                MeterRegistry meterRegistry,
+                                PlatformTransactionManager transactionManager) {
+        this.abandonedCartRepository = abandonedCartRepository;
+        this.jobCoordinator = jobCoordinator;
+        this.meterRegistry = meterRegistry;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.scannedCounter = meterRegistry.counter("cart.abandoned.scanned");
+        this.cartsCounter = meterRegistry.counter("cart.abandoned.carts");
+        this.linesCounter = meterRegistry.counter("cart.abandoned.lines");
+    }
+
+    @Scheduled(fixedDelayString = "${cart.abandoned.sweep-interval-ms:3600000}")
+    public void sweepAbandonedCarts() {
+        if (enabled) {
+            jobCoordinator.runExclusive(JOB, this::sweep);
+        }
+    }
+
+    /**
+     * @return the number of carts emptied
+     */
+    int sweep(JobLease lease) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        // Fixed for the whole run so chunks see a consistent set of candidates
+        LocalDateTime cutoff = abandonedCartRepository.idleCutoff(idleDays);
+        LocalDateTime afterUpdatedAt = null;
+        UUID afterCartId = null;
+        int scanned = 0;
+        int abandoned = 0;
+        try {
+            while (scanned < maxCartsPerRun) {
+                if (scanned > 0) {
+                    pause();
+                }
+                int limit = Math.min(chunkSize, maxCartsPerRun - scanned);
+                LocalDateTime fromUpdatedAt = afterUpdatedAt;
+                UUID fromCartId = afterCartId;
+                AbandonedCartChunk chunk = chunkTransaction.execute(status -> {
+                    lease.checkpoint();
+                    return abandonedCartRepository.sweep(cutoff, fromUpdatedAt, fromCartId, LocalDateTime.now(), limit);
+                });
+                if (chunk == null || chunk.scanned() == 0) {
+                    break;
+                }
+                scannedCounter.increment(chunk.scanned());
+                cartsCounter.increment(chunk.abandoned());
+                linesCounter.increment(chunk.linesRemoved());
+                scanned += chunk.scanned();
+                abandoned += chunk.abandoned();
+                if (chunk.scanned() < limit) {
+                    break;
+                }
+                afterUpdatedAt = chunk.lastUpdatedAt();
+                afterCartId = chunk.lastCartId();
+            }
+        } finally {
+            sample.stop(meterRegistry.timer("cart.abandoned.duration"));
+        }
+        if (scanned > 0) {
+            log.info("Abandoned cart sweep: {} idle carts scanned, {} emptied", scanned, abandoned);
+        }
+        return abandoned;
+    }
+
+    private void pause() {
+        if (pauseMs <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.MILLISECONDS.sleep(pauseMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Abandoned cart sweep interrupted", e);
+        }
+    }
+}
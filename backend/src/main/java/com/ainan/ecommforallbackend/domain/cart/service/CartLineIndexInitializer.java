@@ -0,0 +1,93 @@
+package com.ainan.ecommforallbackend.domain.cart.service;
+
+import com.ainan.ecommforallbackend.domain.cart.repository.CartBatchRepository;
+import com.ainan.ecommforallbackend.domain.cart.repository.CartLineIndexState;
+import com.ainan.ecommforallbackend.domain.job.service.JobCoordinator;
+import com.ainan.ecommforallbackend.domain.job.service.JobLease;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Makes sure the unique cart line index the cart upserts depend on exists before the application
+ * serves traffic: without it every {@code ON CONFLICT} upsert fails. This runs once the schema is
+ * up to date but before the web server starts, so startup blocks until the index is usable.
+ * <p>
+ * One node builds the index under the {@value #JOB_NAME} lease, concurrently so cart writes on
+ * nodes still running go on; the others wait for it, up to
+ * {@code cart.line-index.startup-timeout-seconds}. Duplicate lines written by older nodes during
+ * the build make it fail, and it is retried after merging them.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CartLineIndexInitializer implements SmartInitializingSingleton {
+    static final String JOB_NAME = "cart-line-index";
+    private static final int MAX_BUILD_ATTEMPTS = 3;
+
+    private final CartBatchRepository cartBatchRepository;
+    private final JobCoordinator jobCoordinator;
+
+    @Value("${cart.line-index.startup-timeout-seconds:3600}")
+    private long startupTimeoutSeconds = 3600;
+    @Value("${cart.line-index.poll-interval-ms:5000}")
+    private long pollIntervalMs = 5000;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(startupTimeoutSeconds);
+        CartLineIndexState state;
+        while ((state = cartBatchRepository.lineIndexState()) != CartLineIndexState.READY) {
+            if (state != CartLineIndexState.BUILDING && jobCoordinator.runExclusive(JOB_NAME, this::build)) {
+                continue;
+            }
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Unique index uk_cart_items_line is still not usable after "
+                        + startupTimeoutSeconds + " seconds");
+            }
+            log.info("Waiting for another node to build unique index uk_cart_items_line");
+            try {
+                Thread.sleep(pollIntervalMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for unique index uk_cart_items_line", e);
+            }
+        }
+        // Also covers a builder that died between creating the index and dropping the constraint
+        cartBatchRepository.dropVariantOnlyConstraint();
+    }
+
+    private void build(JobLease lease) {
+        for (int attempt = 1; ; attempt++) {
+            // The lease may have expired and passed on while waiting; the state is read again under it
+            CartLineIndexState state = cartBatchRepository.lineIndexState();
+            if (state == CartLineIndexState.READY || state == CartLineIndexState.BUILDING) {
+                return;
+            }
+            if (state == CartLineIndexState.FAILED) {
+                cartBatchRepository.dropLineIndex();
+            }
+            lease.checkpoint();
+            int merged = cartBatchRepository.mergeDuplicateLines();
+            if (merged > 0) {
+                log.info("Merged {} duplicate cart lines", merged);
+            }
+            lease.checkpoint();
+            try {
+                cartBatchRepository.createLineIndexConcurrently();
+                break;
+            } catch (DuplicateKeyException e) {
+                if (attempt == MAX_BUILD_ATTEMPTS) {
+                    throw e;
+                }
+                log.warn("Duplicate cart lines were written while building uk_cart_items_line; retrying");
+            }
+        }
+        log.info("Created unique index uk_cart_items_line on cart_items");
+    }
+}
@@ -0,0 +1,220 @@
+package com.ainan.ecommforallbackend.domain.cart.service;
+
+import com.ainan.ecommforallbackend.domain.cart.dto.CartItemDto;
+import com.ainan.ecommforallbackend.domain.cart.dto.ShoppingCartDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+/**
+ * Per-user snapshots of the fully resolved cart (items, products, variants and images), so cart
+ * pages and the cart badge are answered from memory.
+ * <p>
+ * Every snapshot carries the {@code revision} of its cart row. Loads only replace older snapshots,
+ * and cart changes are applied to the cached snapshot once their transaction commits, so a slow
+ * load can never overwrite a newer write. The cache is bounded to {@code cart.cache.max-size}
+ * users (least recently used go first) and entries expire after {@code cart.cache.ttl-seconds}.
+ * <p>
+ * Snapshots are immutable: readers get copies of the cart and item DTOs.
+ */
+@Component
+public class CartSnapshotCache {
+    private final Map<UUID, Entry> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, Entry> eldest) {
+            return size() > maxSize;
+        }
+    };
+    private final Counter hits;
+    private final Counter misses;
+
+    @Value("${cart.cache.max-size:10000}")
+    private int maxSize = 10_000;
+    @Value("${cart.cache.ttl-seconds:600}")
+    private long ttlSeconds = 600;
+
+    public CartSnapshotCache(MeterRegistry meterRegistry) {
+        this.hits = meterRegistry.counter("cart.cache.requests", "result", "hit");
+        this.misses = meterRegistry.counter("cart.cache.requests", "result", "miss");
+        meterRegistry.gauge("cart.cache.size", entries, map -> {
+            synchronized (map) {
+                return map.size();
+            }
+        });
+    }
+
+    public Optional<Snapshot> get(UUID userId) {
+        synchronized (entries) {
+            Entry entry = entries.get(userId);
+            if (entry != null && entry.expiresAt - System.nanoTime() > 0) {
+                hits.increment();
+                return Optional.of(entry.snapshot);
+            }
+            if (entry != null) {
+                entries.remove(userId);
+            }
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    /**
+     * Stores a freshly loaded snapshot unless a newer revision is already cached. Inside a
+     * transaction this waits for the commit, so a snapshot of uncommitted changes is never shared.
+     */
+    public void put(UUID userId, Snapshot snapshot) {
+        afterCommit(() -> store(userId, snapshot));
+    }
+
+    /**
+     * Applies a cart change that moved the cart to {@code revision}, after the surrounding
+     * transaction commits (nothing happens on rollback). The change is applied to the cached
+     * snapshot only if that is the revision right before it; a snapshot that missed an earlier
+     * change is dropped and reloaded on the next read.
+     */
+    public void updateAfterCommit(UUID userId, long revision, UnaryOperator<Snapshot> change) {
+        afterCommit(() -> update(userId, revision, change));
+    }
+
+    /**
+     * Drops the snapshot once the surrounding transaction commits, for changes that cannot be
+     * applied to a snapshot.
+     */
+    public void evictAfterCommit(UUID userId) {
+        afterCommit(() -> evict(userId));
+    }
+
+    public void evict(UUID userId) {
+        synchronized (entries) {
+            entries.remove(userId);
+        }
+    }
+
+    private void store(UUID userId, Snapshot snapshot) {
+        synchronized (entries) {
+            Entry current = entries.get(userId);
+            if (current == null || current.snapshot.revision() <= snapshot.revision()) {
+                entries.put(userId, new Entry(snapshot, expiry()));
+            }
+        }
+    }
+
+    private void update(UUID userId, long revision, UnaryOperator<Snapshot> change) {
+        synchronized (entries) {
+            Entry current = entries.get(userId);
+            if (current == null || current.snapshot.revision() >= revision) {
+                // Nothing cached, or a load already picked this change up
+                return;
+            }
+            if (current.snapshot.revision() == revision - 1) {
+                entries.put(userId, new Entry(change.apply(current.snapshot).withRevision(revision), expiry()));
+            } else {
+                entries.remove(userId);
+            }
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private long expiry() {
+        return System.nanoTime() + TimeUnit.SECONDS.toNanos(ttlSeconds);
+    }
+
+    private record Entry(Snapshot snapshot, long expiresAt) {
+    }
+
+    /**
+     * A cart as of one revision. {@code itemCount} is the sum of quantities shown on the cart badge.
+     */
+    public record Snapshot(long revision, ShoppingCartDto cart, int itemCount) {
+
+        public static Snapshot of(long revision, ShoppingCartDto cart) {
+            return of(revision, cart, cart.getItems() != null ? cart.getItems() : List.of());
+        }
+
+        private static Snapshot of(long revision, ShoppingCartDto cart, List<CartItemDto> items) {
+            List<CartItemDto> copies = items.stream().map(CartSnapshotCache::copy).toList();
+            ShoppingCartDto frozen = new ShoppingCartDto(cart.getId(), cart.getUserId(), copies, copies.size(),
+                    copies.stream().map(CartItemDto::getTotalPrice).filter(Objects::nonNull)
+                            .reduce(BigDecimal.ZERO, BigDecimal::add),
+                    cart.getCreatedAt(), cart.getUpdatedAt(), cart.isStatus());
+            return new Snapshot(revision, frozen, copies.stream().mapToInt(CartItemDto::getQuantity).sum());
+        }
+
+        public ShoppingCartDto cartCopy() {
+            return new ShoppingCartDto(cart.getId(), cart.getUserId(), itemsCopy(), cart.getTotalItems(),
+                    cart.getTotalAmount(), cart.getCreatedAt(), cart.getUpdatedAt(), cart.isStatus());
+        }
+
+        public List<CartItemDto> itemsCopy() {
+            return cart.getItems().stream().map(CartSnapshotCache::copy).collect(Collectors.toList());
+        }
+
+        /** Adds the item, or replaces the line with the same id. */
+        public Snapshot withItem(CartItemDto item) {
+            List<CartItemDto> items = new ArrayList<>(cart.getItems());
+            items.removeIf(existing -> existing.getId().equals(item.getId()));
+            items.add(item);
+            return of(revision, cart, items);
+        }
+
+        public Snapshot withQuantity(UUID cartItemId, int quantity) {
+            List<CartItemDto> items = cart.getItems().stream().map(existing -> {
+                if (!existing.getId().equals(cartItemId)) {
+                    return existing;
+                }
+                CartItemDto changed = copy(existing);
+                changed.setQuantity(quantity);
+                changed.setTotalPrice(existing.getUnitPrice() != null
+                        ? existing.getUnitPrice().multiply(BigDecimal.valueOf(quantity)) : null);
+                return changed;
+            }).toList();
+            return of(revision, cart, items);
+        }
+
+        public Snapshot withoutItem(UUID cartItemId) {
+            return of(revision, cart, cart.getItems().stream()
+                    .filter(existing -> !existing.getId().equals(cartItemId)).toList());
+        }
+
+        public Snapshot cleared() {
+            return of(revision, cart, List.of());
+        }
+
+        private Snapshot withRevision(long newRevision) {
+            return new Snapshot(newRevision, cart, itemCount);
+        }
+    }
+
+    private static CartItemDto copy(CartItemDto item) {
+        return new CartItemDto(item.getId(), item.getProductId(), item.getProductName(), item.getProductDescription(),
+                item.getVariantId(), item.getSku(), item.getVariantAttributes(), item.getImageUrl(),
+                item.getUnitPrice(), item.getQuantity(), item.getTotalPrice(), item.isInStock());
+    }
+}
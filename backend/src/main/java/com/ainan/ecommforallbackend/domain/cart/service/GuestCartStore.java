@@ -0,0 +1,458 @@
+package com.ainan.ecommforallbackend.domain.cart.service;
+
+import com.ainan.ecommforallbackend.core.exception.TooManyRequestsException;
+import com.ainan.ecommforallbackend.domain.cart.dto.CartItemOperationDto;
+import com.ainan.ecommforallbackend.domain.cart.dto.CartLineDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Carts of anonymous shoppers, keyed by an opaque token kept in a cookie. Guest carts live only in
+ * this node's memory, so browsing-only sessions never write to the database; they become a real
+ * {@code ShoppingCart} when the shopper logs in and the lines are merged.
+ * <p>
+ * At most {@code cart.guest.max-carts} carts are held (least recently used go first) and a cart
+ * expires {@code cart.guest.ttl-hours} after its last change. With {@code cart.guest.spill-dir}
+ * set, carts evicted for space are written there instead of being lost, and read back on their
+ * next use; past {@code cart.guest.max-spilled-carts} files the oldest spills are deleted. Guests
+ * need sticky sessions unless that directory is shared between nodes, and each node only caps the
+ * files it spilled or found at startup.
+ * <p>
+ * A cart only comes into being with its first line, and each client address may start at most
+ * {@code cart.guest.new-carts-per-minute} carts, so scripted requests cannot flood memory or the
+ * spill directory with fresh tokens.
+ */
+@Component
+@Slf4j
+public class GuestCartStore {
+    public static final String COOKIE_NAME = "guest_cart";
+    private static final int SPILL_FORMAT = 1;
+    private static final String SPILL_SUFFIX = ".cart";
+    // 16 random bytes, base64url without padding
+    private static final Pattern TOKEN = Pattern.compile("[A-Za-z0-9_-]{22}");
+
+    private final SecureRandom random = new SecureRandom();
+    private final Map<String, GuestCart> carts = new LinkedHashMap<>(16, 0.75f, true);
+    // Evicted for space under the lock, spilled after leaving it
+    private final List<Map.Entry<String, GuestCart>> evicted = new ArrayList<>();
+    // Tokens with a spill file, oldest spill first; guarded by the carts lock
+    private final LinkedHashSet<String> spilled = new LinkedHashSet<>();
+    // Carts started per client in the current minute, least recently active first
+    private final Map<String, CreationWindow> newCartsByClient = new LinkedHashMap<>(16, 0.75f, true);
+
+    @Value("${cart.guest.max-carts:50000}")
+    private int maxCarts = 50_000;
+    @Value("${cart.guest.max-lines:50}")
+    private int maxLines = 50;
+    @Value("${cart.guest.ttl-hours:72}")
+    private long ttlHours = 72;
+    @Value("${cart.guest.spill-dir:}")
+    private String spillDir = "";
+    @Value("${cart.guest.max-spilled-carts:200000}")
+    private int maxSpilledCarts = 200_000;
+    @Value("${cart.guest.new-carts-per-minute:20}")
+    private int newCartsPerMinute = 20;
+
+    public GuestCartStore(MeterRegistry meterRegistry) {
+        meterRegistry.gauge("cart.guest.carts", carts, map -> {
+            synchronized (map) {
+                return map.size();
+            }
+        });
+    }
+
+    /**
+     * Indexes the spill files left by an earlier run, oldest first, so they count against the cap.
+     */
+    @PostConstruct
+    void indexSpilled() {
+        if (!isSpillEnabled() || !Files.isDirectory(Path.of(spillDir))) {
+            return;
+        }
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(Path.of(spillDir), "*" + SPILL_SUFFIX)) {
+            stream.forEach(files::add);
+        } catch (IOException e) {
+            log.warn("Failed to index guest cart spill directory {}: {}", spillDir, e.getMessage());
+            return;
+        }
+        files.sort(Comparator.comparingLong(GuestCartStore::lastModified));
+        List<Path> dropped;
+        synchronized (carts) {
+            files.forEach(file -> spilled.add(tokenOf(file)));
+            dropped = trimSpilled();
+        }
+        dropped.forEach(GuestCartStore::deleteQuietly);
+    }
+
+    public String newToken() {
+        byte[] bytes = new byte[16];
+        random.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    public boolean isValidToken(String token) {
+        return token != null && TOKEN.matcher(token).matches();
+    }
+
+    /**
+     * @return the lines of the guest cart, empty if there is none
+     */
+    public List<CartLineDto> lines(String token) {
+        if (!isValidToken(token)) {
+            return List.of();
+        }
+        synchronized (carts) {
+            GuestCart cart = live(token);
+            if (cart != null) {
+                return cart.toLines();
+            }
+        }
+        GuestCart spilled = isSpillEnabled() ? readSpilled(token) : null;
+        if (spilled == null) {
+            return List.of();
+        }
+        List<CartLineDto> lines;
+        synchronized (carts) {
+            // A write may have created the cart again while the file was read; it wins
+            GuestCart cart = live(token);
+            if (cart == null) {
+                carts.put(token, spilled);
+                trimToSize();
+                cart = spilled;
+            }
+            lines = cart.toLines();
+        }
+        spillEvicted();
+        return lines;
+    }
+
+    /**
+     * Applies the operations in order, creating the cart if they leave it with any lines.
+     *
+     * @param client address of the caller, for the limit on new carts
+     * @return the resulting lines
+     * @throws IllegalArgumentException for a missing quantity or more than {@code cart.guest.max-lines} lines
+     * @throws TooManyRequestsException if the client has started too many carts this minute
+     */
+    public List<CartLineDto> apply(String token, String client, List<CartItemOperationDto> operations) {
+        if (!isValidToken(token)) {
+            throw new IllegalArgumentException("Invalid guest cart token");
+        }
+        // Pick up a spilled cart before changing it
+        lines(token);
+        List<CartLineDto> result;
+        synchronized (carts) {
+            GuestCart cart = live(token);
+            LinkedHashMap<LineKey, Integer> lines = cart != null ? new LinkedHashMap<>(cart.lines) : new LinkedHashMap<>();
+            for (CartItemOperationDto operation : operations) {
+                LineKey key = new LineKey(operation.getProductId(), operation.getVariantId());
+                switch (operation.getType()) {
+                    case REMOVE -> lines.remove(key);
+                    case ADD -> lines.merge(key, positive(operation), Math::addExact);
+                    case SET -> lines.put(key, positive(operation));
+                }
+            }
+            if (lines.size() > maxLines) {
+                throw new IllegalArgumentException("A guest cart can hold at most " + maxLines + " items");
+            }
+            if (lines.isEmpty()) {
+                carts.remove(token);
+                return List.of();
+            }
+            if (cart == null) {
+                admitNewCart(client);
+            }
+            GuestCart updated = new GuestCart(lines, System.currentTimeMillis() + ttlHours * 3_600_000L);
+            carts.put(token, updated);
+            trimToSize();
+            result = updated.toLines();
+        }
+        spillEvicted();
+        return result;
+    }
+
+    /**
+     * Forgets the guest cart once the surrounding transaction commits, e.g. after it was merged
+     * into a user's cart; a rolled back merge keeps it.
+     */
+    public void discardAfterCommit(String token) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            discard(token);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                discard(token);
+            }
+        });
+    }
+
+    public void discard(String token) {
+        if (!isValidToken(token)) {
+            return;
+        }
+        synchronized (carts) {
+            carts.remove(token);
+            spilled.remove(token);
+        }
+        if (isSpillEnabled()) {
+            deleteQuietly(spillFile(token));
+        }
+    }
+
+    /**
+     * Drops expired carts from memory and from the spill directory.
+     */
+    @Scheduled(fixedDelayString = "${cart.guest.sweep-interval-ms:600000}")
+    public void sweep() {
+        long now = System.currentTimeMillis();
+        int removed = 0;
+        synchronized (carts) {
+            for (Iterator<GuestCart> it = carts.values().iterator(); it.hasNext(); ) {
+                if (it.next().expiresAt <= now) {
+                    it.remove();
+                    removed++;
+                }
+            }
+        }
+        if (isSpillEnabled() && Files.isDirectory(Path.of(spillDir))) {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(Path.of(spillDir), "*" + SPILL_SUFFIX)) {
+                for (Path file : files) {
+                    GuestCart cart = read(file);
+                    if (cart == null || cart.expiresAt <= now) {
+                        synchronized (carts) {
+                            spilled.remove(tokenOf(file));
+                        }
+                        deleteQuietly(file);
+                        removed++;
+                    }
+                }
+            } catch (IOException e) {
+                log.warn("Failed to sweep guest cart spill directory {}: {}", spillDir, e.getMessage());
+            }
+        }
+        if (removed > 0) {
+            log.info("Removed {} expired guest carts", removed);
+        }
+    }
+
+    // Callers hold the lock
+    private GuestCart live(String token) {
+        GuestCart cart = carts.get(token);
+        if (cart != null && cart.expiresAt <= System.currentTimeMillis()) {
+            carts.remove(token);
+            return null;
+        }
+        return cart;
+    }
+
+    private void trimToSize() {
+        Iterator<Map.Entry<String, GuestCart>> it = carts.entrySet().iterator();
+        while (carts.size() > maxCarts && it.hasNext()) {
+            Map.Entry<String, GuestCart> eldest = it.next();
+            if (isSpillEnabled()) {
+                evicted.add(Map.entry(eldest.getKey(), eldest.getValue()));
+            }
+            it.remove();
+        }
+    }
+
+    // Callers hold the lock
+    private void admitNewCart(String client) {
+        long minute = System.currentTimeMillis() / 60_000;
+        String key = client != null ? client : "";
+        CreationWindow window = newCartsByClient.get(key);
+        int count = window != null && window.minute() == minute ? window.count() + 1 : 1;
+        if (count > newCartsPerMinute) {
+            throw new TooManyRequestsException("Too many new guest carts; try again in a minute");
+        }
+        newCartsByClient.put(key, new CreationWindow(minute, count));
+        // Bounded like the carts; a client whose window is dropped simply starts counting again
+        Iterator<String> it = newCartsByClient.keySet().iterator();
+        while (newCartsByClient.size() > maxCarts && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    private void spillEvicted() {
+        List<Map.Entry<String, GuestCart>> toSpill;
+        synchronized (carts) {
+            if (evicted.isEmpty()) {
+                return;
+            }
+            toSpill = new ArrayList<>(evicted);
+            evicted.clear();
+        }
+        List<Path> dropped = new ArrayList<>();
+        for (Map.Entry<String, GuestCart> entry : toSpill) {
+            if (!write(spillFile(entry.getKey()), entry.getValue())) {
+                continue;
+            }
+            synchronized (carts) {
+                spilled.remove(entry.getKey());
+                spilled.add(entry.getKey());
+                dropped.addAll(trimSpilled());
+            }
+        }
+        dropped.forEach(GuestCartStore::deleteQuietly);
+        if (!dropped.isEmpty()) {
+            log.info("Dropped {} oldest spilled guest carts over the limit of {}", dropped.size(), maxSpilledCarts);
+        }
+    }
+
+    // Callers hold the lock and delete the returned files after leaving it
+    private List<Path> trimSpilled() {
+        List<Path> dropped = new ArrayList<>();
+        Iterator<String> it = spilled.iterator();
+        while (spilled.size() > maxSpilledCarts && it.hasNext()) {
+            dropped.add(spillFile(it.next()));
+            it.remove();
+        }
+        return dropped;
+    }
+
+    private boolean isSpillEnabled() {
+        return spillDir != null && !spillDir.isBlank();
+    }
+
+    // Only called with validated tokens, so the name cannot leave the directory
+    private Path spillFile(String token) {
+        return Path.of(spillDir, token + SPILL_SUFFIX);
+    }
+
+    private GuestCart readSpilled(String token) {
+        synchronized (carts) {
+            spilled.remove(token);
+        }
+        Path file = spillFile(token);
+        GuestCart cart = read(file);
+        deleteQuietly(file);
+        return cart != null && cart.expiresAt > System.currentTimeMillis() ? cart : null;
+    }
+
+    private GuestCart read(Path file) {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try (InputStream stream = Files.newInputStream(file);
+             DataInputStream in = new DataInputStream(stream)) {
+            if (in.readInt() != SPILL_FORMAT) {
+                return null;
+            }
+            long expiresAt = in.readLong();
+            int count = in.readInt();
+            LinkedHashMap<LineKey, Integer> lines = new LinkedHashMap<>();
+            for (int i = 0; i < count; i++) {
+                UUID productId = new UUID(in.readLong(), in.readLong());
+                UUID variantId = in.readBoolean() ? new UUID(in.readLong(), in.readLong()) : null;
+                lines.put(new LineKey(productId, variantId), in.readInt());
+            }
+            return new GuestCart(lines, expiresAt);
+        } catch (IOException e) {
+            log.warn("Failed to read spilled guest cart {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    private boolean write(Path file, GuestCart cart) {
+        try {
+            Files.createDirectories(file.getParent());
+            Path temp = Files.createTempFile(file.getParent(), "guest", ".tmp");
+            try (OutputStream stream = Files.newOutputStream(temp);
+                 DataOutputStream out = new DataOutputStream(stream)) {
+                out.writeInt(SPILL_FORMAT);
+                out.writeLong(cart.expiresAt);
+                out.writeInt(cart.lines.size());
+                for (Map.Entry<LineKey, Integer> line : cart.lines.entrySet()) {
+                    out.writeLong(line.getKey().productId().getMostSignificantBits());
+                    out.writeLong(line.getKey().productId().getLeastSignificantBits());
+                    UUID variantId = line.getKey().variantId();
+                    out.writeBoolean(variantId != null);
+                    if (variantId != null) {
+                        out.writeLong(variantId.getMostSignificantBits());
+                        out.writeLong(variantId.getLeastSignificantBits());
+                    }
+                    out.writeInt(line.getValue());
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (IOException e) {
+            log.warn("Failed to spill guest cart to {}: {}", file, e.getMessage());
+            return false;
+        }
+    }
+
+    private static String tokenOf(Path file) {
+        String name = file.getFileName().toString();
+        return name.substring(0, name.length() - SPILL_SUFFIX.length());
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete spilled guest cart {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static int positive(CartItemOperationDto operation) {
+        if (operation.getQuantity() == null || operation.getQuantity() <= 0) {
+            throw new IllegalArgumentException("Quantity must be greater than zero for product " + operation.getProductId());
+        }
+        return operation.getQuantity();
+    }
+
+    private record LineKey(UUID productId, UUID variantId) {
+    }
+
+    private record CreationWindow(long minute, int count) {
+    }
+
+    // Immutable once stored; changes replace the whole cart
+    private record GuestCart(Map<LineKey, Integer> lines, long expiresAt) {
+        List<CartLineDto> toLines() {
+            return lines.entrySet().stream()
+                    .map(line -> new CartLineDto(line.getKey().productId(), line.getKey().variantId(), line.getValue()))
+                    .toList();
+        }
+    }
+}
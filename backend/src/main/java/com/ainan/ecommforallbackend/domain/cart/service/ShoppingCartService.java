@@ -1,9 +1,12 @@
 package com.ainan.ecommforallbackend.domain.cart.service;
 
 
+import java.math.BigDecimal;
 import java.util.List;
 
+import com.ainan.ecommforallbackend.domain.cart.dto.CartBulkUpdateDto;
 import com.ainan.ecommforallbackend.domain.cart.dto.CartItemDto;
+import com.ainan.ecommforallbackend.domain.cart.dto.CartSummaryDto;
 import com.ainan.ecommforallbackend.domain.cart.dto.ShoppingCartDto;
 
 public interface ShoppingCartService {
@@ -23,7 +26,42 @@ public interface ShoppingCartService {
 
     int getCartItemCount(String userId);
 
-    double getCartTotalAmount(String userId);
+    /**
+     * Cart total including discount, shipping and tax, priced like the order it would become.
+     */
+    BigDecimal getCartTotalAmount(String userId, String region);
+
+    /**
+     * Item count and priced totals of the cart in one call, without loading its items.
+     */
+    CartSummaryDto getCartSummary(String userId, String region);
+
+    /**
+     * Applies add, set and remove operations to the cart in one transaction and returns the
+     * resulting cart. Operations on the same line are combined in request order; if any product or
+     * variant is unavailable nothing is applied.
+     */
+    ShoppingCartDto applyCartOperations(String userId, CartBulkUpdateDto request);
+
+    /**
+     * The guest cart for the token, priced at current prices; empty if there is none.
+     */
+    ShoppingCartDto getGuestCart(String guestToken);
+
+    /**
+     * Applies the operations to the in-memory guest cart; nothing is written to the database. Every
+     * added or set product must exist and have a price, otherwise nothing is applied. Starting a new
+     * cart counts against the {@code client}'s limit of new guest carts.
+     */
+    ShoppingCartDto applyGuestCartOperations(String guestToken, String client, CartBulkUpdateDto request);
+
+    void clearGuestCart(String guestToken);
+
+    /**
+     * Adds the guest cart's lines to the user's cart with one upsert and forgets the guest cart.
+     * Lines whose product or variant is no longer available are dropped.
+     */
+    void mergeGuestCart(String userId, String guestToken);
 
 
 }
@@ -1,14 +1,25 @@
 package com.ainan.ecommforallbackend.domain.cart.service;
 
 import com.ainan.ecommforallbackend.core.exception.ResourceNotFoundException;
+import com.ainan.ecommforallbackend.domain.cart.dto.CartBulkUpdateDto;
 import com.ainan.ecommforallbackend.domain.cart.dto.CartItemDto;
+import com.ainan.ecommforallbackend.domain.cart.dto.CartItemOperationDto;
+import com.ainan.ecommforallbackend.domain.cart.dto.CartLineDto;
+import com.ainan.ecommforallbackend.domain.cart.dto.CartOperationType;
+import com.ainan.ecommforallbackend.domain.cart.dto.CartSummaryDto;
 import com.ainan.ecommforallbackend.domain.cart.dto.ShoppingCartDto;
 import com.ainan.ecommforallbackend.domain.cart.entity.CartItem;
 import com.ainan.ecommforallbackend.domain.cart.entity.ShoppingCart;
 import com.ainan.ecommforallbackend.domain.cart.mapper.CartItemMapper;
 import com.ainan.ecommforallbackend.domain.cart.mapper.ShoppingCartMapper;
+import com.ainan.ecommforallbackend.domain.cart.repository.CartBatchRepository;
 import com.ainan.ecommforallbackend.domain.cart.repository.CartItemRepository;
+import com.ainan.ecommforallbackend.domain.cart.repository.CartItemWrite;
+import com.ainan.ecommforallbackend.domain.cart.repository.CartRevision;
+import com.ainan.ecommforallbackend.domain.cart.repository.CartTotalsView;
 import com.ainan.ecommforallbackend.domain.cart.repository.ShoppingCartRepository;
+import com.ainan.ecommforallbackend.domain.pricing.dto.PriceBreakdown;
+import com.ainan.ecommforallbackend.domain.pricing.service.PricingPlan;
 import com.ainan.ecommforallbackend.domain.product.dto.ProductImageDto;
 import com.ainan.ecommforallbackend.domain.product.entity.Product;
 import com.ainan.ecommforallbackend.domain.product.entity.ProductVariant;
@@ -20,13 +31,22 @@ import com.ainan.ecommforallbackend.domain.user.repository.UserRepository;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -43,6 +63,15 @@ public class ShoppingCartServiceImpl implements ShoppingCartService {
     private final UserRepository userRepository;
     private final ShoppingCartMapper shoppingCartMapper;
     private final CartItemMapper cartItemMapper;
+    private final PricingPlan pricingPlan;
+    private final CartSnapshotCache cartSnapshotCache;
+    private final CartBatchRepository cartBatchRepository;
+    private final GuestCartStore guestCartStore;
+
+    // Check each cached snapshot against the cart's revision (one indexed lookup) so changes made
+    // through other nodes are seen immediately; only safe to turn off on a single node
+    @Value("${cart.cache.verify-revision:true}")
+    private boolean verifyRevision = true;
 
     @Override
     @Transactional
@@ -69,17 +98,9 @@ public class ShoppingCartServiceImpl implements ShoppingCartService {
     @Override
     @Transactional(readOnly = true)
     public ShoppingCartDto getShoppingCartByUserId(String userId) {
-        UUID userUUID = UUID.fromString(userId);
-        ShoppingCart cart = shoppingCartRepository.findByUserId(userUUID)
-                .orElseThrow(() -> new ResourceNotFoundException("Shopping cart not found for user: " + userId));
-        ShoppingCartDto cartDto = shoppingCartMapper.toDto(cart);
-
-        List<CartItemDto> cartItems = cart.getCartItems().stream()
-                .map(cartItemMapper::toDto)
-                .collect(Collectors.toList());
-
-        cartDto.setItems(addPrimaryImagesToCartItems(cartItems));
-        return cartDto;
+        return snapshot(UUID.fromString(userId))
+                .orElseThrow(() -> new ResourceNotFoundException("Shopping cart not found for user: " + userId))
+                .cartCopy();
     }
 
     @Override
@@ -93,65 +114,28 @@ public class ShoppingCartServiceImpl implements ShoppingCartService {
         UUID productIdUUID = UUID.fromString(productId);
         UUID variantIdUUID = variantId != null ? UUID.fromString(variantId) : null;
 
-        ShoppingCart cart = shoppingCartRepository.findByUserId(userUUID)
+        CartRevision cart = cartBatchRepository.lockCart(userUUID)
                 .orElseThrow(() -> new ResourceNotFoundException("Shopping cart not found for user: " + userId));
 
+        // Inserts the line at the current price, or adds to the quantity of the line already in the
+        // cart at its original price; one statement, so double-clicks cannot create a second line
+        Optional<CartItemWrite> written = cartBatchRepository.upsertItem(
+                cart.cartId(), productIdUUID, variantIdUUID, quantity, LocalDateTime.now());
+
         Product product = productRepository.findById(productIdUUID)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found"));
-
-        // Check if item already exists in cart
-        Optional<CartItem> existingCartItem;
-        if (variantId != null) {
-            existingCartItem = cartItemRepository.findByCartIdAndProductIdAndVariantId(
-                    cart.getId(), productIdUUID, variantIdUUID);
-        } else {
-            existingCartItem = cartItemRepository.findByCartIdAndProductIdAndVariantIsNull(
-                    cart.getId(), productIdUUID);
-        }
-
-        CartItem cartItem;
-        if (existingCartItem.isPresent()) {
-            // Update existing item - add to existing quantity, keep original price
-            cartItem = existingCartItem.get();
-            cartItem.setQuantity(cartItem.getQuantity());
-            log.info("Updated existing cart item for user {}, product {}: quantity {} -> {}, price remains {}",
-                    userId, productId, cartItem.getQuantity() - quantity, cartItem.getQuantity(),
-                    cartItem.getUnitPrice());
-        } else {
-            // Create new item
-            cartItem = new CartItem();
-            cartItem.setCart(cart);
-            cartItem.setProduct(product);
-            cartItem.setQuantity(quantity);
-
-            // Set variant and price based on product type
-            if (variantId != null) {
-                // Product with variant
-                ProductVariant variant = productVariantRepository.findById(variantIdUUID)
-                        .orElseThrow(() -> new ResourceNotFoundException("Product variant not found"));
-                cartItem.setVariant(variant);
-                cartItem.setUnitPrice(variant.getPrice()); // Lock variant price
-                log.info(
-                        "Added new cart item with variant for user {}, product {}, variant {}: quantity {}, locked price {}",
-                        userId, productId, variantId, quantity, variant.getPrice());
-            } else {
-                // Product without variant - use product's own price
-                if (product.getPrice() == null) {
-                    throw new IllegalStateException("Product has no price and no variants available");
-                }
-                cartItem.setVariant(null);
-                cartItem.setUnitPrice(product.getPrice()); // Lock product price
-                log.info("Added new cart item for user {}, product {}: quantity {}, locked price {}",
-                        userId, productId, quantity, product.getPrice());
-            }
-
-            // Add to cart's collection for bidirectional sync
-            cart.getCartItems().add(cartItem);
-        }
-
-        // Save only the owning side (CartItem)
-        cartItem = cartItemRepository.save(cartItem);
-        return cartItemMapper.toDto(cartItem);
+        ProductVariant variant = variantIdUUID != null ? productVariantRepository.findById(variantIdUUID)
+                .filter(found -> found.getProduct().getId().equals(productIdUUID))
+                .orElseThrow(() -> new ResourceNotFoundException("Product variant not found")) : null;
+        CartItemWrite item = written.orElseThrow(() -> new IllegalStateException(variant != null
+                ? "Product variant has no price" : "Product has no price and no variants available"));
+        log.info("Added {} of product {}, variant {} to cart of user {}: quantity now {}, locked price {}",
+                quantity, productId, variantId, userId, item.quantity(), item.unitPrice());
+
+        CartItemDto cartItemDto = addPrimaryImagesToCartItems(List.of(
+                toItemDto(item.id(), product, variant, item.unitPrice(), item.quantity()))).get(0);
+        cartSnapshotCache.updateAfterCommit(userUUID, cart.revision(), snapshot -> snapshot.withItem(cartItemDto));
+        return cartItemDto;
     }
 
     @Override
@@ -171,9 +155,12 @@ public class ShoppingCartServiceImpl implements ShoppingCartService {
             throw new IllegalArgumentException("Cart item does not belong to user: " + userId);
         }
 
+        long revision = shoppingCartRepository.incrementRevision(cartItem.getCart().getId());
+
         // Update quantity but keep original price
         cartItem.setQuantity(quantity);
         cartItem = cartItemRepository.save(cartItem);
+        cartSnapshotCache.updateAfterCommit(userUUID, revision, snapshot -> snapshot.withQuantity(cartItemUUID, quantity));
 
         log.info("Updated cart item quantity for user {}, cart item {}: new quantity {}, price remains {}",
                 userId, cartItemId, quantity, cartItem.getUnitPrice());
@@ -194,7 +181,9 @@ public class ShoppingCartServiceImpl implements ShoppingCartService {
             throw new IllegalArgumentException("Cart item does not belong to user: " + userId);
         }
 
+        long revision = shoppingCartRepository.incrementRevision(cartItem.getCart().getId());
         cartItemRepository.delete(cartItem);
+        cartSnapshotCache.updateAfterCommit(userUUID, revision, snapshot -> snapshot.withoutItem(cartItemUUID));
         log.info("Removed cart item {} for user {}", cartItemId, userId);
     }
 
@@ -205,44 +194,241 @@ public class ShoppingCartServiceImpl implements ShoppingCartService {
         ShoppingCart shoppingCart = shoppingCartRepository.findByUserId(userUUID)
                 .orElseThrow(() -> new ResourceNotFoundException("Shopping cart not found for user: " + userId));
 
+        long revision = shoppingCartRepository.incrementRevision(shoppingCart.getId());
         cartItemRepository.deleteAllByCartId(shoppingCart.getId());
         // Clear the collection for bidirectional sync
         shoppingCart.getCartItems().clear();
+        cartSnapshotCache.updateAfterCommit(userUUID, revision, CartSnapshotCache.Snapshot::cleared);
         log.info("Cleared shopping cart for user {}", userId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<CartItemDto> getCartItems(String userId) {
+        return snapshot(UUID.fromString(userId))
+                .orElseThrow(() -> new ResourceNotFoundException("Shopping cart not found for user: " + userId))
+                .itemsCopy();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public int getCartItemCount(String userId) {
+        return getCartSummary(userId, null).getItemCount();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BigDecimal getCartTotalAmount(String userId, String region) {
+        return getCartSummary(userId, region).getTotalAmount();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CartSummaryDto getCartSummary(String userId, String region) {
         UUID userUUID = UUID.fromString(userId);
-        ShoppingCart shoppingCart = shoppingCartRepository.findByUserId(userUUID)
-                .orElseThrow(() -> new ResourceNotFoundException("Shopping cart not found for user: " + userId));
+        // A cached snapshot already has the sums; otherwise one aggregate query rather than loading
+        // (and caching) the whole cart just for the badge
+        Optional<CartSnapshotCache.Snapshot> cached = currentSnapshot(userUUID);
+        long lineCount;
+        long itemCount;
+        BigDecimal subtotal;
+        if (cached.isPresent()) {
+            lineCount = cached.get().cart().getItems().size();
+            itemCount = cached.get().itemCount();
+            subtotal = cached.get().cart().getTotalAmount();
+        } else {
+            CartTotalsView totals = cartItemRepository.sumByUserId(userUUID);
+            lineCount = totals.getLineCount() != null ? totals.getLineCount() : 0;
+            itemCount = totals.getItemCount() != null ? totals.getItemCount() : 0;
+            subtotal = totals.getSubtotal() != null ? totals.getSubtotal() : BigDecimal.ZERO;
+        }
 
-        return shoppingCart.getCartItems().stream()
-                .map(cartItemMapper::toDto)
-                .collect(Collectors.toList());
+        // Same plan as Order.calculateTotals, so the cart total is what the order will charge
+        PriceBreakdown price = pricingPlan.evaluate(PricingPlan.toCents(subtotal), region);
+        return new CartSummaryDto(Math.toIntExact(itemCount), Math.toIntExact(lineCount),
+                PriceBreakdown.toAmount(price.subtotalCents()), PriceBreakdown.toAmount(price.discountCents()),
+                PriceBreakdown.toAmount(price.shippingCents()), PriceBreakdown.toAmount(price.taxCents()),
+                PriceBreakdown.toAmount(price.totalCents()));
     }
 
     @Override
-    public int getCartItemCount(String userId) {
+    @Transactional
+    public ShoppingCartDto applyCartOperations(String userId, CartBulkUpdateDto request) {
         UUID userUUID = UUID.fromString(userId);
-        Optional<ShoppingCart> cart = shoppingCartRepository.findByUserId(userUUID);
 
-        return cart.map(shoppingCart -> shoppingCart.getCartItems().stream()
-                .mapToInt(CartItem::getQuantity)
-                .sum()).orElse(0);
+        // Combine the operations per line in request order, so every line is written once
+        Map<CartLineKey, LineChange> changes = new LinkedHashMap<>();
+        for (CartItemOperationDto operation : request.getOperations()) {
+            int quantity = 0;
+            if (operation.getType() != CartOperationType.REMOVE) {
+                if (operation.getQuantity() == null || operation.getQuantity() <= 0) {
+                    throw new IllegalArgumentException("Quantity must be greater than zero for product "
+                            + operation.getProductId());
+                }
+                quantity = operation.getQuantity();
+            }
+            changes.merge(new CartLineKey(operation.getProductId(), operation.getVariantId()),
+                    new LineChange(operation.getType(), quantity), LineChange::then);
+        }
+        Map<CartOperationType, List<CartLineDto>> lines = new EnumMap<>(CartOperationType.class);
+        changes.forEach((key, change) -> lines.computeIfAbsent(change.type(), type -> new ArrayList<>())
+                .add(new CartLineDto(key.productId(), key.variantId(), change.quantity())));
+        List<CartLineDto> adds = lines.getOrDefault(CartOperationType.ADD, List.of());
+        List<CartLineDto> sets = lines.getOrDefault(CartOperationType.SET, List.of());
+        List<CartLineDto> removes = lines.getOrDefault(CartOperationType.REMOVE, List.of());
+
+        CartRevision cart = cartBatchRepository.lockCart(userUUID)
+                .orElseThrow(() -> new ResourceNotFoundException("Shopping cart not found for user: " + userId));
+        LocalDateTime now = LocalDateTime.now();
+        List<CartLineDto> written = new ArrayList<>(cartBatchRepository.upsert(cart.cartId(), adds, false, now));
+        written.addAll(cartBatchRepository.upsert(cart.cartId(), sets, true, now));
+        if (written.size() < adds.size() + sets.size()) {
+            Set<CartLineKey> writtenKeys = written.stream()
+                    .map(line -> new CartLineKey(line.getProductId(), line.getVariantId()))
+                    .collect(Collectors.toSet());
+            List<CartLineKey> unavailable = changes.keySet().stream()
+                    .filter(key -> changes.get(key).type() != CartOperationType.REMOVE && !writtenKeys.contains(key))
+                    .toList();
+            // Rolls back the lines already written
+            throw new ResourceNotFoundException("Products or variants not found or without a price: " + unavailable);
+        }
+        int removed = cartBatchRepository.delete(cart.cartId(), removes);
+        log.info("Applied {} cart operations for user {}: {} lines added to, {} set, {} removed",
+                request.getOperations().size(), userId, adds.size(), sets.size(), removed);
+
+        // Nothing of the cart is in the persistence context yet, so this reads the rows just written
+        return loadSnapshot(userUUID)
+                .orElseThrow(() -> new ResourceNotFoundException("Shopping cart not found for user: " + userId))
+                .cartCopy();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ShoppingCartDto getGuestCart(String guestToken) {
+        return toGuestCartDto(guestCartStore.lines(guestToken));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ShoppingCartDto applyGuestCartOperations(String guestToken, String client, CartBulkUpdateDto request) {
+        // Checked before the store is touched, so made-up ids never start or grow a guest cart
+        Map<CartLineKey, CartLineDto> added = new LinkedHashMap<>();
+        for (CartItemOperationDto operation : request.getOperations()) {
+            if (operation.getType() != CartOperationType.REMOVE) {
+                added.putIfAbsent(new CartLineKey(operation.getProductId(), operation.getVariantId()),
+                        new CartLineDto(operation.getProductId(), operation.getVariantId(), 1));
+            }
+        }
+        if (!added.isEmpty()) {
+            Set<CartLineKey> priced = priceGuestLines(new ArrayList<>(added.values())).stream()
+                    .map(item -> new CartLineKey(item.getProductId(), item.getVariantId()))
+                    .collect(Collectors.toSet());
+            List<CartLineKey> unavailable = added.keySet().stream().filter(key -> !priced.contains(key)).toList();
+            if (!unavailable.isEmpty()) {
+                throw new ResourceNotFoundException("Products or variants not found or without a price: " + unavailable);
+            }
+        }
+        return toGuestCartDto(guestCartStore.apply(guestToken, client, request.getOperations()));
+    }
 
+    @Override
+    public void clearGuestCart(String guestToken) {
+        guestCartStore.discard(guestToken);
     }
 
     @Override
-    public double getCartTotalAmount(String userId) {
+    @Transactional
+    public void mergeGuestCart(String userId, String guestToken) {
+        List<CartLineDto> lines = guestCartStore.lines(guestToken);
+        if (lines.isEmpty()) {
+            return;
+        }
+        createShoppingCartIfNotExists(userId);
         UUID userUUID = UUID.fromString(userId);
-        Optional<ShoppingCart> cart = shoppingCartRepository.findByUserId(userUUID);
+        CartRevision cart = cartBatchRepository.lockCart(userUUID)
+                .orElseThrow(() -> new ResourceNotFoundException("Shopping cart not found for user: " + userId));
+        // Quantities add to what the user's cart already holds
+        List<CartLineDto> merged = cartBatchRepository.upsert(cart.cartId(), lines, false, LocalDateTime.now());
+        cartSnapshotCache.evictAfterCommit(userUUID);
+        guestCartStore.discardAfterCommit(guestToken);
+        log.info("Merged guest cart into cart of user {}: {} of {} lines", userId, merged.size(), lines.size());
+    }
+
+    private ShoppingCartDto toGuestCartDto(List<CartLineDto> lines) {
+        List<CartItemDto> items = priceGuestLines(lines);
+        BigDecimal totalAmount = items.stream().map(CartItemDto::getTotalPrice).reduce(BigDecimal.ZERO, BigDecimal::add);
+        return new ShoppingCartDto(null, null, addPrimaryImagesToCartItems(items), items.size(), totalAmount,
+                null, null, true);
+    }
 
-        return cart.map(shoppingCart -> shoppingCart.getCartItems().stream()
-                .mapToDouble(item -> item.getUnitPrice().doubleValue() * item.getQuantity())
-                .sum()).orElse(0.0);
+    // Prices guest lines like addItemToCart would, skipping products and variants that are gone
+    private List<CartItemDto> priceGuestLines(List<CartLineDto> lines) {
+        List<CartItemDto> items = new ArrayList<>();
+        if (!lines.isEmpty()) {
+            Map<UUID, Product> products = productRepository.findWithReferencesByIdIn(lines.stream()
+                            .map(CartLineDto::getProductId).collect(Collectors.toSet())).stream()
+                    .collect(Collectors.toMap(Product::getId, product -> product));
+            Set<UUID> variantIds = lines.stream().map(CartLineDto::getVariantId)
+                    .filter(Objects::nonNull).collect(Collectors.toSet());
+            Map<UUID, ProductVariant> variants = variantIds.isEmpty() ? Map.of()
+                    : productVariantRepository.findAllById(variantIds).stream()
+                    .collect(Collectors.toMap(ProductVariant::getId, variant -> variant));
+            for (CartLineDto line : lines) {
+                Product product = products.get(line.getProductId());
+                ProductVariant variant = line.getVariantId() != null ? variants.get(line.getVariantId()) : null;
+                if (product == null || (line.getVariantId() != null
+                        && (variant == null || !variant.getProduct().getId().equals(product.getId())))) {
+                    continue;
+                }
+                BigDecimal unitPrice = variant != null ? variant.getPrice() : product.getPrice();
+                if (unitPrice == null) {
+                    continue;
+                }
+                items.add(toItemDto(null, product, variant, unitPrice, line.getQuantity()));
+            }
+        }
+        return items;
+    }
 
+    // Same fields as CartItemMapper.toDto, for lines that are not loaded as entities
+    private CartItemDto toItemDto(UUID id, Product product, ProductVariant variant, BigDecimal unitPrice, int quantity) {
+        return new CartItemDto(id, product.getId(), product.getName(), product.getDescription(),
+                variant != null ? variant.getId() : null, variant != null ? variant.getSku() : product.getSku(),
+                variant != null ? variant.getAttributeValues() : null, null, unitPrice, quantity,
+                unitPrice.multiply(BigDecimal.valueOf(quantity)),
+                (variant != null ? variant.getAvailableStock() : product.getAvailableStock()) > 0);
+    }
+
+    // The cached snapshot if it is still the cart's current revision
+    private Optional<CartSnapshotCache.Snapshot> currentSnapshot(UUID userId) {
+        Optional<CartSnapshotCache.Snapshot> cached = cartSnapshotCache.get(userId);
+        if (cached.isEmpty() || !verifyRevision || shoppingCartRepository.findRevisionByUserId(userId)
+                .map(revision -> revision == cached.get().revision()).orElse(false)) {
+            return cached;
+        }
+        cartSnapshotCache.evict(userId);
+        return Optional.empty();
+    }
+
+    // Read-through: the current cached snapshot, otherwise cart, items, products and variants in
+    // one query plus the primary images, cached for the next read
+    private Optional<CartSnapshotCache.Snapshot> snapshot(UUID userId) {
+        Optional<CartSnapshotCache.Snapshot> cached = currentSnapshot(userId);
+        return cached.isPresent() ? cached : loadSnapshot(userId);
+    }
+
+    private Optional<CartSnapshotCache.Snapshot> loadSnapshot(UUID userId) {
+        Optional<CartSnapshotCache.Snapshot> loaded = shoppingCartRepository.findWithItemsByUserId(userId)
+                .map(cart -> {
+                    ShoppingCartDto cartDto = shoppingCartMapper.toDto(cart);
+                    cartDto.setItems(addPrimaryImagesToCartItems(cart.getCartItems().stream()
+                            .map(cartItemMapper::toDto)
+                            .collect(Collectors.toList())));
+                    return CartSnapshotCache.Snapshot.of(cart.getRevision(), cartDto);
+                });
+        loaded.ifPresentOrElse(snapshot -> cartSnapshotCache.put(userId, snapshot),
+                () -> cartSnapshotCache.evict(userId));
+        return loaded;
     }
 
     private List<CartItemDto> addPrimaryImagesToCartItems(List<CartItemDto> cartItemDtos) {
@@ -266,6 +452,20 @@ public class ShoppingCartServiceImpl implements ShoppingCartService {
         return cartItemDtos;
     }
 
-    ;
+    private record CartLineKey(UUID productId, UUID variantId) {
+    }
 
+    private record LineChange(CartOperationType type, int quantity) {
+        // The net effect of this change followed by next
+        LineChange then(LineChange next) {
+            if (next.type() != CartOperationType.ADD) {
+                return next;
+            }
+            return switch (type) {
+                case ADD -> new LineChange(CartOperationType.ADD, Math.addExact(quantity, next.quantity()));
+                case SET -> new LineChange(CartOperationType.SET, Math.addExact(quantity, next.quantity()));
+                case REMOVE -> new LineChange(CartOperationType.SET, next.quantity());
+            };
+        }
+    }
 }
\ No newline at end of file
@@ -1,17 +1,20 @@
 package com.ainan.ecommforallbackend.domain.category.repository;
 
 import com.ainan.ecommforallbackend.domain.category.entity.Category;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 @Repository
 public interface CategoryRepository extends  JpaRepository<Category, UUID> {
     Optional<Category> findBySlug(String slug);
@@ -21,4 +24,8 @@ public interface CategoryRepository extends  JpaRepository<Category, UUID> {
     @Query("UPDATE Category c SET c.parent = null WHERE c.parent.id = :id")
     void setChildrenParentToNull(@Param("id") UUID id);
     List<Category> findByParentId(UUID parentId);
+
+    @Query("SELECT c.imageUrl FROM Category c WHERE c.imageUrl IS NOT NULL")
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    Stream<String> streamAllImageUrls();
 }
@@ -0,0 +1,14 @@
+package com.ainan.ecommforallbackend.domain.idempotency.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotentResponse<T> {
+    private T body;
+    // True when the body was stored by an earlier attempt with the same key
+    private boolean replayed;
+}
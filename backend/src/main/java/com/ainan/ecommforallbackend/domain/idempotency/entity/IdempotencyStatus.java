@@ -0,0 +1,6 @@
+package com.ainan.ecommforallbackend.domain.idempotency.entity;
+
+public enum IdempotencyStatus {
+    IN_PROGRESS,
+    COMPLETED
+}
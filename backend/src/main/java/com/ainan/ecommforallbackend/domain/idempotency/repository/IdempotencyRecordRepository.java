@@ -0,0 +1,62 @@
+package com.ainan.ecommforallbackend.domain.idempotency.repository;
+
+import com.ainan.ecommforallbackend.domain.idempotency.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, UUID> {
+
+    Optional<IdempotencyRecordView> findViewByUserIdAndIdempotencyKey(UUID userId, String idempotencyKey);
+
+    /**
+     * Inserts an IN_PROGRESS record unless the key already exists. Returns 1 for the single caller
+     * that claimed the key, 0 for everyone else.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO idempotency_keys (id, user_id, idempotency_key, request_hash, status, lock_token, locked_at, created_at, expires_at) " +
+            "VALUES (:id, :userId, :key, :requestHash, 'IN_PROGRESS', :lockToken, :now, :now, :expiresAt) " +
+            "ON CONFLICT (user_id, idempotency_key) DO NOTHING", nativeQuery = true)
+    int claim(@Param("id") UUID id,
+              @Param("userId") UUID userId,
+              @Param("key") String key,
+              @Param("requestHash") String requestHash,
+              @Param("lockToken") UUID lockToken,
+              @Param("now") LocalDateTime now,
+              @Param("expiresAt") LocalDateTime expiresAt);
+
+    /**
+     * Hands an IN_PROGRESS record held past the in-progress timeout (e.g. its node crashed) to a new
+     * lock token. The old holder can no longer complete it, so at most one attempt commits.
+     */
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.lockToken = :lockToken, r.lockedAt = :now WHERE r.id = :id " +
+            "AND r.status = com.ainan.ecommforallbackend.domain.idempotency.entity.IdempotencyStatus.IN_PROGRESS " +
+            "AND r.lockedAt < :staleBefore")
+    int takeOver(@Param("id") UUID id,
+                 @Param("lockToken") UUID lockToken,
+                 @Param("now") LocalDateTime now,
+                 @Param("staleBefore") LocalDateTime staleBefore);
+
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.status = com.ainan.ecommforallbackend.domain.idempotency.entity.IdempotencyStatus.COMPLETED, " +
+            "r.responseBody = :responseBody, r.lockToken = null WHERE r.id = :id AND r.lockToken = :lockToken")
+    int complete(@Param("id") UUID id, @Param("lockToken") UUID lockToken, @Param("responseBody") String responseBody);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.id = :id AND r.lockToken = :lockToken")
+    int release(@Param("id") UUID id, @Param("lockToken") UUID lockToken);
+
+    @Modifying
+    @Query(value = "DELETE FROM idempotency_keys WHERE id IN (" +
+            "SELECT id FROM idempotency_keys WHERE expires_at <= :now ORDER BY expires_at LIMIT :limit FOR UPDATE SKIP LOCKED)",
+            nativeQuery = true)
+    int deleteExpired(@Param("now") LocalDateTime now, @Param("limit") int limit);
+}
@@ -0,0 +1,23 @@
+package com.ainan.ecommforallbackend.domain.idempotency.repository;
+
+import com.ainan.ecommforallbackend.domain.idempotency.entity.IdempotencyStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Closed projection of {@link com.ainan.ecommforallbackend.domain.idempotency.entity.IdempotencyRecord}.
+ * Waiters poll through it so every read hits the database instead of a managed entity cached in
+ * the request's persistence context.
+ */
+public interface IdempotencyRecordView {
+    UUID getId();
+
+    String getRequestHash();
+
+    IdempotencyStatus getStatus();
+
+    LocalDateTime getLockedAt();
+
+    String getResponseBody();
+}
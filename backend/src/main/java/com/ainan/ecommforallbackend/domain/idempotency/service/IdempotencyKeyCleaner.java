@@ -0,0 +1,44 @@
+package com.ainan.ecommforallbackend.domain.idempotency.service;
+
+import com.ainan.ecommforallbackend.domain.job.service.JobCoordinator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Deletes expired idempotency keys in small batches through the {@code expires_at} index, so a
+ * cleanup never holds locks on a large part of the table.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyKeyCleaner {
+
+    private final IdempotencyService idempotencyService;
+    private final JobCoordinator jobCoordinator;
+
+    @Value("${idempotency.cleanup-batch-size:1000}")
+    private int batchSize;
+
+    @Value("${idempotency.max-batches-per-cleanup:50}")
+    private int maxBatches;
+
+    @Scheduled(fixedDelayString = "${idempotency.cleanup-interval-ms:600000}")
+    public void deleteExpiredKeys() {
+        jobCoordinator.runExclusive("idempotency-key-cleanup", lease -> {
+            int total = 0;
+            for (int batch = 0; batch < maxBatches; batch++) {
+                int deleted = idempotencyService.deleteExpiredKeys(batchSize);
+                total += deleted;
+                if (deleted < batchSize) {
+                    break;
+                }
+            }
+            if (total > 0) {
+                log.info("Deleted {} expired idempotency keys", total);
+            }
+        });
+    }
+}
@@ -0,0 +1,20 @@
+package com.ainan.ecommforallbackend.domain.idempotency.service;
+
+import com.ainan.ecommforallbackend.domain.idempotency.dto.IdempotentResponse;
+
+import java.util.function.Supplier;
+
+public interface IdempotencyService {
+    /**
+     * Runs {@code action} at most once per user and key. A retry with the same key and request gets
+     * the stored response back; a retry arriving while the first attempt is still running waits for
+     * it. If the action throws, the key is released so the client can try again.
+     *
+     * @throws com.ainan.ecommforallbackend.core.exception.IdempotencyConflictException if the key was
+     *         used for a different request, or the first attempt is still running after the wait timeout
+     */
+    <T> IdempotentResponse<T> execute(String userId, String idempotencyKey, Object request,
+                                      Class<T> responseType, Supplier<T> action);
+
+    int deleteExpiredKeys(int batchSize);
+}
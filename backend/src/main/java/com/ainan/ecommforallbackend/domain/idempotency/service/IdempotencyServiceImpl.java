@@ -0,0 +1,189 @@
+package com.ainan.ecommforallbackend.domain.idempotency.service;
+
+import com.ainan.ecommforallbackend.core.exception.IdempotencyConflictException;
+import com.ainan.ecommforallbackend.domain.idempotency.dto.IdempotentResponse;
+import com.ainan.ecommforallbackend.domain.idempotency.entity.IdempotencyStatus;
+import com.ainan.ecommforallbackend.domain.idempotency.repository.IdempotencyRecordRepository;
+import com.ainan.ecommforallbackend.domain.idempotency.repository.IdempotencyRecordView;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Claims keys with an {@code INSERT ... ON CONFLICT DO NOTHING} in its own transaction, so the claim
+ * is visible to concurrent retries immediately. The response is stored in the same transaction as
+ * the action itself: either the order and its stored response both commit, or neither does and the
+ * claim is released.
+ */
+@Service
+@Slf4j
+public class IdempotencyServiceImpl implements IdempotencyService {
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final long MAX_POLL_MILLIS = 500;
+
+    private final IdempotencyRecordRepository recordRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transaction;
+    private final TransactionTemplate newTransaction;
+    // Attempts running on this node, so local waiters are woken as soon as they finish
+    private final Map<UUID, CompletableFuture<Void>> running = new ConcurrentHashMap<>();
+
+    @Value("${idempotency.ttl-hours:24}")
+    private long ttlHours = 24;
+    @Value("${idempotency.wait-timeout-ms:10000}")
+    private long waitTimeoutMs = 10_000;
+    @Value("${idempotency.in-progress-timeout-seconds:120}")
+    private long inProgressTimeoutSeconds = 120;
+
+    public IdempotencyServiceImpl(IdempotencyRecordRepository recordRepository,
+                                  ObjectMapper objectMapper,
+                                  PlatformTransactionManager transactionManager) {
+        this.recordRepository = recordRepository;
+        this.objectMapper = objectMapper;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public <T> IdempotentResponse<T> execute(String userId, String idempotencyKey, Object request,
+                                             Class<T> responseType, Supplier<T> action) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+        UUID userUuid = UUID.fromString(userId);
+        String requestHash = hash(request);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitTimeoutMs);
+        long pollMillis = 20;
+
+        while (true) {
+            UUID lockToken = UUID.randomUUID();
+            LocalDateTime now = LocalDateTime.now();
+            UUID recordId = UUID.randomUUID();
+            Integer claimed = newTransaction.execute(status -> recordRepository.claim(recordId, userUuid,
+                    idempotencyKey, requestHash, lockToken, now, now.plusHours(ttlHours)));
+            if (claimed != null && claimed == 1) {
+                return new IdempotentResponse<>(run(recordId, lockToken, responseType, action), false);
+            }
+
+            IdempotencyRecordView existing = recordRepository
+                    .findViewByUserIdAndIdempotencyKey(userUuid, idempotencyKey).orElse(null);
+            if (existing == null) {
+                // The first attempt failed and released the key; race for it again
+                continue;
+            }
+            if (!existing.getRequestHash().equals(requestHash)) {
+                throw new IdempotencyConflictException("Idempotency-Key was already used for a different request");
+            }
+            if (existing.getStatus() == IdempotencyStatus.COMPLETED) {
+                log.info("Replaying stored response for idempotency key {} of user {}", idempotencyKey, userId);
+                return new IdempotentResponse<>(deserialize(existing.getResponseBody(), responseType), true);
+            }
+            if (existing.getLockedAt().isBefore(now.minusSeconds(inProgressTimeoutSeconds))) {
+                Integer takenOver = newTransaction.execute(status -> recordRepository.takeOver(existing.getId(),
+                        lockToken, now, now.minusSeconds(inProgressTimeoutSeconds)));
+                if (takenOver != null && takenOver == 1) {
+                    log.warn("Took over idempotency key {} of user {} abandoned since {}",
+                            idempotencyKey, userId, existing.getLockedAt());
+                    return new IdempotentResponse<>(run(existing.getId(), lockToken, responseType, action), false);
+                }
+                continue;
+            }
+
+            long remainingNanos = deadline - System.nanoTime();
+            if (remainingNanos <= 0) {
+                throw new IdempotencyConflictException("A request with this Idempotency-Key is still being processed");
+            }
+            awaitAttempt(existing.getId(), Math.min(TimeUnit.NANOSECONDS.toMillis(remainingNanos) + 1, pollMillis));
+            pollMillis = Math.min(pollMillis * 2, MAX_POLL_MILLIS);
+        }
+    }
+
+    @Override
+    @Transactional
+    public int deleteExpiredKeys(int batchSize) {
+        return recordRepository.deleteExpired(LocalDateTime.now(), batchSize);
+    }
+
+    private <T> T run(UUID recordId, UUID lockToken, Class<T> responseType, Supplier<T> action) {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        running.put(recordId, done);
+        try {
+            return transaction.execute(status -> {
+                T result = action.get();
+                // Fails only if our claim was taken over as abandoned; roll back rather than commit twice
+                if (recordRepository.complete(recordId, lockToken, serialize(result)) == 0) {
+                    throw new IdempotencyConflictException("Idempotency-Key was taken over by another request");
+                }
+                return result;
+            });
+        } catch (RuntimeException e) {
+            newTransaction.executeWithoutResult(status -> recordRepository.release(recordId, lockToken));
+            throw e;
+        } finally {
+            running.remove(recordId, done);
+            done.complete(null);
+        }
+    }
+
+    private void awaitAttempt(UUID recordId, long timeoutMillis) {
+        CompletableFuture<Void> local = running.get(recordId);
+        try {
+            if (local != null) {
+                local.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            } else {
+                // Held by another node: poll with backoff
+                Thread.sleep(timeoutMillis);
+            }
+        } catch (TimeoutException | ExecutionException e) {
+            // Re-read the record either way
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyConflictException("Interrupted while waiting for the original request");
+        }
+    }
+
+    private String hash(Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(objectMapper.writeValueAsBytes(request)));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Failed to hash request", e);
+        }
+    }
+
+    private String serialize(Object response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to store response", e);
+        }
+    }
+
+    private <T> T deserialize(String body, Class<T> responseType) {
+        try {
+            return objectMapper.readValue(body, responseType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to read stored response", e);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.ainan.ecommforallbackend.domain.inventory.controller;
+
+import com.ainan.ecommforallbackend.domain.inventory.dto.StockReservationCreateDto;
+import com.ainan.ecommforallbackend.domain.inventory.dto.StockReservationDto;
+import com.ainan.ecommforallbackend.domain.inventory.service.InventoryService;
+import com.ainan.ecommforallbackend.domain.user.service.UserService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.security.Principal;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/checkout/reservations")
+@RequiredArgsConstructor
+@Tag(name = "Checkout Reservations", description = "Time-limited stock holds taken during checkout")
+public class StockReservationController {
+
+    private final InventoryService inventoryService;
+    private final UserService userService;
+
+    @PostMapping
+    @Operation(summary = "Reserve stock", description = "Holds stock for the cart (or the given items) until the reservation expires. Pass the returned id as reservationId when creating the order.")
+    public ResponseEntity<StockReservationDto> reserve(@Valid @RequestBody StockReservationCreateDto createDto,
+                                                       Principal principal) {
+        return new ResponseEntity<>(inventoryService.reserve(getCurrentUserId(principal), createDto), HttpStatus.CREATED);
+    }
+
+    @GetMapping("/{reservationId}")
+    @Operation(summary = "Get reservation", description = "Returns a reservation of the current user.")
+    public ResponseEntity<StockReservationDto> getReservation(@PathVariable UUID reservationId, Principal principal) {
+        return ResponseEntity.ok(inventoryService.getReservation(reservationId, getCurrentUserId(principal)));
+    }
+
+    @DeleteMapping("/{reservationId}")
+    @Operation(summary = "Release reservation", description = "Releases an active reservation, returning its stock to sale.")
+    public ResponseEntity<Void> release(@PathVariable UUID reservationId, Principal principal) {
+        inventoryService.releaseReservation(reservationId, getCurrentUserId(principal));
+        return ResponseEntity.noContent().build();
+    }
+
+    private String getCurrentUserId(Principal principal) {
+        if (principal == null) {
+            throw new IllegalStateException("User not authenticated");
+        }
+        return userService.getUserByUsername(principal.getName()).getId().toString();
+    }
+}
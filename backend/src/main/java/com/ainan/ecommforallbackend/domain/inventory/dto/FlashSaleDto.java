@@ -0,0 +1,27 @@
+package com.ainan.ecommforallbackend.domain.inventory.dto;
+
+import com.ainan.ecommforallbackend.domain.inventory.entity.FlashSaleStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlashSaleDto {
+    private UUID id;
+    private UUID variantId;
+    private UUID productId;
+    private FlashSaleStatus status;
+    private int allocatedQuantity;
+    // Units still available in the in-memory counters on this node
+    private long remainingQuantity;
+    // Allocations not yet written back to the variant row
+    private long pendingFlush;
+    private long flushedQuantity;
+    private LocalDateTime startedAt;
+    private LocalDateTime endedAt;
+}
@@ -0,0 +1,19 @@
+package com.ainan.ecommforallbackend.domain.inventory.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * A quantity of one product or, when {@code variantId} is set, one of its variants.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockLineDto {
+    private UUID productId;
+    private UUID variantId;
+    private int quantity;
+}
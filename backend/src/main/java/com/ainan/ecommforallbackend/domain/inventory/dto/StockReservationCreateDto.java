@@ -0,0 +1,20 @@
+package com.ainan.ecommforallbackend.domain.inventory.dto;
+
+import com.ainan.ecommforallbackend.domain.order.dto.OrderItemCreateDto;
+import jakarta.validation.Valid;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReservationCreateDto {
+    // Reserve the current cart contents; otherwise the listed items are reserved
+    private boolean fromCart = true;
+
+    @Valid
+    private List<OrderItemCreateDto> items;
+}
@@ -0,0 +1,20 @@
+package com.ainan.ecommforallbackend.domain.inventory.dto;
+
+import com.ainan.ecommforallbackend.domain.inventory.entity.ReservationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReservationDto {
+    private UUID id;
+    private ReservationStatus status;
+    private LocalDateTime expiresAt;
+    private List<StockLineDto> items;
+}
@@ -0,0 +1,18 @@
+package com.ainan.ecommforallbackend.domain.inventory.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockShortageDto {
+    private UUID productId;
+    private UUID variantId;
+    private int requested;
+    // Null when the product or variant does not exist
+    private Integer available;
+}
@@ -0,0 +1,65 @@
+package com.ainan.ecommforallbackend.domain.inventory.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A SKU in flash-sale mode. {@code allocatedQuantity} units were moved into {@code reserved_stock}
+ * when the sale started and are handed out from in-memory counters; {@code flushedQuantity} is how
+ * many of them have been written back to the variant row as real decrements. It is updated in the
+ * same transaction as the variant, so after a crash the unflushed remainder is exactly
+ * (allocations in the log) - flushedQuantity.
+ * <p>
+ * The counters live on one node ({@code nodeId}); the rest of the cluster simply sees the allocated
+ * units as reserved and keeps selling the remaining stock through the database. The owner refreshes
+ * {@code heartbeatAt} on every flush, and a sale whose owner has gone quiet is taken over by another
+ * node, so a node that comes back under a new host name does not strand its units.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "flash_sales", indexes = {
+        @Index(name = "idx_flash_sales_variant_status", columnList = "variant_id, status")
+})
+public class FlashSale {
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private UUID id;
+
+    @Column(name = "variant_id", nullable = false)
+    private UUID variantId;
+
+    @Column(name = "product_id", nullable = false)
+    private UUID productId;
+
+    @Column(name = "node_id", nullable = false, length = 100)
+    private String nodeId;
+
+    @Column(name = "allocated_quantity", nullable = false)
+    private int allocatedQuantity;
+
+    @Column(name = "flushed_quantity", nullable = false)
+    private long flushedQuantity;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private FlashSaleStatus status = FlashSaleStatus.ACTIVE;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "ended_at")
+    private LocalDateTime endedAt;
+
+    // Database clock, so nodes with skewed clocks agree on which owners are stale
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+}
@@ -0,0 +1,6 @@
+package com.ainan.ecommforallbackend.domain.inventory.entity;
+
+public enum FlashSaleStatus {
+    ACTIVE,
+    ENDED
+}
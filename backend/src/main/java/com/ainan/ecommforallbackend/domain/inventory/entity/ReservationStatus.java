@@ -0,0 +1,8 @@
+package com.ainan.ecommforallbackend.domain.inventory.entity;
+
+public enum ReservationStatus {
+    ACTIVE,
+    CONSUMED,
+    RELEASED,
+    EXPIRED
+}
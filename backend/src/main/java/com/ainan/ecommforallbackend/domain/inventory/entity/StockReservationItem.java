@@ -0,0 +1,35 @@
+package com.ainan.ecommforallbackend.domain.inventory.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.util.UUID;
+
+@Entity
+@Table(name = "stock_reservation_items", indexes = {
+        @Index(name = "idx_stock_reservation_items_reservation", columnList = "reservation_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString(exclude = {"reservation"})
+public class StockReservationItem {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "reservation_id", nullable = false)
+    private StockReservation reservation;
+
+    @Column(name = "product_id", nullable = false)
+    private UUID productId;
+
+    @Column(name = "variant_id")
+    private UUID variantId;
+
+    @Column(nullable = false)
+    private int quantity;
+}
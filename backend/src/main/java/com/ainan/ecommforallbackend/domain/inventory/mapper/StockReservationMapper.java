@@ -0,0 +1,18 @@
+package com.ainan.ecommforallbackend.domain.inventory.mapper;
+
+import com.ainan.ecommforallbackend.domain.inventory.dto.StockLineDto;
+import com.ainan.ecommforallbackend.domain.inventory.dto.StockReservationDto;
+import com.ainan.ecommforallbackend.domain.inventory.entity.StockReservation;
+import com.ainan.ecommforallbackend.domain.inventory.entity.StockReservationItem;
+import org.mapstruct.Mapper;
+
+import java.util.List;
+
+@Mapper(componentModel = "spring")
+public interface StockReservationMapper {
+    StockReservationDto toDto(StockReservation reservation);
+
+    StockLineDto toLine(StockReservationItem item);
+
+    List<StockLineDto> toLines(List<StockReservationItem> items);
+}
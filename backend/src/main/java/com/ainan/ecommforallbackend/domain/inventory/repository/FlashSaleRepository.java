@@ -0,0 +1,45 @@
+package com.ainan.ecommforallbackend.domain.inventory.repository;
+
+import com.ainan.ecommforallbackend.domain.inventory.entity.FlashSale;
+import com.ainan.ecommforallbackend.domain.inventory.entity.FlashSaleStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface FlashSaleRepository extends JpaRepository<FlashSale, UUID> {
+    List<FlashSale> findByStatus(FlashSaleStatus status);
+    List<FlashSale> findByStatusAndNodeId(FlashSaleStatus status, String nodeId);
+    Optional<FlashSale> findByVariantIdAndStatus(UUID variantId, FlashSaleStatus status);
+
+    @Modifying
+    @Query(value = "UPDATE flash_sales SET heartbeat_at = LOCALTIMESTAMP "
+            + "WHERE node_id = :nodeId AND status = 'ACTIVE'", nativeQuery = true)
+    int heartbeat(@Param("nodeId") String nodeId);
+
+    /**
+     * Active sales of other nodes that have not heartbeated for {@code staleSeconds}.
+     */
+    @Query(value = "SELECT * FROM flash_sales WHERE status = 'ACTIVE' AND node_id <> :nodeId "
+            + "AND COALESCE(heartbeat_at, started_at) < LOCALTIMESTAMP - make_interval(secs => :staleSeconds)",
+            nativeQuery = true)
+    List<FlashSale> findOrphaned(@Param("nodeId") String nodeId, @Param("staleSeconds") long staleSeconds);
+
+    /**
+     * Moves a sale to {@code nodeId} if it is still stale and still owned by {@code previousNodeId},
+     * so two nodes can never both claim it.
+     */
+    @Modifying
+    @Query(value = "UPDATE flash_sales SET node_id = :nodeId, heartbeat_at = LOCALTIMESTAMP "
+            + "WHERE id = :id AND node_id = :previousNodeId AND status = 'ACTIVE' "
+            + "AND COALESCE(heartbeat_at, started_at) < LOCALTIMESTAMP - make_interval(secs => :staleSeconds)",
+            nativeQuery = true)
+    int claim(@Param("id") UUID id, @Param("previousNodeId") String previousNodeId,
+              @Param("nodeId") String nodeId, @Param("staleSeconds") long staleSeconds);
+}
@@ -0,0 +1,196 @@
+package com.ainan.ecommforallbackend.domain.inventory.repository;
+
+import com.ainan.ecommforallbackend.domain.inventory.dto.StockLineDto;
+import com.ainan.ecommforallbackend.domain.inventory.dto.StockShortageDto;
+import com.ainan.ecommforallbackend.domain.inventory.entity.ReservationStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.UUID;
+
+/**
+ * Set-based stock mutations on {@code product_variant} and {@code product}.
+ * <p>
+ * Each call is one statement: the lines travel as a {@code VALUES} list and both tables are updated
+ * by data-modifying CTEs, so the rows are only locked for the duration of the statement's own
+ * transaction and never read into the persistence context. Callers must pass lines that are already
+ * aggregated per variant/product, otherwise the join would apply only one of the duplicates.
+ * <p>
+ * Available stock is {@code stock - reserved_stock}; every conditional mutation checks against it so
+ * units held by checkout reservations cannot be sold twice.
+ */
+@Repository
+@RequiredArgsConstructor
+public class InventoryRepository {
+    // CTEs dropping the holds of the reservations returned by the CTE named by the argument
+    private static final String RELEASE_HOLDS = "held AS ("
+            + " SELECT i.product_id, i.variant_id, SUM(i.quantity) AS qty FROM stock_reservation_items i"
+            + " JOIN %s c ON c.id = i.reservation_id GROUP BY i.product_id, i.variant_id), "
+            + "variant_upd AS ("
+            + " UPDATE product_variant pv SET reserved_stock = GREATEST(pv.reserved_stock - h.qty, 0) FROM held h"
+            + " WHERE h.variant_id IS NOT NULL AND pv.id = h.variant_id RETURNING pv.id), "
+            + "product_upd AS ("
+            + " UPDATE product p SET reserved_stock = GREATEST(p.reserved_stock - h.qty, 0) FROM held h"
+            + " WHERE h.variant_id IS NULL AND p.id = h.product_id RETURNING p.id) ";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Decrements every line whose row still has enough available stock and returns the lines that
+     * could not be applied, with the available stock seen by the statement.
+     */
+    public List<StockShortageDto> decrementIfAvailable(List<StockLineDto> lines) {
+        return applyIfAvailable(lines, "stock = %1$s.stock - r.qty");
+    }
+
+    /**
+     * Places holds ({@code reserved_stock += qty}) on every line with enough available stock and
+     * returns the lines that could not be held.
+     */
+    public List<StockShortageDto> reserveIfAvailable(List<StockLineDto> lines) {
+        return applyIfAvailable(lines, "reserved_stock = %1$s.reserved_stock + r.qty");
+    }
+
+    /**
+     * Adds the quantities back unconditionally, e.g. when an order is cancelled.
+     */
+    public void increment(List<StockLineDto> lines) {
+        applyUnconditionally(lines, "stock = COALESCE(%1$s.stock, 0) + r.qty");
+    }
+
+    /**
+     * Puts the items of the given orders back into stock, summed per variant/product in the same
+     * statement. Used when orders are cancelled in bulk.
+     */
+    public void restoreForOrders(List<UUID> orderIds) {
+        StringJoiner ids = new StringJoiner(", ");
+        orderIds.forEach(id -> ids.add("CAST(? AS uuid)"));
+        String sql = "WITH req AS ("
+                + " SELECT oi.product_id, oi.product_variant_id AS variant_id, SUM(oi.quantity) AS qty"
+                + " FROM order_items oi WHERE oi.order_id IN (" + ids + ")"
+                + " GROUP BY oi.product_id, oi.product_variant_id), "
+                + "variant_upd AS ("
+                + " UPDATE product_variant pv SET stock = COALESCE(pv.stock, 0) + r.qty FROM req r"
+                + " WHERE r.variant_id IS NOT NULL AND pv.id = r.variant_id RETURNING pv.id) "
+                + "UPDATE product p SET stock = COALESCE(p.stock, 0) + r.qty FROM req r"
+                + " WHERE r.variant_id IS NULL AND p.id = r.product_id";
+        jdbcTemplate.update(sql, orderIds.toArray());
+    }
+
+    /**
+     * Closes an active reservation of the user and drops its holds, in one statement. A reservation
+     * past its deadline that the sweeper has not reached yet is closed as {@code EXPIRED} instead of
+     * {@code newStatus}, so its hold never outlives the call.
+     *
+     * @return the status the reservation was closed with, empty if it was not active
+     */
+    public Optional<ReservationStatus> closeReservation(UUID reservationId, UUID userId,
+                                                        ReservationStatus newStatus, LocalDateTime now) {
+        String sql = "WITH closed AS ("
+                + " UPDATE stock_reservations SET status = CASE WHEN expires_at > ? THEN ? ELSE 'EXPIRED' END"
+                + " WHERE id = ? AND user_id = ? AND status = 'ACTIVE'"
+                + " RETURNING id, status), "
+                + RELEASE_HOLDS.formatted("closed")
+                + "SELECT status FROM closed";
+        return jdbcTemplate.query(sql, (rs, rowNum) -> ReservationStatus.valueOf(rs.getString("status")),
+                now, newStatus.name(), reservationId, userId).stream().findFirst();
+    }
+
+    /**
+     * Expires up to {@code limit} active reservations that are past their deadline and releases
+     * their holds, all in one statement. Rows are picked oldest-first through the
+     * {@code (status, expires_at)} index and locked with {@code SKIP LOCKED}, so concurrent sweepers
+     * and checkouts consuming a reservation never block each other.
+     *
+     * @return the number of reservations expired
+     */
+    public int expireReservations(LocalDateTime now, int limit) {
+        String sql = "WITH expired AS ("
+                + " UPDATE stock_reservations SET status = 'EXPIRED' WHERE id IN ("
+                + "  SELECT id FROM stock_reservations WHERE status = 'ACTIVE' AND expires_at <= ?"
+                + "  ORDER BY expires_at LIMIT ? FOR UPDATE SKIP LOCKED)"
+                + " RETURNING id), "
+                + RELEASE_HOLDS.formatted("expired")
+                + "SELECT COUNT(*) FROM expired";
+        Integer expired = jdbcTemplate.queryForObject(sql, Integer.class, now, limit);
+        return expired != null ? expired : 0;
+    }
+
+    /**
+     * Turns {@code quantity} flash-sale allocations into real decrements: the units leave both
+     * {@code stock} and {@code reserved_stock} (where the sale parked them), and the sale's flushed
+     * counter advances in the same statement so a replay after a crash cannot apply them twice.
+     *
+     * @return false, with nothing applied, if the sale is no longer owned by {@code nodeId}
+     */
+    public boolean applyFlashSaleFlush(UUID saleId, String nodeId, UUID variantId, long quantity) {
+        return jdbcTemplate.update("WITH sale AS ("
+                        + " UPDATE flash_sales SET flushed_quantity = flushed_quantity + ? WHERE id = ? AND node_id = ? RETURNING id) "
+                        + "UPDATE product_variant SET stock = stock - ?, reserved_stock = GREATEST(reserved_stock - ?, 0) "
+                        + "WHERE id = ? AND EXISTS (SELECT 1 FROM sale)",
+                quantity, saleId, nodeId, quantity, quantity, variantId) > 0;
+    }
+
+    /**
+     * Hands units a flash sale never allocated back to normal sale.
+     */
+    public void releaseFlashSaleRemainder(UUID variantId, long quantity) {
+        jdbcTemplate.update("UPDATE product_variant SET reserved_stock = GREATEST(reserved_stock - ?, 0) WHERE id = ?",
+                quantity, variantId);
+    }
+
+    private List<StockShortageDto> applyIfAvailable(List<StockLineDto> lines, String setClause) {
+        List<Object> params = new ArrayList<>();
+        String sql = "WITH req (product_id, variant_id, qty) AS (VALUES " + values(lines, params) + "), "
+                + "variant_upd AS ("
+                + " UPDATE product_variant pv SET " + setClause.formatted("pv") + " FROM req r"
+                + " WHERE r.variant_id IS NOT NULL AND pv.id = r.variant_id AND pv.product_id = r.product_id"
+                + " AND pv.stock - pv.reserved_stock >= r.qty"
+                + " RETURNING pv.id), "
+                + "product_upd AS ("
+                + " UPDATE product p SET " + setClause.formatted("p") + " FROM req r"
+                + " WHERE r.variant_id IS NULL AND p.id = r.product_id AND p.stock - p.reserved_stock >= r.qty"
+                + " RETURNING p.id) "
+                + "SELECT r.product_id, r.variant_id, r.qty, "
+                + "CASE WHEN r.variant_id IS NOT NULL THEN pv.stock - pv.reserved_stock "
+                + "WHEN p.id IS NOT NULL THEN COALESCE(p.stock, 0) - p.reserved_stock END AS available "
+                + "FROM req r "
+                + "LEFT JOIN product_variant pv ON pv.id = r.variant_id AND pv.product_id = r.product_id "
+                + "LEFT JOIN product p ON p.id = r.product_id AND r.variant_id IS NULL "
+                + "WHERE (r.variant_id IS NOT NULL AND r.variant_id NOT IN (SELECT id FROM variant_upd)) "
+                + "OR (r.variant_id IS NULL AND r.product_id NOT IN (SELECT id FROM product_upd))";
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new StockShortageDto(
+                rs.getObject("product_id", UUID.class),
+                rs.getObject("variant_id", UUID.class),
+                rs.getInt("qty"),
+                rs.getObject("available", Integer.class)), params.toArray());
+    }
+
+    private void applyUnconditionally(List<StockLineDto> lines, String setClause) {
+        List<Object> params = new ArrayList<>();
+        String sql = "WITH req (product_id, variant_id, qty) AS (VALUES " + values(lines, params) + "), "
+                + "variant_upd AS ("
+                + " UPDATE product_variant pv SET " + setClause.formatted("pv") + " FROM req r"
+                + " WHERE r.variant_id IS NOT NULL AND pv.id = r.variant_id RETURNING pv.id) "
+                + "UPDATE product p SET " + setClause.formatted("p") + " FROM req r"
+                + " WHERE r.variant_id IS NULL AND p.id = r.product_id";
+        jdbcTemplate.update(sql, params.toArray());
+    }
+
+    private static String values(List<StockLineDto> lines, List<Object> params) {
+        StringJoiner values = new StringJoiner(", ");
+        for (StockLineDto line : lines) {
+            values.add("(CAST(? AS uuid), CAST(? AS uuid), CAST(? AS integer))");
+            params.add(line.getProductId());
+            params.add(line.getVariantId());
+            params.add(line.getQuantity());
+        }
+        return values.toString();
+    }
+}
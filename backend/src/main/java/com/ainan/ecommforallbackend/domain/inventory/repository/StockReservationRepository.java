@@ -0,0 +1,23 @@
+package com.ainan.ecommforallbackend.domain.inventory.repository;
+
+import com.ainan.ecommforallbackend.domain.inventory.entity.ReservationStatus;
+import com.ainan.ecommforallbackend.domain.inventory.entity.StockReservation;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface StockReservationRepository extends JpaRepository<StockReservation, UUID> {
+
+    @EntityGraph(attributePaths = "items")
+    Optional<StockReservation> findWithItemsByIdAndUserId(UUID id, UUID userId);
+
+    @Query("SELECT r.id FROM StockReservation r WHERE r.userId = :userId AND r.status = :status")
+    List<UUID> findIdsByUserIdAndStatus(@Param("userId") UUID userId, @Param("status") ReservationStatus status);
+}
@@ -0,0 +1,184 @@
+package com.ainan.ecommforallbackend.domain.inventory.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Append-only log of flash-sale allocations, used to rebuild the in-memory counters after a crash.
+ * <p>
+ * Each record is a fixed 20 bytes: the sale id followed by a signed quantity (positive for an
+ * allocation, negative when an allocation is handed back). {@link #append} only queues the record
+ * on a per-thread stripe, so buyers never share a lock; {@link #sync()} writes everything queued in
+ * one batch and forces it to disk. Every order holding allocations syncs before it commits, which
+ * makes the sync a group commit: whoever gets the lock first writes the records of all waiting
+ * orders, and the others find their records already on disk. The flusher also syncs before every
+ * flush, so the variant row never counts an allocation the log lacks. A crash therefore only loses
+ * records whose order had not committed yet.
+ * <p>
+ * Once a write fails the log refuses every further sync: the failed batch may have taken other
+ * orders' records with it, so none of them may be reported as durable.
+ */
+class FlashSaleAllocationLog implements Closeable {
+    private static final int RECORD_SIZE = 20;
+    private static final int BATCH_RECORDS = 4096;
+
+    private final Path file;
+    private final Queue<Entry>[] buffers;
+    // Only used by the synchronized writers
+    private final ByteBuffer batch = ByteBuffer.allocate(RECORD_SIZE * BATCH_RECORDS);
+    private FileChannel channel;
+    private IOException failure;
+
+    @SuppressWarnings("unchecked")
+    FlashSaleAllocationLog(Path file, int stripes) throws IOException {
+        this.file = file;
+        this.buffers = new Queue[stripes];
+        for (int i = 0; i < stripes; i++) {
+            buffers[i] = new ConcurrentLinkedQueue<>();
+        }
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        this.channel = open(file);
+        // Drop a record torn by a crash mid-write so later appends stay aligned
+        long size = channel.size();
+        if (size % RECORD_SIZE != 0) {
+            channel.truncate(size - size % RECORD_SIZE);
+        }
+    }
+
+    void append(UUID saleId, int quantity) {
+        buffers[stripe()].add(new Entry(saleId, quantity));
+    }
+
+    /**
+     * Writes the queued records and forces them to disk. Records appended while this runs may or
+     * may not be included, so callers read what they are about to flush before syncing. A record
+     * appended before the call is durable once it returns, even if another caller wrote it.
+     *
+     * @throws UncheckedIOException if this or an earlier sync failed to write
+     */
+    synchronized void sync() {
+        if (failure != null) {
+            throw new UncheckedIOException("Flash sale allocation log failed earlier", failure);
+        }
+        try {
+            if (writeBuffered() > 0) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            failure = e;
+            throw new UncheckedIOException("Failed to sync flash sale allocation log", e);
+        }
+    }
+
+    synchronized Map<UUID, Long> replay() throws IOException {
+        return replay(file);
+    }
+
+    /**
+     * Sums the logged quantities per sale. A torn record at the end of the file is ignored and a
+     * missing file replays as empty, so this also reads the log of a node whose sales were taken over.
+     */
+    static Map<UUID, Long> replay(Path file) throws IOException {
+        Map<UUID, Long> totals = new HashMap<>();
+        if (!Files.exists(file)) {
+            return totals;
+        }
+        try (FileChannel reader = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE * 4096);
+            while (reader.read(buffer) > 0) {
+                buffer.flip();
+                while (buffer.remaining() >= RECORD_SIZE) {
+                    UUID saleId = new UUID(buffer.getLong(), buffer.getLong());
+                    totals.merge(saleId, (long) buffer.getInt(), Long::sum);
+                }
+                buffer.compact();
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * Rewrites the log with one record per sale holding its running total, dropping sales that
+     * are no longer active. Only called at startup, before anything is appended.
+     */
+    synchronized void compact(Map<UUID, Long> totals) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".compact");
+        try (FileChannel writer = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+            for (Map.Entry<UUID, Long> entry : totals.entrySet()) {
+                // Totals never exceed the sale's int allocation, so they fit one record
+                record.clear()
+                        .putLong(entry.getKey().getMostSignificantBits())
+                        .putLong(entry.getKey().getLeastSignificantBits())
+                        .putInt(Math.toIntExact(entry.getValue()))
+                        .flip();
+                while (record.hasRemaining()) {
+                    writer.write(record);
+                }
+            }
+            writer.force(true);
+        }
+        channel.close();
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        channel = open(file);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writeBuffered();
+        channel.force(true);
+        channel.close();
+    }
+
+    private int writeBuffered() throws IOException {
+        int written = 0;
+        batch.clear();
+        for (Queue<Entry> buffer : buffers) {
+            Entry entry;
+            while ((entry = buffer.poll()) != null) {
+                if (batch.remaining() < RECORD_SIZE) {
+                    writeBatch();
+                }
+                batch.putLong(entry.saleId().getMostSignificantBits())
+                        .putLong(entry.saleId().getLeastSignificantBits())
+                        .putInt(entry.quantity());
+                written++;
+            }
+        }
+        writeBatch();
+        return written;
+    }
+
+    private void writeBatch() throws IOException {
+        batch.flip();
+        while (batch.hasRemaining()) {
+            channel.write(batch);
+        }
+        batch.clear();
+    }
+
+    private int stripe() {
+        // Same spread as StripedStockCounter, so a buyer thread keeps to one queue
+        return (int) ((Thread.currentThread().getId() * 0x9E3779B97F4A7C15L) >>> 40) % buffers.length;
+    }
+
+    private static FileChannel open(Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private record Entry(UUID saleId, int quantity) {
+    }
+}
@@ -0,0 +1,49 @@
+package com.ainan.ecommforallbackend.domain.inventory.service;
+
+import com.ainan.ecommforallbackend.domain.inventory.dto.FlashSaleCreateDto;
+import com.ainan.ecommforallbackend.domain.inventory.dto.FlashSaleDto;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface FlashSaleService {
+    /**
+     * Moves {@code quantity} units of the variant out of normal sale and into striped in-memory
+     * counters on this node.
+     */
+    FlashSaleDto startFlashSale(FlashSaleCreateDto createDto);
+
+    /**
+     * Stops allocating, flushes outstanding allocations and returns unsold units to normal sale.
+     */
+    FlashSaleDto endFlashSale(UUID variantId);
+
+    List<FlashSaleDto> getActiveFlashSales();
+
+    boolean isFlashSaleActive(UUID variantId);
+
+    /**
+     * Takes units from the variant's counters without touching the database.
+     *
+     * @return false if the sale has fewer than {@code quantity} units left
+     */
+    boolean tryAllocate(UUID variantId, int quantity);
+
+    /**
+     * Hands back units from {@link #tryAllocate} whose order did not commit.
+     */
+    void release(UUID variantId, int quantity);
+
+    /**
+     * Makes every allocation taken so far durable. Called before an order holding allocations
+     * commits; concurrent callers share one write and fsync.
+     */
+    void syncAllocations();
+
+    long remaining(UUID variantId);
+
+    /**
+     * Writes accumulated allocations back to the variant rows.
+     */
+    void flush();
+}
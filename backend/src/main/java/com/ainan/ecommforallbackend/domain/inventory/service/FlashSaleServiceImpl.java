@@ -0,0 +1,428 @@
+package com.ainan.ecommforallbackend.domain.inventory.service;
+
+import com.ainan.ecommforallbackend.core.exception.InsufficientStockException;
+import com.ainan.ecommforallbackend.core.exception.ResourceNotFoundException;
+import com.ainan.ecommforallbackend.core.util.StripedStockCounter;
+import com.ainan.ecommforallbackend.domain.inventory.dto.FlashSaleCreateDto;
+import com.ainan.ecommforallbackend.domain.inventory.dto.FlashSaleDto;
+import com.ainan.ecommforallbackend.domain.inventory.dto.StockLineDto;
+import com.ainan.ecommforallbackend.domain.inventory.dto.StockShortageDto;
+import com.ainan.ecommforallbackend.domain.inventory.entity.FlashSale;
+import com.ainan.ecommforallbackend.domain.inventory.entity.FlashSaleStatus;
+import com.ainan.ecommforallbackend.domain.inventory.repository.FlashSaleRepository;
+import com.ainan.ecommforallbackend.domain.inventory.repository.InventoryRepository;
+import com.ainan.ecommforallbackend.domain.job.service.JobCoordinator;
+import com.ainan.ecommforallbackend.domain.product.entity.ProductVariant;
+import com.ainan.ecommforallbackend.domain.product.repository.ProductVariantRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Serves flash-sale SKUs from striped in-memory counters instead of the variant row.
+ * <p>
+ * Starting a sale parks its units in {@code reserved_stock}, so the database path can no longer sell
+ * them. Buyers then only CAS on a counter stripe and queue a 20-byte allocation record, which is
+ * forced to disk, batched with the other checkouts waiting on it, before their order commits. A
+ * scheduled flusher turns the accumulated allocations into one decrement per SKU per interval.
+ * <p>
+ * Hot-path bookkeeping ({@code pending}, {@code inFlight}) uses {@link LongAdder} so it is striped
+ * just like the stock itself.
+ * <p>
+ * A sale belongs to the node that started it, which heartbeats it on every flush. When a node
+ * stops heartbeating (it died, or came back under a new host name) another node claims its sales
+ * under the {@value #TAKEOVER_JOB} lease and rebuilds them from the old node's log if it can read
+ * it. Without that log a sale is left alone, as
+ * its committed allocations cannot be told apart from unsold units. Flushes are fenced on the owner, so a node that stalled past the takeover window drops the
+ * sale instead of writing alongside the new owner.
+ */
+@Service
+@Slf4j
+public class FlashSaleServiceImpl implements FlashSaleService {
+    static final String TAKEOVER_JOB = "flash-sale-takeover";
+
+    private final FlashSaleRepository flashSaleRepository;
+    private final InventoryRepository inventoryRepository;
+    private final ProductVariantRepository productVariantRepository;
+    private final JobCoordinator jobCoordinator;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<UUID, ActiveSale> sales = new ConcurrentHashMap<>();
+    private final Object flushLock = new Object();
+
+    @Value("${inventory.flash-sale.log-dir:data/flash-sale}")
+    private String logDir = "data/flash-sale";
+    @Value("${inventory.flash-sale.stripes:16}")
+    private int stripes = 16;
+    @Value("${inventory.flash-sale.node-id:${HOSTNAME:local}}")
+    private String nodeId = "local";
+    @Value("${inventory.flash-sale.takeover-after-seconds:60}")
+    private long takeoverAfterSeconds = 60;
+
+    private FlashSaleAllocationLog allocationLog;
+
+    public FlashSaleServiceImpl(FlashSaleRepository flashSaleRepository,
+                                InventoryRepository inventoryRepository,
+                                ProductVariantRepository productVariantRepository,
+                                JobCoordinator jobCoordinator,
+                                PlatformTransactionManager transactionManager) {
+        this.flashSaleRepository = flashSaleRepository;
+        this.inventoryRepository = inventoryRepository;
+        this.productVariantRepository = productVariantRepository;
+        this.jobCoordinator = jobCoordinator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Rebuilds the counters of this node's active sales from the allocation log. Everything logged
+     * but not yet flushed becomes pending again, then the log is compacted to one record per sale.
+     */
+    @PostConstruct
+    void recover() throws IOException {
+        allocationLog = new FlashSaleAllocationLog(logFile(nodeId), stripes);
+        Map<UUID, Long> logged = allocationLog.replay();
+        Map<UUID, Long> totals = new HashMap<>();
+        for (FlashSale sale : flashSaleRepository.findByStatusAndNodeId(FlashSaleStatus.ACTIVE, nodeId)) {
+            long allocated = recoveredTotal(sale, logged.get(sale.getId()));
+            sales.put(sale.getVariantId(), restore(sale, allocated));
+            totals.put(sale.getId(), allocated);
+        }
+        allocationLog.compact(totals);
+        if (!sales.isEmpty()) {
+            log.info("Recovered {} active flash sales from the allocation log", sales.size());
+        }
+    }
+
+    /**
+     * Units of the sale still handed out after a restart. The log is synced before every order that
+     * allocates commits and before every flush, so its running total is authoritative even when it is below {@code flushedQuantity}: a release
+     * after the last flush is logged as a negative record that the variant row has not seen yet.
+     * Only a sale with flushes but no record at all means the log itself was lost; the flushed
+     * count is then the best lower bound left.
+     */
+    private long recoveredTotal(FlashSale sale, Long logged) {
+        if (logged != null) {
+            return logged;
+        }
+        if (sale.getFlushedQuantity() > 0) {
+            log.warn("Allocation log has no record of flash sale {}; resuming from {} flushed units",
+                    sale.getId(), sale.getFlushedQuantity());
+        }
+        return sale.getFlushedQuantity();
+    }
+
+    /**
+     * Claims active sales whose node has not heartbeated for {@code takeover-after-seconds}. The
+     * claim re-checks staleness and the previous owner in the database, so it can only succeed once.
+     */
+    @Scheduled(fixedDelayString = "${inventory.flash-sale.takeover-check-ms:30000}")
+    public void adoptOrphanedSales() {
+        jobCoordinator.runExclusive(TAKEOVER_JOB, lease -> {
+            for (FlashSale sale : flashSaleRepository.findOrphaned(nodeId, takeoverAfterSeconds)) {
+                lease.checkpoint();
+                // Can only happen if this node ended and restarted the sale's variant meanwhile
+                if (sales.containsKey(sale.getVariantId())) {
+                    continue;
+                }
+                try {
+                    adopt(sale);
+                } catch (IOException | RuntimeException e) {
+                    log.error("Failed to take over flash sale {} from node {}", sale.getId(), sale.getNodeId(), e);
+                }
+            }
+        });
+    }
+
+    private void adopt(FlashSale sale) throws IOException {
+        String previousNodeId = sale.getNodeId();
+        Path previousLog = logFile(previousNodeId);
+        if (!Files.exists(previousLog)) {
+            // Resuming from the flushed count would sell again the units of orders that committed
+            // after the last flush; the sale waits for its node or a shared log-dir instead
+            log.error("Cannot take over flash sale {} from node {}: its allocation log {} is not readable here",
+                    sale.getId(), previousNodeId, previousLog);
+            return;
+        }
+        Integer claimed = transactionTemplate.execute(status ->
+                flashSaleRepository.claim(sale.getId(), previousNodeId, nodeId, takeoverAfterSeconds));
+        if (claimed == null || claimed == 0) {
+            return;
+        }
+        long allocated = recoveredTotal(sale, FlashSaleAllocationLog.replay(previousLog).get(sale.getId()));
+        synchronized (flushLock) {
+            // Carry the total over into this node's log before anything can flush against it. The
+            // log may still hold records from an earlier spell of owning the sale, so only the
+            // difference is appended.
+            allocationLog.sync();
+            long known = allocationLog.replay().getOrDefault(sale.getId(), 0L);
+            allocationLog.append(sale.getId(), Math.toIntExact(allocated - known));
+            allocationLog.sync();
+            sales.put(sale.getVariantId(), restore(sale, allocated));
+        }
+        log.warn("Took over flash sale {} from node {}: {} of {} units allocated",
+                sale.getId(), previousNodeId, allocated, sale.getAllocatedQuantity());
+    }
+
+    private ActiveSale restore(FlashSale sale, long allocated) {
+        ActiveSale state = new ActiveSale(sale,
+                new StripedStockCounter(Math.max(sale.getAllocatedQuantity() - allocated, 0), stripes));
+        state.pending.add(allocated - sale.getFlushedQuantity());
+        return state;
+    }
+
+    private Path logFile(String node) {
+        return Path.of(logDir, "allocations-" + node + ".log");
+    }
+
+    @Override
+    public FlashSaleDto startFlashSale(FlashSaleCreateDto createDto) {
+        UUID variantId = createDto.getVariantId();
+        int quantity = createDto.getQuantity();
+        ProductVariant variant = productVariantRepository.findById(variantId)
+                .orElseThrow(() -> new ResourceNotFoundException("Product variant not found with id: " + variantId));
+        UUID productId = variant.getProduct().getId();
+
+        FlashSale sale = transactionTemplate.execute(status -> {
+            if (flashSaleRepository.findByVariantIdAndStatus(variantId, FlashSaleStatus.ACTIVE).isPresent()) {
+                throw new IllegalStateException("Variant already has an active flash sale: " + variantId);
+            }
+            List<StockShortageDto> shortages = inventoryRepository.reserveIfAvailable(
+                    List.of(new StockLineDto(productId, variantId, quantity)));
+            if (!shortages.isEmpty()) {
+                throw new InsufficientStockException(shortages);
+            }
+            FlashSale created = new FlashSale();
+            created.setVariantId(variantId);
+            created.setProductId(productId);
+            created.setNodeId(nodeId);
+            created.setAllocatedQuantity(quantity);
+            created.setStartedAt(LocalDateTime.now());
+            created.setHeartbeatAt(created.getStartedAt());
+            return flashSaleRepository.save(created);
+        });
+
+        ActiveSale state = new ActiveSale(sale, new StripedStockCounter(quantity, stripes));
+        sales.put(variantId, state);
+        log.info("Started flash sale {} for variant {} with {} units", sale.getId(), variantId, quantity);
+        return toDto(state);
+    }
+
+    @Override
+    public FlashSaleDto endFlashSale(UUID variantId) {
+        ActiveSale state = sales.get(variantId);
+        if (state == null || state.ended) {
+            throw new ResourceNotFoundException("No active flash sale for variant: " + variantId);
+        }
+        state.ended = true;
+        // New callers now see the flag; wait for the ones already past it before draining
+        while (state.inFlight.sum() > 0) {
+            Thread.onSpinWait();
+        }
+        long unsold = state.counter.drain();
+
+        synchronized (flushLock) {
+            FlashSale sale;
+            try {
+                flushSale(state);
+                sale = transactionTemplate.execute(status -> {
+                    inventoryRepository.releaseFlashSaleRemainder(variantId, unsold);
+                    FlashSale ended = flashSaleRepository.findById(state.saleId)
+                            .orElseThrow(() -> new ResourceNotFoundException("Flash sale not found"));
+                    if (!nodeId.equals(ended.getNodeId())) {
+                        throw new IllegalStateException("Flash sale " + state.saleId + " was taken over by node " + ended.getNodeId());
+                    }
+                    ended.setStatus(FlashSaleStatus.ENDED);
+                    ended.setEndedAt(LocalDateTime.now());
+                    return flashSaleRepository.save(ended);
+                });
+            } catch (RuntimeException e) {
+                // Keep selling rather than strand the unsold units in reserved_stock
+                state.counter.release(unsold);
+                state.ended = false;
+                throw e;
+            }
+            sales.remove(variantId);
+            state.flushedQuantity = sale.getFlushedQuantity();
+            log.info("Ended flash sale {}: {} units sold, {} returned to stock",
+                    state.saleId, sale.getFlushedQuantity(), unsold);
+            return toDto(state, sale);
+        }
+    }
+
+    @Override
+    public List<FlashSaleDto> getActiveFlashSales() {
+        return sales.values().stream().map(this::toDto).toList();
+    }
+
+    @Override
+    public boolean isFlashSaleActive(UUID variantId) {
+        ActiveSale state = sales.get(variantId);
+        return state != null && !state.ended;
+    }
+
+    @Override
+    public boolean tryAllocate(UUID variantId, int quantity) {
+        ActiveSale state = sales.get(variantId);
+        if (state == null) {
+            return false;
+        }
+        state.inFlight.increment();
+        try {
+            if (state.ended || !state.counter.tryAcquire(quantity)) {
+                return false;
+            }
+            // Log before counting as pending, so a flush never writes an allocation the log lacks;
+            // the order makes it durable through syncAllocations() before committing
+            allocationLog.append(state.saleId, quantity);
+            state.pending.add(quantity);
+            return true;
+        } finally {
+            state.inFlight.decrement();
+        }
+    }
+
+    @Override
+    public void release(UUID variantId, int quantity) {
+        ActiveSale state = sales.get(variantId);
+        if (state != null) {
+            state.inFlight.increment();
+            try {
+                if (!state.ended) {
+                    state.counter.release(quantity);
+                    allocationLog.append(state.saleId, -quantity);
+                    state.pending.add(-quantity);
+                    return;
+                }
+            } finally {
+                state.inFlight.decrement();
+            }
+        }
+        // The sale has ended: its allocation is (or is about to be) flushed as sold, so put the
+        // units straight back into regular stock
+        ProductVariant variant = productVariantRepository.findById(variantId).orElse(null);
+        if (variant != null) {
+            inventoryRepository.increment(List.of(new StockLineDto(variant.getProduct().getId(), variantId, quantity)));
+        }
+    }
+
+    @Override
+    public void syncAllocations() {
+        allocationLog.sync();
+    }
+
+    @Override
+    public long remaining(UUID variantId) {
+        ActiveSale state = sales.get(variantId);
+        return state != null ? state.counter.available() : 0;
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${inventory.flash-sale.flush-interval-ms:1000}")
+    public void flush() {
+        if (sales.isEmpty()) {
+            return;
+        }
+        synchronized (flushLock) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> flashSaleRepository.heartbeat(nodeId));
+            } catch (RuntimeException e) {
+                log.error("Failed to heartbeat flash sales of node {}", nodeId, e);
+            }
+            for (ActiveSale state : sales.values()) {
+                try {
+                    flushSale(state);
+                } catch (RuntimeException e) {
+                    log.error("Failed to flush flash sale {}", state.saleId, e);
+                }
+            }
+            try {
+                // Also writes out allocations that were handed back before they were ever flushed
+                allocationLog.sync();
+            } catch (RuntimeException e) {
+                log.error("Failed to sync the flash sale allocation log", e);
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws IOException {
+        flush();
+        allocationLog.close();
+    }
+
+    private void flushSale(ActiveSale state) {
+        long quantity = state.pending.sumThenReset();
+        if (quantity == 0) {
+            return;
+        }
+        try {
+            allocationLog.sync();
+            Boolean applied = transactionTemplate.execute(status ->
+                    inventoryRepository.applyFlashSaleFlush(state.saleId, nodeId, state.variantId, quantity));
+            if (!Boolean.TRUE.equals(applied)) {
+                // Another node claimed the sale while this one stalled; it now owns the counters
+                state.ended = true;
+                sales.remove(state.variantId, state);
+                log.error("Flash sale {} was taken over by another node; dropping {} unflushed units",
+                        state.saleId, quantity);
+                return;
+            }
+            state.flushedQuantity += quantity;
+        } catch (RuntimeException e) {
+            state.pending.add(quantity);
+            throw e;
+        }
+    }
+
+    private FlashSaleDto toDto(ActiveSale state) {
+        return new FlashSaleDto(state.saleId, state.variantId, state.productId,
+                state.ended ? FlashSaleStatus.ENDED : FlashSaleStatus.ACTIVE, state.allocatedQuantity,
+                state.counter.available(), state.pending.sum(), state.flushedQuantity, state.startedAt, null);
+    }
+
+    private FlashSaleDto toDto(ActiveSale state, FlashSale sale) {
+        return new FlashSaleDto(sale.getId(), sale.getVariantId(), sale.getProductId(), sale.getStatus(),
+                sale.getAllocatedQuantity(), state.counter.available(), state.pending.sum(),
+                sale.getFlushedQuantity(), sale.getStartedAt(), sale.getEndedAt());
+    }
+
+    private static final class ActiveSale {
+        private final UUID saleId;
+        private final UUID variantId;
+        private final UUID productId;
+        private final int allocatedQuantity;
+        private final LocalDateTime startedAt;
+        private final StripedStockCounter counter;
+        // Allocations minus releases not yet written to the variant row
+        private final LongAdder pending = new LongAdder();
+        private final LongAdder inFlight = new LongAdder();
+        // Only written under flushLock
+        private volatile long flushedQuantity;
+        private volatile boolean ended;
+
+        private ActiveSale(FlashSale sale, StripedStockCounter counter) {
+            this.saleId = sale.getId();
+            this.variantId = sale.getVariantId();
+            this.productId = sale.getProductId();
+            this.allocatedQuantity = sale.getAllocatedQuantity();
+            this.startedAt = sale.getStartedAt();
+            this.flushedQuantity = sale.getFlushedQuantity();
+            this.counter = counter;
+        }
+    }
+}
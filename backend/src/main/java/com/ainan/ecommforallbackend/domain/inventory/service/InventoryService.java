@@ -0,0 +1,47 @@
+package com.ainan.ecommforallbackend.domain.inventory.service;
+
+import com.ainan.ecommforallbackend.domain.inventory.dto.StockLineDto;
+import com.ainan.ecommforallbackend.domain.inventory.dto.StockReservationCreateDto;
+import com.ainan.ecommforallbackend.domain.inventory.dto.StockReservationDto;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface InventoryService {
+    /**
+     * Atomically takes the quantities out of stock. Either every line is applied or an
+     * {@link com.ainan.ecommforallbackend.core.exception.InsufficientStockException} listing the
+     * short lines is thrown and the surrounding transaction rolls back.
+     */
+    void decrementStock(List<StockLineDto> lines);
+
+    void restoreStock(List<StockLineDto> lines);
+
+    /**
+     * Places a time-limited hold on the cart (or the given items) for the user. Any earlier active
+     * reservation of the same user is released first, so restarting checkout does not double-hold.
+     */
+    StockReservationDto reserve(String userId, StockReservationCreateDto createDto);
+
+    StockReservationDto getReservation(UUID reservationId, String userId);
+
+    void releaseReservation(UUID reservationId, String userId);
+
+    /**
+     * Closes an active reservation and drops its holds inside the caller's transaction, so a
+     * following {@link #decrementStock(List)} can use the released units before anyone else.
+     *
+     * A reservation past its deadline is not consumed, but its hold is still dropped so it cannot
+     * block that decrement.
+     *
+     * @return false if the reservation had already expired, been released or been consumed
+     */
+    boolean consumeReservation(UUID reservationId, String userId);
+
+    /**
+     * Expires one batch of overdue reservations.
+     *
+     * @return the number of reservations expired
+     */
+    int expireReservations(int batchSize);
+}
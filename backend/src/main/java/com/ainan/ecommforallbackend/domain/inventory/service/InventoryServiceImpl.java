@@ -0,0 +1,207 @@
+package com.ainan.ecommforallbackend.domain.inventory.service;
+
+import com.ainan.ecommforallbackend.core.exception.InsufficientStockException;
+import com.ainan.ecommforallbackend.core.exception.ResourceNotFoundException;
+import com.ainan.ecommforallbackend.domain.cart.service.ShoppingCartService;
+import com.ainan.ecommforallbackend.domain.inventory.dto.StockLineDto;
+import com.ainan.ecommforallbackend.domain.inventory.dto.StockReservationCreateDto;
+import com.ainan.ecommforallbackend.domain.inventory.dto.StockReservationDto;
+import com.ainan.ecommforallbackend.domain.inventory.dto.StockShortageDto;
+import com.ainan.ecommforallbackend.domain.inventory.entity.ReservationStatus;
+import com.ainan.ecommforallbackend.domain.inventory.entity.StockReservation;
+import com.ainan.ecommforallbackend.domain.inventory.entity.StockReservationItem;
+import com.ainan.ecommforallbackend.domain.inventory.mapper.StockReservationMapper;
+import com.ainan.ecommforallbackend.domain.inventory.repository.InventoryRepository;
+import com.ainan.ecommforallbackend.domain.inventory.repository.StockReservationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class InventoryServiceImpl implements InventoryService {
+
+    private final InventoryRepository inventoryRepository;
+    private final StockReservationRepository reservationRepository;
+    private final StockReservationMapper reservationMapper;
+    private final ShoppingCartService shoppingCartService;
+    private final FlashSaleService flashSaleService;
+
+    @Value("${inventory.reservation.ttl-minutes:15}")
+    private long reservationTtlMinutes = 15;
+
+    @Override
+    @Transactional
+    public void decrementStock(List<StockLineDto> lines) {
+        List<StockLineDto> aggregated = aggregate(lines);
+        if (aggregated.isEmpty()) {
+            return;
+        }
+        List<StockLineDto> databaseLines = new ArrayList<>();
+        List<StockLineDto> allocated = new ArrayList<>();
+        List<StockShortageDto> shortages = new ArrayList<>();
+        for (StockLineDto line : aggregated) {
+            UUID variantId = line.getVariantId();
+            if (variantId == null || !flashSaleService.isFlashSaleActive(variantId)) {
+                databaseLines.add(line);
+            } else if (flashSaleService.tryAllocate(variantId, line.getQuantity())) {
+                allocated.add(line);
+            } else {
+                shortages.add(new StockShortageDto(line.getProductId(), variantId, line.getQuantity(),
+                        (int) flashSaleService.remaining(variantId)));
+            }
+        }
+        bindToTransaction(allocated);
+        if (!databaseLines.isEmpty()) {
+            shortages.addAll(inventoryRepository.decrementIfAvailable(databaseLines));
+        }
+        if (!shortages.isEmpty()) {
+            // The other lines were decremented by the same statement; throwing rolls them back
+            throw new InsufficientStockException(shortages);
+        }
+        log.debug("Decremented stock for {} lines", aggregated.size());
+    }
+
+    @Override
+    @Transactional
+    public void restoreStock(List<StockLineDto> lines) {
+        List<StockLineDto> aggregated = aggregate(lines);
+        if (!aggregated.isEmpty()) {
+            inventoryRepository.increment(aggregated);
+        }
+    }
+
+    @Override
+    @Transactional
+    public StockReservationDto reserve(String userId, StockReservationCreateDto createDto) {
+        UUID userUuid = UUID.fromString(userId);
+        for (UUID previousId : reservationRepository.findIdsByUserIdAndStatus(userUuid, ReservationStatus.ACTIVE)) {
+            inventoryRepository.closeReservation(previousId, userUuid, ReservationStatus.RELEASED, LocalDateTime.now());
+        }
+
+        List<StockLineDto> lines = aggregate(requestedLines(userId, createDto));
+        if (lines.isEmpty()) {
+            throw new IllegalArgumentException("Nothing to reserve");
+        }
+        List<StockShortageDto> shortages = inventoryRepository.reserveIfAvailable(lines);
+        if (!shortages.isEmpty()) {
+            throw new InsufficientStockException(shortages);
+        }
+
+        StockReservation reservation = new StockReservation();
+        reservation.setUserId(userUuid);
+        reservation.setExpiresAt(LocalDateTime.now().plusMinutes(reservationTtlMinutes));
+        for (StockLineDto line : lines) {
+            reservation.addItem(new StockReservationItem(null, null,
+                    line.getProductId(), line.getVariantId(), line.getQuantity()));
+        }
+        StockReservation saved = reservationRepository.save(reservation);
+        log.info("Reserved {} lines for user {} until {}", lines.size(), userId, saved.getExpiresAt());
+        return reservationMapper.toDto(saved);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public StockReservationDto getReservation(UUID reservationId, String userId) {
+        return reservationRepository.findWithItemsByIdAndUserId(reservationId, UUID.fromString(userId))
+                .map(reservationMapper::toDto)
+                .orElseThrow(() -> new ResourceNotFoundException("Reservation not found"));
+    }
+
+    @Override
+    @Transactional
+    public void releaseReservation(UUID reservationId, String userId) {
+        // An expired hold the sweeper has not reached yet is dropped just the same
+        if (inventoryRepository.closeReservation(reservationId, UUID.fromString(userId), ReservationStatus.RELEASED,
+                LocalDateTime.now()).isEmpty()) {
+            throw new ResourceNotFoundException("No active reservation found with id: " + reservationId);
+        }
+    }
+
+    @Override
+    @Transactional
+    public boolean consumeReservation(UUID reservationId, String userId) {
+        // Past its deadline the hold is dropped rather than consumed, so it cannot block the plain
+        // stock check the order falls back to
+        Optional<ReservationStatus> closed = inventoryRepository.closeReservation(reservationId,
+                UUID.fromString(userId), ReservationStatus.CONSUMED, LocalDateTime.now());
+        boolean consumed = closed.filter(status -> status == ReservationStatus.CONSUMED).isPresent();
+        if (!consumed) {
+            log.info("Reservation {} is no longer active; falling back to a plain stock check", reservationId);
+        }
+        return consumed;
+    }
+
+    @Override
+    @Transactional
+    public int expireReservations(int batchSize) {
+        return inventoryRepository.expireReservations(LocalDateTime.now(), batchSize);
+    }
+
+    // Flash-sale allocations live outside the database transaction: they are made durable before it
+    // commits, so a crash right after cannot lose them, and handed back if it rolls back
+    private void bindToTransaction(List<StockLineDto> allocated) {
+        if (allocated.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Flash-sale allocations require an active transaction");
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                // Throwing here rolls the order back, and afterCompletion releases the units
+                flashSaleService.syncAllocations();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    allocated.forEach(line -> flashSaleService.release(line.getVariantId(), line.getQuantity()));
+                }
+            }
+        });
+    }
+
+    private List<StockLineDto> requestedLines(String userId, StockReservationCreateDto createDto) {
+        if (createDto.isFromCart()) {
+            return shoppingCartService.getCartItems(userId).stream()
+                    .map(item -> new StockLineDto(item.getProductId(), item.getVariantId(), item.getQuantity()))
+                    .toList();
+        }
+        if (createDto.getItems() == null) {
+            return List.of();
+        }
+        return createDto.getItems().stream()
+                .map(item -> new StockLineDto(item.getProductId(), item.getVariantId(), item.getQuantity()))
+                .toList();
+    }
+
+    // Lines for the same variant (or the same variant-less product) are summed so each row is
+    // touched once and its stock check covers the combined quantity
+    private static List<StockLineDto> aggregate(List<StockLineDto> lines) {
+        Map<UUID, StockLineDto> byKey = new LinkedHashMap<>();
+        for (StockLineDto line : lines) {
+            if (line.getQuantity() <= 0) {
+                throw new IllegalArgumentException("Stock quantity must be positive");
+            }
+            UUID key = line.getVariantId() != null ? line.getVariantId() : line.getProductId();
+            byKey.merge(key, new StockLineDto(line.getProductId(), line.getVariantId(), line.getQuantity()),
+                    (a, b) -> new StockLineDto(a.getProductId(), a.getVariantId(), a.getQuantity() + b.getQuantity()));
+        }
+        return new ArrayList<>(byKey.values());
+    }
+}
@@ -0,0 +1,45 @@
+package com.ainan.ecommforallbackend.domain.inventory.service;
+
+import com.ainan.ecommforallbackend.domain.job.service.JobCoordinator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Expires overdue checkout reservations in small batches. Each batch is one statement driven by
+ * the {@code (status, expires_at)} index, so the cost is proportional to what expires, not to
+ * the size of the reservations table.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReservationSweeper {
+
+    private final InventoryService inventoryService;
+    private final JobCoordinator jobCoordinator;
+
+    @Value("${inventory.reservation.sweep-batch-size:500}")
+    private int batchSize;
+
+    @Value("${inventory.reservation.max-batches-per-sweep:20}")
+    private int maxBatches;
+
+    @Scheduled(fixedDelayString = "${inventory.reservation.sweep-interval-ms:30000}")
+    public void expireOverdueReservations() {
+        jobCoordinator.runExclusive("reservation-sweep", lease -> {
+            int total = 0;
+            for (int batch = 0; batch < maxBatches; batch++) {
+                int expired = inventoryService.expireReservations(batchSize);
+                total += expired;
+                if (expired < batchSize) {
+                    break;
+                }
+            }
+            if (total > 0) {
+                log.info("Expired {} stock reservations", total);
+            }
+        });
+    }
+}
@@ -0,0 +1,24 @@
+package com.ainan.ecommforallbackend.domain.job.dto;
+
+import com.ainan.ecommforallbackend.domain.job.entity.JobOutcome;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobRunDto {
+    private String name;
+    private boolean running;
+    private String lockedBy;
+    private LocalDateTime lockedUntil;
+    private long fencingToken;
+    private LocalDateTime lastStartedAt;
+    private LocalDateTime lastFinishedAt;
+    private Long lastDurationMs;
+    private JobOutcome lastOutcome;
+    private String lastError;
+}
@@ -0,0 +1,27 @@
+package com.ainan.ecommforallbackend.domain.job.dto;
+
+import java.util.UUID;
+
+/**
+ * One of {@code count} contiguous slices of the UUID key space. Slices split the high 64 bits
+ * evenly, which for random (v4) ids gives shards of about the same size. PostgreSQL compares uuids
+ * byte by byte, i.e. as unsigned numbers, so {@code id >= lower AND id < upper} selects exactly
+ * this slice; {@code upper} is null for the last one.
+ */
+public record ShardRange(int index, int count, UUID lower, UUID upper) {
+
+    public static final ShardRange ALL = of(0, 1);
+
+    public static ShardRange of(int index, int count) {
+        if (count < 1 || index < 0 || index >= count) {
+            throw new IllegalArgumentException("Invalid shard " + index + " of " + count);
+        }
+        return new ShardRange(index, count, boundary(index, count),
+                index == count - 1 ? null : boundary(index + 1, count));
+    }
+
+    private static UUID boundary(int index, int count) {
+        // (2^64 - 1) / count as an unsigned long; every multiple up to count - 1 still fits
+        return new UUID(Long.divideUnsigned(-1L, count) * index, 0L);
+    }
+}
@@ -0,0 +1,49 @@
+package com.ainan.ecommforallbackend.domain.job.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lease of one scheduled job (or one shard of it) across all backend nodes, plus the outcome of its
+ * last run. {@code fencing_token} grows by one on every acquisition, so writes made under an old
+ * lease can be told apart from the current holder's. Rows are only written by {@code JobLockRepository}.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "job_locks")
+public class JobLock {
+    @Id
+    @Column(length = 100)
+    private String name;
+
+    @Column(name = "locked_by", nullable = false)
+    private String lockedBy;
+
+    @Column(name = "locked_until", nullable = false)
+    private LocalDateTime lockedUntil;
+
+    @Column(name = "fencing_token", nullable = false)
+    private long fencingToken;
+
+    @Column(name = "last_started_at")
+    private LocalDateTime lastStartedAt;
+
+    @Column(name = "last_finished_at")
+    private LocalDateTime lastFinishedAt;
+
+    @Column(name = "last_duration_ms")
+    private Long lastDurationMs;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "last_outcome", length = 20)
+    private JobOutcome lastOutcome;
+
+    @Column(name = "last_error", length = 2000)
+    private String lastError;
+}
@@ -0,0 +1,7 @@
+package com.ainan.ecommforallbackend.domain.job.entity;
+
+public enum JobOutcome {
+    SUCCEEDED,
+    FAILED,
+    LEASE_LOST
+}
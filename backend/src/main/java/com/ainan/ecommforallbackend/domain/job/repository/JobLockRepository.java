@@ -0,0 +1,93 @@
+package com.ainan.ecommforallbackend.domain.job.repository;
+
+import com.ainan.ecommforallbackend.domain.job.dto.JobRunDto;
+import com.ainan.ecommforallbackend.domain.job.entity.JobOutcome;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Lease statements for {@code job_locks}. All lease times come from the database clock
+ * ({@code LOCALTIMESTAMP}), so clock skew between nodes cannot make two of them see a lease as
+ * expired at different moments.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JobLockRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Takes the lease of {@code name} for {@code leaseSeconds} if nobody holds it, creating the row on
+     * first use. Acquisition increments the fencing token.
+     *
+     * @return the new fencing token, or empty if another node holds an unexpired lease
+     */
+    public Optional<Long> tryAcquire(String name, String node, long leaseSeconds) {
+        List<Long> tokens = jdbcTemplate.queryForList("INSERT INTO job_locks (name, locked_by, locked_until, fencing_token, last_started_at) "
+                        + "VALUES (?, ?, LOCALTIMESTAMP + make_interval(secs => ?), 1, LOCALTIMESTAMP) "
+                        + "ON CONFLICT (name) DO UPDATE SET locked_by = EXCLUDED.locked_by, "
+                        + " locked_until = EXCLUDED.locked_until, fencing_token = job_locks.fencing_token + 1, "
+                        + " last_started_at = EXCLUDED.last_started_at "
+                        + "WHERE job_locks.locked_until <= LOCALTIMESTAMP "
+                        + "RETURNING fencing_token",
+                Long.class, name, node, leaseSeconds);
+        return tokens.stream().findFirst();
+    }
+
+    /**
+     * Extends the lease if {@code token} still holds it. Run inside a chunk's transaction, the update
+     * also keeps the lock row locked until that chunk commits, so no other node can take the lease
+     * over between the check and the commit.
+     *
+     * @return whether the lease is still held
+     */
+    public boolean renew(String name, long token, long leaseSeconds) {
+        return jdbcTemplate.update("UPDATE job_locks SET locked_until = LOCALTIMESTAMP + make_interval(secs => ?) "
+                + "WHERE name = ? AND fencing_token = ? AND locked_until > LOCALTIMESTAMP", leaseSeconds, name, token) == 1;
+    }
+
+    /**
+     * Records the outcome of the run holding {@code token} and releases the lease, keeping it until
+     * {@code lockAtLeastSeconds} after the start so nodes with a slightly later schedule do not run
+     * the job again right away.
+     *
+     * @return false if the lease had already been taken over, in which case nothing is written
+     */
+    public boolean release(String name, long token, long lockAtLeastSeconds, long durationMs,
+                           JobOutcome outcome, String error) {
+        return jdbcTemplate.update("UPDATE job_locks SET "
+                        + "locked_until = GREATEST(LOCALTIMESTAMP, last_started_at + make_interval(secs => ?)), "
+                        + "last_finished_at = LOCALTIMESTAMP, last_duration_ms = ?, last_outcome = ?, last_error = ? "
+                        + "WHERE name = ? AND fencing_token = ?",
+                lockAtLeastSeconds, durationMs, outcome.name(), error, name, token) == 1;
+    }
+
+    public List<JobRunDto> findAll() {
+        return jdbcTemplate.query("SELECT name, locked_until > LOCALTIMESTAMP AND (last_finished_at IS NULL "
+                + " OR last_finished_at < last_started_at) AS running, locked_by, locked_until, fencing_token, "
+                + " last_started_at, last_finished_at, last_duration_ms, last_outcome, last_error "
+                + "FROM job_locks ORDER BY name", (rs, rowNum) -> new JobRunDto(
+                rs.getString("name"),
+                rs.getBoolean("running"),
+                rs.getString("locked_by"),
+                toLocalDateTime(rs, "locked_until"),
+                rs.getLong("fencing_token"),
+                toLocalDateTime(rs, "last_started_at"),
+                toLocalDateTime(rs, "last_finished_at"),
+                rs.getObject("last_duration_ms", Long.class),
+                rs.getString("last_outcome") != null ? JobOutcome.valueOf(rs.getString("last_outcome")) : null,
+                rs.getString("last_error")));
+    }
+
+    private static LocalDateTime toLocalDateTime(ResultSet rs, String column) throws SQLException {
+        Timestamp timestamp = rs.getTimestamp(column);
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
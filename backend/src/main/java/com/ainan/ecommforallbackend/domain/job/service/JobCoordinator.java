@@ -0,0 +1,129 @@
+package com.ainan.ecommforallbackend.domain.job.service;
+
+import com.ainan.ecommforallbackend.core.exception.LeaseLostException;
+import com.ainan.ecommforallbackend.domain.job.dto.ShardRange;
+import com.ainan.ecommforallbackend.domain.job.entity.JobOutcome;
+import com.ainan.ecommforallbackend.domain.job.repository.JobLockRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+
+/**
+ * Runs scheduled jobs on one node of the cluster at a time, in the style of ShedLock: every node
+ * still fires the schedule, but only the one that wins the lease in {@code job_locks} does the
+ * work; the others skip the run. A crashed holder's lease simply expires after
+ * {@code jobs.lease-seconds}, and a release keeps the lease for {@code jobs.lock-at-least-seconds}
+ * after the start so nodes whose schedules fire a little later do not repeat the run.
+ * <p>
+ * Long jobs renew the lease through {@link JobLease#checkpoint()}, which also fences their writes.
+ * Each run's duration and outcome is stored on the lock row (see the {@code jobs} actuator
+ * endpoint) and recorded as a {@code jobs.runs} timer tagged by job and outcome.
+ */
+@Service
+@Slf4j
+public class JobCoordinator {
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private final JobLockRepository jobLockRepository;
+    private final MeterRegistry meterRegistry;
+    private final String nodeId;
+
+    @Value("${jobs.lease-seconds:300}")
+    private long leaseSeconds = 300;
+    @Value("${jobs.lock-at-least-seconds:30}")
+    private long lockAtLeastSeconds = 30;
+
+    public JobCoordinator(JobLockRepository jobLockRepository,
+                          MeterRegistry meterRegistry,
+                          @Value("${jobs.node-id:${HOSTNAME:local}}") String nodeName) {
+        this.jobLockRepository = jobLockRepository;
+        this.meterRegistry = meterRegistry;
+        // Two processes on one host (or a restart within a lease) must not look like the same holder
+        this.nodeId = nodeName + "/" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    /**
+     * Runs {@code work} if this node wins the lease of {@code job}.
+     *
+     * @return whether the work ran here
+     */
+    public boolean runExclusive(String job, Consumer<JobLease> work) {
+        return run(job, job, ShardRange.ALL, lease -> {
+            work.accept(lease);
+            return 0;
+        }).isPresent();
+    }
+
+    /**
+     * Splits {@code job} into {@code shards} key ranges, each with its own lease, and runs every
+     * shard this node can acquire. Nodes start at a random shard, so several of them firing at once
+     * spread over the shards instead of queueing on the first one.
+     *
+     * @return the sum of what {@code work} returned for the shards run on this node
+     */
+    public int runSharded(String job, int shards, ToIntFunction<JobLease> work) {
+        if (shards <= 1) {
+            return run(job, job, ShardRange.ALL, work).orElse(0);
+        }
+        int total = 0;
+        int first = ThreadLocalRandom.current().nextInt(shards);
+        for (int i = 0; i < shards; i++) {
+            int index = (first + i) % shards;
+            total += run(job, job + "[" + index + "/" + shards + "]", ShardRange.of(index, shards), work).orElse(0);
+        }
+        return total;
+    }
+
+    private Optional<Integer> run(String job, String lockName, ShardRange shard, ToIntFunction<JobLease> work) {
+        Optional<Long> token = jobLockRepository.tryAcquire(lockName, nodeId, leaseSeconds);
+        if (token.isEmpty()) {
+            log.debug("Job {} is running on another node, skipping", lockName);
+            return Optional.empty();
+        }
+        JobLease lease = new JobLease(lockName, token.get(), shard, leaseSeconds, jobLockRepository);
+        long start = System.nanoTime();
+        JobOutcome outcome = JobOutcome.FAILED;
+        String error = null;
+        try {
+            int result = work.applyAsInt(lease);
+            outcome = JobOutcome.SUCCEEDED;
+            return Optional.of(result);
+        } catch (LeaseLostException e) {
+            outcome = JobOutcome.LEASE_LOST;
+            log.warn("Job {} stopped: {}", lockName, e.getMessage());
+            return Optional.empty();
+        } catch (RuntimeException e) {
+            error = truncate(e.getClass().getSimpleName() + ": " + e.getMessage());
+            throw e;
+        } finally {
+            long elapsedNanos = System.nanoTime() - start;
+            release(lease, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), outcome, error);
+            meterRegistry.timer("jobs.runs", "job", job, "outcome", outcome.name())
+                    .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void release(JobLease lease, long durationMs, JobOutcome outcome, String error) {
+        try {
+            if (!jobLockRepository.release(lease.getName(), lease.getToken(), lockAtLeastSeconds, durationMs, outcome, error)
+                    && outcome != JobOutcome.LEASE_LOST) {
+                log.warn("Job {} finished after its lease (token {}) was taken over", lease.getName(), lease.getToken());
+            }
+        } catch (RuntimeException e) {
+            // The lease then just expires; never hide the job's own outcome behind this
+            log.error("Failed to release the lease of job {}", lease.getName(), e);
+        }
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,39 @@
+package com.ainan.ecommforallbackend.domain.job.service;
+
+import com.ainan.ecommforallbackend.core.exception.LeaseLostException;
+import com.ainan.ecommforallbackend.domain.job.dto.ShardRange;
+import com.ainan.ecommforallbackend.domain.job.repository.JobLockRepository;
+import lombok.Getter;
+
+/**
+ * The lease a job run holds while it works, identified by its fencing token.
+ */
+@Getter
+public class JobLease {
+    private final String name;
+    private final long token;
+    private final ShardRange shard;
+    private final long leaseSeconds;
+    private final JobLockRepository jobLockRepository;
+
+    public JobLease(String name, long token, ShardRange shard, long leaseSeconds, JobLockRepository jobLockRepository) {
+        this.name = name;
+        this.token = token;
+        this.shard = shard;
+        this.leaseSeconds = leaseSeconds;
+        this.jobLockRepository = jobLockRepository;
+    }
+
+    /**
+     * Renews the lease and fails if another node has taken it over. Call it first thing inside
+     * each chunk's transaction: the renewal then holds the lock row until the chunk commits, so a
+     * run that stalled past its lease can never commit a chunk after a newer run has started.
+     *
+     * @throws LeaseLostException if the lease expired and was acquired with a newer token
+     */
+    public void checkpoint() {
+        if (!jobLockRepository.renew(name, token, leaseSeconds)) {
+            throw new LeaseLostException("Lease of job " + name + " with token " + token + " was lost");
+        }
+    }
+}
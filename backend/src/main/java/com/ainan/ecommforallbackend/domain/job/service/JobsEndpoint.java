@@ -0,0 +1,27 @@
+package com.ainan.ecommforallbackend.domain.job.service;
+
+import com.ainan.ecommforallbackend.domain.job.dto.JobRunDto;
+import com.ainan.ecommforallbackend.domain.job.repository.JobLockRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * {@code /actuator/jobs}: current holder and last run (start, duration, outcome, error) of every
+ * coordinated job, as seen by the whole cluster.
+ */
+@Component
+@Endpoint(id = "jobs")
+@RequiredArgsConstructor
+public class JobsEndpoint {
+
+    private final JobLockRepository jobLockRepository;
+
+    @ReadOperation
+    public List<JobRunDto> jobs() {
+        return jobLockRepository.findAll();
+    }
+}
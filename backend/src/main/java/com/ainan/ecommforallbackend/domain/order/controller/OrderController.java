@@ -12,6 +12,8 @@ import org.springframework.web.bind.annotation.*;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
+import com.ainan.ecommforallbackend.domain.idempotency.dto.IdempotentResponse;
+import com.ainan.ecommforallbackend.domain.idempotency.service.IdempotencyService;
 import com.ainan.ecommforallbackend.domain.order.dto.*;
 import com.ainan.ecommforallbackend.domain.order.entity.OrderStatus;
 import com.ainan.ecommforallbackend.domain.order.service.OrderService;
@@ -28,16 +30,28 @@ import java.util.UUID;
 @Tag(name = "Orders", description = "Order placement and customer order history")
 public class OrderController {
 
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
     private final OrderService orderService;
     private final UserService userService;
+    private final IdempotencyService idempotencyService;
 
     @PostMapping
-    @Operation(summary = "Create order", description = "Creates a new order for the authenticated user.")
+    @Operation(summary = "Create order", description = "Creates a new order for the authenticated user. "
+            + "Retries carrying the same Idempotency-Key return the original order instead of creating another.")
     public ResponseEntity<OrderResponseDto> createOrder(@Valid @RequestBody OrderCreateDto orderCreateDto,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
             Principal principal) {
         String userId = getCurrentUserId(principal);
-        OrderResponseDto createdOrder = orderService.createOrder(orderCreateDto, userId);
-        return ResponseEntity.ok(createdOrder);
+        if (idempotencyKey == null) {
+            return ResponseEntity.ok(orderService.createOrder(orderCreateDto, userId));
+        }
+        IdempotentResponse<OrderResponseDto> response = idempotencyService.execute(userId, idempotencyKey,
+                orderCreateDto, OrderResponseDto.class, () -> orderService.createOrder(orderCreateDto, userId));
+        return ResponseEntity.ok()
+                .header(IDEMPOTENT_REPLAYED_HEADER, String.valueOf(response.isReplayed()))
+                .body(response.getBody());
     }
 
     @GetMapping
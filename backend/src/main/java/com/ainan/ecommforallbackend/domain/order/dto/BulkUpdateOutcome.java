@@ -0,0 +1,11 @@
+package com.ainan.ecommforallbackend.domain.order.dto;
+
+public enum BulkUpdateOutcome {
+    UPDATED,
+    // Already in the requested status
+    UNCHANGED,
+    NOT_FOUND,
+    INVALID_TRANSITION,
+    // Changed by someone else between validation and the update
+    CONFLICT
+}
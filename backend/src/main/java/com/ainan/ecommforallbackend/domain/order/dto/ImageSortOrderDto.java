@@ -7,4 +7,6 @@ import java.util.UUID;
 public class ImageSortOrderDto {
     private UUID id;
     private int sortOrder;
-}
\ No newline at end of file
+    // Version the client last saw; when present the reorder fails if the image changed since
+    private Long version;
+}
@@ -0,0 +1,26 @@
+package com.ainan.ecommforallbackend.domain.order.dto;
+
+import com.ainan.ecommforallbackend.domain.order.entity.PaymentStatus;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderBulkPaymentUpdateDto {
+
+    @NotEmpty(message = "At least one order id is required")
+    @Size(max = 1000, message = "At most 1000 orders can be updated at once")
+    private List<@NotNull UUID> orderIds;
+
+    @NotNull(message = "Payment status is required")
+    private PaymentStatus paymentStatus;
+}
@@ -0,0 +1,32 @@
+package com.ainan.ecommforallbackend.domain.order.dto;
+
+import com.ainan.ecommforallbackend.domain.order.entity.OrderStatus;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderBulkStatusUpdateDto {
+
+    @NotEmpty(message = "At least one order id is required")
+    @Size(max = 1000, message = "At most 1000 orders can be updated at once")
+    private List<@NotNull UUID> orderIds;
+
+    @NotNull(message = "Order status is required")
+    private OrderStatus status;
+
+    private String trackingNumber;
+
+    private String shippingCarrier;
+
+    private String cancellationReason;
+}
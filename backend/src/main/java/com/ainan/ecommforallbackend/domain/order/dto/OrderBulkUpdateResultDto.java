@@ -0,0 +1,32 @@
+package com.ainan.ecommforallbackend.domain.order.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Compact outcome of a bulk update: one line per requested order, in request order.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderBulkUpdateResultDto {
+    private int updated;
+    private List<Line> results;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Line {
+        private UUID orderId;
+        private BulkUpdateOutcome outcome;
+        // Status (or payment status) before the update, when the order exists
+        private String previousStatus;
+        private String message;
+    }
+}
@@ -1,9 +1,11 @@
 package com.ainan.ecommforallbackend.domain.order.dto;
 
 import java.util.List;
+import java.util.UUID;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -24,9 +26,17 @@ public class OrderCreateDto {
 
     private String orderNotes;
 
+    // Optional narrower tax region (e.g. US-CA); the region is derived from the shipping address and
+    // this may only refine it within the same country
+    @Size(max = 20, message = "Region must be at most 20 characters")
+    private String region;
+
     @NotNull(message = "Cart to order conversion is required")
     private boolean fromCart = true;
 
     // If not from cart, individual items can be provided
     private List<OrderItemCreateDto> items;
+
+    // Optional checkout reservation from /api/checkout/reservations; its holds become the order's decrement
+    private UUID reservationId;
 }
@@ -0,0 +1,30 @@
+package com.ainan.ecommforallbackend.domain.order.dto;
+
+import com.ainan.ecommforallbackend.domain.order.entity.OrderStatus;
+import com.ainan.ecommforallbackend.domain.order.entity.PaymentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Outbox payload for order lifecycle events. It carries the order's state after the change (and
+ * the state before it, where there was one); handlers load anything else they need by id.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderEventDto {
+    private UUID orderId;
+    private UUID userId;
+    private OrderStatus status;
+    private OrderStatus previousStatus;
+    private PaymentStatus paymentStatus;
+    private PaymentStatus previousPaymentStatus;
+    private BigDecimal totalAmount;
+    private LocalDateTime orderCreatedAt;
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,8 @@
+package com.ainan.ecommforallbackend.domain.order.dto;
+
+public enum OrderExportType {
+    // One row per order
+    ORDERS,
+    // One row per order item
+    LINES
+}
@@ -0,0 +1,43 @@
+package com.ainan.ecommforallbackend.domain.order.dto;
+
+import com.ainan.ecommforallbackend.domain.order.entity.OrderStatus;
+import com.ainan.ecommforallbackend.domain.order.entity.PaymentStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Row of the admin order list. {@code items} is only filled in when the caller asks for them.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderListItemDto {
+
+    private UUID id;
+
+    private UserSummaryDto user;
+
+    private OrderStatus status;
+
+    private PaymentStatus paymentStatus;
+
+    private BigDecimal totalAmount;
+
+    private int itemCount;
+
+    private String trackingNumber;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Set<OrderItemDto> items;
+}
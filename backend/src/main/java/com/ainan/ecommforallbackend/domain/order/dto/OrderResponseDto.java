@@ -32,6 +32,8 @@ public class OrderResponseDto {
 
     private BigDecimal shippingCost;
 
+    private BigDecimal discount;
+
     private BigDecimal totalAmount;
 
     private String shippingAddress;
@@ -26,6 +26,9 @@ public class OrderSummaryDto {
 
     private int itemCount;
 
+    // Alphabetically first product name, for "X and 2 more" style listings
+    private String firstItemName;
+
     private LocalDateTime createdAt;
 
     private LocalDateTime updatedAt;
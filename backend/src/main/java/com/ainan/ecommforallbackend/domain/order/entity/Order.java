@@ -1,9 +1,12 @@
 package com.ainan.ecommforallbackend.domain.order.entity;
 
+import com.ainan.ecommforallbackend.domain.pricing.dto.PriceBreakdown;
+import com.ainan.ecommforallbackend.domain.pricing.service.PricingPlan;
 import com.ainan.ecommforallbackend.domain.user.entity.User;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.PartitionKey;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.hibernate.annotations.UuidGenerator;
 
@@ -14,7 +17,11 @@ import java.util.Set;
 import java.util.UUID;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_status_payment_created", columnList = "status, payment_status, created_at"),
+        @Index(name = "idx_orders_created_at", columnList = "created_at"),
+        @Index(name = "idx_orders_user_created", columnList = "user_id, created_at DESC")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -48,6 +55,9 @@ public class Order {
     @Column(nullable = false)
     private BigDecimal shippingCost = BigDecimal.ZERO;
 
+    // Nullable so the column can be added to existing tables; always set by calculateTotals
+    private BigDecimal discount = BigDecimal.ZERO;
+
     @Column(nullable = false)
     private BigDecimal totalAmount = BigDecimal.ZERO;
 
@@ -75,6 +85,9 @@ public class Order {
     @Column(length = 1000)
     private String cancellationReason;
 
+    // Sent along with the id in every UPDATE and DELETE of an order, so once orders is partitioned
+    // by created_at those statements only touch the order's own partition
+    @PartitionKey
     @CreationTimestamp
     private LocalDateTime createdAt;
 
@@ -102,16 +115,18 @@ public class Order {
         item.setOrder(null);
     }
 
-    public void calculateTotals() {
-        this.subtotal = items.stream()
-                .map(item -> item.getPrice().multiply(BigDecimal.valueOf(item.getQuantity())))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        // Default tax calculation (can be replaced with a more sophisticated tax
-        // service)
-        this.tax = this.subtotal.multiply(new BigDecimal("0.10"));
-
-        // Total is subtotal + tax + shipping
-        this.totalAmount = this.subtotal.add(this.tax).add(this.shippingCost);
+    /**
+     * Prices the items with the shared pricing plan, the same way carts are priced.
+     *
+     * @param region tax region of the order, or null for the default rate
+     */
+    public void calculateTotals(PricingPlan pricingPlan, String region) {
+        PriceBreakdown price = pricingPlan.evaluate(items, item -> PricingPlan.toCents(item.getPrice()),
+                OrderItem::getQuantity, region);
+        this.subtotal = PriceBreakdown.toAmount(price.subtotalCents());
+        this.discount = PriceBreakdown.toAmount(price.discountCents());
+        this.shippingCost = PriceBreakdown.toAmount(price.shippingCents());
+        this.tax = PriceBreakdown.toAmount(price.taxCents());
+        this.totalAmount = PriceBreakdown.toAmount(price.totalCents());
     }
 }
\ No newline at end of file
@@ -0,0 +1,62 @@
+package com.ainan.ecommforallbackend.domain.order.entity;
+
+import io.hypersistence.utils.hibernate.type.json.JsonType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Type;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Cold copy of a finished order moved out of {@code orders} by the archival job. The full order
+ * row and its items live in one jsonb document, which PostgreSQL stores TOAST-compressed; the
+ * columns beside it are what reporting and lookups filter or aggregate on.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "order_archive", indexes = {
+        @Index(name = "idx_order_archive_user_created", columnList = "user_id, created_at"),
+        @Index(name = "idx_order_archive_created", columnList = "created_at")
+})
+public class OrderArchive {
+    // Same id as the original order
+    @Id
+    private UUID id;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OrderStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "payment_status", nullable = false, length = 20)
+    private PaymentStatus paymentStatus;
+
+    @Column(name = "total_amount", nullable = false)
+    private BigDecimal totalAmount;
+
+    @Column(nullable = false)
+    private BigDecimal tax;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    // The orders row as JSON plus an "items" array of its order_items rows
+    @Type(JsonType.class)
+    @Column(columnDefinition = "jsonb", nullable = false)
+    private Map<String, Object> document;
+}
@@ -0,0 +1,10 @@
+package com.ainan.ecommforallbackend.domain.order.entity;
+
+public enum OrderEventType {
+    ORDER_CREATED,
+    ORDER_STATUS_CHANGED,
+    PAYMENT_STATUS_CHANGED,
+    ORDER_CANCELLED;
+
+    public static final String AGGREGATE_TYPE = "Order";
+}
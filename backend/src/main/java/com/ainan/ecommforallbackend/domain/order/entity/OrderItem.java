@@ -10,17 +10,17 @@ import java.math.BigDecimal;
 import java.util.UUID;
 
 @Entity
-@Table(name = "order_items")
+@Table(name = "order_items", indexes = {
+        @Index(name = "idx_order_items_order", columnList = "order_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@EqualsAndHashCode(onlyExplicitlyIncluded = true)
 @ToString(exclude = {"order"})
 public class OrderItem {
 
     @Id
     @UuidGenerator
-    @EqualsAndHashCode.Include
     private UUID id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -58,4 +58,23 @@ public class OrderItem {
     public void calculateSubtotal() {
         this.subtotal = this.price.multiply(new BigDecimal(this.quantity));
     }
+
+    // Id-based equality, but unsaved items (id still null) are only equal to themselves; otherwise
+    // every new line of an order would collapse into one entry of Order.items
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof OrderItem other)) {
+            return false;
+        }
+        return id != null && id.equals(other.id);
+    }
+
+    @Override
+    public int hashCode() {
+        // Constant so the hash does not change when the id is assigned on persist
+        return OrderItem.class.hashCode();
+    }
 }
\ No newline at end of file
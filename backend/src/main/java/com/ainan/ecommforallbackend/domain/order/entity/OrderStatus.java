@@ -1,5 +1,8 @@
 package com.ainan.ecommforallbackend.domain.order.entity;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum OrderStatus {
     PENDING,
     PROCESSING,
@@ -7,5 +10,23 @@ public enum OrderStatus {
     DELIVERED,
     CANCELLED,
     RETURNED,
-    REFUNDED
-}
\ No newline at end of file
+    REFUNDED;
+
+    /**
+     * Whether an order may move from this status to {@code target} in a bulk update.
+     */
+    public boolean canTransitionTo(OrderStatus target) {
+        return successors().contains(target);
+    }
+
+    private Set<OrderStatus> successors() {
+        return switch (this) {
+            case PENDING -> EnumSet.of(PROCESSING, CANCELLED);
+            case PROCESSING -> EnumSet.of(SHIPPED, CANCELLED);
+            case SHIPPED -> EnumSet.of(DELIVERED, RETURNED);
+            case DELIVERED -> EnumSet.of(RETURNED, REFUNDED);
+            case CANCELLED, RETURNED -> EnumSet.of(REFUNDED);
+            case REFUNDED -> EnumSet.noneOf(OrderStatus.class);
+        };
+    }
+}
@@ -1,9 +1,29 @@
 package com.ainan.ecommforallbackend.domain.order.entity;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum PaymentStatus {
     PENDING,
     PROCESSING,
     COMPLETED,
     FAILED,
-    REFUNDED
-}
\ No newline at end of file
+    REFUNDED;
+
+    /**
+     * Whether a payment may move from this status to {@code target} in a bulk update.
+     */
+    public boolean canTransitionTo(PaymentStatus target) {
+        return successors().contains(target);
+    }
+
+    private Set<PaymentStatus> successors() {
+        return switch (this) {
+            case PENDING -> EnumSet.of(PROCESSING, COMPLETED, FAILED);
+            case PROCESSING -> EnumSet.of(COMPLETED, FAILED);
+            case FAILED -> EnumSet.of(PENDING, PROCESSING, COMPLETED);
+            case COMPLETED -> EnumSet.of(REFUNDED);
+            case REFUNDED -> EnumSet.noneOf(PaymentStatus.class);
+        };
+    }
+}
@@ -3,6 +3,7 @@ package com.ainan.ecommforallbackend.domain.order.mapper;
 import com.ainan.ecommforallbackend.domain.order.dto.*;
 import com.ainan.ecommforallbackend.domain.order.entity.Order;
 import com.ainan.ecommforallbackend.domain.order.entity.OrderItem;
+import com.ainan.ecommforallbackend.domain.order.repository.OrderSummaryView;
 import com.ainan.ecommforallbackend.domain.user.entity.User;
 import org.mapstruct.*;
 import org.mapstruct.factory.Mappers;
@@ -32,6 +33,7 @@ public interface OrderMapper {
     @Mapping(target = "paymentTransactionId", ignore = true)
     @Mapping(target = "trackingNumber", ignore = true)
     @Mapping(target = "shippingCost", ignore = true)
+    @Mapping(target = "discount", ignore = true)
     @Mapping(target = "shippingCarrier", ignore = true)
     @Mapping(target = "cancellationReason", ignore = true)
     Order toEntity(OrderCreateDto orderCreateDto, User user);
@@ -60,8 +62,11 @@ public interface OrderMapper {
     @Mapping(target = "updatedAt", ignore = true)
     void updateOrderFromPaymentUpdate(PaymentStatusUpdateDto updateDto, @MappingTarget Order order);
 
-    @Mapping(target = "itemCount", expression = "java(order.getItems().size())")
-    OrderSummaryDto toSummaryDto(Order order);
+    OrderSummaryDto toSummaryDto(OrderSummaryView view);
+
+    @Mapping(target = "itemCount", ignore = true)
+    @Mapping(target = "items", ignore = true)
+    OrderListItemDto toListItemDto(Order order);
 
     @Mapping(target = "id", source = "user.id")
     @Mapping(target = "email", source = "user.email")
@@ -0,0 +1,11 @@
+package com.ainan.ecommforallbackend.domain.order.repository;
+
+import com.ainan.ecommforallbackend.domain.order.entity.OrderArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface OrderArchiveRepository extends JpaRepository<OrderArchive, UUID> {
+}
@@ -0,0 +1,209 @@
+package com.ainan.ecommforallbackend.domain.order.repository;
+
+import com.ainan.ecommforallbackend.domain.job.dto.ShardRange;
+import com.ainan.ecommforallbackend.domain.order.entity.OrderStatus;
+import com.ainan.ecommforallbackend.domain.order.entity.PaymentStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.UUID;
+
+/**
+ * Set-based status transitions for the scheduled order jobs and the admin bulk updates.
+ * <p>
+ * Each call moves at most {@code limit} orders in one statement. Candidates come oldest-first from
+ * the {@code (status, payment_status, created_at)} index and are locked with {@code SKIP LOCKED},
+ * so a chunk never waits on a checkout or admin update touching the same orders and a second job
+ * instance simply takes the next rows. Moved orders no longer match the filter, which makes the
+ * jobs resumable: a rerun after a crash continues with whatever is left.
+ * <p>
+ * Like the single-order paths in {@code OrderServiceImpl}, every transition also writes an order
+ * event to the outbox, so consumers such as the sales rollups see bulk changes too.
+ * <p>
+ * Candidates can be restricted to a {@link ShardRange} of order ids, so a job split into shards
+ * works on disjoint rows on every node.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OrderBatchRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Moves PENDING orders whose payment has completed to PROCESSING.
+     *
+     * @return the number of orders moved
+     */
+    public int markPaidOrdersProcessing(ShardRange shard, LocalDateTime now, int limit) {
+        List<Object> args = new ArrayList<>(List.of(now, now));
+        String shardFilter = shardFilter(shard, args);
+        args.addAll(List.of(limit, now, now, now));
+        Integer moved = jdbcTemplate.queryForObject("WITH moved AS ("
+                        + " UPDATE orders SET status = 'PROCESSING', processed_at = ?, updated_at = ? "
+                        + " WHERE id IN (SELECT id FROM orders WHERE status = 'PENDING' AND payment_status = 'COMPLETED' "
+                        + shardFilter + " ORDER BY created_at LIMIT ? FOR UPDATE SKIP LOCKED) "
+                        + " RETURNING id, user_id, status, payment_status, total_amount, created_at), "
+                        + "events AS (" + insertEvents("ORDER_STATUS_CHANGED") + ") "
+                        + "SELECT COUNT(*) FROM moved",
+                Integer.class, args.toArray());
+        return moved != null ? moved : 0;
+    }
+
+    /**
+     * Cancels PENDING orders still awaiting payment that were created before {@code cutoff}.
+     *
+     * @return the ids of the cancelled orders
+     */
+    public List<UUID> cancelStalePendingOrders(ShardRange shard, LocalDateTime cutoff, LocalDateTime now,
+                                               String reason, int limit) {
+        List<Object> args = new ArrayList<>(List.of(reason, now, now, cutoff));
+        String shardFilter = shardFilter(shard, args);
+        args.addAll(List.of(limit, now, now, now));
+        return jdbcTemplate.queryForList("WITH moved AS ("
+                        + " UPDATE orders SET status = 'CANCELLED', cancellation_reason = ?, cancelled_at = ?, updated_at = ? "
+                        + " WHERE id IN (SELECT id FROM orders WHERE status = 'PENDING' AND payment_status = 'PENDING' "
+                        + " AND created_at < ?" + shardFilter + " ORDER BY created_at LIMIT ? FOR UPDATE SKIP LOCKED) "
+                        + " RETURNING id, user_id, status, payment_status, total_amount, created_at), "
+                        + "events AS (" + insertEvents("ORDER_CANCELLED") + ") "
+                        + "SELECT id FROM moved",
+                UUID.class, args.toArray());
+    }
+
+    /**
+     * Moves DELIVERED and CANCELLED orders created before {@code cutoff}, with their items, into
+     * {@code order_archive} as one jsonb document each.
+     *
+     * @return the number of orders archived
+     */
+    public int archiveFinishedOrders(ShardRange shard, LocalDateTime cutoff, LocalDateTime now, int limit) {
+        List<Object> args = new ArrayList<>(List.of(cutoff));
+        String shardFilter = shardFilter(shard, args);
+        args.addAll(List.of(limit, now));
+        Integer archived = jdbcTemplate.queryForObject("WITH moved AS ("
+                        + " DELETE FROM orders WHERE id IN (SELECT id FROM orders "
+                        + " WHERE status IN ('DELIVERED', 'CANCELLED') AND created_at < ?" + shardFilter
+                        + " ORDER BY created_at LIMIT ? FOR UPDATE SKIP LOCKED) RETURNING *), "
+                        + "items AS (DELETE FROM order_items i USING moved m WHERE i.order_id = m.id RETURNING i.*), "
+                        + "archived AS (INSERT INTO order_archive "
+                        + " (id, user_id, status, payment_status, total_amount, tax, created_at, archived_at, document) "
+                        + " SELECT m.id, m.user_id, m.status, m.payment_status, m.total_amount, m.tax, m.created_at, ?, "
+                        + " to_jsonb(m) || jsonb_build_object('items', COALESCE("
+                        + " (SELECT jsonb_agg(to_jsonb(it)) FROM items it WHERE it.order_id = m.id), '[]'::jsonb)) "
+                        + " FROM moved m) "
+                        + "SELECT COUNT(*) FROM moved",
+                Integer.class, args.toArray());
+        return archived != null ? archived : 0;
+    }
+
+    /**
+     * Moves every order in {@code expected} that is still in its expected status to {@code status},
+     * setting the timestamp of the new status and the non-null shipping fields. Orders changed since
+     * they were validated are left alone and missing from the result.
+     *
+     * @return the ids of the orders updated
+     */
+    public List<UUID> updateStatuses(Map<UUID, OrderStatus> expected, OrderStatus status, String trackingNumber,
+                                     String shippingCarrier, String cancellationReason, LocalDateTime now) {
+        List<Object> args = new ArrayList<>();
+        String requested = expectedValues(expected, args);
+        args.add(status.name());
+        args.add(trackingNumber);
+        args.add(shippingCarrier);
+        args.add(cancellationReason);
+        args.add(now);
+        String timestampColumn = switch (status) {
+            case PROCESSING -> "processed_at";
+            case SHIPPED -> "shipped_at";
+            case DELIVERED -> "delivered_at";
+            case CANCELLED -> "cancelled_at";
+            default -> null;
+        };
+        if (timestampColumn != null) {
+            args.add(now);
+        }
+        args.addAll(List.of(now, now, now));
+        return jdbcTemplate.queryForList("WITH req (id, expected) AS (VALUES " + requested + "), "
+                        + "moved AS ("
+                        + " UPDATE orders o SET status = ?, tracking_number = COALESCE(?, o.tracking_number), "
+                        + " shipping_carrier = COALESCE(?, o.shipping_carrier), "
+                        + " cancellation_reason = COALESCE(?, o.cancellation_reason), updated_at = ?"
+                        + (timestampColumn != null ? ", " + timestampColumn + " = ?" : "")
+                        + " FROM req r WHERE o.id = r.id AND o.status = r.expected "
+                        + " RETURNING o.id, o.user_id, o.status, r.expected AS previous_status, o.payment_status, "
+                        + " o.total_amount, o.created_at), "
+                        + "events AS (" + insertEvents("ORDER_STATUS_CHANGED", "m.previous_status", "m.payment_status") + ") "
+                        + "SELECT id FROM moved",
+                UUID.class, args.toArray());
+    }
+
+    /**
+     * Payment counterpart of {@link #updateStatuses}.
+     *
+     * @return the ids of the orders updated
+     */
+    public List<UUID> updatePaymentStatuses(Map<UUID, PaymentStatus> expected, PaymentStatus paymentStatus,
+                                            LocalDateTime now) {
+        List<Object> args = new ArrayList<>();
+        String requested = expectedValues(expected, args);
+        args.addAll(List.of(paymentStatus.name(), now, now, now, now));
+        return jdbcTemplate.queryForList("WITH req (id, expected) AS (VALUES " + requested + "), "
+                        + "moved AS ("
+                        + " UPDATE orders o SET payment_status = ?, updated_at = ? "
+                        + " FROM req r WHERE o.id = r.id AND o.payment_status = r.expected "
+                        + " RETURNING o.id, o.user_id, o.status, o.payment_status, r.expected AS previous_payment_status, "
+                        + " o.total_amount, o.created_at), "
+                        + "events AS (" + insertEvents("PAYMENT_STATUS_CHANGED", "m.status", "m.previous_payment_status") + ") "
+                        + "SELECT id FROM moved",
+                UUID.class, args.toArray());
+    }
+
+    // One (id, expected status) row per order, in id order so concurrent bulk updates lock rows alike
+    private static String expectedValues(Map<UUID, ? extends Enum<?>> expected, List<Object> args) {
+        StringJoiner values = new StringJoiner(", ");
+        expected.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> {
+                    values.add("(CAST(? AS uuid), ?)");
+                    args.add(entry.getKey());
+                    args.add(entry.getValue().name());
+                });
+        return values.toString();
+    }
+
+    // Appends the id bounds of the shard to args; the whole key space needs no predicate
+    private static String shardFilter(ShardRange shard, List<Object> args) {
+        if (shard.count() == 1) {
+            return "";
+        }
+        args.add(shard.lower());
+        if (shard.upper() == null) {
+            return " AND id >= ?";
+        }
+        args.add(shard.upper());
+        return " AND id >= ? AND id < ?";
+    }
+
+    /*
+     * Publishes one outbox event per moved order in the same statement, with the payload of
+     * OrderEventDto. Every job candidate was PENDING, and the jobs never touch the payment status.
+     * Binds occurredAt, nextAttemptAt and createdAt.
+     */
+    private static String insertEvents(String eventType) {
+        return insertEvents(eventType, "'PENDING'", "m.payment_status");
+    }
+
+    private static String insertEvents(String eventType, String previousStatus, String previousPaymentStatus) {
+        return "INSERT INTO outbox_events (id, aggregate_type, aggregate_id, event_type, payload, status, attempts, "
+                + "next_attempt_at, created_at) "
+                + "SELECT gen_random_uuid(), 'Order', m.id, '" + eventType + "', json_build_object("
+                + "'orderId', m.id, 'userId', m.user_id, 'status', m.status, 'previousStatus', " + previousStatus + ", "
+                + "'paymentStatus', m.payment_status, 'previousPaymentStatus', " + previousPaymentStatus + ", "
+                + "'totalAmount', m.total_amount, 'orderCreatedAt', m.created_at, 'occurredAt', ?::timestamp)::text, "
+                + "'PENDING', 0, ?, ? FROM moved m";
+    }
+}
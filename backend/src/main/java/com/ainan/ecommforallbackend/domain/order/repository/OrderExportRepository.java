@@ -0,0 +1,102 @@
+package com.ainan.ecommforallbackend.domain.order.repository;
+
+import com.ainan.ecommforallbackend.domain.order.entity.OrderStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.ResultSetMetaData;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Keyset-paginated reads for the order export.
+ * <p>
+ * Each call returns one bounded chunk ordered by {@code (created_at, id)}, continuing strictly after
+ * the last key of the previous chunk, so a chunk never rescans earlier rows and its connection goes
+ * back to the pool before the rows are written out. Within a chunk the driver streams rows through
+ * a server-side cursor with {@code orders.export.fetch-size} rows per round trip; the PostgreSQL
+ * driver only does that inside a transaction, so callers read chunks in one.
+ */
+@Repository
+public class OrderExportRepository {
+    public static final List<String> ORDER_COLUMNS = List.of("order_id", "created_at", "user_id", "user_email",
+            "status", "payment_status", "subtotal", "tax", "shipping_cost", "total_amount", "payment_method",
+            "payment_transaction_id", "tracking_number", "shipping_carrier");
+    public static final List<String> LINE_COLUMNS = List.of("order_id", "order_created_at", "item_id", "product_id",
+            "product_variant_id", "sku", "product_name", "price", "quantity", "line_total");
+
+    private static final RowMapper<Object[]> ROW_MAPPER = (rs, rowNum) -> {
+        ResultSetMetaData metaData = rs.getMetaData();
+        Object[] row = new Object[metaData.getColumnCount()];
+        for (int i = 0; i < row.length; i++) {
+            Object value = rs.getObject(i + 1);
+            row[i] = value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : value;
+        }
+        return row;
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OrderExportRepository(DataSource dataSource, @Value("${orders.export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    /**
+     * Orders created in {@code [from, to)}, optionally with {@code status}, after the key
+     * {@code (afterCreatedAt, afterId)} (null for the first chunk). Values follow {@link #ORDER_COLUMNS}.
+     */
+    public List<Object[]> findOrderChunk(LocalDateTime from, LocalDateTime to, OrderStatus status,
+                                         LocalDateTime afterCreatedAt, UUID afterId, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT o.id, o.created_at, o.user_id, u.email, o.status, "
+                + "o.payment_status, o.subtotal, o.tax, o.shipping_cost, o.total_amount, o.payment_method, "
+                + "o.payment_transaction_id, o.tracking_number, o.shipping_carrier "
+                + "FROM orders o LEFT JOIN users u ON u.id = o.user_id "
+                + "WHERE o.created_at >= ? AND o.created_at < ?");
+        List<Object> args = new ArrayList<>(List.of(from, to));
+        if (status != null) {
+            sql.append(" AND o.status = ?");
+            args.add(status.name());
+        }
+        if (afterCreatedAt != null) {
+            sql.append(" AND (o.created_at, o.id) > (?, ?)");
+            args.add(afterCreatedAt);
+            args.add(afterId);
+        }
+        sql.append(" ORDER BY o.created_at, o.id LIMIT ?");
+        args.add(limit);
+        return jdbcTemplate.query(sql.toString(), ROW_MAPPER, args.toArray());
+    }
+
+    /**
+     * Items of orders created in {@code [from, to)}, optionally with {@code status}, after the key
+     * {@code (afterCreatedAt, afterOrderId, afterItemId)}. Values follow {@link #LINE_COLUMNS}.
+     */
+    public List<Object[]> findLineChunk(LocalDateTime from, LocalDateTime to, OrderStatus status,
+                                        LocalDateTime afterCreatedAt, UUID afterOrderId, UUID afterItemId, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT o.id, o.created_at, i.id, i.product_id, i.product_variant_id, "
+                + "i.sku, i.product_name, i.price, i.quantity, i.price * i.quantity "
+                + "FROM orders o JOIN order_items i ON i.order_id = o.id "
+                + "WHERE o.created_at >= ? AND o.created_at < ?");
+        List<Object> args = new ArrayList<>(List.of(from, to));
+        if (status != null) {
+            sql.append(" AND o.status = ?");
+            args.add(status.name());
+        }
+        if (afterCreatedAt != null) {
+            sql.append(" AND (o.created_at, o.id, i.id) > (?, ?, ?)");
+            args.add(afterCreatedAt);
+            args.add(afterOrderId);
+            args.add(afterItemId);
+        }
+        sql.append(" ORDER BY o.created_at, o.id, i.id LIMIT ?");
+        args.add(limit);
+        return jdbcTemplate.query(sql.toString(), ROW_MAPPER, args.toArray());
+    }
+}
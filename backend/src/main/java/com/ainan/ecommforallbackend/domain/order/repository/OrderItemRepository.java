@@ -6,6 +6,7 @@ import org.springframework.stereotype.Repository;
 
 import com.ainan.ecommforallbackend.domain.order.entity.OrderItem;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -14,9 +15,8 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, UUID> {
 
     List<OrderItem> findByOrderId(UUID orderId);
 
-    @Query("SELECT oi.product.id, SUM(oi.quantity) as totalQuantity FROM OrderItem oi " +
-            "WHERE oi.order.status <> 'CANCELLED' GROUP BY oi.product.id ORDER BY totalQuantity DESC")
-    List<Object[]> findTopSellingProducts(int limit);
+    @Query("SELECT oi.order.id, COUNT(oi) FROM OrderItem oi WHERE oi.order.id IN :orderIds GROUP BY oi.order.id")
+    List<Object[]> countByOrderIds(Collection<UUID> orderIds);
 
     @Query("SELECT COUNT(oi) FROM OrderItem oi WHERE oi.product.id = :productId")
     long countByProductId(UUID productId);
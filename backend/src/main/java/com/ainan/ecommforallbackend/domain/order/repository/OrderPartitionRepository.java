@@ -0,0 +1,68 @@
+package com.ainan.ecommforallbackend.domain.order.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Catalog queries and DDL for the monthly partitions of {@code orders}, named {@code orders_pYYYYMM}.
+ * Partition bounds are derived from {@link YearMonth} values only, never from user input, since DDL
+ * cannot take bind parameters.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OrderPartitionRepository {
+    private static final String PREFIX = "orders_p";
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public boolean isOrdersPartitioned() {
+        Boolean partitioned = jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM pg_partitioned_table p "
+                + "JOIN pg_class c ON c.oid = p.partrelid WHERE c.relname = 'orders' AND pg_table_is_visible(c.oid))",
+                Boolean.class);
+        return Boolean.TRUE.equals(partitioned);
+    }
+
+    /**
+     * @return the months that have a partition, oldest first
+     */
+    public List<YearMonth> findMonthlyPartitions() {
+        return jdbcTemplate.queryForList("SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+                        + "WHERE i.inhparent = 'orders'::regclass AND c.relname ~ '^orders_p[0-9]{6}$' ORDER BY c.relname",
+                        String.class).stream()
+                .map(name -> YearMonth.parse(name.substring(PREFIX.length()), SUFFIX))
+                .toList();
+    }
+
+    public void createPartition(YearMonth month) {
+        LocalDate start = month.atDay(1);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + name(month) + " PARTITION OF orders "
+                + "FOR VALUES FROM ('" + start + "') TO ('" + start.plusMonths(1) + "')");
+    }
+
+    /**
+     * Drops the partition of {@code month} if it holds no rows. Must run in a transaction, which
+     * holds the partition locked between the check and the drop.
+     *
+     * @return whether it was dropped
+     */
+    public boolean dropPartitionIfEmpty(YearMonth month) {
+        jdbcTemplate.execute("LOCK TABLE " + name(month) + " IN ACCESS EXCLUSIVE MODE");
+        Boolean empty = jdbcTemplate.queryForObject("SELECT NOT EXISTS (SELECT 1 FROM " + name(month) + ")", Boolean.class);
+        if (!Boolean.TRUE.equals(empty)) {
+            return false;
+        }
+        jdbcTemplate.execute("DROP TABLE " + name(month));
+        return true;
+    }
+
+    private static String name(YearMonth month) {
+        return PREFIX + month.format(SUFFIX);
+    }
+}
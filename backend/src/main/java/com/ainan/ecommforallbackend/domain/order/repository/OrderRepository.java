@@ -8,28 +8,49 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, UUID> {
 
-    Page<Order> findByUserId(UUID userId, Pageable pageable);
+    // Driven by idx_orders_user_created; the item subqueries use idx_order_items_order
+    String USER_SUMMARIES = "SELECT o.id AS id, o.status AS status, o.paymentStatus AS paymentStatus, "
+            + "o.totalAmount AS totalAmount, o.createdAt AS createdAt, o.updatedAt AS updatedAt, "
+            + "o.trackingNumber AS trackingNumber, "
+            + "(SELECT COUNT(i) FROM OrderItem i WHERE i.order = o) AS itemCount, "
+            + "(SELECT MIN(i.productName) FROM OrderItem i WHERE i.order = o) AS firstItemName "
+            + "FROM Order o WHERE o.user.id = :userId";
 
-    @Query("SELECT o FROM Order o WHERE o.user.id = :userId ORDER BY o.createdAt DESC")
-    List<Order> findRecentOrdersByUserId(UUID userId, Pageable pageable);
+    @Query(value = USER_SUMMARIES, countQuery = "SELECT COUNT(o) FROM Order o WHERE o.user.id = :userId")
+    Page<OrderSummaryView> findSummariesByUserId(UUID userId, Pageable pageable);
+
+    // Same rows without the page total, for lists that only show the first few
+    @Query(USER_SUMMARIES)
+    List<OrderSummaryView> findSummaryListByUserId(UUID userId, Pageable pageable);
 
     Page<Order> findByStatus(OrderStatus status, Pageable pageable);
 
-    @Query("SELECT COUNT(o) FROM Order o WHERE o.status = :status")
-    long countByStatus(OrderStatus status);
+    // Admin list pages are fetched in two phases: a page of ids first, then the orders of that
+    // page with their associations in one query, so paging never applies to a fetch join
+
+    @Query(value = "SELECT o.id FROM Order o", countQuery = "SELECT COUNT(o) FROM Order o")
+    Page<UUID> findPageOfIds(Pageable pageable);
+
+    @Query(value = "SELECT o.id FROM Order o WHERE o.status = :status",
+            countQuery = "SELECT COUNT(o) FROM Order o WHERE o.status = :status")
+    Page<UUID> findPageOfIdsByStatus(OrderStatus status, Pageable pageable);
+
+    @Query("SELECT o FROM Order o JOIN FETCH o.user WHERE o.id IN :ids")
+    List<Order> findWithUserByIdIn(Collection<UUID> ids);
 
-    @Query("SELECT COUNT(o) FROM Order o WHERE o.createdAt >= :startDate")
-    long countOrdersCreatedAfter(LocalDateTime startDate);
+    @Query("SELECT DISTINCT o FROM Order o JOIN FETCH o.user LEFT JOIN FETCH o.items i "
+            + "LEFT JOIN FETCH i.product LEFT JOIN FETCH i.productVariant WHERE o.id IN :ids")
+    List<Order> findWithItemsByIdIn(Collection<UUID> ids);
 
-    @Query("SELECT SUM(o.totalAmount) FROM Order o WHERE o.status <> 'CANCELLED' AND o.createdAt BETWEEN :startDate AND :endDate")
-    Double getTotalRevenueBetween(LocalDateTime startDate, LocalDateTime endDate);
+    @Query("SELECT o.id AS id, o.status AS status, o.paymentStatus AS paymentStatus FROM Order o WHERE o.id IN :ids")
+    List<OrderStatusView> findStatusesByIdIn(Collection<UUID> ids);
 
     boolean existsByUserIdAndStatusNot(UUID userId, OrderStatus status);
 }
\ No newline at end of file
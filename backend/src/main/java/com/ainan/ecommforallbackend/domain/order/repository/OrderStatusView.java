@@ -0,0 +1,17 @@
+package com.ainan.ecommforallbackend.domain.order.repository;
+
+import com.ainan.ecommforallbackend.domain.order.entity.OrderStatus;
+import com.ainan.ecommforallbackend.domain.order.entity.PaymentStatus;
+
+import java.util.UUID;
+
+/**
+ * The two statuses of an order, enough to validate a bulk transition without loading the entity.
+ */
+public interface OrderStatusView {
+    UUID getId();
+
+    OrderStatus getStatus();
+
+    PaymentStatus getPaymentStatus();
+}
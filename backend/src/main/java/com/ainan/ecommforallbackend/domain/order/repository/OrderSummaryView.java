@@ -0,0 +1,31 @@
+package com.ainan.ecommforallbackend.domain.order.repository;
+
+import com.ainan.ecommforallbackend.domain.order.entity.OrderStatus;
+import com.ainan.ecommforallbackend.domain.order.entity.PaymentStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Order history row computed in SQL, so listing orders never initialises their item collections.
+ */
+public interface OrderSummaryView {
+    UUID getId();
+
+    OrderStatus getStatus();
+
+    PaymentStatus getPaymentStatus();
+
+    BigDecimal getTotalAmount();
+
+    long getItemCount();
+
+    String getFirstItemName();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+
+    String getTrackingNumber();
+}
@@ -0,0 +1,20 @@
+package com.ainan.ecommforallbackend.domain.order.service;
+
+import com.ainan.ecommforallbackend.domain.order.dto.OrderExportType;
+import com.ainan.ecommforallbackend.domain.order.entity.OrderStatus;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+
+public interface OrderExportService {
+    /**
+     * Writes the orders (or order lines) created in {@code [from, to)} to {@code out} as
+     * gzip-compressed CSV, oldest first. Memory use does not depend on the size of the export.
+     *
+     * @param status optional status filter
+     * @return the number of data rows written
+     */
+    long export(OrderExportType type, LocalDateTime from, LocalDateTime to, OrderStatus status,
+                OutputStream out) throws IOException;
+}
@@ -0,0 +1,118 @@
+package com.ainan.ecommforallbackend.domain.order.service;
+
+import com.ainan.ecommforallbackend.domain.order.dto.OrderExportType;
+import com.ainan.ecommforallbackend.domain.order.entity.OrderStatus;
+import com.ainan.ecommforallbackend.domain.order.repository.OrderExportRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams exports chunk by chunk: read one keyset chunk in a short read-only transaction, then
+ * write it through the gzip stream to the client. Writes block while the client is slow to read,
+ * which holds back the next chunk without holding a database connection.
+ */
+@Service
+@Slf4j
+public class OrderExportServiceImpl implements OrderExportService {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final OrderExportRepository exportRepository;
+    private final TransactionTemplate readTransaction;
+
+    @Value("${orders.export.chunk-size:5000}")
+    private int chunkSize = 5000;
+
+    public OrderExportServiceImpl(OrderExportRepository exportRepository,
+                                  PlatformTransactionManager transactionManager) {
+        this.exportRepository = exportRepository;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public long export(OrderExportType type, LocalDateTime from, LocalDateTime to, OrderStatus status,
+                       OutputStream out) throws IOException {
+        GZIPOutputStream gzip = new GZIPOutputStream(out, BUFFER_SIZE);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(gzip, StandardCharsets.UTF_8), BUFFER_SIZE);
+        writeRow(writer, (type == OrderExportType.ORDERS
+                ? OrderExportRepository.ORDER_COLUMNS : OrderExportRepository.LINE_COLUMNS).toArray());
+
+        long rows = 0;
+        Object[] last = null;
+        while (true) {
+            Object[] after = last;
+            List<Object[]> chunk = readTransaction.execute(transactionStatus -> readChunk(type, from, to, status, after));
+            if (chunk == null || chunk.isEmpty()) {
+                break;
+            }
+            for (Object[] row : chunk) {
+                writeRow(writer, row);
+            }
+            writer.flush();
+            rows += chunk.size();
+            if (chunk.size() < chunkSize) {
+                break;
+            }
+            last = chunk.get(chunk.size() - 1);
+        }
+        writer.flush();
+        gzip.finish();
+        log.info("Exported {} {} rows for orders created in [{}, {})", rows, type, from, to);
+        return rows;
+    }
+
+    // Both column lists start with the order id and creation time; lines add the item id third
+    private List<Object[]> readChunk(OrderExportType type, LocalDateTime from, LocalDateTime to,
+                                     OrderStatus status, Object[] after) {
+        LocalDateTime afterCreatedAt = after != null ? (LocalDateTime) after[1] : null;
+        UUID afterOrderId = after != null ? (UUID) after[0] : null;
+        if (type == OrderExportType.ORDERS) {
+            return exportRepository.findOrderChunk(from, to, status, afterCreatedAt, afterOrderId, chunkSize);
+        }
+        UUID afterItemId = after != null ? (UUID) after[2] : null;
+        return exportRepository.findLineChunk(from, to, status, afterCreatedAt, afterOrderId, afterItemId, chunkSize);
+    }
+
+    static void writeRow(Writer writer, Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(toCell(values[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    static String toCell(Object value) {
+        if (value == null) {
+            return "";
+        }
+        if (value instanceof BigDecimal decimal) {
+            return decimal.toPlainString();
+        }
+        String text = value.toString();
+        if (value instanceof String && !text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0) {
+            // Keep spreadsheet apps from evaluating free text (product names, notes) as formulas
+            text = "'" + text;
+        }
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+}
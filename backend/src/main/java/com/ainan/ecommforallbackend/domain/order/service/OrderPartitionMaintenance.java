@@ -0,0 +1,87 @@
+package com.ainan.ecommforallbackend.domain.order.service;
+
+import com.ainan.ecommforallbackend.domain.job.service.JobCoordinator;
+import com.ainan.ecommforallbackend.domain.order.repository.OrderPartitionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Keeps the monthly partitions of {@code orders} ahead of time: the current month and the next
+ * {@code orders.partitioning.months-ahead} always exist, so inserts never fall into the default
+ * partition. With archival enabled, partitions older than the archive horizon are dropped once the
+ * archival job has emptied them.
+ * <p>
+ * Partitions prune the date-bounded queries only; lookups by order id probe every partition, so
+ * the number kept matters (see {@code db/partitioning/partition-orders.sql}).
+ * <p>
+ * Does nothing until {@code orders} has been converted with {@code db/partitioning/partition-orders.sql}.
+ */
+@Component
+@Slf4j
+public class OrderPartitionMaintenance {
+    static final String JOB_NAME = "orders-partition-maintenance";
+
+    private final OrderPartitionRepository partitionRepository;
+    private final JobCoordinator jobCoordinator;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${orders.partitioning.months-ahead:3}")
+    private int monthsAhead = 3;
+    @Value("${orders.archive.enabled:false}")
+    private boolean archiveEnabled;
+    @Value("${orders.archive.after-months:12}")
+    private int archiveAfterMonths = 12;
+
+    public OrderPartitionMaintenance(OrderPartitionRepository partitionRepository,
+                                     JobCoordinator jobCoordinator,
+                                     PlatformTransactionManager transactionManager) {
+        this.partitionRepository = partitionRepository;
+        this.jobCoordinator = jobCoordinator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintainOnSchedule();
+    }
+
+    // Replicas starting together would otherwise race on the same CREATE TABLE statements
+    @Scheduled(cron = "${orders.partitioning.cron:0 10 1 * * ?}")
+    public void maintainOnSchedule() {
+        jobCoordinator.runExclusive(JOB_NAME, lease -> maintain());
+    }
+
+    public void maintain() {
+        if (!partitionRepository.isOrdersPartitioned()) {
+            log.debug("orders is not partitioned, skipping partition maintenance");
+            return;
+        }
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= monthsAhead; i++) {
+            partitionRepository.createPartition(current.plusMonths(i));
+        }
+
+        if (archiveEnabled) {
+            YearMonth horizon = current.minusMonths(archiveAfterMonths);
+            List<YearMonth> partitions = partitionRepository.findMonthlyPartitions();
+            for (YearMonth month : partitions) {
+                if (!month.isBefore(horizon)) {
+                    break;
+                }
+                Boolean dropped = transactionTemplate.execute(status -> partitionRepository.dropPartitionIfEmpty(month));
+                if (Boolean.TRUE.equals(dropped)) {
+                    log.info("Dropped archived orders partition for {}", month);
+                }
+            }
+        }
+    }
+}
@@ -1,25 +1,78 @@
 package com.ainan.ecommforallbackend.domain.order.service;
 
-import com.ainan.ecommforallbackend.domain.order.entity.Order;
-import com.ainan.ecommforallbackend.domain.order.entity.OrderStatus;
-import com.ainan.ecommforallbackend.domain.order.entity.PaymentStatus;
-import com.ainan.ecommforallbackend.domain.order.repository.OrderRepository;
+import com.ainan.ecommforallbackend.domain.inventory.repository.InventoryRepository;
+import com.ainan.ecommforallbackend.domain.job.service.JobCoordinator;
+import com.ainan.ecommforallbackend.domain.job.service.JobLease;
+import com.ainan.ecommforallbackend.domain.order.repository.OrderBatchRepository;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.UUID;
+import java.util.function.IntSupplier;
 
+/**
+ * Scheduled order state transitions. Both jobs work in fixed-size chunks, each chunk being one
+ * set-based statement committed on its own, so their cost follows the number of matching orders
+ * rather than the size of the orders table, and a crash loses at most the chunk in flight.
+ * <p>
+ * Every node fires the schedules, but runs go through the {@link JobCoordinator}, so each job runs
+ * on one node at a time. With {@code orders.jobs.shards} above 1 a job is split into that many
+ * ranges of order ids, each leased separately, and the nodes share the work. Every chunk renews the
+ * lease in its own transaction, so a node that lost its lease stops before committing anything.
+ * <p>
+ * Progress is published as {@code orders.jobs.updated} (orders moved) and
+ * {@code orders.jobs.chunks} counters plus an {@code orders.jobs.duration} timer, tagged by job.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class OrderProcessingService {
+    static final String PROCESS_COMPLETED_PAYMENTS = "process-completed-payments";
+    static final String CANCEL_STALE_PENDING = "cancel-stale-pending";
+    static final String ARCHIVE_FINISHED = "archive-finished";
+    private static final String STALE_CANCELLATION_REASON = "Order cancelled automatically due to payment timeout";
 
-    private final OrderRepository orderRepository;
+    private final OrderBatchRepository orderBatchRepository;
+    private final InventoryRepository inventoryRepository;
+    private final MeterRegistry meterRegistry;
+    private final JobCoordinator jobCoordinator;
+    private final TransactionTemplate chunkTransaction;
+
+    @Value("${orders.jobs.chunk-size:500}")
+    private int chunkSize = 500;
+
+    @Value("${orders.jobs.shards:1}")
+    private int shards = 1;
+
+    @Value("${orders.jobs.stale-pending-hours:24}")
+    private long stalePendingHours = 24;
+
+    @Value("${orders.archive.enabled:false}")
+    private boolean archiveEnabled;
+
+    @Value("${orders.archive.after-months:12}")
+    private long archiveAfterMonths = 12;
+
+    public OrderProcessingService(OrderBatchRepository orderBatchRepository,
+                                  InventoryRepository inventoryRepository,
+                                  MeterRegistry meterRegistry,
+                                  JobCoordinator jobCoordinator,
+                                  PlatformTransactionManager transactionManager) {
+        this.orderBatchRepository = orderBatchRepository;
+        this.inventoryRepository = inventoryRepository;
+        this.meterRegistry = meterRegistry;
+        this.jobCoordinator = jobCoordinator;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+    }
 
     /**
      * Process orders with completed payments that haven't been moved to PROCESSING
@@ -27,52 +80,73 @@ public class OrderProcessingService {
      * Runs every 15 minutes
      */
     @Scheduled(fixedRate = 900000) // 15 minutes
-    @Transactional
-    public void processCompletedPayments() {
-        List<Order> pendingOrders = orderRepository.findAll().stream()
-                .filter(order -> order.getStatus() == OrderStatus.PENDING
-                        && order.getPaymentStatus() == PaymentStatus.COMPLETED)
-                .toList();
-
-        if (!pendingOrders.isEmpty()) {
-            log.info("Processing {} orders with completed payments", pendingOrders.size());
-
-            for (Order order : pendingOrders) {
-                order.setStatus(OrderStatus.PROCESSING);
-                order.setProcessedAt(LocalDateTime.now());
-                orderRepository.save(order);
-                log.info("Updated order {} to PROCESSING status", order.getId());
-            }
-        }
+    public int processCompletedPayments() {
+        return jobCoordinator.runSharded(PROCESS_COMPLETED_PAYMENTS, shards, lease ->
+                runInChunks(PROCESS_COMPLETED_PAYMENTS, lease, () -> orderBatchRepository.markPaidOrdersProcessing(
+                        lease.getShard(), LocalDateTime.now(), chunkSize)));
     }
 
     /**
      * Check for stale pending orders and cancel them if payment hasn't been
-     * received
+     * received, returning their items to stock
      * Runs once per day at midnight
      */
     @Scheduled(cron = "0 0 0 * * ?")
-    @Transactional
-    public void cancelStalePendingOrders() {
-        // Get all PENDING orders older than 24 hours with PENDING payment status
-        LocalDateTime cutoffTime = LocalDateTime.now().minusHours(24);
-
-        List<Order> staleOrders = orderRepository.findAll().stream()
-                .filter(order -> order.getStatus() == OrderStatus.PENDING
-                        && order.getPaymentStatus() == PaymentStatus.PENDING
-                        && order.getCreatedAt().isBefore(cutoffTime))
-                .toList();
+    public int cancelStalePendingOrders() {
+        // The cutoff is fixed for the whole run so chunks see a consistent set of candidates
+        LocalDateTime cutoffTime = LocalDateTime.now().minusHours(stalePendingHours);
+        return jobCoordinator.runSharded(CANCEL_STALE_PENDING, shards, lease -> runInChunks(CANCEL_STALE_PENDING, lease, () -> {
+            List<UUID> cancelled = orderBatchRepository.cancelStalePendingOrders(
+                    lease.getShard(), cutoffTime, LocalDateTime.now(), STALE_CANCELLATION_REASON, chunkSize);
+            if (!cancelled.isEmpty()) {
+                inventoryRepository.restoreForOrders(cancelled);
+            }
+            return cancelled.size();
+        }));
+    }
 
-        if (!staleOrders.isEmpty()) {
-            log.info("Cancelling {} stale pending orders", staleOrders.size());
+    /**
+     * Move delivered and cancelled orders older than orders.archive.after-months
+     * into order_archive
+     * Runs once per day at 2 AM when orders.archive.enabled is set
+     */
+    @Scheduled(cron = "${orders.archive.cron:0 0 2 * * ?}")
+    public int archiveFinishedOrders() {
+        if (!archiveEnabled) {
+            return 0;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minusMonths(archiveAfterMonths);
+        return jobCoordinator.runSharded(ARCHIVE_FINISHED, shards, lease ->
+                runInChunks(ARCHIVE_FINISHED, lease, () -> orderBatchRepository.archiveFinishedOrders(
+                        lease.getShard(), cutoff, LocalDateTime.now(), chunkSize)));
+    }
 
-            for (Order order : staleOrders) {
-                order.setStatus(OrderStatus.CANCELLED);
-                order.setCancellationReason("Order cancelled automatically due to payment timeout");
-                order.setCancelledAt(LocalDateTime.now());
-                orderRepository.save(order);
-                log.info("Cancelled stale order {}", order.getId());
+    private int runInChunks(String job, JobLease lease, IntSupplier chunk) {
+        Counter updatedCounter = meterRegistry.counter("orders.jobs.updated", "job", job);
+        Counter chunkCounter = meterRegistry.counter("orders.jobs.chunks", "job", job);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        int total = 0;
+        try {
+            while (true) {
+                Integer updated = chunkTransaction.execute(status -> {
+                    lease.checkpoint();
+                    return chunk.getAsInt();
+                });
+                int count = updated != null ? updated : 0;
+                chunkCounter.increment();
+                updatedCounter.increment(count);
+                total += count;
+                if (count < chunkSize) {
+                    break;
+                }
+                log.info("Job {}: {} orders updated so far", job, total);
             }
+        } finally {
+            sample.stop(meterRegistry.timer("orders.jobs.duration", "job", job));
+        }
+        if (total > 0) {
+            log.info("Job {} finished: {} orders updated", job, total);
         }
+        return total;
     }
-}
\ No newline at end of file
+}
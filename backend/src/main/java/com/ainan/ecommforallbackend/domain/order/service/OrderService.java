@@ -1,5 +1,6 @@
 package com.ainan.ecommforallbackend.domain.order.service;
 
+import com.ainan.ecommforallbackend.domain.analytics.dto.SalesWindow;
 import com.ainan.ecommforallbackend.domain.order.dto.*;
 import com.ainan.ecommforallbackend.domain.order.entity.OrderStatus;
 import com.ainan.ecommforallbackend.domain.product.dto.ProductSalesDto;
@@ -8,6 +9,7 @@ import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 public interface OrderService {
@@ -16,6 +18,11 @@ public interface OrderService {
 
     OrderResponseDto getOrderById(UUID orderId, String userId);
 
+    /**
+     * The archived document (order row plus items) of an order moved out by the archival job.
+     */
+    Map<String, Object> getArchivedOrder(UUID orderId);
+
     Page<OrderSummaryDto> getUserOrders(String userId, Pageable pageable);
 
     List<OrderSummaryDto> getRecentUserOrders(String userId, int limit);
@@ -24,14 +31,21 @@ public interface OrderService {
 
     OrderResponseDto updatePaymentStatus(UUID orderId, PaymentStatusUpdateDto paymentStatusUpdateDto, String adminId);
 
+    /**
+     * Moves many orders to one status, validating each transition; see {@link OrderBulkUpdateResultDto}.
+     */
+    OrderBulkUpdateResultDto bulkUpdateOrderStatus(OrderBulkStatusUpdateDto updateDto, String adminId);
+
+    OrderBulkUpdateResultDto bulkUpdatePaymentStatus(OrderBulkPaymentUpdateDto updateDto, String adminId);
+
     void cancelOrder(UUID orderId, String reason, String userId);
 
     boolean userHasActiveOrders(String userId);
 
     // Admin methods
-    Page<OrderResponseDto> getAllOrders(Pageable pageable);
+    Page<OrderListItemDto> getAllOrders(Pageable pageable, boolean includeItems);
 
-    Page<OrderResponseDto> getOrdersByStatus(OrderStatus status, Pageable pageable);
+    Page<OrderListItemDto> getOrdersByStatus(OrderStatus status, Pageable pageable, boolean includeItems);
 
     long getOrderCountByStatus(OrderStatus status);
 
@@ -39,5 +53,5 @@ public interface OrderService {
 
     Double getTotalRevenueBetween(LocalDateTime startDate, LocalDateTime endDate);
 
-    List<ProductSalesDto> getTopSellingProducts(int limit);
+    List<ProductSalesDto> getTopSellingProducts(int limit, SalesWindow window);
 }
\ No newline at end of file
@@ -1,15 +1,27 @@
 package com.ainan.ecommforallbackend.domain.order.service;
 
 import com.ainan.ecommforallbackend.core.exception.ResourceNotFoundException;
+import com.ainan.ecommforallbackend.domain.analytics.dto.SalesWindow;
+import com.ainan.ecommforallbackend.domain.analytics.service.SalesRollupService;
 import com.ainan.ecommforallbackend.domain.cart.dto.CartItemDto;
 import com.ainan.ecommforallbackend.domain.cart.service.ShoppingCartService;
+import com.ainan.ecommforallbackend.domain.inventory.dto.StockLineDto;
+import com.ainan.ecommforallbackend.domain.inventory.service.InventoryService;
 import com.ainan.ecommforallbackend.domain.order.dto.*;
 import com.ainan.ecommforallbackend.domain.order.entity.Order;
+import com.ainan.ecommforallbackend.domain.order.entity.OrderArchive;
 import com.ainan.ecommforallbackend.domain.order.entity.OrderItem;
+import com.ainan.ecommforallbackend.domain.order.entity.OrderEventType;
 import com.ainan.ecommforallbackend.domain.order.entity.OrderStatus;
+import com.ainan.ecommforallbackend.domain.order.entity.PaymentStatus;
 import com.ainan.ecommforallbackend.domain.order.mapper.OrderMapper;
+import com.ainan.ecommforallbackend.domain.order.repository.OrderArchiveRepository;
+import com.ainan.ecommforallbackend.domain.order.repository.OrderBatchRepository;
 import com.ainan.ecommforallbackend.domain.order.repository.OrderItemRepository;
 import com.ainan.ecommforallbackend.domain.order.repository.OrderRepository;
+import com.ainan.ecommforallbackend.domain.order.repository.OrderStatusView;
+import com.ainan.ecommforallbackend.domain.outbox.service.OutboxService;
+import com.ainan.ecommforallbackend.domain.pricing.service.PricingPlan;
 import com.ainan.ecommforallbackend.domain.product.dto.ProductImageDto;
 import com.ainan.ecommforallbackend.domain.product.dto.ProductSalesDto;
 import com.ainan.ecommforallbackend.domain.product.entity.Product;
@@ -22,14 +34,18 @@ import com.ainan.ecommforallbackend.domain.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -39,18 +55,26 @@ public class OrderServiceImpl implements OrderService {
 
     private final OrderRepository orderRepository;
     private final OrderItemRepository orderItemRepository;
+    private final OrderArchiveRepository orderArchiveRepository;
+    private final OrderBatchRepository orderBatchRepository;
     private final UserRepository userRepository;
     private final ProductRepository productRepository;
     private final ProductVariantRepository productVariantRepository;
     private final ShoppingCartService shoppingCartService;
     private final OrderMapper orderMapper;
     private final ProductImageService productImageService;
+    private final InventoryService inventoryService;
+    private final OutboxService outboxService;
+    private final SalesRollupService salesRollupService;
+    private final PricingPlan pricingPlan;
+    private final TaxRegionResolver taxRegionResolver;
 
     @Override
     @Transactional
     public OrderResponseDto createOrder(OrderCreateDto orderCreateDto, String userId) {
         User user = userRepository.findById(UUID.fromString(userId))
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        String taxRegion = taxRegionResolver.resolve(orderCreateDto);
 
         Order order = orderMapper.toEntity(orderCreateDto, user);
 
@@ -61,13 +85,10 @@ public class OrderServiceImpl implements OrderService {
             if (cartItems.isEmpty()) {
                 throw new IllegalStateException("Cannot create order: cart is empty");
             }
-            // Validate stock for all cart items before processing
-            validateStockForCartItems(cartItems);
-
-            for (CartItemDto cartItem : cartItems) {
-                OrderItem orderItem = createOrderItemFromCartItem(cartItem);
-                order.addItem(orderItem);
-            }
+            buildOrderItems(cartItems.stream()
+                    .map(item -> new OrderItemCreateDto(item.getProductId(), item.getVariantId(), item.getQuantity()))
+                    .toList())
+                    .forEach(order::addItem);
 
             // Clear the cart after creating order
             shoppingCartService.clearShoppingCart(userId);
@@ -76,21 +97,23 @@ public class OrderServiceImpl implements OrderService {
             if (orderCreateDto.getItems() == null || orderCreateDto.getItems().isEmpty()) {
                 throw new IllegalArgumentException("Order must contain at least one item");
             }
-            validateStockForOrderItems(orderCreateDto.getItems());
-            for (OrderItemCreateDto itemDto : orderCreateDto.getItems()) {
-                OrderItem orderItem = createOrderItemFromCreateDto(itemDto);
-                order.addItem(orderItem);
-            }
+            buildOrderItems(orderCreateDto.getItems()).forEach(order::addItem);
         }
 
         // Calculate order totals
-        order.calculateTotals();
+        order.calculateTotals(pricingPlan, taxRegion);
 
         // Save the order
         Order savedOrder = orderRepository.save(order);
 
+        // Release the checkout hold (if still active) in this transaction so the decrement below can use it
+        if (orderCreateDto.getReservationId() != null) {
+            inventoryService.consumeReservation(orderCreateDto.getReservationId(), userId);
+        }
+
         // Update inventory (reduce stock) for all items
         updateInventoryForOrder(order.getItems(), false);
+        publishEvent(OrderEventType.ORDER_CREATED, savedOrder, null, null);
         log.info("Created order {} for user {}", savedOrder.getId(), userId);
 
         return orderMapper.toDto(savedOrder);
@@ -116,23 +139,29 @@ public class OrderServiceImpl implements OrderService {
         return orderDto;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, Object> getArchivedOrder(UUID orderId) {
+        return orderArchiveRepository.findById(orderId)
+                .map(OrderArchive::getDocument)
+                .orElseThrow(() -> new ResourceNotFoundException("Archived order not found"));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<OrderSummaryDto> getUserOrders(String userId, Pageable pageable) {
-        Page<Order> orders = orderRepository.findByUserId(UUID.fromString(userId), pageable);
-        return orders.map(orderMapper::toSummaryDto);
+        return orderRepository.findSummariesByUserId(UUID.fromString(userId), pageable)
+                .map(orderMapper::toSummaryDto);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<OrderSummaryDto> getRecentUserOrders(String userId, int limit) {
-        List<Order> recentOrders = orderRepository.findRecentOrdersByUserId(
-                UUID.fromString(userId),
-                PageRequest.of(0, limit));
-
-        return recentOrders.stream()
+        return orderRepository.findSummaryListByUserId(UUID.fromString(userId),
+                        PageRequest.of(0, limit, Sort.by(Sort.Direction.DESC, "createdAt")))
+                .stream()
                 .map(orderMapper::toSummaryDto)
-                .collect(Collectors.toList());
+                .toList();
     }
 
     @Override
@@ -141,6 +170,8 @@ public class OrderServiceImpl implements OrderService {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found"));
 
+        OrderStatus previousStatus = order.getStatus();
+
         // Apply the status update
         orderMapper.updateOrderFromStatusUpdate(statusUpdateDto, order);
 
@@ -162,6 +193,7 @@ public class OrderServiceImpl implements OrderService {
         }
 
         Order savedOrder = orderRepository.save(order);
+        publishEvent(OrderEventType.ORDER_STATUS_CHANGED, savedOrder, previousStatus, savedOrder.getPaymentStatus());
         log.info("Updated order {} status to {} by admin {}", orderId, statusUpdateDto.getStatus(), adminId);
 
         return orderMapper.toDto(savedOrder);
@@ -174,15 +206,42 @@ public class OrderServiceImpl implements OrderService {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found"));
 
+        PaymentStatus previousPaymentStatus = order.getPaymentStatus();
         orderMapper.updateOrderFromPaymentUpdate(paymentStatusUpdateDto, order);
 
         Order savedOrder = orderRepository.save(order);
+        publishEvent(OrderEventType.PAYMENT_STATUS_CHANGED, savedOrder, savedOrder.getStatus(), previousPaymentStatus);
         log.info("Updated order {} payment status to {} by admin {}",
                 orderId, paymentStatusUpdateDto.getPaymentStatus(), adminId);
 
         return orderMapper.toDto(savedOrder);
     }
 
+    @Override
+    @Transactional
+    public OrderBulkUpdateResultDto bulkUpdateOrderStatus(OrderBulkStatusUpdateDto updateDto, String adminId) {
+        OrderStatus target = updateDto.getStatus();
+        OrderBulkUpdateResultDto result = bulkUpdate(updateDto.getOrderIds(), target, OrderStatusView::getStatus,
+                OrderStatus::canTransitionTo, expected -> orderBatchRepository.updateStatuses(expected, target,
+                        updateDto.getTrackingNumber(), updateDto.getShippingCarrier(),
+                        updateDto.getCancellationReason(), LocalDateTime.now()));
+        log.info("Bulk updated {} of {} orders to status {} by admin {}",
+                result.getUpdated(), result.getResults().size(), target, adminId);
+        return result;
+    }
+
+    @Override
+    @Transactional
+    public OrderBulkUpdateResultDto bulkUpdatePaymentStatus(OrderBulkPaymentUpdateDto updateDto, String adminId) {
+        PaymentStatus target = updateDto.getPaymentStatus();
+        OrderBulkUpdateResultDto result = bulkUpdate(updateDto.getOrderIds(), target, OrderStatusView::getPaymentStatus,
+                PaymentStatus::canTransitionTo,
+                expected -> orderBatchRepository.updatePaymentStatuses(expected, target, LocalDateTime.now()));
+        log.info("Bulk updated {} of {} orders to payment status {} by admin {}",
+                result.getUpdated(), result.getResults().size(), target, adminId);
+        return result;
+    }
+
     @Override
     @Transactional
     public void cancelOrder(UUID orderId, String reason, String userId) {
@@ -199,12 +258,14 @@ public class OrderServiceImpl implements OrderService {
             throw new IllegalStateException("Order cannot be cancelled in its current state");
         }
 
+        OrderStatus previousStatus = order.getStatus();
         order.setStatus(OrderStatus.CANCELLED);
         order.setCancellationReason(reason);
         order.setCancelledAt(LocalDateTime.now());
         // Restore inventory for cancelled order
         updateInventoryForOrder(order.getItems(), true);
         orderRepository.save(order);
+        publishEvent(OrderEventType.ORDER_CANCELLED, order, previousStatus, order.getPaymentStatus());
         log.info("Order {} cancelled by user {}: {}", orderId, userId, reason);
     }
 
@@ -216,190 +277,204 @@ public class OrderServiceImpl implements OrderService {
 
     @Override
     @Transactional(readOnly = true)
-    public Page<OrderResponseDto> getAllOrders(Pageable pageable) {
-        return orderRepository.findAll(pageable)
-                .map(orderMapper::toDto);
+    public Page<OrderListItemDto> getAllOrders(Pageable pageable, boolean includeItems) {
+        return toListPage(orderRepository.findPageOfIds(pageable), includeItems);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Page<OrderResponseDto> getOrdersByStatus(OrderStatus status, Pageable pageable) {
-        return orderRepository.findByStatus(status, pageable)
-                .map(orderMapper::toDto);
+    public Page<OrderListItemDto> getOrdersByStatus(OrderStatus status, Pageable pageable, boolean includeItems) {
+        return toListPage(orderRepository.findPageOfIdsByStatus(status, pageable), includeItems);
     }
 
     @Override
     @Transactional(readOnly = true)
     public long getOrderCountByStatus(OrderStatus status) {
-        return orderRepository.countByStatus(status);
+        return salesRollupService.getOrderCountsByStatus().getOrDefault(status, 0L);
     }
 
     @Override
     @Transactional(readOnly = true)
     public long getOrderCountSince(LocalDateTime startDate) {
-        return orderRepository.countOrdersCreatedAfter(startDate);
+        return salesRollupService.getSummary(startDate, LocalDateTime.now()).getOrderCount();
     }
 
     @Override
     @Transactional(readOnly = true)
     public Double getTotalRevenueBetween(LocalDateTime startDate, LocalDateTime endDate) {
-        Double revenue = orderRepository.getTotalRevenueBetween(startDate, endDate);
-        return revenue != null ? revenue : 0.0;
+        return salesRollupService.getSummary(startDate, endDate).getRevenue().doubleValue();
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<ProductSalesDto> getTopSellingProducts(int limit) {
-        List<Object[]> results = orderItemRepository.findTopSellingProducts(limit);
-        List<ProductSalesDto> salesData = new ArrayList<>();
-
-        for (Object[] result : results) {
-            UUID productId = (UUID) result[0];
-            Long quantity = (Long) result[1];
-
-            Product product = productRepository.findById(productId)
-                    .orElse(null);
+    public List<ProductSalesDto> getTopSellingProducts(int limit, SalesWindow window) {
+        List<ProductSalesDto> ranking = salesRollupService.getTopSellingProducts(window, limit);
+        Map<UUID, Product> products = productRepository.findAllById(ranking.stream()
+                        .map(ProductSalesDto::getProductId).collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Product::getId, product -> product));
 
+        // Keep the ranking order; products deleted since they were sold are dropped
+        List<ProductSalesDto> salesData = new ArrayList<>();
+        for (ProductSalesDto salesDto : ranking) {
+            Product product = products.get(salesDto.getProductId());
             if (product != null) {
-                ProductSalesDto salesDto = new ProductSalesDto();
-                salesDto.setProductId(productId);
                 salesDto.setProductName(product.getName());
-                salesDto.setQuantitySold(quantity.intValue());
-
                 salesData.add(salesDto);
             }
         }
-
         return salesData;
     }
 
     // Helper methods
 
-    private OrderItem createOrderItemFromCartItem(CartItemDto cartItem) {
-        OrderItem orderItem = new OrderItem();
-
-        // Find the product
-        Product product = productRepository.findById(cartItem.getProductId())
-                .orElseThrow(() -> new ResourceNotFoundException("Product not found"));
-
-        orderItem.setProduct(product);
-        orderItem.setProductName(product.getName());
-        orderItem.setProductDescription(product.getDescription());
-        orderItem.setQuantity(cartItem.getQuantity());
-
-        // Handle variant if applicable
-        if (cartItem.getVariantId() != null) {
-            ProductVariant variant = productVariantRepository.findById(cartItem.getVariantId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Product variant not found"));
-
-            orderItem.setProductVariant(variant);
-            orderItem.setSku(variant.getSku());
-            orderItem.setPrice(variant.getPrice());
-        } else {
-            orderItem.setPrice(product.getPrice());
+    // Second phase of an admin list page: one query for the orders with their users (and items,
+    // products and variants when requested), plus one for the item counts otherwise
+    private Page<OrderListItemDto> toListPage(Page<UUID> ids, boolean includeItems) {
+        if (ids.isEmpty()) {
+            return new PageImpl<>(List.of(), ids.getPageable(), ids.getTotalElements());
+        }
+        List<UUID> pageIds = ids.getContent();
+        Map<UUID, Order> orders = (includeItems
+                ? orderRepository.findWithItemsByIdIn(pageIds)
+                : orderRepository.findWithUserByIdIn(pageIds)).stream()
+                .collect(Collectors.toMap(Order::getId, order -> order));
+        Map<UUID, Long> itemCounts = new HashMap<>();
+        if (!includeItems) {
+            for (Object[] row : orderItemRepository.countByOrderIds(pageIds)) {
+                itemCounts.put((UUID) row[0], (Long) row[1]);
+            }
         }
-        return orderItem;
-    }
-
-    private OrderItem createOrderItemFromCreateDto(OrderItemCreateDto itemDto) {
-        OrderItem orderItem = new OrderItem();
-
-        // Find the product
-        Product product = productRepository.findById(itemDto.getProductId())
-                .orElseThrow(() -> new ResourceNotFoundException("Product not found"));
-
-        orderItem.setProduct(product);
-        orderItem.setProductName(product.getName());
-        orderItem.setProductDescription(product.getDescription());
-        orderItem.setQuantity(itemDto.getQuantity());
-
-        // Handle variant if applicable
-        if (itemDto.getVariantId() != null) {
-            ProductVariant variant = productVariantRepository.findById(itemDto.getVariantId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Product variant not found"));
 
-            orderItem.setProductVariant(variant);
-            orderItem.setSku(variant.getSku());
-            orderItem.setPrice(variant.getPrice());
-        } else {
-            orderItem.setPrice(product.getPrice());
+        // Keep the order of the id page; an order deleted in between is simply skipped
+        List<OrderListItemDto> content = new ArrayList<>();
+        for (UUID id : pageIds) {
+            Order order = orders.get(id);
+            if (order == null) {
+                continue;
+            }
+            OrderListItemDto dto = orderMapper.toListItemDto(order);
+            if (includeItems) {
+                dto.setItems(order.getItems().stream().map(orderMapper::toOrderItemDto).collect(Collectors.toSet()));
+                dto.setItemCount(order.getItems().size());
+            } else {
+                dto.setItemCount(itemCounts.getOrDefault(id, 0L).intValue());
+            }
+            content.add(dto);
         }
-        return orderItem;
+        return new PageImpl<>(content, ids.getPageable(), ids.getTotalElements());
     }
-    // New methods for stock management
-
-    private void validateStockForCartItems(List<CartItemDto> cartItems) {
-        List<String> outOfStockItems = new ArrayList<>();
-
-        for (CartItemDto item : cartItems) {
-            if (item.getVariantId() != null) {
-                ProductVariant variant = productVariantRepository.findById(item.getVariantId())
-                        .orElseThrow(() -> new ResourceNotFoundException("Product variant not found"));
 
-                if (variant.getStock() < item.getQuantity()) {
-                    String variantInfo = variant.getSku() != null ? variant.getSku() : variant.getId().toString();
-                    outOfStockItems.add("Product variant: " + variantInfo + " (requested: " + item.getQuantity()
-                            + ", available: " + variant.getStock() + ")");
-                }
+    // Validates every requested order against one projection query, then applies the allowed
+    // transitions with a single statement. That statement only touches orders still in the status
+    // seen here, so anything changed in between is reported as CONFLICT instead of overwritten.
+    private <S extends Enum<S>> OrderBulkUpdateResultDto bulkUpdate(List<UUID> orderIds, S target,
+                                                                   Function<OrderStatusView, S> statusOf,
+                                                                   BiPredicate<S, S> canTransition,
+                                                                   Function<Map<UUID, S>, List<UUID>> apply) {
+        Set<UUID> ids = new LinkedHashSet<>(orderIds);
+        Map<UUID, OrderStatusView> found = orderRepository.findStatusesByIdIn(ids).stream()
+                .collect(Collectors.toMap(OrderStatusView::getId, view -> view));
+
+        Map<UUID, OrderBulkUpdateResultDto.Line> lines = new LinkedHashMap<>();
+        Map<UUID, S> expected = new HashMap<>();
+        for (UUID id : ids) {
+            OrderStatusView view = found.get(id);
+            if (view == null) {
+                lines.put(id, new OrderBulkUpdateResultDto.Line(id, BulkUpdateOutcome.NOT_FOUND, null, "Order not found"));
+                continue;
+            }
+            S current = statusOf.apply(view);
+            if (current == target) {
+                lines.put(id, new OrderBulkUpdateResultDto.Line(id, BulkUpdateOutcome.UNCHANGED, current.name(), null));
+            } else if (current == null || !canTransition.test(current, target)) {
+                lines.put(id, new OrderBulkUpdateResultDto.Line(id, BulkUpdateOutcome.INVALID_TRANSITION,
+                        current != null ? current.name() : null, "Cannot change from " + current + " to " + target));
             } else {
-                Product product = productRepository.findById(item.getProductId())
-                        .orElseThrow(() -> new ResourceNotFoundException("Product not found"));
-
-                if (product.getStock() < item.getQuantity()) {
-                    outOfStockItems.add("Product: " + product.getName() + " (available: " + product.getStock() + ")");
-                }
+                expected.put(id, current);
+                lines.put(id, null);
             }
         }
 
-        if (!outOfStockItems.isEmpty()) {
-            throw new IllegalStateException("Insufficient stock for: " + String.join(", ", outOfStockItems));
-        }
+        Set<UUID> updated = expected.isEmpty() ? Set.of() : new HashSet<>(apply.apply(expected));
+        expected.forEach((id, previous) -> lines.put(id, updated.contains(id)
+                ? new OrderBulkUpdateResultDto.Line(id, BulkUpdateOutcome.UPDATED, previous.name(), null)
+                : new OrderBulkUpdateResultDto.Line(id, BulkUpdateOutcome.CONFLICT, previous.name(),
+                "Order was changed concurrently")));
+        return new OrderBulkUpdateResultDto(updated.size(), new ArrayList<>(lines.values()));
     }
 
-    private void validateStockForOrderItems(List<OrderItemCreateDto> items) {
-        List<String> outOfStockItems = new ArrayList<>();
-
-        for (OrderItemCreateDto item : items) {
-            if (item.getVariantId() != null) {
-                ProductVariant variant = productVariantRepository.findById(item.getVariantId())
-                        .orElseThrow(() -> new ResourceNotFoundException("Product variant not found"));
+    // Loads every referenced product and variant with one query each, so assembling an order costs
+    // the same number of statements whether it has one line or fifty
+    private List<OrderItem> buildOrderItems(List<OrderItemCreateDto> itemDtos) {
+        Set<UUID> productIds = new HashSet<>();
+        Set<UUID> variantIds = new HashSet<>();
+        for (OrderItemCreateDto itemDto : itemDtos) {
+            productIds.add(itemDto.getProductId());
+            if (itemDto.getVariantId() != null) {
+                variantIds.add(itemDto.getVariantId());
+            }
+        }
+        Map<UUID, Product> products = productRepository.findWithReferencesByIdIn(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, product -> product));
+        Map<UUID, ProductVariant> variants = variantIds.isEmpty() ? Map.of()
+                : productVariantRepository.findAllById(variantIds).stream()
+                        .collect(Collectors.toMap(ProductVariant::getId, variant -> variant));
+
+        List<OrderItem> orderItems = new ArrayList<>(itemDtos.size());
+        for (OrderItemCreateDto itemDto : itemDtos) {
+            Product product = products.get(itemDto.getProductId());
+            if (product == null) {
+                throw new ResourceNotFoundException("Product not found with id: " + itemDto.getProductId());
+            }
 
-                if (variant.getStock() < item.getQuantity()) {
-                    String variantInfo = variant.getSku() != null ? variant.getSku() : variant.getId().toString();
-                    outOfStockItems.add("Product variant: " + variantInfo + " (requested: " + item.getQuantity()
-                            + ", available: " + variant.getStock() + ")");
+            OrderItem orderItem = new OrderItem();
+            orderItem.setProduct(product);
+            orderItem.setProductName(product.getName());
+            orderItem.setProductDescription(product.getDescription());
+            orderItem.setQuantity(itemDto.getQuantity());
+
+            // Handle variant if applicable
+            if (itemDto.getVariantId() != null) {
+                ProductVariant variant = variants.get(itemDto.getVariantId());
+                if (variant == null || !variant.getProduct().getId().equals(product.getId())) {
+                    throw new ResourceNotFoundException("Product variant not found with id: " + itemDto.getVariantId());
                 }
+                orderItem.setProductVariant(variant);
+                orderItem.setSku(variant.getSku());
+                orderItem.setPrice(variant.getPrice());
             } else {
-                Product product = productRepository.findById(item.getProductId())
-                        .orElseThrow(() -> new ResourceNotFoundException("Product not found"));
-
-                if (product.getStock() < item.getQuantity()) {
-                    outOfStockItems.add("Product: " + product.getName() + " (available: " + product.getStock() + ")");
-                }
+                orderItem.setPrice(product.getPrice());
             }
+            orderItems.add(orderItem);
         }
-
-        if (!outOfStockItems.isEmpty()) {
-            throw new IllegalStateException("Insufficient stock for: " + String.join(", ", outOfStockItems));
-        }
+        return orderItems;
     }
 
     private void updateInventoryForOrder(Collection<OrderItem> items, boolean isRestore) {
-        for (OrderItem item : items) {
-            if (item.getProductVariant() != null) {
-                ProductVariant variant = item.getProductVariant();
-                int stockChange = isRestore ? item.getQuantity() : -item.getQuantity();
-                variant.setStock(variant.getStock() + stockChange);
-                productVariantRepository.save(variant);
-            } else {
-                Product product = item.getProduct();
-                int stockChange = isRestore ? item.getQuantity() : -item.getQuantity();
-                product.setStock(product.getStock() + stockChange);
-                productRepository.save(product);
-            }
+        List<StockLineDto> lines = items.stream()
+                .map(item -> new StockLineDto(
+                        item.getProduct().getId(),
+                        item.getProductVariant() != null ? item.getProductVariant().getId() : null,
+                        item.getQuantity()))
+                .toList();
+        if (isRestore) {
+            inventoryService.restoreStock(lines);
+        } else {
+            // Single conditional update for all lines; throws with per-line shortages and rolls back the order
+            inventoryService.decrementStock(lines);
         }
     }
 
+    // Written to the outbox in the caller's transaction; consumers run later on the relay's workers
+    private void publishEvent(OrderEventType type, Order order, OrderStatus previousStatus,
+            PaymentStatus previousPaymentStatus) {
+        LocalDateTime now = LocalDateTime.now();
+        OrderEventDto event = new OrderEventDto(order.getId(), order.getUser().getId(), order.getStatus(),
+                previousStatus, order.getPaymentStatus(), previousPaymentStatus, order.getTotalAmount(),
+                order.getCreatedAt() != null ? order.getCreatedAt() : now, now);
+        outboxService.publish(OrderEventType.AGGREGATE_TYPE, order.getId(), type.name(), event);
+    }
+
     private Set<OrderItemDto> addPrimaryImagesToOrderItems(Set<OrderItemDto> orderItems) {
         orderItems.forEach(orderItem -> {
             System.err.println(orderItem);
@@ -0,0 +1,81 @@
+package com.ainan.ecommforallbackend.domain.order.service;
+
+import com.ainan.ecommforallbackend.domain.order.dto.OrderCreateDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Works out the tax region of an order from its addresses instead of taking the client's word for
+ * it. Checkout sends each address as a JSON object with an ISO {@code country} and an optional
+ * {@code state}; the region is {@code COUNTRY-STATE} when there is a state and the country
+ * otherwise. The shipping address decides, the billing address only stands in when the shipping
+ * address has no country.
+ * <p>
+ * A region sent with the order may only narrow the derived one down (US-CA for a US address without
+ * a state) and is rejected when it points anywhere else. Without a usable address it is ignored, as
+ * there is nothing to check it against, and the default rate applies.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaxRegionResolver {
+    private static final Pattern CODE = Pattern.compile("[A-Z0-9]{1,3}");
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @return the tax region of the order, or null for the default rate
+     */
+    public String resolve(OrderCreateDto order) {
+        String derived = regionOf(order.getShippingAddress());
+        if (derived == null) {
+            derived = regionOf(order.getBillingAddress());
+        }
+        if (derived == null || !StringUtils.hasText(order.getRegion())) {
+            return derived;
+        }
+
+        String requested = order.getRegion().trim().toUpperCase(Locale.ROOT);
+        String country = derived.contains("-") ? derived.substring(0, derived.indexOf('-')) : derived;
+        if (requested.equals(derived) || requested.equals(country)) {
+            return derived;
+        }
+        if (derived.equals(country) && requested.startsWith(country + "-")
+                && CODE.matcher(requested.substring(country.length() + 1)).matches()) {
+            return requested;
+        }
+        throw new IllegalArgumentException("Region " + order.getRegion() + " does not match the shipping address");
+    }
+
+    private String regionOf(String address) {
+        if (!StringUtils.hasText(address) || !address.trim().startsWith("{")) {
+            return null;
+        }
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(address);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+        String country = code(node.path("country"));
+        if (country == null) {
+            return null;
+        }
+        String state = code(node.path("state"));
+        return state != null ? country + "-" + state : country;
+    }
+
+    private static String code(JsonNode value) {
+        if (!value.isTextual()) {
+            return null;
+        }
+        String code = value.asText().trim().toUpperCase(Locale.ROOT);
+        return CODE.matcher(code).matches() ? code : null;
+    }
+}
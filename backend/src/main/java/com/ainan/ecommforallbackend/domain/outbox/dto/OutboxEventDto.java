@@ -0,0 +1,26 @@
+package com.ainan.ecommforallbackend.domain.outbox.dto;
+
+import com.ainan.ecommforallbackend.domain.outbox.entity.OutboxStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEventDto {
+    private UUID id;
+    private String aggregateType;
+    private UUID aggregateId;
+    private String eventType;
+    private String payload;
+    private OutboxStatus status;
+    private int attempts;
+    private LocalDateTime nextAttemptAt;
+    private String lastError;
+    private LocalDateTime createdAt;
+    private LocalDateTime processedAt;
+}
@@ -0,0 +1,37 @@
+package com.ainan.ecommforallbackend.domain.outbox.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Records that one handler finished one event, so a retry after a partial failure only re-runs the
+ * handlers that have not succeeded yet.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "outbox_handler_receipts", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_outbox_handler_receipts_event_handler", columnNames = {"event_id", "handler"})
+})
+public class OutboxHandlerReceipt {
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private UUID id;
+
+    @Column(name = "event_id", nullable = false)
+    private UUID eventId;
+
+    @Column(nullable = false, length = 100)
+    private String handler;
+
+    @Column(name = "handled_at", nullable = false)
+    private LocalDateTime handledAt;
+}
@@ -0,0 +1,7 @@
+package com.ainan.ecommforallbackend.domain.outbox.entity;
+
+public enum OutboxStatus {
+    PENDING,
+    PROCESSED,
+    DEAD
+}
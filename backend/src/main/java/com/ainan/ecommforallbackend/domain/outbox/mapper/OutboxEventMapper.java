@@ -0,0 +1,10 @@
+package com.ainan.ecommforallbackend.domain.outbox.mapper;
+
+import com.ainan.ecommforallbackend.domain.outbox.dto.OutboxEventDto;
+import com.ainan.ecommforallbackend.domain.outbox.entity.OutboxEvent;
+import org.mapstruct.Mapper;
+
+@Mapper(componentModel = "spring")
+public interface OutboxEventMapper {
+    OutboxEventDto toDto(OutboxEvent event);
+}
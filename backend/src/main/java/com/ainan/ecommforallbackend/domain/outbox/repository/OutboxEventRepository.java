@@ -0,0 +1,31 @@
+package com.ainan.ecommforallbackend.domain.outbox.repository;
+
+import com.ainan.ecommforallbackend.domain.outbox.entity.OutboxEvent;
+import com.ainan.ecommforallbackend.domain.outbox.entity.OutboxStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, UUID> {
+
+    Page<OutboxEvent> findByStatusOrderByCreatedAtDesc(OutboxStatus status, Pageable pageable);
+
+    long countByStatus(OutboxStatus status);
+
+    /**
+     * Puts a dead event back in the queue with a fresh attempt budget.
+     */
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.status = com.ainan.ecommforallbackend.domain.outbox.entity.OutboxStatus.PENDING, " +
+            "e.attempts = 0, e.nextAttemptAt = :now WHERE e.id = :id " +
+            "AND e.status = com.ainan.ecommforallbackend.domain.outbox.entity.OutboxStatus.DEAD")
+    int requeueDead(@Param("id") UUID id, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,89 @@
+package com.ainan.ecommforallbackend.domain.outbox.repository;
+
+import com.ainan.ecommforallbackend.domain.outbox.dto.OutboxEventDto;
+import com.ainan.ecommforallbackend.domain.outbox.entity.OutboxStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Statements used by the outbox relay. Every call is a single autocommitted statement, so no row
+ * stays locked while handlers run.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OutboxRelayRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Claims up to {@code limit} due events, oldest first. Claiming counts an attempt and moves
+     * {@code next_attempt_at} to {@code leaseUntil}; rows locked by another relay are skipped.
+     */
+    public List<OutboxEventDto> claimDue(LocalDateTime now, LocalDateTime leaseUntil, int limit) {
+        return jdbcTemplate.query("UPDATE outbox_events SET attempts = attempts + 1, next_attempt_at = ? "
+                        + "WHERE id IN (SELECT id FROM outbox_events WHERE status = 'PENDING' AND next_attempt_at <= ? "
+                        + "ORDER BY next_attempt_at LIMIT ? FOR UPDATE SKIP LOCKED) "
+                        + "RETURNING id, aggregate_type, aggregate_id, event_type, payload, attempts, created_at",
+                (rs, rowNum) -> {
+                    OutboxEventDto event = new OutboxEventDto();
+                    event.setId(rs.getObject("id", UUID.class));
+                    event.setAggregateType(rs.getString("aggregate_type"));
+                    event.setAggregateId(rs.getObject("aggregate_id", UUID.class));
+                    event.setEventType(rs.getString("event_type"));
+                    event.setPayload(rs.getString("payload"));
+                    event.setStatus(OutboxStatus.PENDING);
+                    event.setAttempts(rs.getInt("attempts"));
+                    Timestamp createdAt = rs.getTimestamp("created_at");
+                    event.setCreatedAt(createdAt != null ? createdAt.toLocalDateTime() : null);
+                    return event;
+                }, leaseUntil, now, limit);
+    }
+
+    public Set<String> findReceipts(UUID eventId) {
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT handler FROM outbox_handler_receipts WHERE event_id = ?", String.class, eventId));
+    }
+
+    public void saveReceipt(UUID eventId, String handler, LocalDateTime now) {
+        jdbcTemplate.update("INSERT INTO outbox_handler_receipts (id, event_id, handler, handled_at) VALUES (?, ?, ?, ?) "
+                + "ON CONFLICT (event_id, handler) DO NOTHING", UUID.randomUUID(), eventId, handler, now);
+    }
+
+    public void markProcessed(UUID eventId, LocalDateTime now) {
+        jdbcTemplate.update("UPDATE outbox_events SET status = 'PROCESSED', processed_at = ?, last_error = NULL WHERE id = ?",
+                now, eventId);
+    }
+
+    public void scheduleRetry(UUID eventId, LocalDateTime nextAttemptAt, String error) {
+        jdbcTemplate.update("UPDATE outbox_events SET next_attempt_at = ?, last_error = ? WHERE id = ?",
+                nextAttemptAt, error, eventId);
+    }
+
+    public void markDead(UUID eventId, String error) {
+        jdbcTemplate.update("UPDATE outbox_events SET status = 'DEAD', last_error = ? WHERE id = ?", error, eventId);
+    }
+
+    /**
+     * Deletes up to {@code limit} events processed before {@code cutoff}, together with their receipts.
+     *
+     * @return the number of events deleted
+     */
+    public int purgeProcessed(LocalDateTime cutoff, int limit) {
+        Integer deleted = jdbcTemplate.queryForObject("WITH purged AS ("
+                        + " DELETE FROM outbox_events WHERE id IN ("
+                        + "  SELECT id FROM outbox_events WHERE status = 'PROCESSED' AND processed_at < ?"
+                        + "  LIMIT ? FOR UPDATE SKIP LOCKED) RETURNING id), "
+                        + "receipts AS ("
+                        + " DELETE FROM outbox_handler_receipts r USING purged p WHERE r.event_id = p.id) "
+                        + "SELECT COUNT(*) FROM purged",
+                Integer.class, cutoff, limit);
+        return deleted != null ? deleted : 0;
+    }
+}
@@ -0,0 +1,22 @@
+package com.ainan.ecommforallbackend.domain.outbox.service;
+
+import com.ainan.ecommforallbackend.domain.outbox.dto.OutboxEventDto;
+
+/**
+ * In-process consumer of outbox events. Implementations are picked up as Spring beans.
+ * <p>
+ * Delivery is at least once: a handler can see the same event again if the relay crashes after
+ * the handler returned but before its receipt was written, so handlers must be idempotent.
+ */
+public interface OutboxEventHandler {
+    /**
+     * Stable name recorded in the receipts table. Renaming a handler makes it re-run pending retries.
+     */
+    default String name() {
+        return getClass().getSimpleName();
+    }
+
+    boolean supports(String aggregateType, String eventType);
+
+    void handle(OutboxEventDto event) throws Exception;
+}
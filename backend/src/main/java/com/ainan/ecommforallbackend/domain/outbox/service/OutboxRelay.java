@@ -0,0 +1,151 @@
+package com.ainan.ecommforallbackend.domain.outbox.service;
+
+import com.ainan.ecommforallbackend.domain.job.service.JobCoordinator;
+import com.ainan.ecommforallbackend.domain.outbox.dto.OutboxEventDto;
+import com.ainan.ecommforallbackend.domain.outbox.repository.OutboxRelayRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Polls the outbox and dispatches events to the {@link OutboxEventHandler} beans on a worker pool.
+ * <p>
+ * Failed events are retried with exponential backoff (plus jitter, so a downstream outage does not
+ * come back as a thundering herd) and parked as DEAD after {@code outbox.max-attempts}. Only the
+ * handlers without a receipt for the event run again on a retry.
+ * <p>
+ * Relaying runs on every node (claims skip each other's rows); the purge runs on one node at a time.
+ */
+@Service
+@Slf4j
+public class OutboxRelay {
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private final OutboxRelayRepository relayRepository;
+    private final List<OutboxEventHandler> handlers;
+    private final JobCoordinator jobCoordinator;
+    private final ExecutorService workers;
+
+    @Value("${outbox.batch-size:100}")
+    private int batchSize = 100;
+    @Value("${outbox.max-attempts:10}")
+    private int maxAttempts = 10;
+    @Value("${outbox.backoff-initial-ms:1000}")
+    private long backoffInitialMs = 1000;
+    @Value("${outbox.backoff-max-ms:600000}")
+    private long backoffMaxMs = 600_000;
+    @Value("${outbox.lease-seconds:300}")
+    private long leaseSeconds = 300;
+    @Value("${outbox.retention-days:7}")
+    private long retentionDays = 7;
+
+    public OutboxRelay(OutboxRelayRepository relayRepository,
+                       List<OutboxEventHandler> handlers,
+                       JobCoordinator jobCoordinator,
+                       @Value("${outbox.workers:4}") int workerCount) {
+        this.relayRepository = relayRepository;
+        this.handlers = handlers;
+        this.jobCoordinator = jobCoordinator;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "outbox-worker-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Drains due events batch by batch. Each batch is dispatched in parallel and awaited before the
+     * next claim, so the number of claimed-but-unfinished events never exceeds one batch per node.
+     *
+     * @return the number of events dispatched
+     */
+    @Scheduled(fixedDelayString = "${outbox.poll-interval-ms:500}")
+    public int relay() {
+        int dispatched = 0;
+        List<OutboxEventDto> batch;
+        do {
+            LocalDateTime now = LocalDateTime.now();
+            batch = relayRepository.claimDue(now, now.plusSeconds(leaseSeconds), batchSize);
+            CompletableFuture.allOf(batch.stream()
+                    .map(event -> CompletableFuture.runAsync(() -> dispatch(event), workers))
+                    .toArray(CompletableFuture[]::new)).join();
+            dispatched += batch.size();
+        } while (batch.size() == batchSize);
+        return dispatched;
+    }
+
+    @Scheduled(cron = "${outbox.purge-cron:0 15 4 * * ?}")
+    public void purgeProcessed() {
+        jobCoordinator.runExclusive("outbox-purge", lease -> {
+            LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+            int total = 0;
+            int deleted;
+            do {
+                deleted = relayRepository.purgeProcessed(cutoff, 1000);
+                total += deleted;
+            } while (deleted == 1000);
+            if (total > 0) {
+                log.info("Purged {} processed outbox events", total);
+            }
+        });
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        workers.shutdown();
+        workers.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    void dispatch(OutboxEventDto event) {
+        // A first attempt cannot have receipts; later ones skip the handlers that already succeeded
+        Set<String> done = event.getAttempts() > 1 ? relayRepository.findReceipts(event.getId()) : Set.of();
+        try {
+            for (OutboxEventHandler handler : handlers) {
+                if (handler.supports(event.getAggregateType(), event.getEventType()) && !done.contains(handler.name())) {
+                    handler.handle(event);
+                    relayRepository.saveReceipt(event.getId(), handler.name(), LocalDateTime.now());
+                }
+            }
+            relayRepository.markProcessed(event.getId(), LocalDateTime.now());
+        } catch (Exception e) {
+            String error = truncate(e.getClass().getSimpleName() + ": " + e.getMessage());
+            if (event.getAttempts() >= maxAttempts) {
+                relayRepository.markDead(event.getId(), error);
+                log.error("Outbox event {} ({}) is dead after {} attempts", event.getId(), event.getEventType(),
+                        event.getAttempts(), e);
+            } else {
+                LocalDateTime nextAttemptAt = LocalDateTime.now().plus(backoff(event.getAttempts()), ChronoUnit.MILLIS);
+                relayRepository.scheduleRetry(event.getId(), nextAttemptAt, error);
+                log.warn("Outbox event {} ({}) failed on attempt {}: {}", event.getId(), event.getEventType(),
+                        event.getAttempts(), error);
+            }
+        }
+    }
+
+    // Full jitter: uniform in [0, min(max, initial * 2^(attempt - 1))]
+    long backoff(int attempt) {
+        long ceiling = backoffInitialMs << Math.min(attempt - 1, 30);
+        if (ceiling <= 0 || ceiling > backoffMaxMs) {
+            ceiling = backoffMaxMs;
+        }
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
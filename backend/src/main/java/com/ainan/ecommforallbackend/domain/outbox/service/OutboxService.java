@@ -0,0 +1,19 @@
+package com.ainan.ecommforallbackend.domain.outbox.service;
+
+import com.ainan.ecommforallbackend.domain.outbox.dto.OutboxEventDto;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.UUID;
+
+public interface OutboxService {
+    /**
+     * Records an event in the caller's transaction. Must be called inside a transaction so the event
+     * commits or rolls back together with the change it describes.
+     */
+    void publish(String aggregateType, UUID aggregateId, String eventType, Object payload);
+
+    Page<OutboxEventDto> getDeadEvents(Pageable pageable);
+
+    void requeueDeadEvent(UUID eventId);
+}
@@ -0,0 +1,59 @@
+package com.ainan.ecommforallbackend.domain.outbox.service;
+
+import com.ainan.ecommforallbackend.core.exception.ResourceNotFoundException;
+import com.ainan.ecommforallbackend.domain.outbox.dto.OutboxEventDto;
+import com.ainan.ecommforallbackend.domain.outbox.entity.OutboxEvent;
+import com.ainan.ecommforallbackend.domain.outbox.entity.OutboxStatus;
+import com.ainan.ecommforallbackend.domain.outbox.mapper.OutboxEventMapper;
+import com.ainan.ecommforallbackend.domain.outbox.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class OutboxServiceImpl implements OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxEventMapper outboxEventMapper;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(String aggregateType, UUID aggregateId, String eventType, Object payload) {
+        OutboxEvent event = new OutboxEvent();
+        event.setAggregateType(aggregateType);
+        event.setAggregateId(aggregateId);
+        event.setEventType(eventType);
+        try {
+            event.setPayload(objectMapper.writeValueAsString(payload));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize " + eventType + " event", e);
+        }
+        event.setNextAttemptAt(LocalDateTime.now());
+        outboxEventRepository.save(event);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<OutboxEventDto> getDeadEvents(Pageable pageable) {
+        return outboxEventRepository.findByStatusOrderByCreatedAtDesc(OutboxStatus.DEAD, pageable)
+                .map(outboxEventMapper::toDto);
+    }
+
+    @Override
+    @Transactional
+    public void requeueDeadEvent(UUID eventId) {
+        if (outboxEventRepository.requeueDead(eventId, LocalDateTime.now()) == 0) {
+            throw new ResourceNotFoundException("No dead outbox event found with id: " + eventId);
+        }
+    }
+}
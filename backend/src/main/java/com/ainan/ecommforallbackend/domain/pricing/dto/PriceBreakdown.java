@@ -0,0 +1,14 @@
+package com.ainan.ecommforallbackend.domain.pricing.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Result of pricing one cart or order, in cents. {@code total = subtotal - discount + shipping + tax}.
+ */
+public record PriceBreakdown(long subtotalCents, long discountCents, long shippingCents, long taxCents,
+                             long totalCents) {
+
+    public static BigDecimal toAmount(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+}
@@ -0,0 +1,196 @@
+package com.ainan.ecommforallbackend.domain.pricing.service;
+
+import com.ainan.ecommforallbackend.core.config.PricingProperties;
+import com.ainan.ecommforallbackend.domain.pricing.dto.PriceBreakdown;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Pricing rules compiled into flat, immutable arrays of integer cents and rates in parts per
+ * million, so pricing a cart is a loop over its lines plus a few array scans: no {@link BigDecimal}
+ * arithmetic and no allocation besides the returned {@link PriceBreakdown}. One plan is built at
+ * startup (see {@code PricingConfig}) and shared by carts and orders, so both always agree.
+ * <p>
+ * Evaluation order: subtotal, best promotion, shipping tier (by the discounted subtotal), tax on
+ * the discounted subtotal (plus shipping if configured). Rounding is half-up to the cent.
+ */
+public final class PricingPlan {
+    private static final long PPM = 1_000_000L;
+
+    private final long defaultTaxPpm;
+    private final Map<String, Long> regionTaxPpm;
+    private final boolean taxShipping;
+    // Ascending by threshold
+    private final long[] shippingThresholds;
+    private final long[] shippingCosts;
+    private final long[] promotionMinimums;
+    private final long[] promotionPercentPpm;
+    private final long[] promotionAmountsOff;
+
+    private PricingPlan(long defaultTaxPpm, Map<String, Long> regionTaxPpm, boolean taxShipping,
+                        long[] shippingThresholds, long[] shippingCosts, long[] promotionMinimums,
+                        long[] promotionPercentPpm, long[] promotionAmountsOff) {
+        this.defaultTaxPpm = defaultTaxPpm;
+        this.regionTaxPpm = regionTaxPpm;
+        this.taxShipping = taxShipping;
+        this.shippingThresholds = shippingThresholds;
+        this.shippingCosts = shippingCosts;
+        this.promotionMinimums = promotionMinimums;
+        this.promotionPercentPpm = promotionPercentPpm;
+        this.promotionAmountsOff = promotionAmountsOff;
+    }
+
+    /**
+     * Validates the configured rules and compiles them.
+     *
+     * @throws IllegalArgumentException for negative amounts, rates above 100% or duplicate shipping tiers
+     */
+    public static PricingPlan compile(PricingProperties properties) {
+        PricingProperties.Tax tax = properties.getTax();
+        Map<String, Long> regionRates = new HashMap<>();
+        tax.getRegions().forEach((region, rate) -> regionRates.put(region.toUpperCase(Locale.ROOT), toPpm(rate, "tax rate of " + region)));
+
+        List<PricingProperties.ShippingTier> tiers = properties.getShippingTiers().stream()
+                .sorted(Comparator.comparing(PricingProperties.ShippingTier::getMinSubtotal))
+                .toList();
+        long[] thresholds = new long[tiers.size()];
+        long[] costs = new long[tiers.size()];
+        for (int i = 0; i < tiers.size(); i++) {
+            thresholds[i] = toNonNegativeCents(tiers.get(i).getMinSubtotal(), "shipping tier minimum");
+            costs[i] = toNonNegativeCents(tiers.get(i).getCost(), "shipping cost");
+            if (i > 0 && thresholds[i] == thresholds[i - 1]) {
+                throw new IllegalArgumentException("Duplicate shipping tier for subtotal " + tiers.get(i).getMinSubtotal());
+            }
+        }
+
+        List<PricingProperties.Promotion> promotions = properties.getPromotions();
+        long[] minimums = new long[promotions.size()];
+        long[] percents = new long[promotions.size()];
+        long[] amounts = new long[promotions.size()];
+        for (int i = 0; i < promotions.size(); i++) {
+            PricingProperties.Promotion promotion = promotions.get(i);
+            minimums[i] = toNonNegativeCents(promotion.getMinSubtotal(), "promotion minimum");
+            percents[i] = toPpm(promotion.getPercentOff(), "percent off of " + promotion.getName());
+            amounts[i] = toNonNegativeCents(promotion.getAmountOff(), "amount off of " + promotion.getName());
+        }
+
+        return new PricingPlan(toPpm(tax.getDefaultRate(), "default tax rate"), Map.copyOf(regionRates),
+                tax.isIncludeShipping(), thresholds, costs, minimums, percents, amounts);
+    }
+
+    /**
+     * Prices the given lines for {@code region} (null for the default tax rate).
+     */
+    public <T> PriceBreakdown evaluate(Iterable<T> lines, ToLongFunction<T> unitPriceCents,
+                                       ToIntFunction<T> quantity, String region) {
+        long subtotal = 0;
+        for (T line : lines) {
+            subtotal = Math.addExact(subtotal, Math.multiplyExact(unitPriceCents.applyAsLong(line), quantity.applyAsInt(line)));
+        }
+        return price(subtotal, region);
+    }
+
+    /**
+     * Prices the first {@code lineCount} lines of parallel price/quantity arrays.
+     */
+    public PriceBreakdown evaluate(long[] unitPriceCents, int[] quantities, int lineCount, String region) {
+        long subtotal = 0;
+        for (int i = 0; i < lineCount; i++) {
+            subtotal = Math.addExact(subtotal, Math.multiplyExact(unitPriceCents[i], quantities[i]));
+        }
+        return price(subtotal, region);
+    }
+
+    /**
+     * Prices an already summed subtotal, e.g. one computed by an aggregate query.
+     */
+    public PriceBreakdown evaluate(long subtotalCents, String region) {
+        if (subtotalCents < 0) {
+            throw new IllegalArgumentException("Subtotal must not be negative: " + subtotalCents);
+        }
+        return price(subtotalCents, region);
+    }
+
+    /**
+     * Rate of {@code region}; a subdivision without a rate of its own (US-TX) falls back to its
+     * country (US), then to the default rate.
+     */
+    public long taxRatePpm(String region) {
+        if (region == null) {
+            return defaultTaxPpm;
+        }
+        // Returns the same instance for codes that are already upper case
+        String code = region.toUpperCase(Locale.ROOT);
+        Long rate = regionTaxPpm.get(code);
+        int dash = code.indexOf('-');
+        if (rate == null && dash > 0) {
+            rate = regionTaxPpm.get(code.substring(0, dash));
+        }
+        return rate != null ? rate : defaultTaxPpm;
+    }
+
+    /**
+     * Converts a money amount to whole cents, rounding half-up.
+     */
+    public static long toCents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private PriceBreakdown price(long subtotal, String region) {
+        long discount = 0;
+        for (int i = 0; i < promotionMinimums.length; i++) {
+            if (subtotal >= promotionMinimums[i]) {
+                long candidate = Math.min(subtotal, applyRate(subtotal, promotionPercentPpm[i]) + promotionAmountsOff[i]);
+                discount = Math.max(discount, candidate);
+            }
+        }
+        long merchandise = subtotal - discount;
+
+        long shipping = 0;
+        // An empty cart ships nothing
+        if (subtotal > 0) {
+            for (int i = shippingThresholds.length - 1; i >= 0; i--) {
+                if (merchandise >= shippingThresholds[i]) {
+                    shipping = shippingCosts[i];
+                    break;
+                }
+            }
+        }
+
+        long tax = applyRate(taxShipping ? merchandise + shipping : merchandise, taxRatePpm(region));
+        return new PriceBreakdown(subtotal, discount, shipping, tax, merchandise + shipping + tax);
+    }
+
+    // Half-up for non-negative amounts; cents below ~9.2e12 (92 billion) cannot overflow
+    private static long applyRate(long cents, long ratePpm) {
+        return (Math.multiplyExact(cents, ratePpm) + PPM / 2) / PPM;
+    }
+
+    private static long toPpm(BigDecimal rate, String what) {
+        if (rate == null || rate.signum() < 0 || rate.compareTo(BigDecimal.ONE) > 0) {
+            throw new IllegalArgumentException("Invalid " + what + ": " + rate);
+        }
+        return rate.movePointRight(6).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    private static long toNonNegativeCents(BigDecimal amount, String what) {
+        if (amount == null || amount.signum() < 0) {
+            throw new IllegalArgumentException("Invalid " + what + ": " + amount);
+        }
+        return toCents(amount);
+    }
+
+    @Override
+    public String toString() {
+        return "PricingPlan[defaultTaxPpm=" + defaultTaxPpm + ", regions=" + regionTaxPpm.size()
+                + ", shippingTiers=" + shippingThresholds.length + ", promotions=" + promotionMinimums.length + "]";
+    }
+}
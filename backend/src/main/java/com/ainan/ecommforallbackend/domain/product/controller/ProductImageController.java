@@ -165,7 +165,7 @@ public class ProductImageController {
         }
     }
     @PutMapping("/reorder")
-    @Operation(summary = "Reorder product images", description = "Updates the sort order of product images.")
+    @Operation(summary = "Reorder product images", description = "Updates the sort order of product images in one statement. Returns 409 if an image version no longer matches.")
     public ResponseEntity<List<ProductImageDto>> reorderProductImages(
             @PathVariable UUID productId,
             @RequestBody List<ImageSortOrderDto> imageOrders) {
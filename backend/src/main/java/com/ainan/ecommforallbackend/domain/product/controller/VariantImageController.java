@@ -1,5 +1,6 @@
 package com.ainan.ecommforallbackend.domain.product.controller;
 
+import com.ainan.ecommforallbackend.domain.order.dto.ImageSortOrderDto;
 import com.ainan.ecommforallbackend.domain.product.dto.VariantImageCreateDto;
 import com.ainan.ecommforallbackend.domain.product.dto.VariantImageDto;
 import com.ainan.ecommforallbackend.domain.product.service.S3Service;
@@ -17,6 +18,7 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -107,4 +109,13 @@ public class VariantImageController {
         }
         return ResponseEntity.noContent().build();
     }
+
+    @PutMapping("/reorder")
+    @Operation(summary = "Reorder variant images", description = "Updates the sort order of variant images in one statement. Returns 409 if an image version no longer matches.")
+    public ResponseEntity<List<VariantImageDto>> reorderVariantImages(
+            @PathVariable UUID productId,
+            @PathVariable UUID variantId,
+            @RequestBody List<ImageSortOrderDto> imageOrders) {
+        return ResponseEntity.ok(variantImageService.updateImagesOrder(productId, variantId, imageOrders));
+    }
 }
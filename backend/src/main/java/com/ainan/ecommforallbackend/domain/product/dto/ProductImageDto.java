@@ -18,4 +18,5 @@ public class ProductImageDto {
     private String imageUrl;
     private String altText;
     private int sortOrder = 0;
+    private Long version;
 }
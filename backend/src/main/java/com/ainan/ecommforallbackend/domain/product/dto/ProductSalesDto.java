@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.math.BigDecimal;
 import java.util.UUID;
 
 @Data
@@ -17,5 +18,7 @@ public class ProductSalesDto {
 
     private Integer quantitySold;
 
+    private BigDecimal revenue;
+
     private String imageUrl;
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.ainan.ecommforallbackend.domain.product.dto;
+
+import com.ainan.ecommforallbackend.domain.product.entity.StorageGcStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StorageGcRunDto {
+    private UUID id;
+    private StorageGcStatus status;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String lastKey;
+    private long objectsScanned;
+    private long orphansFound;
+    private long objectsDeleted;
+    private long bytesReclaimed;
+    private String errorMessage;
+}
@@ -0,0 +1,16 @@
+package com.ainan.ecommforallbackend.domain.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StoredObjectDto {
+    private String key;
+    private long size;
+    private Instant lastModified;
+}
@@ -19,4 +19,5 @@ public class VariantImageDto {
     private String imageUrl;
     private String altText;
     private int sortOrder = 0;
+    private Long version;
 }
@@ -7,6 +7,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import com.ainan.ecommforallbackend.domain.brand.entity.Brand;
@@ -23,6 +24,7 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@DynamicUpdate
 @Table(name = "product")
 public class Product {
     @Id
@@ -51,6 +53,11 @@ public class Product {
     // Stock for products without variants
     private Integer stock = 0;
 
+    // Units held by active checkout reservations; only changed by set-based SQL in InventoryRepository
+    @Column(name = "reserved_stock", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "integer default 0")
+    private int reservedStock;
+
     // Calculated minimum price from variants
     @Column(name = "min_price", precision = 10, scale = 2)
     private BigDecimal minPrice;
@@ -93,10 +100,10 @@ public class Product {
     public Integer getEffectiveStock() {
         if (hasVariants()) {
             return variants.stream()
-                    .mapToInt(variant -> variant.getStock() != null ? variant.getStock() : 0)
+                    .mapToInt(ProductVariant::getAvailableStock)
                     .sum();
         } else {
-            return stock;
+            return getAvailableStock();
         }
     }
 
@@ -109,9 +116,14 @@ public class Product {
     public boolean isInStock() {
         if (hasVariants()) {
             return variants.stream()
-                    .anyMatch(variant -> variant.getStock() != null && variant.getStock() > 0);
+                    .anyMatch(variant -> variant.getAvailableStock() > 0);
         } else {
-            return stock != null && stock > 0;
+            return getAvailableStock() > 0;
         }
     }
+
+    // Physical stock minus units held by reservations
+    public int getAvailableStock() {
+        return Math.max(0, (stock != null ? stock : 0) - reservedStock);
+    }
 }
\ No newline at end of file
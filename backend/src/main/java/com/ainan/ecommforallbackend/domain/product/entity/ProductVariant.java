@@ -7,6 +7,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.Type;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -23,6 +24,7 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@DynamicUpdate
 @EntityListeners(VariantListener.class)
 @Table(name = "product_variant")
 public class ProductVariant {
@@ -43,6 +45,11 @@ public class ProductVariant {
     @Column(nullable = false)
     private Integer stock;
 
+    // Units held by active checkout reservations; only changed by set-based SQL in InventoryRepository
+    @Column(name = "reserved_stock", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "integer default 0")
+    private int reservedStock;
+
     @OneToMany(mappedBy = "variant", cascade = CascadeType.ALL)
     private List<VariantImage> images;
 
@@ -58,4 +65,8 @@ public class ProductVariant {
     @JoinColumn(name = "product_id", nullable = false)
     private Product product;
 
+    // Physical stock minus units held by reservations
+    public int getAvailableStock() {
+        return Math.max(0, (stock != null ? stock : 0) - reservedStock);
+    }
 }
@@ -0,0 +1,54 @@
+package com.ainan.ecommforallbackend.domain.product.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One pass of the orphaned object collector. {@code lastKey} is checkpointed after every listing
+ * page so an interrupted run can resume where it stopped instead of rescanning the bucket.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "storage_gc_runs")
+public class StorageGcRun {
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private UUID id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private StorageGcStatus status = StorageGcStatus.RUNNING;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "last_key", length = 1024)
+    private String lastKey;
+
+    @Column(name = "objects_scanned", nullable = false)
+    private long objectsScanned;
+
+    @Column(name = "orphans_found", nullable = false)
+    private long orphansFound;
+
+    @Column(name = "objects_deleted", nullable = false)
+    private long objectsDeleted;
+
+    @Column(name = "bytes_reclaimed", nullable = false)
+    private long bytesReclaimed;
+
+    @Column(name = "error_message", length = 1000)
+    private String errorMessage;
+}
@@ -0,0 +1,7 @@
+package com.ainan.ecommforallbackend.domain.product.entity;
+
+public enum StorageGcStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -28,6 +28,10 @@ public class VariantImage {
     private String altText;
     private int sortOrder = 0;
 
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
@@ -20,10 +20,12 @@ public interface ProductImageMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "product.id", source = "productId")
     @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
     void productImageDtoToProductImage(ProductImageDto productImageDto, @MappingTarget ProductImage productImage);
 
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "product.id", source = "productId")
     @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
     ProductImage productImageCreateDtoToProductImage(ProductImageCreateDto productImageCreateDto);
 }
\ No newline at end of file
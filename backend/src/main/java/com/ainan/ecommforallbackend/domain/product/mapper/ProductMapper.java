@@ -26,6 +26,7 @@ public interface ProductMapper {
     @Mapping(target = "seller.id", source = "sellerId")
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "reservedStock", ignore = true)
     @Mapping(target = "effectivePrice", ignore = true)
     @Mapping(target = "effectiveStock", ignore = true)
     @Mapping(target = "variants", ignore = true)
@@ -38,6 +39,7 @@ public interface ProductMapper {
     @Mapping(target = "seller", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "reservedStock", ignore = true)
     @Mapping(target = "variants", ignore = true)
     @Mapping(target = "images", ignore = true)
     @Mapping(target = "minPrice", ignore = true)
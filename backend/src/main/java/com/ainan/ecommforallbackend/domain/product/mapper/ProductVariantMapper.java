@@ -22,12 +22,14 @@ public interface ProductVariantMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "reservedStock", ignore = true)
     void productVariantDtoToProductVariant(ProductVariantDto productVariantDto, @MappingTarget ProductVariant productVariant);
 
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "product.id", source = "productId")
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "reservedStock", ignore = true)
     @Mapping(target = "images", ignore = true)
     ProductVariant productVariantCreateDtoToProductVariant(ProductVariantCreateDto productVariantCreateDto);
 }
\ No newline at end of file
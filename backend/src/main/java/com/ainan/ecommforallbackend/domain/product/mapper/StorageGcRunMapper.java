@@ -0,0 +1,10 @@
+package com.ainan.ecommforallbackend.domain.product.mapper;
+
+import com.ainan.ecommforallbackend.domain.product.dto.StorageGcRunDto;
+import com.ainan.ecommforallbackend.domain.product.entity.StorageGcRun;
+import org.mapstruct.Mapper;
+
+@Mapper(componentModel = "spring")
+public interface StorageGcRunMapper {
+    StorageGcRunDto storageGcRunToStorageGcRunDto(StorageGcRun run);
+}
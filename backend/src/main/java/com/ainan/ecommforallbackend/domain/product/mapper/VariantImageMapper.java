@@ -21,12 +21,14 @@ import org.mapstruct.Mapper;
         @Mapping(target = "variant.id", source = "variantId")
         @Mapping(target = "id", ignore = true)
         @Mapping(target = "createdAt", ignore = true)
+        @Mapping(target = "version", ignore = true)
         @Mapping(target = "updatedAt", ignore = true)
         void variantImageDtoToVariantImage(VariantImageDto dto, @MappingTarget VariantImage variantImage);
 
         @Mapping(target = "id", ignore = true)
         @Mapping(target = "variant.id", source = "variantId")
         @Mapping(target = "createdAt", ignore = true)
+        @Mapping(target = "version", ignore = true)
         @Mapping(target = "updatedAt", ignore = true)
         VariantImage variantImageCreateDtoToVariantImage(VariantImageCreateDto variantImageCreateDto);
     }
\ No newline at end of file
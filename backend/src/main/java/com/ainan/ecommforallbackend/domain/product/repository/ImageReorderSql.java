@@ -0,0 +1,91 @@
+package com.ainan.ecommforallbackend.domain.product.repository;
+
+import com.ainan.ecommforallbackend.core.exception.ResourceNotFoundException;
+import com.ainan.ecommforallbackend.domain.order.dto.ImageSortOrderDto;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.UUID;
+
+/**
+ * Builds and runs the single-statement reorder shared by product and variant images.
+ * <p>
+ * The requested positions are sent as a {@code VALUES} list and applied with one
+ * {@code UPDATE ... FROM}, guarded by the owner id and (when supplied) the client's version. The
+ * same statement returns the updated rows, the owner's untouched images, and the requested ids it
+ * could not update, so the caller gets the complete new ordering in one round trip.
+ */
+final class ImageReorderSql {
+    static final String STATE_UPDATED = "UPDATED";
+    static final String STATE_UNCHANGED = "UNCHANGED";
+    static final String STATE_MISSING = "MISSING";
+    static final String STATE_STALE = "STALE";
+
+    private ImageReorderSql() {
+    }
+
+    static <T> List<T> reorder(JdbcTemplate jdbcTemplate, String table, String ownerColumn, String extraSet,
+                               UUID ownerId, List<ImageSortOrderDto> imageOrders, RowMapper<T> rowMapper) {
+        if (imageOrders.isEmpty()) {
+            throw new IllegalArgumentException("At least one image position is required");
+        }
+        Set<UUID> seen = new HashSet<>();
+        StringJoiner values = new StringJoiner(", ");
+        List<Object> params = new ArrayList<>(imageOrders.size() * 3 + 3);
+        for (ImageSortOrderDto order : imageOrders) {
+            if (order.getId() == null || !seen.add(order.getId())) {
+                throw new IllegalArgumentException("Image ids must be present and unique");
+            }
+            values.add("(CAST(? AS uuid), CAST(? AS integer), CAST(? AS bigint))");
+            params.add(order.getId());
+            params.add(order.getSortOrder());
+            params.add(order.getVersion());
+        }
+        params.add(ownerId);
+        params.add(ownerId);
+        params.add(ownerId);
+
+        String sql = "WITH v (id, sort_order, version) AS (VALUES " + values + "), "
+                + "updated AS ("
+                + " UPDATE " + table + " i SET sort_order = v.sort_order, version = i.version + 1" + extraSet
+                + " FROM v WHERE i.id = v.id AND i." + ownerColumn + " = ?"
+                + " AND (v.version IS NULL OR i.version = v.version)"
+                + " RETURNING i.id, i.image_url, i.alt_text, i.sort_order, i.version) "
+                + "SELECT id, image_url, alt_text, sort_order, version, '" + STATE_UPDATED + "' AS state FROM updated "
+                + "UNION ALL "
+                + "SELECT i.id, i.image_url, i.alt_text, i.sort_order, i.version, '" + STATE_UNCHANGED + "' "
+                + "FROM " + table + " i WHERE i." + ownerColumn + " = ? AND i.id NOT IN (SELECT id FROM v) "
+                + "UNION ALL "
+                + "SELECT v.id, NULL, NULL, v.sort_order, i.version, "
+                + "CASE WHEN i.id IS NULL THEN '" + STATE_MISSING + "' ELSE '" + STATE_STALE + "' END "
+                + "FROM v LEFT JOIN " + table + " i ON i.id = v.id AND i." + ownerColumn + " = ? "
+                + "WHERE v.id NOT IN (SELECT id FROM updated) "
+                + "ORDER BY sort_order, id";
+
+        List<T> ordering = new ArrayList<>();
+        List<UUID> missing = new ArrayList<>();
+        List<UUID> stale = new ArrayList<>();
+        jdbcTemplate.query(sql, rs -> {
+            switch (rs.getString("state")) {
+                case STATE_MISSING -> missing.add(rs.getObject("id", UUID.class));
+                case STATE_STALE -> stale.add(rs.getObject("id", UUID.class));
+                default -> ordering.add(rowMapper.mapRow(rs, ordering.size()));
+            }
+        }, params.toArray());
+
+        // Throwing rolls back the surrounding transaction, so a partial reorder is never committed
+        if (!missing.isEmpty()) {
+            throw new ResourceNotFoundException("Images not found for this owner: " + missing);
+        }
+        if (!stale.isEmpty()) {
+            throw new OptimisticLockingFailureException("Images were modified concurrently: " + stale);
+        }
+        return ordering;
+    }
+}
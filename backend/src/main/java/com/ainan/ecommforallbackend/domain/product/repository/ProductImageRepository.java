@@ -1,17 +1,25 @@
 package com.ainan.ecommforallbackend.domain.product.repository;
 
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import com.ainan.ecommforallbackend.domain.product.entity.ProductImage;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface ProductImageRepository extends JpaRepository<ProductImage, UUID> {
+public interface ProductImageRepository extends JpaRepository<ProductImage, UUID>, ProductImageRepositoryCustom {
     Page<ProductImage> findByProductIdOrderBySortOrderAsc(UUID productId, Pageable pageable);
     void deleteByProductId(UUID productId);
-}
\ No newline at end of file
+
+    @Query("SELECT i.imageUrl FROM ProductImage i WHERE i.imageUrl IS NOT NULL")
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    Stream<String> streamAllImageUrls();
+}
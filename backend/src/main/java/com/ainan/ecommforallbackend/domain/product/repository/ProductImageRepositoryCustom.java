@@ -0,0 +1,15 @@
+package com.ainan.ecommforallbackend.domain.product.repository;
+
+import com.ainan.ecommforallbackend.domain.order.dto.ImageSortOrderDto;
+import com.ainan.ecommforallbackend.domain.product.dto.ProductImageDto;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface ProductImageRepositoryCustom {
+    /**
+     * Applies the given positions in one statement and returns all of the product's images in
+     * their new order. Must run inside a transaction.
+     */
+    List<ProductImageDto> reorderImages(UUID productId, List<ImageSortOrderDto> imageOrders);
+}
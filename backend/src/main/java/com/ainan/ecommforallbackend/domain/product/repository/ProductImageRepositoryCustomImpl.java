@@ -0,0 +1,26 @@
+package com.ainan.ecommforallbackend.domain.product.repository;
+
+import com.ainan.ecommforallbackend.domain.order.dto.ImageSortOrderDto;
+import com.ainan.ecommforallbackend.domain.product.dto.ProductImageDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+public class ProductImageRepositoryCustomImpl implements ProductImageRepositoryCustom {
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<ProductImageDto> reorderImages(UUID productId, List<ImageSortOrderDto> imageOrders) {
+        return ImageReorderSql.reorder(jdbcTemplate, "product_image", "product_id", "",
+                productId, imageOrders, (rs, rowNum) -> new ProductImageDto(
+                        rs.getObject("id", UUID.class),
+                        productId,
+                        rs.getString("image_url"),
+                        rs.getString("alt_text"),
+                        rs.getInt("sort_order"),
+                        rs.getLong("version")));
+    }
+}
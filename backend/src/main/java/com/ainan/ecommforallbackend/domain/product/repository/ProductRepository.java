@@ -2,6 +2,7 @@ package com.ainan.ecommforallbackend.domain.product.repository;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
@@ -9,6 +10,7 @@ import org.springframework.data.repository.query.Param;
 
 import com.ainan.ecommforallbackend.domain.product.entity.Product;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -28,4 +30,8 @@ public interface ProductRepository extends JpaRepository<Product, UUID> , JpaSpe
     @Query("SELECT p FROM Product p WHERE p.category.id IN :categoryIds")
     Page<Product> findByCategoryIdIn(@Param("categoryIds") List<UUID> categoryIds, Pageable pageable);
 
+    // Brand, seller and category are eager; fetching them here saves one query per distinct row of each
+    @EntityGraph(attributePaths = {"brand", "seller", "category", "category.parent"})
+    List<Product> findWithReferencesByIdIn(Collection<UUID> ids);
+
 }
@@ -17,6 +17,7 @@ import java.util.UUID;
 public interface ProductVariantRepository extends JpaRepository<ProductVariant, UUID> {
     Page<ProductVariant> findByProductId(UUID productId, Pageable pageable);
     Optional<ProductVariant> findBySku(String sku);
+    boolean existsByIdAndProductId(UUID id, UUID productId);
     void deleteByProductId(UUID productId);
     @Query("SELECT MIN(pv.price) FROM ProductVariant pv WHERE pv.product.id = :productId")
     Optional<BigDecimal> findMinPriceByProductId(@Param("productId") UUID productId);
@@ -0,0 +1,17 @@
+package com.ainan.ecommforallbackend.domain.product.repository;
+
+import com.ainan.ecommforallbackend.domain.product.entity.StorageGcRun;
+import com.ainan.ecommforallbackend.domain.product.entity.StorageGcStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface StorageGcRunRepository extends JpaRepository<StorageGcRun, UUID> {
+    Page<StorageGcRun> findAllByOrderByStartedAtDesc(Pageable pageable);
+    Optional<StorageGcRun> findFirstByStatusNotOrderByStartedAtDesc(StorageGcStatus status);
+}
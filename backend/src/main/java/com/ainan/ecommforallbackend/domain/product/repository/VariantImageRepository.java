@@ -1,16 +1,24 @@
 package com.ainan.ecommforallbackend.domain.product.repository;
 
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import com.ainan.ecommforallbackend.domain.product.entity.VariantImage;
 
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface VariantImageRepository extends JpaRepository<VariantImage, UUID> {
+public interface VariantImageRepository extends JpaRepository<VariantImage, UUID>, VariantImageRepositoryCustom {
     Page<VariantImage> findByVariantId(UUID variantId, Pageable pageable);
     void deleteByVariantId(UUID variantId);
-}
\ No newline at end of file
+
+    @Query("SELECT i.imageUrl FROM VariantImage i WHERE i.imageUrl IS NOT NULL")
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    Stream<String> streamAllImageUrls();
+}
@@ -0,0 +1,15 @@
+package com.ainan.ecommforallbackend.domain.product.repository;
+
+import com.ainan.ecommforallbackend.domain.order.dto.ImageSortOrderDto;
+import com.ainan.ecommforallbackend.domain.product.dto.VariantImageDto;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface VariantImageRepositoryCustom {
+    /**
+     * Applies the given positions in one statement and returns all of the variant's images in
+     * their new order. Must run inside a transaction.
+     */
+    List<VariantImageDto> reorderImages(UUID variantId, List<ImageSortOrderDto> imageOrders);
+}
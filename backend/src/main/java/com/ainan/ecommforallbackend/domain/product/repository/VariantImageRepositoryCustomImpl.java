@@ -0,0 +1,26 @@
+package com.ainan.ecommforallbackend.domain.product.repository;
+
+import com.ainan.ecommforallbackend.domain.order.dto.ImageSortOrderDto;
+import com.ainan.ecommforallbackend.domain.product.dto.VariantImageDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+public class VariantImageRepositoryCustomImpl implements VariantImageRepositoryCustom {
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<VariantImageDto> reorderImages(UUID variantId, List<ImageSortOrderDto> imageOrders) {
+        return ImageReorderSql.reorder(jdbcTemplate, "variant_image", "variant_id", ", updated_at = now()",
+                variantId, imageOrders, (rs, rowNum) -> new VariantImageDto(
+                        rs.getObject("id", UUID.class),
+                        variantId,
+                        rs.getString("image_url"),
+                        rs.getString("alt_text"),
+                        rs.getInt("sort_order"),
+                        rs.getLong("version")));
+    }
+}
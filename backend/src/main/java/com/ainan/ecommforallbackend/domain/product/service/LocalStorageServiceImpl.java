@@ -0,0 +1,301 @@
+package com.ainan.ecommforallbackend.domain.product.service;
+
+import com.ainan.ecommforallbackend.domain.product.dto.StoredObjectDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Filesystem-backed {@link S3Service} for environments without S3 (on-prem edge nodes, load tests).
+ * Objects are stored under {@code storage.local.root-dir} using the same keys S3 would use, and
+ * downloads go through {@code LocalStorageController} with HMAC-signed, expiring URLs that mirror
+ * the S3 presign contract. Activated with the {@code local-storage} profile.
+ * <p>
+ * {@link #listFiles} walks each directory in key order and keeps its position after a full page,
+ * so paging through the whole tree reads every directory once instead of once per page. Objects
+ * added behind that position while paging show up on the next pass from the beginning.
+ */
+@Service
+@Profile("local-storage")
+@Slf4j
+public class LocalStorageServiceImpl implements S3Service {
+    public static final String PUBLIC_PATH = "/api/storage/";
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final int MIN_SECRET_BYTES = 32;
+
+    private final Path rootDir;
+    private final String baseUrl;
+    private final byte[] signingSecret;
+    private final Object listingLock = new Object();
+    // Position after the last full page, reused when the next page starts after its key
+    private Listing listing;
+
+    public LocalStorageServiceImpl(@Value("${storage.local.root-dir}") String rootDir,
+                                   @Value("${storage.local.base-url}") String baseUrl,
+                                   @Value("${storage.local.signing-secret}") String signingSecret) throws IOException {
+        this.rootDir = Paths.get(rootDir).toAbsolutePath().normalize();
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.signingSecret = signingSecret.getBytes(StandardCharsets.UTF_8);
+        // Downloads are public once signed, so a guessable key would let anyone forge them
+        if (signingSecret.isBlank() || this.signingSecret.length < MIN_SECRET_BYTES) {
+            throw new IllegalStateException("storage.local.signing-secret must be set to at least "
+                    + MIN_SECRET_BYTES + " bytes (STORAGE_LOCAL_SIGNING_SECRET)");
+        }
+        Files.createDirectories(this.rootDir);
+        log.info("Local storage backend enabled at {}", this.rootDir);
+    }
+
+    @Override
+    public String uploadFile(MultipartFile file) throws IOException {
+        return store(file, UUID.randomUUID() + "_" + file.getOriginalFilename());
+    }
+
+    @Override
+    public String uploadFile(MultipartFile file, String folder) throws IOException {
+        return store(file, folder + "/" + UUID.randomUUID() + "_" + file.getOriginalFilename());
+    }
+
+    @Override
+    public void deleteFile(String fileUrl) {
+        try {
+            Files.deleteIfExists(resolve(toKey(fileUrl)));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to delete file: " + fileUrl, e);
+        }
+    }
+
+    @Override
+    public String getFileUrl(String fileName) {
+        return baseUrl + PUBLIC_PATH + encodeKey(fileName);
+    }
+
+    @Override
+    public String generatePresignedDownloadUrl(String key, long expirationInMinutes) {
+        String objectKey = toKey(key);
+        long expires = Instant.now().plusSeconds(expirationInMinutes * 60).getEpochSecond();
+        return getFileUrl(objectKey) + "?expires=" + expires + "&signature=" + sign(objectKey, expires);
+    }
+
+    @Override
+    public String getKeyFromUrl(String fileUrl) {
+        return toKey(fileUrl);
+    }
+
+    @Override
+    public List<StoredObjectDto> listFiles(String startAfter, int maxKeys) {
+        synchronized (listingLock) {
+            Listing current = listing != null && Objects.equals(listing.lastKey, startAfter)
+                    ? listing : new Listing(startAfter);
+            listing = null;
+            List<StoredObjectDto> page = new ArrayList<>();
+            String key;
+            while (page.size() < maxKeys && (key = current.next()) != null) {
+                StoredObjectDto object = describe(key);
+                if (object != null) {
+                    page.add(object);
+                }
+            }
+            if (!page.isEmpty() && page.size() == maxKeys) {
+                current.lastKey = page.get(page.size() - 1).getKey();
+                listing = current;
+            }
+            return page;
+        }
+    }
+
+    @Override
+    public List<String> deleteFiles(List<String> keys) {
+        List<String> deleted = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            try {
+                if (Files.deleteIfExists(resolve(key))) {
+                    deleted.add(key);
+                }
+            } catch (IOException e) {
+                log.warn("Failed to delete stored file {}: {}", key, e.getMessage());
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * Checks a signature produced by {@link #generatePresignedDownloadUrl(String, long)}.
+     */
+    public boolean isValidSignature(String key, long expires, String signature) {
+        if (signature == null || Instant.now().getEpochSecond() > expires) {
+            return false;
+        }
+        return MessageDigest.isEqual(
+                sign(key, expires).getBytes(StandardCharsets.US_ASCII),
+                signature.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Resolves an object key to a path inside the storage root, rejecting keys that escape it.
+     */
+    public Path resolve(String key) {
+        Path path = rootDir.resolve(key).normalize();
+        if (!path.startsWith(rootDir) || path.equals(rootDir)) {
+            throw new IllegalArgumentException("Invalid storage key: " + key);
+        }
+        return path;
+    }
+
+    // Null when the file was deleted after its directory was read
+    private StoredObjectDto describe(String key) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(resolve(key), BasicFileAttributes.class);
+            return new StoredObjectDto(key, attributes.size(), attributes.lastModifiedTime().toInstant());
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read stored file " + key, e);
+        }
+    }
+
+    private String store(MultipartFile file, String key) {
+        Path target = resolve(key);
+        try {
+            Files.createDirectories(target.getParent());
+            // Write to a temp file first so readers never observe a partially written object
+            Path temp = Files.createTempFile(target.getParent(), ".upload-", ".tmp");
+            try {
+                file.transferTo(temp);
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            return getFileUrl(key);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store file. Please retry.", e);
+        }
+    }
+
+    // Accepts either a bare key or a URL previously returned by getFileUrl
+    private String toKey(String keyOrUrl) {
+        String path = keyOrUrl.contains("://") ? URI.create(keyOrUrl).getPath() : keyOrUrl;
+        if (path.startsWith(PUBLIC_PATH)) {
+            path = path.substring(PUBLIC_PATH.length());
+        } else if (path.startsWith(PUBLIC_PATH.substring(1))) {
+            path = path.substring(PUBLIC_PATH.length() - 1);
+        }
+        return path.startsWith("/") ? path.substring(1) : path;
+    }
+
+    private String sign(String key, long expires) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(new SecretKeySpec(signingSecret, HMAC_ALGORITHM));
+            byte[] digest = mac.doFinal((key + "\n" + expires).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to sign storage URL", e);
+        }
+    }
+
+    /**
+     * Depth-first walk over the keys after {@code startAfter}, in the order S3 lists them. Entries
+     * are sorted with a trailing slash on directory names, so {@code a-b} comes before the keys
+     * under {@code a/} just as it does in the full keys. Directories that only hold keys up to
+     * {@code startAfter} are skipped without being read.
+     */
+    private final class Listing {
+        // Directories on the path to the next key, deepest first
+        private final Deque<Level> levels = new ArrayDeque<>();
+        private final String startAfter;
+        private String lastKey;
+
+        private Listing(String startAfter) {
+            this.startAfter = startAfter;
+            levels.push(level(""));
+        }
+
+        private String next() {
+            while (!levels.isEmpty()) {
+                Level level = levels.peek();
+                if (level.index == level.names.size()) {
+                    levels.pop();
+                    continue;
+                }
+                String key = level.prefix + level.names.get(level.index++);
+                if (key.endsWith("/")) {
+                    if (startAfter == null || key.compareTo(startAfter) > 0 || startAfter.startsWith(key)) {
+                        levels.push(level(key));
+                    }
+                } else if (startAfter == null || key.compareTo(startAfter) > 0) {
+                    return key;
+                }
+            }
+            return null;
+        }
+
+        private Level level(String prefix) {
+            List<String> names = new ArrayList<>();
+            try (Stream<Path> entries = Files.list(prefix.isEmpty() ? rootDir : resolve(prefix))) {
+                entries.forEach(path -> {
+                    String name = path.getFileName().toString();
+                    if (Files.isDirectory(path)) {
+                        names.add(name + "/");
+                    } else if (Files.isRegularFile(path) && !name.startsWith(".upload-")) {
+                        names.add(name);
+                    }
+                });
+            } catch (NoSuchFileException e) {
+                // Removed since its parent was read
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to list stored files under " + prefix, e);
+            }
+            names.sort(null);
+            return new Level(prefix, names);
+        }
+    }
+
+    private static final class Level {
+        private final String prefix;
+        private final List<String> names;
+        private int index;
+
+        private Level(String prefix, List<String> names) {
+            this.prefix = prefix;
+            this.names = names;
+        }
+    }
+
+    private static String encodeKey(String key) {
+        StringBuilder encoded = new StringBuilder();
+        for (String segment : key.split("/")) {
+            if (!encoded.isEmpty()) {
+                encoded.append('/');
+            }
+            encoded.append(URLEncoder.encode(segment, StandardCharsets.UTF_8).replace("+", "%20"));
+        }
+        return encoded.toString();
+    }
+}
@@ -0,0 +1,275 @@
+package com.ainan.ecommforallbackend.domain.product.service;
+
+import com.ainan.ecommforallbackend.core.util.HashedKeySet;
+import com.ainan.ecommforallbackend.core.exception.LeaseLostException;
+import com.ainan.ecommforallbackend.domain.brand.repository.BrandRepository;
+import com.ainan.ecommforallbackend.domain.category.repository.CategoryRepository;
+import com.ainan.ecommforallbackend.domain.job.service.JobCoordinator;
+import com.ainan.ecommforallbackend.domain.job.service.JobLease;
+import com.ainan.ecommforallbackend.domain.product.dto.StoredObjectDto;
+import com.ainan.ecommforallbackend.domain.product.entity.StorageGcRun;
+import com.ainan.ecommforallbackend.domain.product.entity.StorageGcStatus;
+import com.ainan.ecommforallbackend.domain.product.repository.ProductImageRepository;
+import com.ainan.ecommforallbackend.domain.product.repository.StorageGcRunRepository;
+import com.ainan.ecommforallbackend.domain.product.repository.VariantImageRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Reconciles the object store with the image URLs referenced in the database and deletes objects
+ * nothing points at any more (left behind by product, image, brand and category deletes).
+ * <p>
+ * The referenced keys are loaded once per run into a {@link HashedKeySet}; the bucket is then
+ * listed page by page and unreferenced keys are removed with batched deletes. Objects younger than
+ * the grace period are never touched, which covers uploads whose database row has not been
+ * committed yet. Progress is checkpointed after every page so an interrupted run resumes from the
+ * last listed key.
+ * <p>
+ * Scheduled and admin-triggered passes both hold the {@code storage-gc} lease, renewed once per
+ * page, so only one node ever works on the resumable run.
+ */
+@Service
+@Slf4j
+public class OrphanedObjectCollector {
+    static final String JOB = "storage-gc";
+    private static final int MAX_DELETE_BATCH = 1000;
+
+    private final S3Service s3Service;
+    private final StorageGcRunRepository runRepository;
+    private final ProductImageRepository productImageRepository;
+    private final VariantImageRepository variantImageRepository;
+    private final BrandRepository brandRepository;
+    private final CategoryRepository categoryRepository;
+    private final JobCoordinator jobCoordinator;
+    private final TransactionTemplate readOnlyTransaction;
+    private final AtomicBoolean running = new AtomicBoolean();
+    // One pass at a time and no queue: a trigger while a pass runs here is rejected
+    private final ExecutorService executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new SynchronousQueue<>(), runnable -> {
+        Thread thread = new Thread(runnable, "storage-gc");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${storage.gc.enabled:false}")
+    private boolean enabled;
+    @Value("${storage.gc.page-size:1000}")
+    private int pageSize;
+    @Value("${storage.gc.grace-period-hours:24}")
+    private long gracePeriodHours;
+    @Value("${storage.gc.max-deletes-per-second:500}")
+    private int maxDeletesPerSecond;
+
+    public OrphanedObjectCollector(S3Service s3Service,
+                                   StorageGcRunRepository runRepository,
+                                   ProductImageRepository productImageRepository,
+                                   VariantImageRepository variantImageRepository,
+                                   BrandRepository brandRepository,
+                                   CategoryRepository categoryRepository,
+                                   JobCoordinator jobCoordinator,
+                                   PlatformTransactionManager transactionManager) {
+        this.s3Service = s3Service;
+        this.runRepository = runRepository;
+        this.productImageRepository = productImageRepository;
+        this.variantImageRepository = variantImageRepository;
+        this.brandRepository = brandRepository;
+        this.categoryRepository = categoryRepository;
+        this.jobCoordinator = jobCoordinator;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Scheduled(cron = "${storage.gc.cron:0 30 3 * * ?}")
+    public void collectOnSchedule() {
+        if (enabled) {
+            // The in-process flag only guards this node; the lease keeps other replicas out
+            jobCoordinator.runExclusive(JOB, this::collect);
+        }
+    }
+
+    /**
+     * Starts a pass in the background under the {@code storage-gc} lease.
+     *
+     * @return whether the pass started; false if one is running on this or another node
+     */
+    public boolean startAsync() {
+        if (running.get()) {
+            return false;
+        }
+        CompletableFuture<Boolean> started = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                try {
+                    boolean ran = jobCoordinator.runExclusive(JOB, lease -> {
+                        started.complete(true);
+                        collect(lease);
+                    });
+                    started.complete(ran);
+                } catch (RuntimeException e) {
+                    started.completeExceptionally(e);
+                    log.error("Orphaned object collection failed", e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+        // Completes as soon as the lease is won or refused, long before the pass ends
+        return started.join();
+    }
+
+    /**
+     * Runs one collection pass, resuming an interrupted run if there is one. The caller holds the
+     * {@code storage-gc} lease.
+     *
+     * @return the finished run, or empty if a pass is already in progress on this node
+     * @throws LeaseLostException if the lease was taken over; the run is left for the new holder
+     */
+    public Optional<StorageGcRun> collect(JobLease lease) {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Orphaned object collection already in progress, skipping");
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(runPass(lease));
+        } finally {
+            running.set(false);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        // Interrupts the throttle; the run is marked failed and resumes from its last page
+        executor.shutdownNow();
+    }
+
+    private StorageGcRun runPass(JobLease lease) {
+        StorageGcRun run = runRepository.findFirstByStatusNotOrderByStartedAtDesc(StorageGcStatus.COMPLETED)
+                .orElseGet(StorageGcRun::new);
+        if (run.getId() != null) {
+            log.info("Resuming storage GC run {} after key {}", run.getId(), run.getLastKey());
+        } else {
+            run.setStartedAt(LocalDateTime.now());
+        }
+        run.setStatus(StorageGcStatus.RUNNING);
+        run.setErrorMessage(null);
+        run = runRepository.save(run);
+
+        try {
+            HashedKeySet referenced = loadReferencedKeys();
+            Instant cutoff = Instant.now().minus(gracePeriodHours, ChronoUnit.HOURS);
+            long nextDeleteAt = System.nanoTime();
+
+            List<StoredObjectDto> page = s3Service.listFiles(run.getLastKey(), pageSize);
+            while (!page.isEmpty()) {
+                // A throttled pass can take hours; renew the lease before every page's deletes
+                lease.checkpoint();
+                Map<String, Long> orphans = new HashMap<>();
+                for (StoredObjectDto object : page) {
+                    if (!referenced.contains(object.getKey()) && object.getLastModified().isBefore(cutoff)) {
+                        orphans.put(object.getKey(), object.getSize());
+                    }
+                }
+
+                List<String> keys = new ArrayList<>(orphans.keySet());
+                for (int from = 0; from < keys.size(); from += MAX_DELETE_BATCH) {
+                    List<String> batch = keys.subList(from, Math.min(from + MAX_DELETE_BATCH, keys.size()));
+                    nextDeleteAt = throttle(nextDeleteAt, batch.size());
+                    for (String deleted : s3Service.deleteFiles(batch)) {
+                        run.setObjectsDeleted(run.getObjectsDeleted() + 1);
+                        run.setBytesReclaimed(run.getBytesReclaimed() + orphans.getOrDefault(deleted, 0L));
+                    }
+                }
+
+                run.setObjectsScanned(run.getObjectsScanned() + page.size());
+                run.setOrphansFound(run.getOrphansFound() + orphans.size());
+                run.setLastKey(page.get(page.size() - 1).getKey());
+                run = runRepository.save(run);
+
+                page = page.size() < pageSize ? List.of() : s3Service.listFiles(run.getLastKey(), pageSize);
+            }
+
+            run.setStatus(StorageGcStatus.COMPLETED);
+            run.setFinishedAt(LocalDateTime.now());
+            run = runRepository.save(run);
+            log.info("Storage GC run {} finished: scanned {}, deleted {}, reclaimed {} bytes",
+                    run.getId(), run.getObjectsScanned(), run.getObjectsDeleted(), run.getBytesReclaimed());
+            return run;
+        } catch (LeaseLostException e) {
+            // Another node owns the run now; recording a failure here would overwrite its progress
+            throw e;
+        } catch (RuntimeException e) {
+            log.error("Storage GC run {} failed after key {}", run.getId(), run.getLastKey(), e);
+            run.setStatus(StorageGcStatus.FAILED);
+            run.setErrorMessage(truncate(e.getMessage()));
+            return runRepository.save(run);
+        }
+    }
+
+    private HashedKeySet loadReferencedKeys() {
+        return readOnlyTransaction.execute(status -> {
+            HashedKeySet keys = new HashedKeySet((int) (productImageRepository.count() + variantImageRepository.count()));
+            addKeys(keys, productImageRepository.streamAllImageUrls());
+            addKeys(keys, variantImageRepository.streamAllImageUrls());
+            addKeys(keys, brandRepository.streamAllImageUrls());
+            addKeys(keys, categoryRepository.streamAllImageUrls());
+            log.info("Loaded {} referenced storage keys", keys.size());
+            return keys;
+        });
+    }
+
+    private void addKeys(HashedKeySet keys, Stream<String> urls) {
+        try (urls) {
+            urls.forEach(url -> {
+                try {
+                    keys.add(s3Service.getKeyFromUrl(url));
+                } catch (IllegalArgumentException e) {
+                    log.warn("Ignoring unparseable image URL {}", url);
+                }
+            });
+        }
+    }
+
+    // Spaces delete batches so the long-run rate stays under max-deletes-per-second
+    private long throttle(long nextDeleteAt, int batchSize) {
+        long waitNanos = nextDeleteAt - System.nanoTime();
+        if (waitNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Storage GC interrupted", e);
+            }
+        }
+        return Math.max(nextDeleteAt, System.nanoTime())
+                + TimeUnit.SECONDS.toNanos(batchSize) / Math.max(1, maxDeletesPerSecond);
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+}
@@ -20,7 +20,6 @@ import org.springframework.transaction.annotation.Transactional;
 import java.net.URI;
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 @Data
@@ -66,43 +65,12 @@ public class ProductImageServiceImpl implements ProductImageService {
     @Override
     @Transactional
     public List<ProductImageDto> updateImagesOrder(UUID productId, List<ImageSortOrderDto> imageOrders) {
-        // Verify the product exists
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + productId));
-
-        // Verify all images belong to this product
-        List<UUID> imageIds = imageOrders.stream()
-                .map(ImageSortOrderDto::getId)
-                .collect(Collectors.toList());
-        List<ProductImage> images = productImageRepository.findAllById(imageIds);
-
-        if (images.size() != imageIds.size()) {
-            throw new ResourceNotFoundException("One or more images not found");
+        if (!productRepository.existsById(productId)) {
+            throw new ResourceNotFoundException("Product not found with id: " + productId);
         }
-
-        // Check all images belong to the product
-        for (ProductImage image : images) {
-            if (!image.getProduct().getId().equals(productId)) {
-                throw new IllegalArgumentException("Image does not belong to the specified product");
-            }
-        }
-
-        // Update sort orders
-        for (ImageSortOrderDto orderDto : imageOrders) {
-            ProductImage image = images.stream()
-                    .filter(img -> img.getId().equals(orderDto.getId()))
-                    .findFirst()
-                    .orElseThrow();
-
-            image.setSortOrder(orderDto.getSortOrder());
-            productImageRepository.save(image);
-        }
-
-        // Return updated images
-        Page<ProductImage> updatedImages = productImageRepository.findByProductIdOrderBySortOrderAsc(productId, Pageable.unpaged());
-        return updatedImages.map(image ->
-                        convertToPresignedUrl(productImageMapper.productImageToProductImageDto(image)))
-                .getContent();
+        return productImageRepository.reorderImages(productId, imageOrders).stream()
+                .map(this::convertToPresignedUrl)
+                .toList();
     }
     @Override
     public void deleteImage(UUID id) {
@@ -6,6 +6,8 @@ import com.ainan.ecommforallbackend.domain.brand.entity.Brand;
 import com.ainan.ecommforallbackend.domain.brand.repository.BrandRepository;
 import com.ainan.ecommforallbackend.domain.category.entity.Category;
 import com.ainan.ecommforallbackend.domain.category.repository.CategoryRepository;
+import com.ainan.ecommforallbackend.domain.inventory.dto.StockLineDto;
+import com.ainan.ecommforallbackend.domain.inventory.service.InventoryService;
 import com.ainan.ecommforallbackend.domain.product.dto.ProductCreateDto;
 import com.ainan.ecommforallbackend.domain.product.dto.ProductDto;
 import com.ainan.ecommforallbackend.domain.product.dto.ProductFilterDto;
@@ -49,6 +51,7 @@ public class ProductServiceImpl implements ProductService {
     private final ProductImageService productImageService;
     private final ProductVariantService productVariantService;
     private final VariantImageService variantImageService;
+    private final InventoryService inventoryService;
 
     @PersistenceContext
     private EntityManager entityManager;
@@ -271,11 +274,10 @@ public class ProductServiceImpl implements ProductService {
         if (product.hasVariants()) {
             // Check if any variant has sufficient stock
             return product.getVariants().stream()
-                    .anyMatch(variant -> variant.getStock() != null &&
-                            variant.getStock() >= requiredQuantity);
+                    .anyMatch(variant -> variant.getAvailableStock() >= requiredQuantity);
         } else {
             // Check product's own stock
-            return product.getStock() != null && product.getStock() >= requiredQuantity;
+            return product.getAvailableStock() >= requiredQuantity;
         }
     }
 
@@ -283,29 +285,8 @@ public class ProductServiceImpl implements ProductService {
     @Override
     @Transactional
     public void reduceProductStock(UUID productId, UUID variantId, Integer quantity) {
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + productId));
-
-        if (variantId != null) {
-            // Reduce variant stock
-            product.getVariants().stream()
-                    .filter(variant -> variant.getId().equals(variantId))
-                    .findFirst()
-                    .ifPresent(variant -> {
-                        if (variant.getStock() < quantity) {
-                            throw new IllegalStateException("Insufficient stock for variant");
-                        }
-                        variant.setStock(variant.getStock() - quantity);
-                    });
-        } else {
-            // Reduce product stock
-            if (product.getStock() == null || product.getStock() < quantity) {
-                throw new IllegalStateException("Insufficient stock for product");
-            }
-            product.setStock(product.getStock() - quantity);
-        }
-
-        productRepository.save(product);
+        // Conditional decrement in the database; no entity load, no lost update under concurrency
+        inventoryService.decrementStock(List.of(new StockLineDto(productId, variantId, quantity)));
         log.info("Reduced stock for product {} by {}", productId, quantity);
     }
 
@@ -1,8 +1,10 @@
 // src/main/java/com/ainan/ecommforallbackend/service/S3Service.java
 package com.ainan.ecommforallbackend.domain.product.service;
 
+import com.ainan.ecommforallbackend.domain.product.dto.StoredObjectDto;
 import org.springframework.web.multipart.MultipartFile;
 import java.io.IOException;
+import java.util.List;
 
 public interface S3Service {
     String uploadFile(MultipartFile file) throws IOException;
@@ -10,4 +12,13 @@ public interface S3Service {
     void deleteFile(String fileName);
     String getFileUrl(String fileName);
     String generatePresignedDownloadUrl(String key, long expirationInMinutes);
-}
\ No newline at end of file
+
+    // Object key for a URL returned by uploadFile/getFileUrl
+    String getKeyFromUrl(String fileUrl);
+
+    // Lists up to maxKeys objects in key order, starting after the given key (null for the beginning)
+    List<StoredObjectDto> listFiles(String startAfter, int maxKeys);
+
+    // Deletes up to 1000 keys in one request and returns the keys that were actually deleted
+    List<String> deleteFiles(List<String> keys);
+}
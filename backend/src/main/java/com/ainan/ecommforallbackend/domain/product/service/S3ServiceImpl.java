@@ -1,13 +1,22 @@
 package com.ainan.ecommforallbackend.domain.product.service;
 
+import com.ainan.ecommforallbackend.domain.product.dto.StoredObjectDto;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.Delete;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
+import software.amazon.awssdk.services.s3.model.DeletedObject;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
@@ -16,11 +25,16 @@ import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.net.URI;
 import java.time.Duration;
+import java.util.List;
 import java.util.UUID;
 
 @Service
+@Profile("!local-storage")
 @RequiredArgsConstructor
+@Slf4j
 public class S3ServiceImpl implements S3Service {
+    private static final int MAX_DELETE_BATCH = 1000;
+
     private final S3Client s3Client;
     private final S3Presigner s3Presigner;
     @Value("${aws.s3.bucket}")
@@ -62,11 +76,7 @@ public class S3ServiceImpl implements S3Service {
     @Override
     public void deleteFile(String fileUrl) {
        try {
-           URI uri = URI.create(fileUrl);
-           String key = uri.getPath();
-           if (key.startsWith("/")) {
-               key = key.substring(1);
-           }
+           String key = getKeyFromUrl(fileUrl);
            DeleteObjectRequest deleteObjectRequest = DeleteObjectRequest.builder()
                    .bucket(bucketName)
                    .key(key)
@@ -104,5 +114,42 @@ public class S3ServiceImpl implements S3Service {
 
     }
 
+    @Override
+    public String getKeyFromUrl(String fileUrl) {
+        String key = URI.create(fileUrl).getPath();
+        return key.startsWith("/") ? key.substring(1) : key;
+    }
+
+    @Override
+    public List<StoredObjectDto> listFiles(String startAfter, int maxKeys) {
+        ListObjectsV2Request.Builder request = ListObjectsV2Request.builder()
+                .bucket(bucketName)
+                .maxKeys(maxKeys);
+        if (startAfter != null) {
+            request.startAfter(startAfter);
+        }
+        return s3Client.listObjectsV2(request.build()).contents().stream()
+                .map(object -> new StoredObjectDto(object.key(), object.size(), object.lastModified()))
+                .toList();
+    }
 
+    @Override
+    public List<String> deleteFiles(List<String> keys) {
+        if (keys.isEmpty()) {
+            return List.of();
+        }
+        if (keys.size() > MAX_DELETE_BATCH) {
+            throw new IllegalArgumentException("At most " + MAX_DELETE_BATCH + " keys can be deleted per request");
+        }
+        DeleteObjectsRequest request = DeleteObjectsRequest.builder()
+                .bucket(bucketName)
+                .delete(Delete.builder()
+                        .objects(keys.stream().map(key -> ObjectIdentifier.builder().key(key).build()).toList())
+                        .build())
+                .build();
+        DeleteObjectsResponse response = s3Client.deleteObjects(request);
+        response.errors().forEach(error ->
+                log.warn("Failed to delete {} from {}: {} {}", error.key(), bucketName, error.code(), error.message()));
+        return response.deleted().stream().map(DeletedObject::key).toList();
+    }
 }
@@ -3,8 +3,10 @@ package com.ainan.ecommforallbackend.domain.product.service;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import com.ainan.ecommforallbackend.domain.order.dto.ImageSortOrderDto;
 import com.ainan.ecommforallbackend.domain.product.dto.VariantImageCreateDto;
 import com.ainan.ecommforallbackend.domain.product.dto.VariantImageDto;
+import java.util.List;
 import java.util.UUID;
 
 public interface VariantImageService {
@@ -16,5 +18,7 @@ public interface VariantImageService {
 
     VariantImageDto updateImage(UUID id, VariantImageDto imageDto);
 
+    List<VariantImageDto> updateImagesOrder(UUID productId, UUID variantId, List<ImageSortOrderDto> imageOrders);
+
     void deleteImage(UUID id);
 }
\ No newline at end of file
@@ -1,4 +1,6 @@
 package com.ainan.ecommforallbackend.domain.product.service;
+import com.ainan.ecommforallbackend.core.exception.ResourceNotFoundException;
+import com.ainan.ecommforallbackend.domain.order.dto.ImageSortOrderDto;
 import com.ainan.ecommforallbackend.domain.product.dto.VariantImageCreateDto;
 import com.ainan.ecommforallbackend.domain.product.dto.VariantImageDto;
 import com.ainan.ecommforallbackend.domain.product.entity.ProductVariant;
@@ -15,6 +17,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.net.URI;
+import java.util.List;
 import java.util.UUID;
 
 @Data
@@ -68,6 +71,17 @@ public class VariantImageServiceImpl implements VariantImageService {
         return convertToPresignedUrl(variantImageMapper.variantImageToVariantImageDto(updatedImage));
     }
 
+    @Override
+    @Transactional
+    public List<VariantImageDto> updateImagesOrder(UUID productId, UUID variantId, List<ImageSortOrderDto> imageOrders) {
+        if (!productVariantRepository.existsByIdAndProductId(variantId, productId)) {
+            throw new ResourceNotFoundException("Product variant not found with id: " + variantId + " for product: " + productId);
+        }
+        return variantImageRepository.reorderImages(variantId, imageOrders).stream()
+                .map(this::convertToPresignedUrl)
+                .toList();
+    }
+
     @Override
     @Transactional
     public void deleteImage(UUID id) {
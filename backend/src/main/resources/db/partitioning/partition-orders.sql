@@ -0,0 +1,71 @@
+-- One-time conversion of "orders" into a table range-partitioned by created_at month.
+--
+-- Run manually during a maintenance window with the application stopped: it copies every order.
+-- Afterwards OrderPartitionMaintenance creates upcoming monthly partitions (and, with
+-- orders.archive.enabled, drops old ones emptied by the archival job).
+--
+-- Notes:
+--  * A unique constraint on a partitioned table must contain the partition key, so the primary key
+--    becomes (id, created_at). Order ids are random UUIDs, so id stays unique in practice.
+--  * Partitioning serves the date-bounded queries (reports, rollups, exports, stale-order jobs) and
+--    lets archived months be dropped. Lookups by order id alone (findById, status reads, the admin
+--    bulk updates) cannot be pruned and probe the primary key index of every partition, so their
+--    cost grows with the partition count; keep it bounded with orders.archive.enabled. Entity
+--    updates and deletes also send created_at (@PartitionKey) and touch one partition only.
+--  * order_items can no longer reference orders(id) with a foreign key; this script drops the
+--    constraint. Unpartitioned installs keep it, so Hibernate's ddl-auto update tries to add it
+--    back on every start here and logs a warning when that fails, which is expected.
+--  * Rows whose created_at matches no partition land in orders_default. Keep it empty: a monthly
+--    partition cannot be created while the default partition holds rows for that month.
+
+BEGIN;
+
+ALTER TABLE orders RENAME TO orders_unpartitioned;
+
+CREATE TABLE orders (LIKE orders_unpartitioned INCLUDING DEFAULTS INCLUDING CONSTRAINTS)
+    PARTITION BY RANGE (created_at);
+
+CREATE TABLE orders_default PARTITION OF orders DEFAULT;
+
+-- One partition per month of existing data through three months ahead
+DO $$
+DECLARE
+    month date;
+BEGIN
+    FOR month IN
+        SELECT generate_series(
+                       date_trunc('month', COALESCE((SELECT MIN(created_at) FROM orders_unpartitioned), now())),
+                       date_trunc('month', now()) + interval '3 months',
+                       interval '1 month')::date
+    LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF orders FOR VALUES FROM (%L) TO (%L)',
+                       'orders_p' || to_char(month, 'YYYYMM'), month, (month + interval '1 month')::date);
+    END LOOP;
+END $$;
+
+INSERT INTO orders SELECT * FROM orders_unpartitioned;
+
+DO $$
+DECLARE
+    fk record;
+BEGIN
+    FOR fk IN
+        SELECT conname FROM pg_constraint
+        WHERE conrelid = 'order_items'::regclass AND confrelid = 'orders_unpartitioned'::regclass
+    LOOP
+        EXECUTE format('ALTER TABLE order_items DROP CONSTRAINT %I', fk.conname);
+    END LOOP;
+END $$;
+
+DROP TABLE orders_unpartitioned;
+
+-- Indexes are created after the copy; on the parent they cascade to every partition
+ALTER TABLE orders ADD PRIMARY KEY (id, created_at);
+ALTER TABLE orders ADD FOREIGN KEY (user_id) REFERENCES users (id);
+CREATE INDEX idx_orders_status_payment_created ON orders (status, payment_status, created_at);
+CREATE INDEX idx_orders_created_at ON orders (created_at);
+CREATE INDEX idx_orders_user_created ON orders (user_id, created_at DESC);
+
+COMMIT;
+
+ANALYZE orders;
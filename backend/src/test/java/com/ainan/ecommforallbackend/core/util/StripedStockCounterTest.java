@@ -0,0 +1,86 @@
+package com.ainan.ecommforallbackend.core.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("StripedStockCounter Unit Tests")
+class StripedStockCounterTest {
+
+    @Test
+    @DisplayName("spreads the initial stock over the stripes")
+    void spreadsInitialStock() {
+        StripedStockCounter counter = new StripedStockCounter(10, 4);
+
+        assertThat(counter.available()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("gathers a quantity larger than one stripe from several stripes")
+    void gathersAcrossStripes() {
+        StripedStockCounter counter = new StripedStockCounter(10, 4);
+
+        assertThat(counter.tryAcquire(9)).isTrue();
+        assertThat(counter.available()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("gives back a partial gather when the total is insufficient")
+    void rollsBackPartialGather() {
+        StripedStockCounter counter = new StripedStockCounter(5, 4);
+
+        assertThat(counter.tryAcquire(6)).isFalse();
+        assertThat(counter.available()).isEqualTo(5);
+        assertThat(counter.drain()).isEqualTo(5);
+        assertThat(counter.available()).isZero();
+    }
+
+    @Test
+    @DisplayName("never hands out more than the initial stock under contention")
+    void neverOversells() throws Exception {
+        int initial = 10_000;
+        StripedStockCounter counter = new StripedStockCounter(initial, 8);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                results.add(executor.submit(() -> {
+                    int acquired = 0;
+                    for (int i = 0; i < 5_000; i++) {
+                        int quantity = 1 + i % 3;
+                        if (counter.tryAcquire(quantity)) {
+                            acquired += quantity;
+                        }
+                    }
+                    return acquired;
+                }));
+            }
+            long total = 0;
+            for (Future<Integer> result : results) {
+                total += result.get(30, TimeUnit.SECONDS);
+            }
+
+            assertThat(total + counter.available()).isEqualTo(initial);
+            assertThat(counter.available()).isLessThan(3);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("rejects non-positive quantities")
+    void rejectsNonPositiveQuantity() {
+        StripedStockCounter counter = new StripedStockCounter(1, 1);
+
+        assertThatThrownBy(() -> counter.tryAcquire(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,89 @@
+package com.ainan.ecommforallbackend.domain.admin.controller;
+
+import com.ainan.ecommforallbackend.domain.order.dto.OrderExportType;
+import com.ainan.ecommforallbackend.domain.order.service.OrderExportService;
+import com.ainan.ecommforallbackend.domain.order.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AdminOrderController Unit Tests")
+class AdminOrderControllerTest {
+
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private OrderExportService orderExportService;
+
+    @InjectMocks
+    private AdminOrderController adminOrderController;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(adminOrderController).build();
+    }
+
+    @Nested
+    @DisplayName("GET /api/admin/orders/export")
+    class ExportOrders {
+        @Test
+        @DisplayName("streams the export with its own long async timeout")
+        void streamsWithExportTimeout() throws Exception {
+            given(orderExportService.export(eq(OrderExportType.ORDERS), eq(LocalDateTime.of(2025, 1, 1, 0, 0)),
+                    eq(LocalDateTime.of(2025, 2, 1, 0, 0)), isNull(), any())).willAnswer(invocation -> {
+                invocation.<OutputStream>getArgument(4).write(new byte[]{1, 2, 3});
+                return 1L;
+            });
+
+            MvcResult started = mockMvc.perform(get("/api/admin/orders/export")
+                            .param("dateFrom", "2025-01-01")
+                            .param("dateTo", "2025-01-31"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            assertThat(started.getRequest().getAsyncContext().getTimeout()).isEqualTo(Duration.ofMinutes(30).toMillis());
+            mockMvc.perform(asyncDispatch(started))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Content-Disposition", "attachment; filename=\"orders-2025-01-01-2025-01-31.csv.gz\""))
+                    .andExpect(content().contentType("application/gzip"))
+                    .andExpect(content().bytes(new byte[]{1, 2, 3}));
+        }
+
+        @Test
+        @DisplayName("rejects a range that ends before it starts")
+        void rejectsInvertedRange() throws Exception {
+            mockMvc.perform(get("/api/admin/orders/export")
+                            .param("dateFrom", "2025-02-01")
+                            .param("dateTo", "2025-01-31"))
+                    .andExpect(status().isBadRequest());
+
+            verifyNoInteractions(orderExportService);
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.ainan.ecommforallbackend.domain.analytics.service;
+
+import com.ainan.ecommforallbackend.domain.analytics.dto.BucketRange;
+import com.ainan.ecommforallbackend.domain.analytics.dto.SalesRollupDto;
+import com.ainan.ecommforallbackend.domain.analytics.dto.SalesSummaryDto;
+import com.ainan.ecommforallbackend.domain.analytics.dto.SalesWindow;
+import com.ainan.ecommforallbackend.domain.analytics.entity.RollupGranularity;
+import com.ainan.ecommforallbackend.domain.analytics.repository.SalesRollupRepository;
+import com.ainan.ecommforallbackend.domain.job.service.JobLease;
+import com.ainan.ecommforallbackend.domain.order.entity.OrderStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SalesRollupServiceImpl Unit Tests")
+class SalesRollupServiceImplTest {
+
+    @Mock
+    private SalesRollupRepository rollupRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SalesRollupServiceImpl salesRollupService;
+
+    @BeforeEach
+    void setUp() {
+        salesRollupService = new SalesRollupServiceImpl(rollupRepository, transactionManager);
+    }
+
+    @Nested
+    @DisplayName("getSummary()")
+    class GetSummary {
+        @Test
+        @DisplayName("sums the orders themselves until the history has been back-filled")
+        void readsOrdersBeforeHistoryBackfill() {
+            LocalDateTime from = LocalDateTime.of(2026, 3, 1, 14, 20);
+            LocalDateTime to = LocalDateTime.of(2026, 3, 4, 9, 5);
+            given(rollupRepository.isBackfillComplete(SalesRollupServiceImpl.HISTORY_BACKFILL)).willReturn(false);
+            given(rollupRepository.sumOrdersByStatus(from, to))
+                    .willReturn(List.of(row(OrderStatus.DELIVERED, 4, "40.00"), row(OrderStatus.CANCELLED, 1, "9.00")));
+
+            SalesSummaryDto summary = salesRollupService.getSummary(from, to);
+
+            assertThat(summary.getOrderCount()).isEqualTo(5);
+            assertThat(summary.getRevenue()).isEqualByComparingTo("40.00");
+            verify(rollupRepository, never()).sumByStatus(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("reads whole days from day rows and the partial edges from hour rows")
+        void splitsRangeByGranularity() {
+            LocalDateTime from = LocalDateTime.of(2026, 3, 1, 14, 20);
+            LocalDateTime to = LocalDateTime.of(2026, 3, 4, 9, 5);
+            LocalDateTime firstFullDay = LocalDateTime.of(2026, 3, 2, 0, 0);
+            LocalDateTime lastFullDayEnd = LocalDateTime.of(2026, 3, 4, 0, 0);
+            given(rollupRepository.isBackfillComplete(SalesRollupServiceImpl.HISTORY_BACKFILL)).willReturn(true);
+            given(rollupRepository.sumByStatus(RollupGranularity.HOUR, from.withMinute(0), firstFullDay))
+                    .willReturn(List.of(row(OrderStatus.DELIVERED, 2, "20.00")));
+            given(rollupRepository.sumByStatus(RollupGranularity.DAY, firstFullDay, lastFullDayEnd))
+                    .willReturn(List.of(row(OrderStatus.DELIVERED, 5, "50.00"), row(OrderStatus.CANCELLED, 1, "99.00")));
+            given(rollupRepository.sumByStatus(RollupGranularity.HOUR, lastFullDayEnd, to))
+                    .willReturn(List.of(row(OrderStatus.PENDING, 1, "7.50")));
+
+            SalesSummaryDto summary = salesRollupService.getSummary(from, to);
+
+            assertThat(summary.getOrderCount()).isEqualTo(9);
+            assertThat(summary.getRevenue()).isEqualByComparingTo("77.50");
+        }
+
+        @Test
+        @DisplayName("uses only hour rows for a range within one day")
+        void sameDayUsesHourRows() {
+            LocalDateTime from = LocalDateTime.of(2026, 3, 1, 0, 0);
+            LocalDateTime to = LocalDateTime.of(2026, 3, 1, 18, 30);
+            given(rollupRepository.isBackfillComplete(SalesRollupServiceImpl.HISTORY_BACKFILL)).willReturn(true);
+            given(rollupRepository.sumByStatus(RollupGranularity.HOUR, from, to))
+                    .willReturn(List.of(row(OrderStatus.PROCESSING, 3, "30.00")));
+
+            SalesSummaryDto summary = salesRollupService.getSummary(from, to);
+
+            assertThat(summary.getOrderCount()).isEqualTo(3);
+            verify(rollupRepository, never()).sumByStatus(eq(RollupGranularity.DAY), any(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("getOrderCountsByStatus()")
+    class GetOrderCountsByStatus {
+        @Test
+        @DisplayName("counts the orders themselves until the history has been back-filled")
+        void countsOrdersBeforeHistoryBackfill() {
+            given(rollupRepository.isBackfillComplete(SalesRollupServiceImpl.HISTORY_BACKFILL)).willReturn(false);
+            given(rollupRepository.countOrdersByStatus()).willReturn(Map.of(OrderStatus.DELIVERED, 1200L));
+
+            assertThat(salesRollupService.getOrderCountsByStatus()).containsEntry(OrderStatus.DELIVERED, 1200L);
+            verify(rollupRepository, never()).countByStatus();
+        }
+
+        @Test
+        @DisplayName("reads the rollups once the history back-fill has completed, without asking again")
+        void readsRollupsAfterHistoryBackfill() {
+            given(rollupRepository.isBackfillComplete(SalesRollupServiceImpl.HISTORY_BACKFILL)).willReturn(true);
+            given(rollupRepository.countByStatus()).willReturn(Map.of(OrderStatus.DELIVERED, 1200L));
+
+            salesRollupService.getOrderCountsByStatus();
+            salesRollupService.getOrderCountsByStatus();
+
+            verify(rollupRepository, times(1)).isBackfillComplete(SalesRollupServiceImpl.HISTORY_BACKFILL);
+            verify(rollupRepository, never()).countOrdersByStatus();
+        }
+    }
+
+    @Nested
+    @DisplayName("backfillHistory()")
+    class BackfillHistory {
+        @Mock
+        private JobLease lease;
+
+        @Test
+        @DisplayName("resumes after the last recorded day, records each day and marks the history complete")
+        void resumesAndCompletes() {
+            LocalDate today = LocalDate.now();
+            given(rollupRepository.findBackfilledUntil(SalesRollupServiceImpl.HISTORY_BACKFILL))
+                    .willReturn(Optional.of(today.minusDays(1)));
+
+            int days = salesRollupService.backfillHistory(lease);
+
+            assertThat(days).isEqualTo(2);
+            verify(rollupRepository, never()).findFirstOrderDay();
+            verify(lease, times(2)).checkpoint();
+            verify(rollupRepository).recompute(today.minusDays(1).atStartOfDay(), today.atStartOfDay());
+            verify(rollupRepository).recompute(today.atStartOfDay(), today.plusDays(1).atStartOfDay());
+            verify(rollupRepository).saveBackfillProgress(SalesRollupServiceImpl.HISTORY_BACKFILL, today, null);
+            verify(rollupRepository).saveBackfillProgress(eq(SalesRollupServiceImpl.HISTORY_BACKFILL),
+                    eq(today.plusDays(1)), any(LocalDateTime.class));
+            assertThat(salesRollupService.isHistoryBackfilled()).isTrue();
+        }
+
+        @Test
+        @DisplayName("starts from the first order on the first run and completes at once without orders")
+        void startsFromFirstOrder() {
+            LocalDate today = LocalDate.now();
+            given(rollupRepository.findBackfilledUntil(SalesRollupServiceImpl.HISTORY_BACKFILL)).willReturn(Optional.empty());
+            given(rollupRepository.findFirstOrderDay()).willReturn(Optional.empty());
+
+            assertThat(salesRollupService.backfillHistory(lease)).isZero();
+
+            verify(rollupRepository, never()).recompute(any(), any());
+            verify(rollupRepository, never()).saveBackfillProgress(any(), any(), isNull());
+            verify(rollupRepository).saveBackfillProgress(eq(SalesRollupServiceImpl.HISTORY_BACKFILL),
+                    eq(today.plusDays(1)), any(LocalDateTime.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("getTopSellingProducts()")
+    class GetTopSellingProducts {
+        @Test
+        @DisplayName("ranks a 7-day window from day rows plus hour rows for the partial edges")
+        void sevenDayWindowUsesMixedGranularity() {
+            salesRollupService.getTopSellingProducts(SalesWindow.LAST_7_DAYS, 10);
+
+            ArgumentCaptor<List<BucketRange>> ranges = ArgumentCaptor.forClass(List.class);
+            verify(rollupRepository).findTopProducts(ranges.capture(), eq(10));
+            assertThat(ranges.getValue()).extracting(BucketRange::getGranularity).contains(RollupGranularity.DAY);
+            assertThat(ranges.getValue()).allSatisfy(range ->
+                    assertThat(range.getFrom()).isAfterOrEqualTo(LocalDateTime.now().minusDays(7).minusHours(1)));
+        }
+
+        @Test
+        @DisplayName("ranks all time from day rows only")
+        void allTimeUsesDayRows() {
+            salesRollupService.getTopSellingProducts(SalesWindow.ALL_TIME, 5);
+
+            ArgumentCaptor<List<BucketRange>> ranges = ArgumentCaptor.forClass(List.class);
+            verify(rollupRepository).findTopProducts(ranges.capture(), eq(5));
+            assertThat(ranges.getValue()).singleElement()
+                    .extracting(BucketRange::getGranularity).isEqualTo(RollupGranularity.DAY);
+        }
+    }
+
+    @Nested
+    @DisplayName("applyTransition()")
+    class ApplyTransition {
+        @Test
+        @DisplayName("moves the order from the old status to the new one")
+        void movesContribution() {
+            UUID orderId = UUID.randomUUID();
+            given(rollupRepository.claimReceipt(any(), eq(SalesRollupHandler.NAME), any())).willReturn(true);
+
+            salesRollupService.applyTransition(UUID.randomUUID(), orderId, OrderStatus.PENDING, OrderStatus.PROCESSING);
+
+            verify(rollupRepository).lockForIncrementalUpdate();
+            verify(rollupRepository).applyOrder(orderId, OrderStatus.PENDING, -1);
+            verify(rollupRepository).applyOrder(orderId, OrderStatus.PROCESSING, 1);
+        }
+
+        @Test
+        @DisplayName("ignores an event that was already applied")
+        void skipsRedelivery() {
+            given(rollupRepository.claimReceipt(any(), eq(SalesRollupHandler.NAME), any())).willReturn(false);
+
+            salesRollupService.applyTransition(UUID.randomUUID(), UUID.randomUUID(), null, OrderStatus.PENDING);
+
+            verify(rollupRepository, never()).applyOrder(any(), any(), anyInt());
+        }
+    }
+
+    private static SalesRollupDto row(OrderStatus status, long orders, String revenue) {
+        return new SalesRollupDto(RollupGranularity.DAY, LocalDateTime.now(), status, orders,
+                new BigDecimal(revenue), BigDecimal.ZERO, orders);
+    }
+}
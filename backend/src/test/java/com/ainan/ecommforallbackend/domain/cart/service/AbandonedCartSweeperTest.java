@@ -0,0 +1,114 @@
+package com.ainan.ecommforallbackend.domain.cart.service;
+
+import com.ainan.ecommforallbackend.core.exception.LeaseLostException;
+import com.ainan.ecommforallbackend.domain.cart.repository.AbandonedCartChunk;
+import com.ainan.ecommforallbackend.domain.cart.repository.AbandonedCartRepository;
+import com.ainan.ecommforallbackend.domain.job.service.JobCoordinator;
+import com.ainan.ecommforallbackend.domain.job.service.JobLease;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willDoNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AbandonedCartSweeper Unit Tests")
+class AbandonedCartSweeperTest {
+
+    @Mock
+    private AbandonedCartRepository abandonedCartRepository;
+    @Mock
+    private JobCoordinator jobCoordinator;
+    @Mock
+    private JobLease lease;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final LocalDateTime cutoff = LocalDateTime.of(2026, 1, 1, 0, 0);
+    private AbandonedCartSweeper sweeper;
+
+    @BeforeEach
+    void setUp() {
+        sweeper = new AbandonedCartSweeper(abandonedCartRepository, jobCoordinator, meterRegistry, transactionManager);
+        ReflectionTestUtils.setField(sweeper, "chunkSize", 2);
+        ReflectionTestUtils.setField(sweeper, "pauseMs", 0L);
+    }
+
+    private AbandonedCartChunk chunk(int scanned, int abandoned, int lines, LocalDateTime last, UUID lastId) {
+        return new AbandonedCartChunk(scanned, abandoned, lines, last, lastId);
+    }
+
+    @Test
+    @DisplayName("continues each chunk after the last cart of the previous one and records throughput")
+    void walksKeysetChunks() {
+        given(abandonedCartRepository.idleCutoff(anyInt())).willReturn(cutoff);
+        UUID firstLast = UUID.randomUUID();
+        LocalDateTime firstLastAt = cutoff.minusDays(9);
+        given(abandonedCartRepository.sweep(eq(cutoff), isNull(), isNull(), any(), eq(2)))
+                .willReturn(chunk(2, 1, 3, firstLastAt, firstLast));
+        given(abandonedCartRepository.sweep(eq(cutoff), eq(firstLastAt), eq(firstLast), any(), eq(2)))
+                .willReturn(chunk(1, 1, 2, cutoff.minusDays(2), UUID.randomUUID()));
+
+        int abandoned = sweeper.sweep(lease);
+
+        assertThat(abandoned).isEqualTo(2);
+        verify(lease, times(2)).checkpoint();
+        assertThat(meterRegistry.counter("cart.abandoned.scanned").count()).isEqualTo(3);
+        assertThat(meterRegistry.counter("cart.abandoned.carts").count()).isEqualTo(2);
+        assertThat(meterRegistry.counter("cart.abandoned.lines").count()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("stops at max-carts-per-run, shrinking the last chunk to fit")
+    void capsCartsPerRun() {
+        given(abandonedCartRepository.idleCutoff(anyInt())).willReturn(cutoff);
+        ReflectionTestUtils.setField(sweeper, "maxCartsPerRun", 3);
+        given(abandonedCartRepository.sweep(any(), any(), any(), any(), eq(2)))
+                .willReturn(chunk(2, 2, 2, cutoff.minusDays(5), UUID.randomUUID()));
+        given(abandonedCartRepository.sweep(any(), any(), any(), any(), eq(1)))
+                .willReturn(chunk(1, 1, 1, cutoff.minusDays(4), UUID.randomUUID()));
+
+        assertThat(sweeper.sweep(lease)).isEqualTo(3);
+        verify(abandonedCartRepository, times(2)).sweep(any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("stops before the next chunk once the lease is lost")
+    void stopsWhenLeaseIsLost() {
+        given(abandonedCartRepository.idleCutoff(anyInt())).willReturn(cutoff);
+        given(abandonedCartRepository.sweep(any(), any(), any(), any(), anyInt()))
+                .willReturn(chunk(2, 2, 2, cutoff.minusDays(5), UUID.randomUUID()));
+        willDoNothing().willThrow(new LeaseLostException("taken over")).given(lease).checkpoint();
+
+        assertThatThrownBy(() -> sweeper.sweep(lease)).isInstanceOf(LeaseLostException.class);
+        verify(abandonedCartRepository, times(1)).sweep(any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("does not run unless enabled")
+    void disabledByDefault() {
+        sweeper.sweepAbandonedCarts();
+
+        verify(jobCoordinator, never()).runExclusive(any(), any());
+    }
+}
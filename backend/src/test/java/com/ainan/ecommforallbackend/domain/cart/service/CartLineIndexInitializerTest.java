@@ -0,0 +1,108 @@
+package com.ainan.ecommforallbackend.domain.cart.service;
+
+import com.ainan.ecommforallbackend.domain.cart.repository.CartBatchRepository;
+import com.ainan.ecommforallbackend.domain.cart.repository.CartLineIndexState;
+import com.ainan.ecommforallbackend.domain.job.service.JobCoordinator;
+import com.ainan.ecommforallbackend.domain.job.service.JobLease;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CartLineIndexInitializer Unit Tests")
+class CartLineIndexInitializerTest {
+
+    @Mock
+    private CartBatchRepository cartBatchRepository;
+    @Mock
+    private JobCoordinator jobCoordinator;
+    @Mock
+    private JobLease lease;
+
+    private CartLineIndexInitializer initializer;
+
+    @BeforeEach
+    void setUp() {
+        initializer = new CartLineIndexInitializer(cartBatchRepository, jobCoordinator);
+        ReflectionTestUtils.setField(initializer, "pollIntervalMs", 0L);
+    }
+
+    private void runUnderLease() {
+        given(jobCoordinator.runExclusive(eq(CartLineIndexInitializer.JOB_NAME), any())).willAnswer(invocation -> {
+            invocation.<Consumer<JobLease>>getArgument(1).accept(lease);
+            return true;
+        });
+    }
+
+    @Test
+    @DisplayName("merges duplicates and builds the index before startup goes on")
+    void buildsMissingIndex() {
+        runUnderLease();
+        given(cartBatchRepository.lineIndexState()).willReturn(CartLineIndexState.MISSING,
+                CartLineIndexState.MISSING, CartLineIndexState.READY);
+
+        initializer.afterSingletonsInstantiated();
+
+        InOrder order = inOrder(cartBatchRepository);
+        order.verify(cartBatchRepository).mergeDuplicateLines();
+        order.verify(cartBatchRepository).createLineIndexConcurrently();
+        order.verify(cartBatchRepository).dropVariantOnlyConstraint();
+    }
+
+    @Test
+    @DisplayName("drops a failed build and retries when duplicates were written meanwhile")
+    void retriesFailedBuild() {
+        runUnderLease();
+        given(cartBatchRepository.lineIndexState()).willReturn(CartLineIndexState.FAILED, CartLineIndexState.FAILED,
+                CartLineIndexState.FAILED, CartLineIndexState.READY);
+        willThrow(new DuplicateKeyException("duplicate")).willDoNothing()
+                .given(cartBatchRepository).createLineIndexConcurrently();
+
+        initializer.afterSingletonsInstantiated();
+
+        verify(cartBatchRepository, times(2)).dropLineIndex();
+        verify(cartBatchRepository, times(2)).mergeDuplicateLines();
+    }
+
+    @Test
+    @DisplayName("waits while another node builds the index")
+    void waitsForOtherNode() {
+        given(cartBatchRepository.lineIndexState()).willReturn(CartLineIndexState.MISSING,
+                CartLineIndexState.BUILDING, CartLineIndexState.READY);
+        given(jobCoordinator.runExclusive(eq(CartLineIndexInitializer.JOB_NAME), any())).willReturn(false);
+
+        initializer.afterSingletonsInstantiated();
+
+        verify(jobCoordinator, times(1)).runExclusive(eq(CartLineIndexInitializer.JOB_NAME), any());
+        verify(cartBatchRepository, never()).createLineIndexConcurrently();
+    }
+
+    @Test
+    @DisplayName("fails startup when the index does not show up in time")
+    void failsAfterTimeout() {
+        ReflectionTestUtils.setField(initializer, "startupTimeoutSeconds", 0L);
+        given(cartBatchRepository.lineIndexState()).willReturn(CartLineIndexState.BUILDING);
+
+        assertThatThrownBy(() -> initializer.afterSingletonsInstantiated())
+                .isInstanceOf(IllegalStateException.class);
+        verify(cartBatchRepository, never()).dropVariantOnlyConstraint();
+    }
+}
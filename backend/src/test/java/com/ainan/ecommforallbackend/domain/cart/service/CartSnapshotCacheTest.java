@@ -0,0 +1,107 @@
+package com.ainan.ecommforallbackend.domain.cart.service;
+
+import com.ainan.ecommforallbackend.domain.cart.dto.CartItemDto;
+import com.ainan.ecommforallbackend.domain.cart.dto.ShoppingCartDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CartSnapshotCache Unit Tests")
+class CartSnapshotCacheTest {
+
+    private CartSnapshotCache cache;
+    private final UUID userId = UUID.randomUUID();
+    private final UUID itemId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        cache = new CartSnapshotCache(new SimpleMeterRegistry());
+    }
+
+    private CartSnapshotCache.Snapshot snapshot(long revision, int quantity) {
+        CartItemDto item = new CartItemDto(itemId, UUID.randomUUID(), "Mug", null, null, "MUG-1", null, null,
+                new BigDecimal("5.00"), quantity, new BigDecimal("5.00").multiply(BigDecimal.valueOf(quantity)), true);
+        ShoppingCartDto cart = new ShoppingCartDto(UUID.randomUUID(), userId, List.of(item), 1, null, null, null, true);
+        return CartSnapshotCache.Snapshot.of(revision, cart);
+    }
+
+    @Nested
+    @DisplayName("put()")
+    class Put {
+        @Test
+        @DisplayName("does not replace a newer snapshot with an older load")
+        void keepsNewerRevision() {
+            cache.put(userId, snapshot(3, 2));
+            cache.put(userId, snapshot(2, 7));
+
+            assertThat(cache.get(userId)).get().extracting(CartSnapshotCache.Snapshot::revision).isEqualTo(3L);
+        }
+
+        @Test
+        @DisplayName("evicts the least recently used user beyond max-size")
+        void boundsSize() {
+            ReflectionTestUtils.setField(cache, "maxSize", 1);
+            UUID otherUser = UUID.randomUUID();
+            cache.put(userId, snapshot(1, 1));
+            cache.put(otherUser, snapshot(1, 1));
+
+            assertThat(cache.get(userId)).isEmpty();
+            assertThat(cache.get(otherUser)).isPresent();
+        }
+
+        @Test
+        @DisplayName("expires snapshots after ttl-seconds")
+        void expires() {
+            ReflectionTestUtils.setField(cache, "ttlSeconds", 0L);
+            cache.put(userId, snapshot(1, 1));
+
+            assertThat(cache.get(userId)).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("updateAfterCommit()")
+    class UpdateAfterCommit {
+        @Test
+        @DisplayName("applies the change on top of the previous revision")
+        void appliesNextRevision() {
+            cache.put(userId, snapshot(4, 2));
+
+            cache.updateAfterCommit(userId, 5, s -> s.withQuantity(itemId, 6));
+
+            CartSnapshotCache.Snapshot updated = cache.get(userId).orElseThrow();
+            assertThat(updated.revision()).isEqualTo(5L);
+            assertThat(updated.itemCount()).isEqualTo(6);
+            assertThat(updated.cart().getTotalAmount()).isEqualByComparingTo("30.00");
+        }
+
+        @Test
+        @DisplayName("drops a snapshot that missed an earlier change")
+        void dropsOnGap() {
+            cache.put(userId, snapshot(4, 2));
+
+            cache.updateAfterCommit(userId, 6, CartSnapshotCache.Snapshot::cleared);
+
+            assertThat(cache.get(userId)).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("hands out copies that do not change the cached snapshot")
+    void copiesOnRead() {
+        cache.put(userId, snapshot(1, 2));
+
+        cache.get(userId).orElseThrow().itemsCopy().get(0).setQuantity(99);
+
+        assertThat(cache.get(userId).orElseThrow().cartCopy().getItems().get(0).getQuantity()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,152 @@
+package com.ainan.ecommforallbackend.domain.cart.service;
+
+import com.ainan.ecommforallbackend.core.exception.TooManyRequestsException;
+import com.ainan.ecommforallbackend.domain.cart.dto.CartItemOperationDto;
+import com.ainan.ecommforallbackend.domain.cart.dto.CartLineDto;
+import com.ainan.ecommforallbackend.domain.cart.dto.CartOperationType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("GuestCartStore Unit Tests")
+class GuestCartStoreTest {
+
+    private static final String CLIENT = "203.0.113.7";
+
+    private GuestCartStore store;
+    private String token;
+    private final UUID productId = UUID.randomUUID();
+    private final UUID variantId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        store = new GuestCartStore(new SimpleMeterRegistry());
+        token = store.newToken();
+    }
+
+    private CartItemOperationDto op(CartOperationType type, UUID product, UUID variant, Integer quantity) {
+        return new CartItemOperationDto(type, product, variant, quantity);
+    }
+
+    @Nested
+    @DisplayName("apply()")
+    class Apply {
+        @Test
+        @DisplayName("applies operations in order, keeping variants as separate lines")
+        void appliesInOrder() {
+            store.apply(token, CLIENT, List.of(op(CartOperationType.ADD, productId, null, 2)));
+
+            List<CartLineDto> lines = store.apply(token, CLIENT, List.of(
+                    op(CartOperationType.ADD, productId, null, 3),
+                    op(CartOperationType.ADD, productId, variantId, 1),
+                    op(CartOperationType.SET, productId, variantId, 4)));
+
+            assertThat(lines).containsExactly(new CartLineDto(productId, null, 5),
+                    new CartLineDto(productId, variantId, 4));
+            assertThat(store.lines(token)).isEqualTo(lines);
+        }
+
+        @Test
+        @DisplayName("rejects a cart with more than max-lines lines and keeps the previous one")
+        void boundsLines() {
+            ReflectionTestUtils.setField(store, "maxLines", 1);
+            store.apply(token, CLIENT, List.of(op(CartOperationType.ADD, productId, null, 1)));
+
+            assertThatThrownBy(() -> store.apply(token, CLIENT, List.of(op(CartOperationType.ADD, UUID.randomUUID(), null, 1))))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThat(store.lines(token)).containsExactly(new CartLineDto(productId, null, 1));
+        }
+
+        @Test
+        @DisplayName("rejects tokens it did not hand out")
+        void rejectsForgedToken() {
+            assertThatThrownBy(() -> store.apply("../../etc/passwd", CLIENT, List.of(op(CartOperationType.ADD, productId, null, 1))))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("creates nothing for operations that leave a new cart empty")
+        void createsNothingWhenEmpty() {
+            ReflectionTestUtils.setField(store, "newCartsPerMinute", 0);
+
+            assertThat(store.apply(token, CLIENT, List.of(op(CartOperationType.REMOVE, productId, null, null)))).isEmpty();
+            assertThat(store.lines(token)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("limits new carts per client while existing carts still change")
+        void limitsNewCartsPerClient() {
+            ReflectionTestUtils.setField(store, "newCartsPerMinute", 1);
+            store.apply(token, CLIENT, List.of(op(CartOperationType.ADD, productId, null, 1)));
+
+            assertThatThrownBy(() -> store.apply(store.newToken(), CLIENT, List.of(op(CartOperationType.ADD, productId, null, 1))))
+                    .isInstanceOf(TooManyRequestsException.class);
+            assertThat(store.apply(store.newToken(), "198.51.100.2", List.of(op(CartOperationType.ADD, productId, null, 1))))
+                    .hasSize(1);
+            assertThat(store.apply(token, CLIENT, List.of(op(CartOperationType.ADD, productId, null, 1))))
+                    .containsExactly(new CartLineDto(productId, null, 2));
+        }
+    }
+
+    @Nested
+    @DisplayName("eviction")
+    class Eviction {
+        @Test
+        @DisplayName("drops the least recently used cart beyond max-carts")
+        void dropsWithoutSpill() {
+            ReflectionTestUtils.setField(store, "maxCarts", 1);
+            store.apply(token, CLIENT, List.of(op(CartOperationType.ADD, productId, null, 1)));
+            store.apply(store.newToken(), CLIENT, List.of(op(CartOperationType.ADD, productId, null, 1)));
+
+            assertThat(store.lines(token)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("spills evicted carts to disk and reads them back")
+        void spillsToDisk(@TempDir Path spillDir) {
+            ReflectionTestUtils.setField(store, "maxCarts", 1);
+            ReflectionTestUtils.setField(store, "spillDir", spillDir.toString());
+            store.apply(token, CLIENT, List.of(op(CartOperationType.ADD, productId, variantId, 3)));
+            store.apply(store.newToken(), CLIENT, List.of(op(CartOperationType.ADD, productId, null, 1)));
+
+            assertThat(spillDir.resolve(token + ".cart")).exists();
+            assertThat(store.lines(token)).containsExactly(new CartLineDto(productId, variantId, 3));
+        }
+
+        @Test
+        @DisplayName("deletes the oldest spill files beyond max-spilled-carts")
+        void capsSpill(@TempDir Path spillDir) {
+            ReflectionTestUtils.setField(store, "maxCarts", 1);
+            ReflectionTestUtils.setField(store, "maxSpilledCarts", 1);
+            ReflectionTestUtils.setField(store, "spillDir", spillDir.toString());
+            String second = store.newToken();
+            store.apply(token, CLIENT, List.of(op(CartOperationType.ADD, productId, null, 1)));
+            store.apply(second, CLIENT, List.of(op(CartOperationType.ADD, productId, null, 1)));
+            store.apply(store.newToken(), CLIENT, List.of(op(CartOperationType.ADD, productId, null, 1)));
+
+            assertThat(spillDir.resolve(token + ".cart")).doesNotExist();
+            assertThat(spillDir.resolve(second + ".cart")).exists();
+            assertThat(store.lines(token)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("expires carts after ttl-hours")
+        void expires() {
+            ReflectionTestUtils.setField(store, "ttlHours", 0L);
+            store.apply(token, CLIENT, List.of(op(CartOperationType.ADD, productId, null, 1)));
+
+            assertThat(store.lines(token)).isEmpty();
+        }
+    }
+}
@@ -0,0 +1,318 @@
+package com.ainan.ecommforallbackend.domain.cart.service;
+
+import com.ainan.ecommforallbackend.core.config.PricingProperties;
+import com.ainan.ecommforallbackend.core.exception.ResourceNotFoundException;
+import com.ainan.ecommforallbackend.domain.cart.dto.CartBulkUpdateDto;
+import com.ainan.ecommforallbackend.domain.cart.dto.CartItemDto;
+import com.ainan.ecommforallbackend.domain.cart.dto.CartItemOperationDto;
+import com.ainan.ecommforallbackend.domain.cart.dto.CartLineDto;
+import com.ainan.ecommforallbackend.domain.cart.dto.CartOperationType;
+import com.ainan.ecommforallbackend.domain.cart.dto.CartSummaryDto;
+import com.ainan.ecommforallbackend.domain.cart.dto.ShoppingCartDto;
+import com.ainan.ecommforallbackend.domain.cart.entity.ShoppingCart;
+import com.ainan.ecommforallbackend.domain.cart.mapper.CartItemMapper;
+import com.ainan.ecommforallbackend.domain.cart.mapper.ShoppingCartMapper;
+import com.ainan.ecommforallbackend.domain.cart.repository.CartBatchRepository;
+import com.ainan.ecommforallbackend.domain.cart.repository.CartItemRepository;
+import com.ainan.ecommforallbackend.domain.cart.repository.CartItemWrite;
+import com.ainan.ecommforallbackend.domain.cart.repository.CartRevision;
+import com.ainan.ecommforallbackend.domain.cart.repository.CartTotalsView;
+import com.ainan.ecommforallbackend.domain.cart.repository.ShoppingCartRepository;
+import com.ainan.ecommforallbackend.domain.pricing.service.PricingPlan;
+import com.ainan.ecommforallbackend.domain.product.entity.Product;
+import com.ainan.ecommforallbackend.domain.product.repository.ProductRepository;
+import com.ainan.ecommforallbackend.domain.product.repository.ProductVariantRepository;
+import com.ainan.ecommforallbackend.domain.product.service.ProductImageService;
+import com.ainan.ecommforallbackend.domain.user.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ShoppingCartServiceImpl Unit Tests")
+class ShoppingCartServiceImplTest {
+
+    @Mock
+    private ShoppingCartRepository shoppingCartRepository;
+
+    @Mock
+    private CartItemRepository cartItemRepository;
+
+    @Mock
+    private ProductVariantRepository productVariantRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductImageService productImageService;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ShoppingCartMapper shoppingCartMapper;
+
+    @Mock
+    private CartItemMapper cartItemMapper;
+
+    @Mock
+    private CartBatchRepository cartBatchRepository;
+
+    @Mock
+    private GuestCartStore guestCartStore;
+
+    @Spy
+    private PricingPlan pricingPlan = PricingPlan.compile(new PricingProperties());
+
+    @Spy
+    private CartSnapshotCache cartSnapshotCache = new CartSnapshotCache(new SimpleMeterRegistry());
+
+    @InjectMocks
+    private ShoppingCartServiceImpl shoppingCartService;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @Nested
+    @DisplayName("getCartSummary()")
+    class GetCartSummary {
+        @Test
+        @DisplayName("sums an uncached cart with one aggregate query instead of loading it")
+        void aggregatesUncachedCart() {
+            CartTotalsView totals = mock(CartTotalsView.class);
+            given(totals.getLineCount()).willReturn(2L);
+            given(totals.getItemCount()).willReturn(5L);
+            given(totals.getSubtotal()).willReturn(new BigDecimal("40.00"));
+            given(cartItemRepository.sumByUserId(userId)).willReturn(totals);
+
+            CartSummaryDto summary = shoppingCartService.getCartSummary(userId.toString(), null);
+
+            assertThat(summary.getItemCount()).isEqualTo(5);
+            assertThat(summary.getLineCount()).isEqualTo(2);
+            assertThat(summary.getTax()).isEqualByComparingTo("4.00");
+            assertThat(summary.getTotalAmount()).isEqualByComparingTo("44.00");
+            verify(shoppingCartRepository, never()).findWithItemsByUserId(any());
+        }
+
+        @Test
+        @DisplayName("answers from a current cached snapshot without querying the items")
+        void usesCurrentSnapshot() {
+            CartItemDto item = new CartItemDto(UUID.randomUUID(), UUID.randomUUID(), "Mug", null, null, "MUG-1",
+                    null, null, new BigDecimal("5.00"), 3, new BigDecimal("15.00"), true);
+            cartSnapshotCache.put(userId, CartSnapshotCache.Snapshot.of(7,
+                    new ShoppingCartDto(UUID.randomUUID(), userId, List.of(item), 1, null, null, null, true)));
+            given(shoppingCartRepository.findRevisionByUserId(userId)).willReturn(Optional.of(7L));
+
+            CartSummaryDto summary = shoppingCartService.getCartSummary(userId.toString(), null);
+
+            assertThat(summary.getItemCount()).isEqualTo(3);
+            assertThat(summary.getSubtotal()).isEqualByComparingTo("15.00");
+            assertThat(summary.getTotalAmount()).isEqualByComparingTo("16.50");
+            verify(cartItemRepository, never()).sumByUserId(any());
+        }
+
+        @Test
+        @DisplayName("ignores a snapshot whose revision is behind the cart")
+        void skipsStaleSnapshot() {
+            cartSnapshotCache.put(userId, CartSnapshotCache.Snapshot.of(7,
+                    new ShoppingCartDto(UUID.randomUUID(), userId, List.of(), 0, null, null, null, true)));
+            given(shoppingCartRepository.findRevisionByUserId(userId)).willReturn(Optional.of(8L));
+            CartTotalsView totals = mock(CartTotalsView.class);
+            given(totals.getItemCount()).willReturn(1L);
+            given(cartItemRepository.sumByUserId(userId)).willReturn(totals);
+
+            assertThat(shoppingCartService.getCartItemCount(userId.toString())).isEqualTo(1);
+            assertThat(cartSnapshotCache.get(userId)).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("addItemToCart()")
+    class AddItemToCart {
+        private final UUID cartId = UUID.randomUUID();
+        private final UUID itemId = UUID.randomUUID();
+        private Product product;
+
+        @BeforeEach
+        void setUp() {
+            product = new Product();
+            product.setId(UUID.randomUUID());
+            product.setName("Mug");
+            product.setSku("MUG-1");
+            product.setStock(10);
+            given(cartBatchRepository.lockCart(userId)).willReturn(Optional.of(new CartRevision(cartId, 5)));
+            given(productRepository.findById(product.getId())).willReturn(Optional.of(product));
+        }
+
+        @Test
+        @DisplayName("adds to the quantity of a line already in the cart and updates the snapshot")
+        void incrementsExistingLine() {
+            given(cartBatchRepository.upsertItem(eq(cartId), eq(product.getId()), eq(null), eq(2), any()))
+                    .willReturn(Optional.of(new CartItemWrite(itemId, 5, new BigDecimal("4.00"))));
+            given(productImageService.getImagesByProductId(eq(product.getId()), any())).willReturn(Page.empty());
+            CartItemDto existing = new CartItemDto(itemId, product.getId(), "Mug", null, null, "MUG-1", null, null,
+                    new BigDecimal("4.00"), 3, new BigDecimal("12.00"), true);
+            cartSnapshotCache.put(userId, CartSnapshotCache.Snapshot.of(4,
+                    new ShoppingCartDto(cartId, userId, List.of(existing), 1, null, null, null, true)));
+
+            CartItemDto added = shoppingCartService.addItemToCart(userId.toString(), product.getId().toString(), null, 2);
+
+            assertThat(added.getId()).isEqualTo(itemId);
+            assertThat(added.getQuantity()).isEqualTo(5);
+            assertThat(added.getTotalPrice()).isEqualByComparingTo("20.00");
+            CartSnapshotCache.Snapshot snapshot = cartSnapshotCache.get(userId).orElseThrow();
+            assertThat(snapshot.revision()).isEqualTo(5L);
+            assertThat(snapshot.itemCount()).isEqualTo(5);
+            verify(cartItemRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("fails when the product has no price")
+        void failsWithoutPrice() {
+            given(cartBatchRepository.upsertItem(eq(cartId), eq(product.getId()), eq(null), eq(1), any()))
+                    .willReturn(Optional.empty());
+
+            assertThatThrownBy(() -> shoppingCartService.addItemToCart(userId.toString(), product.getId().toString(), null, 1))
+                    .isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("applyCartOperations()")
+    class ApplyCartOperations {
+        private final UUID cartId = UUID.randomUUID();
+        private final UUID productId = UUID.randomUUID();
+        private final UUID otherProductId = UUID.randomUUID();
+
+        private CartItemOperationDto op(CartOperationType type, UUID product, Integer quantity) {
+            return new CartItemOperationDto(type, product, null, quantity);
+        }
+
+        @Test
+        @DisplayName("combines operations per line and writes each line once")
+        @SuppressWarnings("unchecked")
+        void combinesOperationsPerLine() {
+            given(cartBatchRepository.lockCart(userId)).willReturn(Optional.of(new CartRevision(cartId, 3)));
+            given(cartBatchRepository.upsert(eq(cartId), anyList(), eq(false), any()))
+                    .willAnswer(invocation -> invocation.getArgument(1));
+            given(cartBatchRepository.upsert(eq(cartId), anyList(), eq(true), any()))
+                    .willAnswer(invocation -> invocation.getArgument(1));
+            ShoppingCart cart = new ShoppingCart();
+            given(shoppingCartRepository.findWithItemsByUserId(userId)).willReturn(Optional.of(cart));
+            given(shoppingCartMapper.toDto(cart))
+                    .willReturn(new ShoppingCartDto(cartId, userId, List.of(), 0, null, null, null, true));
+
+            shoppingCartService.applyCartOperations(userId.toString(), new CartBulkUpdateDto(List.of(
+                    op(CartOperationType.ADD, productId, 2),
+                    op(CartOperationType.ADD, productId, 3),
+                    op(CartOperationType.REMOVE, otherProductId, null),
+                    op(CartOperationType.ADD, otherProductId, 1))));
+
+            ArgumentCaptor<List<CartLineDto>> added = ArgumentCaptor.forClass(List.class);
+            ArgumentCaptor<List<CartLineDto>> set = ArgumentCaptor.forClass(List.class);
+            verify(cartBatchRepository).upsert(eq(cartId), added.capture(), eq(false), any());
+            verify(cartBatchRepository).upsert(eq(cartId), set.capture(), eq(true), any());
+            assertThat(added.getValue()).containsExactly(new CartLineDto(productId, null, 5));
+            // Removing and then adding leaves exactly the added quantity
+            assertThat(set.getValue()).containsExactly(new CartLineDto(otherProductId, null, 1));
+            verify(cartBatchRepository).delete(cartId, List.of());
+        }
+
+        @Test
+        @DisplayName("fails when a product cannot be added")
+        void failsOnUnavailableProduct() {
+            given(cartBatchRepository.lockCart(userId)).willReturn(Optional.of(new CartRevision(cartId, 3)));
+            given(cartBatchRepository.upsert(eq(cartId), anyList(), eq(false), any())).willReturn(List.of());
+
+            assertThatThrownBy(() -> shoppingCartService.applyCartOperations(userId.toString(),
+                    new CartBulkUpdateDto(List.of(op(CartOperationType.ADD, productId, 1)))))
+                    .isInstanceOf(ResourceNotFoundException.class)
+                    .hasMessageContaining(productId.toString());
+            verify(cartBatchRepository, never()).delete(any(), anyList());
+        }
+
+        @Test
+        @DisplayName("rejects adds without a positive quantity before touching the cart")
+        void rejectsMissingQuantity() {
+            assertThatThrownBy(() -> shoppingCartService.applyCartOperations(userId.toString(),
+                    new CartBulkUpdateDto(List.of(op(CartOperationType.SET, productId, 0)))))
+                    .isInstanceOf(IllegalArgumentException.class);
+            verify(cartBatchRepository, never()).lockCart(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("applyGuestCartOperations()")
+    class ApplyGuestCartOperations {
+        @Test
+        @DisplayName("rejects unknown products without touching the guest cart")
+        void rejectsUnknownProduct() {
+            UUID productId = UUID.randomUUID();
+            given(productRepository.findWithReferencesByIdIn(Set.of(productId))).willReturn(List.of());
+
+            assertThatThrownBy(() -> shoppingCartService.applyGuestCartOperations("AAAAAAAAAAAAAAAAAAAAAA", "203.0.113.7",
+                    new CartBulkUpdateDto(List.of(new CartItemOperationDto(CartOperationType.ADD, productId, null, 1)))))
+                    .isInstanceOf(ResourceNotFoundException.class);
+            verifyNoInteractions(guestCartStore);
+        }
+    }
+
+    @Nested
+    @DisplayName("mergeGuestCart()")
+    class MergeGuestCart {
+        private final String guestToken = "AAAAAAAAAAAAAAAAAAAAAA";
+
+        @Test
+        @DisplayName("adds all guest lines to the user's cart with one upsert")
+        void mergesWithOneUpsert() {
+            UUID cartId = UUID.randomUUID();
+            List<CartLineDto> lines = List.of(new CartLineDto(UUID.randomUUID(), null, 2),
+                    new CartLineDto(UUID.randomUUID(), UUID.randomUUID(), 1));
+            given(guestCartStore.lines(guestToken)).willReturn(lines);
+            given(shoppingCartRepository.findByUserId(userId)).willReturn(Optional.of(new ShoppingCart()));
+            given(cartBatchRepository.lockCart(userId)).willReturn(Optional.of(new CartRevision(cartId, 2)));
+            given(cartBatchRepository.upsert(eq(cartId), eq(lines), eq(false), any())).willReturn(lines);
+
+            shoppingCartService.mergeGuestCart(userId.toString(), guestToken);
+
+            verify(cartBatchRepository).upsert(eq(cartId), eq(lines), eq(false), any());
+            verify(guestCartStore).discardAfterCommit(guestToken);
+        }
+
+        @Test
+        @DisplayName("does nothing without a guest cart")
+        void skipsEmptyGuestCart() {
+            given(guestCartStore.lines(guestToken)).willReturn(List.of());
+
+            shoppingCartService.mergeGuestCart(userId.toString(), guestToken);
+
+            verifyNoInteractions(cartBatchRepository);
+        }
+    }
+}
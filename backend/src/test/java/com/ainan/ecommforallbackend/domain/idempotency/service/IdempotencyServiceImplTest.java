@@ -0,0 +1,125 @@
+package com.ainan.ecommforallbackend.domain.idempotency.service;
+
+import com.ainan.ecommforallbackend.core.exception.IdempotencyConflictException;
+import com.ainan.ecommforallbackend.domain.idempotency.dto.IdempotentResponse;
+import com.ainan.ecommforallbackend.domain.idempotency.entity.IdempotencyStatus;
+import com.ainan.ecommforallbackend.domain.idempotency.repository.IdempotencyRecordRepository;
+import com.ainan.ecommforallbackend.domain.idempotency.repository.IdempotencyRecordView;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("IdempotencyServiceImpl Unit Tests")
+class IdempotencyServiceImplTest {
+
+    @Mock
+    private IdempotencyRecordRepository recordRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private IdempotencyServiceImpl idempotencyService;
+
+    private final String userId = UUID.randomUUID().toString();
+    private final Map<String, String> request = Map.of("paymentMethod", "CARD");
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyServiceImpl(recordRepository, objectMapper, transactionManager);
+    }
+
+    @Test
+    @DisplayName("runs the action once and stores its response when the key is new")
+    void executesAndStoresResponse() {
+        given(recordRepository.claim(any(), any(), eq("key-1"), anyString(), any(), any(), any())).willReturn(1);
+        given(recordRepository.complete(any(), any(), eq("\"order-1\""))).willReturn(1);
+
+        IdempotentResponse<String> response = idempotencyService.execute(userId, "key-1", request, String.class,
+                () -> "order-" + executions.incrementAndGet());
+
+        assertThat(response.getBody()).isEqualTo("order-1");
+        assertThat(response.isReplayed()).isFalse();
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("replays the stored response for a retry of a completed request")
+    void replaysCompletedRequest() throws Exception {
+        given(recordRepository.claim(any(), any(), eq("key-1"), anyString(), any(), any(), any())).willReturn(0);
+        IdempotencyRecordView stored = view(IdempotencyStatus.COMPLETED, hashOf(request), "\"order-1\"");
+        given(recordRepository.findViewByUserIdAndIdempotencyKey(UUID.fromString(userId), "key-1"))
+                .willReturn(Optional.of(stored));
+
+        IdempotentResponse<String> response = idempotencyService.execute(userId, "key-1", request, String.class,
+                () -> "order-" + executions.incrementAndGet());
+
+        assertThat(response.getBody()).isEqualTo("order-1");
+        assertThat(response.isReplayed()).isTrue();
+        assertThat(executions).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("rejects a key reused for a different request")
+    void rejectsDifferentRequest() {
+        given(recordRepository.claim(any(), any(), eq("key-1"), anyString(), any(), any(), any())).willReturn(0);
+        IdempotencyRecordView stored = view(IdempotencyStatus.COMPLETED, "other-hash", "\"order-1\"");
+        given(recordRepository.findViewByUserIdAndIdempotencyKey(UUID.fromString(userId), "key-1"))
+                .willReturn(Optional.of(stored));
+
+        assertThatThrownBy(() -> idempotencyService.execute(userId, "key-1", request, String.class, () -> "order"))
+                .isInstanceOf(IdempotencyConflictException.class);
+    }
+
+    @Test
+    @DisplayName("releases the key when the action fails so the client can retry")
+    void releasesKeyOnFailure() {
+        given(recordRepository.claim(any(), any(), eq("key-1"), anyString(), any(), any(), any())).willReturn(1);
+
+        assertThatThrownBy(() -> idempotencyService.execute(userId, "key-1", request, String.class, () -> {
+            throw new IllegalStateException("Cannot create order: cart is empty");
+        })).isInstanceOf(IllegalStateException.class);
+
+        verify(recordRepository).release(any(), any());
+        verify(recordRepository, never()).complete(any(), any(), any());
+    }
+
+    private String hashOf(Object value) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                .digest(objectMapper.writeValueAsBytes(value)));
+    }
+
+    private static IdempotencyRecordView view(IdempotencyStatus status, String requestHash, String responseBody) {
+        IdempotencyRecordView view = mock(IdempotencyRecordView.class);
+        lenient().when(view.getStatus()).thenReturn(status);
+        given(view.getRequestHash()).willReturn(requestHash);
+        lenient().when(view.getResponseBody()).thenReturn(responseBody);
+        lenient().when(view.getLockedAt()).thenReturn(LocalDateTime.now());
+        return view;
+    }
+}
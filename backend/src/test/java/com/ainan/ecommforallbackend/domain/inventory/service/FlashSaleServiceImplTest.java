@@ -0,0 +1,277 @@
+package com.ainan.ecommforallbackend.domain.inventory.service;
+
+import com.ainan.ecommforallbackend.domain.inventory.dto.FlashSaleDto;
+import com.ainan.ecommforallbackend.domain.inventory.entity.FlashSale;
+import com.ainan.ecommforallbackend.domain.inventory.entity.FlashSaleStatus;
+import com.ainan.ecommforallbackend.domain.inventory.repository.FlashSaleRepository;
+import com.ainan.ecommforallbackend.domain.inventory.repository.InventoryRepository;
+import com.ainan.ecommforallbackend.domain.job.service.JobCoordinator;
+import com.ainan.ecommforallbackend.domain.job.service.JobLease;
+import com.ainan.ecommforallbackend.domain.product.repository.ProductVariantRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FlashSaleServiceImpl Unit Tests")
+class FlashSaleServiceImplTest {
+
+    private static final String NODE_ID = "node-a";
+
+    @Mock
+    private FlashSaleRepository flashSaleRepository;
+    @Mock
+    private InventoryRepository inventoryRepository;
+    @Mock
+    private ProductVariantRepository productVariantRepository;
+    @Mock
+    private JobCoordinator jobCoordinator;
+    @Mock
+    private JobLease lease;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path logDir;
+
+    private FlashSaleServiceImpl flashSaleService;
+    private final UUID saleId = UUID.randomUUID();
+    private final UUID variantId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        flashSaleService = newService(NODE_ID);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        flashSaleService.shutdown();
+    }
+
+    @Nested
+    @DisplayName("recover()")
+    class Recover {
+        @Test
+        @DisplayName("resumes from the logged total when a release followed the last flush")
+        void resumesFromLogAfterReleaseSinceFlush() throws Exception {
+            // 10 allocated and flushed, then 3 handed back before the process died
+            writeLog(NODE_ID, 10, -3);
+            given(flashSaleRepository.findByStatusAndNodeId(FlashSaleStatus.ACTIVE, NODE_ID))
+                    .willReturn(List.of(sale(100, 10)));
+
+            given(inventoryRepository.applyFlashSaleFlush(saleId, NODE_ID, variantId, -3)).willReturn(true);
+
+            flashSaleService.recover();
+
+            FlashSaleDto recovered = flashSaleService.getActiveFlashSales().get(0);
+            assertThat(recovered.getRemainingQuantity()).isEqualTo(93);
+            assertThat(recovered.getPendingFlush()).isEqualTo(-3);
+
+            flashSaleService.flush();
+
+            assertThat(flashSaleService.getActiveFlashSales().get(0).getFlushedQuantity()).isEqualTo(7);
+        }
+
+        @Test
+        @DisplayName("falls back to the flushed count when the log was lost")
+        void fallsBackToFlushedWithoutLog() throws Exception {
+            given(flashSaleRepository.findByStatusAndNodeId(FlashSaleStatus.ACTIVE, NODE_ID))
+                    .willReturn(List.of(sale(100, 10)));
+
+            flashSaleService.recover();
+
+            FlashSaleDto recovered = flashSaleService.getActiveFlashSales().get(0);
+            assertThat(recovered.getRemainingQuantity()).isEqualTo(90);
+            assertThat(recovered.getPendingFlush()).isZero();
+        }
+
+        @Test
+        @DisplayName("keeps allocations of committed orders when the node dies before the next flush")
+        void keepsCommittedAllocationsAfterCrash() throws Exception {
+            given(flashSaleRepository.findByStatusAndNodeId(FlashSaleStatus.ACTIVE, NODE_ID))
+                    .willReturn(List.of(sale(100, 0)));
+            flashSaleService.recover();
+            flashSaleService.tryAllocate(variantId, 3);
+            // What the order's beforeCommit does; the node then dies without flushing or syncing
+            flashSaleService.syncAllocations();
+            flashSaleService.tryAllocate(variantId, 5);
+
+            flashSaleService = newService(NODE_ID);
+            flashSaleService.recover();
+
+            FlashSaleDto recovered = flashSaleService.getActiveFlashSales().get(0);
+            assertThat(recovered.getRemainingQuantity()).isEqualTo(97);
+            assertThat(recovered.getPendingFlush()).isEqualTo(3);
+        }
+    }
+
+    @Nested
+    @DisplayName("flush()")
+    class Flush {
+        @Test
+        @DisplayName("writes the allocations queued by every thread before applying them")
+        void writesQueuedAllocationsBeforeApplying() throws Exception {
+            given(flashSaleRepository.findByStatusAndNodeId(FlashSaleStatus.ACTIVE, NODE_ID))
+                    .willReturn(List.of(sale(100, 0)));
+            given(inventoryRepository.applyFlashSaleFlush(saleId, NODE_ID, variantId, 16)).willReturn(true);
+            flashSaleService.recover();
+            Path logFile = logDir.resolve("allocations-" + NODE_ID + ".log");
+            long compacted = Files.size(logFile);
+
+            ExecutorService buyers = Executors.newFixedThreadPool(4);
+            for (int i = 0; i < 8; i++) {
+                buyers.submit(() -> flashSaleService.tryAllocate(variantId, 2));
+            }
+            buyers.shutdown();
+            assertThat(buyers.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+            // Queued only; nothing reaches the file until the flusher runs
+            assertThat(Files.size(logFile)).isEqualTo(compacted);
+
+            flashSaleService.flush();
+
+            assertThat(Files.size(logFile)).isEqualTo(compacted + 8 * 20);
+            assertThat(flashSaleService.getActiveFlashSales().get(0).getFlushedQuantity()).isEqualTo(16);
+        }
+
+        @Test
+        @DisplayName("drops a sale another node has taken over")
+        void dropsSaleTakenOver() throws Exception {
+            given(flashSaleRepository.findByStatusAndNodeId(FlashSaleStatus.ACTIVE, NODE_ID))
+                    .willReturn(List.of(sale(100, 0)));
+            given(inventoryRepository.applyFlashSaleFlush(saleId, NODE_ID, variantId, 2)).willReturn(false);
+            flashSaleService.recover();
+            flashSaleService.tryAllocate(variantId, 2);
+
+            flashSaleService.flush();
+
+            assertThat(flashSaleService.getActiveFlashSales()).isEmpty();
+            assertThat(flashSaleService.tryAllocate(variantId, 1)).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("adoptOrphanedSales()")
+    class AdoptOrphanedSales {
+        @BeforeEach
+        void runUnderLease() {
+            given(jobCoordinator.runExclusive(eq(FlashSaleServiceImpl.TAKEOVER_JOB), any())).willAnswer(invocation -> {
+                invocation.<Consumer<JobLease>>getArgument(1).accept(lease);
+                return true;
+            });
+        }
+
+        @Test
+        @DisplayName("picks up the sales of a node that restarted under a different host name")
+        void adoptsSalesOfRenamedNode() throws Exception {
+            // node-a sold 13 units, 10 of them flushed, then came back as node-b
+            writeLog(NODE_ID, 10, 5, -2);
+            flashSaleService = newService("node-b");
+            given(flashSaleRepository.findByStatusAndNodeId(FlashSaleStatus.ACTIVE, "node-b")).willReturn(List.of());
+            given(flashSaleRepository.findOrphaned("node-b", 60)).willReturn(List.of(sale(100, 10)));
+            given(flashSaleRepository.claim(saleId, NODE_ID, "node-b", 60)).willReturn(1);
+            given(inventoryRepository.applyFlashSaleFlush(saleId, "node-b", variantId, 3)).willReturn(true);
+            flashSaleService.recover();
+
+            flashSaleService.adoptOrphanedSales();
+
+            FlashSaleDto adopted = flashSaleService.getActiveFlashSales().get(0);
+            assertThat(adopted.getRemainingQuantity()).isEqualTo(87);
+            assertThat(adopted.getPendingFlush()).isEqualTo(3);
+            verify(lease).checkpoint();
+
+            flashSaleService.flush();
+
+            assertThat(flashSaleService.getActiveFlashSales().get(0).getFlushedQuantity()).isEqualTo(13);
+            // The total now lives in node-b's own log, ready for its next restart
+            assertThat(FlashSaleAllocationLog.replay(logDir.resolve("allocations-node-b.log")))
+                    .containsEntry(saleId, 13L);
+        }
+
+        @Test
+        @DisplayName("leaves a sale alone when another node claimed it first")
+        void skipsSaleClaimedElsewhere() throws Exception {
+            writeLog("node-c", 10);
+            given(flashSaleRepository.findByStatusAndNodeId(FlashSaleStatus.ACTIVE, NODE_ID)).willReturn(List.of());
+            FlashSale orphan = sale(100, 10);
+            orphan.setNodeId("node-c");
+            given(flashSaleRepository.findOrphaned(NODE_ID, 60)).willReturn(List.of(orphan));
+            given(flashSaleRepository.claim(saleId, "node-c", NODE_ID, 60)).willReturn(0);
+            flashSaleService.recover();
+
+            flashSaleService.adoptOrphanedSales();
+
+            assertThat(flashSaleService.getActiveFlashSales()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("leaves a sale alone when the previous node's log cannot be read")
+        void skipsSaleWithoutLog() throws Exception {
+            given(flashSaleRepository.findByStatusAndNodeId(FlashSaleStatus.ACTIVE, NODE_ID)).willReturn(List.of());
+            FlashSale orphan = sale(100, 10);
+            orphan.setNodeId("node-c");
+            given(flashSaleRepository.findOrphaned(NODE_ID, 60)).willReturn(List.of(orphan));
+            flashSaleService.recover();
+
+            flashSaleService.adoptOrphanedSales();
+
+            assertThat(flashSaleService.getActiveFlashSales()).isEmpty();
+            verify(flashSaleRepository, never()).claim(any(), any(), any(), anyLong());
+        }
+    }
+
+    private FlashSaleServiceImpl newService(String nodeId) {
+        FlashSaleServiceImpl service = new FlashSaleServiceImpl(flashSaleRepository, inventoryRepository,
+                productVariantRepository, jobCoordinator, transactionManager);
+        ReflectionTestUtils.setField(service, "logDir", logDir.toString());
+        ReflectionTestUtils.setField(service, "stripes", 4);
+        ReflectionTestUtils.setField(service, "nodeId", nodeId);
+        return service;
+    }
+
+    private void writeLog(String nodeId, int... quantities) throws Exception {
+        try (FlashSaleAllocationLog allocationLog =
+                     new FlashSaleAllocationLog(logDir.resolve("allocations-" + nodeId + ".log"), 4)) {
+            for (int quantity : quantities) {
+                allocationLog.append(saleId, quantity);
+            }
+        }
+    }
+
+    private FlashSale sale(int allocated, long flushed) {
+        FlashSale sale = new FlashSale();
+        sale.setId(saleId);
+        sale.setVariantId(variantId);
+        sale.setProductId(UUID.randomUUID());
+        sale.setNodeId(NODE_ID);
+        sale.setAllocatedQuantity(allocated);
+        sale.setFlushedQuantity(flushed);
+        sale.setStartedAt(LocalDateTime.now());
+        return sale;
+    }
+}
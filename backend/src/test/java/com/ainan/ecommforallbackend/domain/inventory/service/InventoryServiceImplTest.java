@@ -0,0 +1,207 @@
+package com.ainan.ecommforallbackend.domain.inventory.service;
+
+import com.ainan.ecommforallbackend.core.exception.InsufficientStockException;
+import com.ainan.ecommforallbackend.core.exception.ResourceNotFoundException;
+import com.ainan.ecommforallbackend.domain.cart.service.ShoppingCartService;
+import com.ainan.ecommforallbackend.domain.inventory.dto.StockLineDto;
+import com.ainan.ecommforallbackend.domain.inventory.dto.StockShortageDto;
+import com.ainan.ecommforallbackend.domain.inventory.entity.ReservationStatus;
+import com.ainan.ecommforallbackend.domain.inventory.mapper.StockReservationMapper;
+import com.ainan.ecommforallbackend.domain.inventory.repository.InventoryRepository;
+import com.ainan.ecommforallbackend.domain.inventory.repository.StockReservationRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mapstruct.factory.Mappers;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("InventoryServiceImpl Unit Tests")
+class InventoryServiceImplTest {
+
+    @Mock
+    private InventoryRepository inventoryRepository;
+
+    @Mock
+    private StockReservationRepository reservationRepository;
+
+    @Spy
+    private StockReservationMapper reservationMapper = Mappers.getMapper(StockReservationMapper.class);
+
+    @Mock
+    private ShoppingCartService shoppingCartService;
+
+    @Mock
+    private FlashSaleService flashSaleService;
+
+    @InjectMocks
+    private InventoryServiceImpl inventoryService;
+
+    private final UUID productId = UUID.randomUUID();
+    private final UUID variantId = UUID.randomUUID();
+
+    @Nested
+    @DisplayName("decrementStock()")
+    class DecrementStock {
+        @Test
+        @DisplayName("sums lines for the same variant into one conditional update")
+        @SuppressWarnings("unchecked")
+        void aggregatesDuplicateLines() {
+            given(inventoryRepository.decrementIfAvailable(anyList())).willReturn(List.of());
+
+            inventoryService.decrementStock(List.of(
+                    new StockLineDto(productId, variantId, 2),
+                    new StockLineDto(productId, variantId, 3),
+                    new StockLineDto(productId, null, 1)));
+
+            ArgumentCaptor<List<StockLineDto>> captor = ArgumentCaptor.forClass(List.class);
+            verify(inventoryRepository).decrementIfAvailable(captor.capture());
+            assertThat(captor.getValue()).containsExactly(
+                    new StockLineDto(productId, variantId, 5),
+                    new StockLineDto(productId, null, 1));
+        }
+
+        @Test
+        @DisplayName("reports every short line")
+        void reportsShortages() {
+            StockShortageDto shortage = new StockShortageDto(productId, variantId, 5, 1);
+            given(inventoryRepository.decrementIfAvailable(anyList())).willReturn(List.of(shortage));
+
+            assertThatThrownBy(() -> inventoryService.decrementStock(List.of(new StockLineDto(productId, variantId, 5))))
+                    .isInstanceOf(InsufficientStockException.class)
+                    .hasMessageContaining("requested: 5, available: 1")
+                    .satisfies(e -> assertThat(((InsufficientStockException) e).getShortages()).containsExactly(shortage));
+        }
+
+        @Test
+        @DisplayName("serves flash-sale variants from the counters and hands them back on rollback")
+        void routesFlashSaleVariants() {
+            UUID regularVariantId = UUID.randomUUID();
+            given(flashSaleService.isFlashSaleActive(variantId)).willReturn(true);
+            given(flashSaleService.tryAllocate(variantId, 2)).willReturn(true);
+            given(inventoryRepository.decrementIfAvailable(List.of(new StockLineDto(productId, regularVariantId, 1))))
+                    .willReturn(List.of());
+
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                inventoryService.decrementStock(List.of(
+                        new StockLineDto(productId, variantId, 2),
+                        new StockLineDto(productId, regularVariantId, 1)));
+                verify(flashSaleService, never()).release(any(), anyInt());
+
+                TransactionSynchronizationManager.getSynchronizations()
+                        .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+                verify(flashSaleService).release(variantId, 2);
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        }
+
+        @Test
+        @DisplayName("makes flash-sale allocations durable before the order commits")
+        void syncsAllocationsBeforeCommit() {
+            given(flashSaleService.isFlashSaleActive(variantId)).willReturn(true);
+            given(flashSaleService.tryAllocate(variantId, 2)).willReturn(true);
+
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                inventoryService.decrementStock(List.of(new StockLineDto(productId, variantId, 2)));
+                verify(flashSaleService, never()).syncAllocations();
+
+                TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.beforeCommit(false));
+                verify(flashSaleService).syncAllocations();
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        }
+
+        @Test
+        @DisplayName("rejects non-positive quantities")
+        void rejectsNonPositiveQuantity() {
+            assertThatThrownBy(() -> inventoryService.decrementStock(List.of(new StockLineDto(productId, null, 0))))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("consumeReservation()")
+    class ConsumeReservation {
+        private final UUID reservationId = UUID.randomUUID();
+        private final UUID userId = UUID.randomUUID();
+
+        @Test
+        @DisplayName("consumes an active reservation, dropping its holds in the same statement")
+        void consumesActiveReservation() {
+            given(inventoryRepository.closeReservation(eq(reservationId), eq(userId), eq(ReservationStatus.CONSUMED), any(LocalDateTime.class)))
+                    .willReturn(Optional.of(ReservationStatus.CONSUMED));
+
+            assertThat(inventoryService.consumeReservation(reservationId, userId.toString())).isTrue();
+        }
+
+        @Test
+        @DisplayName("rejects an expired reservation the sweeper has not reached, after dropping its hold")
+        void rejectsExpiredReservation() {
+            given(inventoryRepository.closeReservation(eq(reservationId), eq(userId), eq(ReservationStatus.CONSUMED), any(LocalDateTime.class)))
+                    .willReturn(Optional.of(ReservationStatus.EXPIRED));
+
+            assertThat(inventoryService.consumeReservation(reservationId, userId.toString())).isFalse();
+        }
+
+        @Test
+        @DisplayName("rejects a reservation that is no longer active")
+        void rejectsInactiveReservation() {
+            given(inventoryRepository.closeReservation(eq(reservationId), eq(userId), eq(ReservationStatus.CONSUMED), any(LocalDateTime.class)))
+                    .willReturn(Optional.empty());
+
+            assertThat(inventoryService.consumeReservation(reservationId, userId.toString())).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("releaseReservation()")
+    class ReleaseReservation {
+        private final UUID reservationId = UUID.randomUUID();
+        private final UUID userId = UUID.randomUUID();
+
+        @Test
+        @DisplayName("releases an active reservation even when it is already past its deadline")
+        void releasesExpiredReservation() {
+            given(inventoryRepository.closeReservation(eq(reservationId), eq(userId), eq(ReservationStatus.RELEASED), any(LocalDateTime.class)))
+                    .willReturn(Optional.of(ReservationStatus.EXPIRED));
+
+            inventoryService.releaseReservation(reservationId, userId.toString());
+        }
+
+        @Test
+        @DisplayName("reports a reservation that is no longer active as not found")
+        void rejectsInactiveReservation() {
+            given(inventoryRepository.closeReservation(eq(reservationId), eq(userId), eq(ReservationStatus.RELEASED), any(LocalDateTime.class)))
+                    .willReturn(Optional.empty());
+
+            assertThatThrownBy(() -> inventoryService.releaseReservation(reservationId, userId.toString()))
+                    .isInstanceOf(ResourceNotFoundException.class);
+        }
+    }
+}
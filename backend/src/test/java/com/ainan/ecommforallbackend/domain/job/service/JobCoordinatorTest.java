@@ -0,0 +1,132 @@
+package com.ainan.ecommforallbackend.domain.job.service;
+
+import com.ainan.ecommforallbackend.core.exception.LeaseLostException;
+import com.ainan.ecommforallbackend.domain.job.dto.ShardRange;
+import com.ainan.ecommforallbackend.domain.job.entity.JobOutcome;
+import com.ainan.ecommforallbackend.domain.job.repository.JobLockRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("JobCoordinator Unit Tests")
+class JobCoordinatorTest {
+
+    @Mock
+    private JobLockRepository jobLockRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private JobCoordinator jobCoordinator;
+
+    @BeforeEach
+    void setUp() {
+        jobCoordinator = new JobCoordinator(jobLockRepository, meterRegistry, "node-1");
+    }
+
+    @Nested
+    @DisplayName("runExclusive()")
+    class RunExclusive {
+        @Test
+        @DisplayName("runs the work under a fresh token and records success")
+        void runsAndReleases() {
+            given(jobLockRepository.tryAcquire(eq("job"), startsWith("node-1/"), eq(300L))).willReturn(Optional.of(7L));
+            List<Long> tokens = new ArrayList<>();
+
+            boolean ran = jobCoordinator.runExclusive("job", lease -> tokens.add(lease.getToken()));
+
+            assertThat(ran).isTrue();
+            assertThat(tokens).containsExactly(7L);
+            verify(jobLockRepository).release(eq("job"), eq(7L), eq(30L), anyLong(), eq(JobOutcome.SUCCEEDED), isNull());
+            assertThat(meterRegistry.timer("jobs.runs", "job", "job", "outcome", "SUCCEEDED").count()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("skips the run while another node holds the lease")
+        void skipsWhenHeld() {
+            given(jobLockRepository.tryAcquire(anyString(), anyString(), anyLong())).willReturn(Optional.empty());
+
+            boolean ran = jobCoordinator.runExclusive("job", lease -> {
+                throw new AssertionError("must not run");
+            });
+
+            assertThat(ran).isFalse();
+            verify(jobLockRepository, never()).release(anyString(), anyLong(), anyLong(), anyLong(), eq(JobOutcome.SUCCEEDED), isNull());
+        }
+
+        @Test
+        @DisplayName("records a failure with its message and rethrows it")
+        void recordsFailure() {
+            given(jobLockRepository.tryAcquire(anyString(), anyString(), anyLong())).willReturn(Optional.of(1L));
+
+            assertThatThrownBy(() -> jobCoordinator.runExclusive("job", lease -> {
+                throw new IllegalStateException("boom");
+            })).isInstanceOf(IllegalStateException.class);
+
+            verify(jobLockRepository).release(eq("job"), eq(1L), eq(30L), anyLong(), eq(JobOutcome.FAILED),
+                    eq("IllegalStateException: boom"));
+        }
+
+        @Test
+        @DisplayName("stops quietly when a checkpoint finds the lease taken over")
+        void stopsOnLostLease() {
+            given(jobLockRepository.tryAcquire(anyString(), anyString(), anyLong())).willReturn(Optional.of(1L));
+            given(jobLockRepository.renew("job", 1L, 300L)).willReturn(false);
+
+            boolean ran = jobCoordinator.runExclusive("job", JobLease::checkpoint);
+
+            assertThat(ran).isFalse();
+            verify(jobLockRepository).release(eq("job"), eq(1L), eq(30L), anyLong(), eq(JobOutcome.LEASE_LOST), isNull());
+        }
+    }
+
+    @Nested
+    @DisplayName("runSharded()")
+    class RunSharded {
+        @Test
+        @DisplayName("runs every free shard once and covers the key space without gaps")
+        void coversAllShards() {
+            given(jobLockRepository.tryAcquire(startsWith("job["), anyString(), anyLong())).willReturn(Optional.of(1L));
+            given(jobLockRepository.tryAcquire(eq("job[2/4]"), anyString(), anyLong())).willReturn(Optional.empty());
+            List<ShardRange> ranges = new ArrayList<>();
+
+            int total = jobCoordinator.runSharded("job", 4, lease -> {
+                ranges.add(lease.getShard());
+                return 10;
+            });
+
+            assertThat(total).isEqualTo(30);
+            assertThat(ranges).extracting(ShardRange::index).containsExactlyInAnyOrder(0, 1, 3);
+
+            List<ShardRange> all = List.of(ShardRange.of(0, 4), ShardRange.of(1, 4), ShardRange.of(2, 4), ShardRange.of(3, 4));
+            assertThat(all.get(0).lower()).isEqualTo(new UUID(0L, 0L));
+            assertThat(all.get(3).upper()).isNull();
+            for (int i = 0; i < 3; i++) {
+                assertThat(all.get(i).upper()).isEqualTo(all.get(i + 1).lower());
+                // uuids compare unsigned in PostgreSQL
+                assertThat(Long.compareUnsigned(all.get(i).lower().getMostSignificantBits(),
+                        all.get(i + 1).lower().getMostSignificantBits())).isNegative();
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.ainan.ecommforallbackend.domain.order.service;
+
+import com.ainan.ecommforallbackend.domain.order.dto.OrderExportType;
+import com.ainan.ecommforallbackend.domain.order.repository.OrderExportRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OrderExportServiceImpl Unit Tests")
+class OrderExportServiceImplTest {
+
+    @Mock
+    private OrderExportRepository exportRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OrderExportServiceImpl exportService;
+
+    private final LocalDateTime from = LocalDateTime.of(2026, 1, 1, 0, 0);
+    private final LocalDateTime to = LocalDateTime.of(2026, 2, 1, 0, 0);
+
+    @BeforeEach
+    void setUp() {
+        exportService = new OrderExportServiceImpl(exportRepository, transactionManager);
+        ReflectionTestUtils.setField(exportService, "chunkSize", 2);
+    }
+
+    @Test
+    @DisplayName("pages by keyset and writes gzip CSV with escaped cells")
+    void streamsChunksAsGzipCsv() throws IOException {
+        Object[] first = orderRow(UUID.randomUUID(), from.plusHours(1), "Pay, later");
+        Object[] second = orderRow(UUID.randomUUID(), from.plusHours(2), "=HYPERLINK()");
+        Object[] third = orderRow(UUID.randomUUID(), from.plusHours(3), null);
+        given(exportRepository.findOrderChunk(eq(from), eq(to), isNull(), isNull(), isNull(), eq(2)))
+                .willReturn(List.of(first, second));
+        given(exportRepository.findOrderChunk(from, to, null, (LocalDateTime) second[1], (UUID) second[0], 2))
+                .willReturn(new ArrayList<>(List.<Object[]>of(third)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = exportService.export(OrderExportType.ORDERS, from, to, null, out);
+
+        assertThat(rows).isEqualTo(3);
+        String csv = new String(new GZIPInputStream(new ByteArrayInputStream(out.toByteArray())).readAllBytes(),
+                StandardCharsets.UTF_8);
+        String[] lines = csv.split("\r\n");
+        assertThat(lines).hasSize(4);
+        assertThat(lines[0]).startsWith("order_id,created_at,user_id");
+        assertThat(lines[1]).contains("\"Pay, later\"").contains(",12.50");
+        assertThat(lines[2]).contains(",'=HYPERLINK()");
+        verify(exportRepository).findOrderChunk(any(), any(), isNull(), any(LocalDateTime.class), any(UUID.class), eq(2));
+    }
+
+    private static Object[] orderRow(UUID id, LocalDateTime createdAt, String paymentMethod) {
+        Object[] row = new Object[OrderExportRepository.ORDER_COLUMNS.size()];
+        row[0] = id;
+        row[1] = createdAt;
+        row[4] = "PENDING";
+        row[9] = new BigDecimal("12.50");
+        row[10] = paymentMethod;
+        return row;
+    }
+}
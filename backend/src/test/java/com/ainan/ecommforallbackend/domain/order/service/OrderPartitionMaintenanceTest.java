@@ -0,0 +1,69 @@
+package com.ainan.ecommforallbackend.domain.order.service;
+
+import com.ainan.ecommforallbackend.domain.job.service.JobCoordinator;
+import com.ainan.ecommforallbackend.domain.order.repository.OrderPartitionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OrderPartitionMaintenance Unit Tests")
+class OrderPartitionMaintenanceTest {
+
+    @Mock
+    private OrderPartitionRepository partitionRepository;
+    @Mock
+    private JobCoordinator jobCoordinator;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OrderPartitionMaintenance maintenance;
+
+    @BeforeEach
+    void setUp() {
+        maintenance = new OrderPartitionMaintenance(partitionRepository, jobCoordinator, transactionManager);
+    }
+
+    @Test
+    @DisplayName("does nothing while orders is not partitioned")
+    void skipsUnpartitionedTable() {
+        given(partitionRepository.isOrdersPartitioned()).willReturn(false);
+
+        maintenance.maintain();
+
+        verify(partitionRepository, never()).createPartition(any());
+    }
+
+    @Test
+    @DisplayName("creates upcoming partitions and drops only those past the archive horizon")
+    void createsAheadAndDropsArchived() {
+        ReflectionTestUtils.setField(maintenance, "archiveEnabled", true);
+        YearMonth current = YearMonth.now();
+        YearMonth old = current.minusMonths(14);
+        YearMonth recent = current.minusMonths(6);
+        given(partitionRepository.isOrdersPartitioned()).willReturn(true);
+        given(partitionRepository.findMonthlyPartitions()).willReturn(List.of(old, recent, current));
+        given(partitionRepository.dropPartitionIfEmpty(old)).willReturn(true);
+
+        maintenance.maintain();
+
+        for (int i = 0; i <= 3; i++) {
+            verify(partitionRepository).createPartition(current.plusMonths(i));
+        }
+        verify(partitionRepository).dropPartitionIfEmpty(old);
+        verify(partitionRepository, never()).dropPartitionIfEmpty(recent);
+    }
+}
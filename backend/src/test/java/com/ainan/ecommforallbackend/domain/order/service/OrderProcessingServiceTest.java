@@ -0,0 +1,103 @@
+package com.ainan.ecommforallbackend.domain.order.service;
+
+import com.ainan.ecommforallbackend.core.exception.LeaseLostException;
+import com.ainan.ecommforallbackend.domain.inventory.repository.InventoryRepository;
+import com.ainan.ecommforallbackend.domain.job.dto.ShardRange;
+import com.ainan.ecommforallbackend.domain.job.service.JobCoordinator;
+import com.ainan.ecommforallbackend.domain.job.service.JobLease;
+import com.ainan.ecommforallbackend.domain.order.repository.OrderBatchRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.ToIntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willDoNothing;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OrderProcessingService Unit Tests")
+class OrderProcessingServiceTest {
+
+    @Mock
+    private OrderBatchRepository orderBatchRepository;
+    @Mock
+    private InventoryRepository inventoryRepository;
+    @Mock
+    private JobCoordinator jobCoordinator;
+    @Mock
+    private JobLease lease;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private OrderProcessingService orderProcessingService;
+
+    @BeforeEach
+    void setUp() {
+        orderProcessingService = new OrderProcessingService(orderBatchRepository, inventoryRepository,
+                meterRegistry, jobCoordinator, transactionManager);
+        ReflectionTestUtils.setField(orderProcessingService, "chunkSize", 2);
+        // Run the work as if this node held the lease of the whole key space
+        given(lease.getShard()).willReturn(ShardRange.ALL);
+        given(jobCoordinator.runSharded(anyString(), eq(1), any())).willAnswer(invocation ->
+                invocation.<ToIntFunction<JobLease>>getArgument(2).applyAsInt(lease));
+    }
+
+    @Test
+    @DisplayName("processes chunks until one comes back short and records progress")
+    void processesInChunks() {
+        given(orderBatchRepository.markPaidOrdersProcessing(any(), any(), anyInt())).willReturn(2, 2, 1);
+
+        int updated = orderProcessingService.processCompletedPayments();
+
+        assertThat(updated).isEqualTo(5);
+        verify(orderBatchRepository, times(3)).markPaidOrdersProcessing(eq(ShardRange.ALL), any(), anyInt());
+        verify(lease, times(3)).checkpoint();
+        assertThat(meterRegistry.counter("orders.jobs.updated", "job", OrderProcessingService.PROCESS_COMPLETED_PAYMENTS).count())
+                .isEqualTo(5);
+        assertThat(meterRegistry.counter("orders.jobs.chunks", "job", OrderProcessingService.PROCESS_COMPLETED_PAYMENTS).count())
+                .isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("returns the stock of every cancelled chunk")
+    void restoresStockForCancelledOrders() {
+        List<UUID> firstChunk = List.of(UUID.randomUUID(), UUID.randomUUID());
+        given(orderBatchRepository.cancelStalePendingOrders(any(), any(), any(), anyString(), anyInt()))
+                .willReturn(firstChunk, List.of());
+
+        int cancelled = orderProcessingService.cancelStalePendingOrders();
+
+        assertThat(cancelled).isEqualTo(2);
+        verify(inventoryRepository, times(1)).restoreForOrders(firstChunk);
+    }
+
+    @Test
+    @DisplayName("stops before the next chunk once the lease is lost")
+    void stopsWhenLeaseIsLost() {
+        given(orderBatchRepository.markPaidOrdersProcessing(any(), any(), anyInt())).willReturn(2);
+        willDoNothing().willThrow(new LeaseLostException("taken over")).given(lease).checkpoint();
+
+        // The coordinator turns this into a LEASE_LOST outcome
+        assertThatThrownBy(() -> orderProcessingService.processCompletedPayments())
+                .isInstanceOf(LeaseLostException.class);
+        verify(orderBatchRepository, times(1)).markPaidOrdersProcessing(any(), any(), anyInt());
+    }
+}
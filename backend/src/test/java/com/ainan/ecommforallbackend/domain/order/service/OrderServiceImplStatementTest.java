@@ -0,0 +1,207 @@
+package com.ainan.ecommforallbackend.domain.order.service;
+
+import com.ainan.ecommforallbackend.core.config.PricingProperties;
+import com.ainan.ecommforallbackend.domain.analytics.service.SalesRollupService;
+import com.ainan.ecommforallbackend.domain.brand.entity.Brand;
+import com.ainan.ecommforallbackend.domain.cart.entity.CartItem;
+import com.ainan.ecommforallbackend.domain.cart.entity.ShoppingCart;
+import com.ainan.ecommforallbackend.domain.cart.repository.ShoppingCartRepository;
+import com.ainan.ecommforallbackend.domain.cart.service.ShoppingCartService;
+import com.ainan.ecommforallbackend.domain.category.entity.Category;
+import com.ainan.ecommforallbackend.domain.inventory.service.InventoryService;
+import com.ainan.ecommforallbackend.domain.order.dto.OrderCreateDto;
+import com.ainan.ecommforallbackend.domain.order.dto.OrderItemCreateDto;
+import com.ainan.ecommforallbackend.domain.order.mapper.OrderMapper;
+import com.ainan.ecommforallbackend.domain.order.repository.OrderArchiveRepository;
+import com.ainan.ecommforallbackend.domain.order.repository.OrderBatchRepository;
+import com.ainan.ecommforallbackend.domain.order.repository.OrderItemRepository;
+import com.ainan.ecommforallbackend.domain.order.repository.OrderRepository;
+import com.ainan.ecommforallbackend.domain.outbox.service.OutboxService;
+import com.ainan.ecommforallbackend.domain.pricing.service.PricingPlan;
+import com.ainan.ecommforallbackend.domain.product.entity.Product;
+import com.ainan.ecommforallbackend.domain.product.entity.ProductVariant;
+import com.ainan.ecommforallbackend.domain.product.repository.ProductRepository;
+import com.ainan.ecommforallbackend.domain.product.repository.ProductVariantRepository;
+import com.ainan.ecommforallbackend.domain.product.service.ProductImageService;
+import com.ainan.ecommforallbackend.domain.user.entity.RoleName;
+import com.ainan.ecommforallbackend.domain.user.entity.User;
+import com.ainan.ecommforallbackend.domain.user.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Counts the statements checkout really sends to the database: the repositories, entity mappings
+ * and JDBC batching are the application's own, on an in-memory database. The collaborators that
+ * only run PostgreSQL-specific SQL are mocked.
+ */
+@DataJpaTest(showSql = false, properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.HSQLDialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.sql.init.schema-locations=classpath:db/hsqldb-types.sql"
+})
+@DisplayName("OrderServiceImpl Statement Count Tests")
+class OrderServiceImplStatementTest {
+
+    private static final int LINES = 20;
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+    @Autowired
+    private OrderArchiveRepository orderArchiveRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private ProductVariantRepository productVariantRepository;
+    @Autowired
+    private ShoppingCartRepository shoppingCartRepository;
+
+    private OrderServiceImpl orderService;
+    private Statistics statistics;
+    private User user;
+    private final List<Product> products = new ArrayList<>();
+    private final List<ProductVariant> variants = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        orderService = new OrderServiceImpl(orderRepository, orderItemRepository, orderArchiveRepository,
+                mock(OrderBatchRepository.class), userRepository, productRepository, productVariantRepository,
+                mock(ShoppingCartService.class), Mappers.getMapper(OrderMapper.class), mock(ProductImageService.class),
+                mock(InventoryService.class), mock(OutboxService.class), mock(SalesRollupService.class),
+                PricingPlan.compile(new PricingProperties()), new TaxRegionResolver(new ObjectMapper()));
+
+        user = entityManager.persist(user("buyer"));
+        User seller = entityManager.persist(user("seller"));
+        // Every line from another brand and category, so per-row lookups of either would show up
+        for (int i = 0; i < LINES / 2; i++) {
+            Category parent = entityManager.persist(category("parent-" + i, null));
+            Category category = entityManager.persist(category("category-" + i, parent));
+            Brand brand = new Brand();
+            brand.setName("Brand " + i);
+            brand.setDescription("Brand " + i);
+            entityManager.persist(brand);
+
+            Product product = new Product();
+            product.setName("Product " + i);
+            product.setSku("P-" + i);
+            product.setPrice(new BigDecimal("10.00"));
+            product.setBrand(brand);
+            product.setCategory(category);
+            product.setSeller(seller);
+            products.add(entityManager.persist(product));
+
+            ProductVariant variant = new ProductVariant();
+            variant.setProduct(product);
+            variant.setSku("V-" + i);
+            variant.setPrice(new BigDecimal("12.00"));
+            variant.setStock(100);
+            variant.setAttributeValues(Map.of("size", "M"));
+            variants.add(entityManager.persist(variant));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("creates a 20-line order with a fixed number of statements and one batch for the items")
+    void boundsStatementsPerCheckout() {
+        OrderCreateDto createDto = new OrderCreateDto();
+        createDto.setFromCart(false);
+        List<OrderItemCreateDto> items = new ArrayList<>();
+        for (int i = 0; i < LINES / 2; i++) {
+            items.add(new OrderItemCreateDto(products.get(i).getId(), null, 1));
+            items.add(new OrderItemCreateDto(products.get(i).getId(), variants.get(i).getId(), 2));
+        }
+        createDto.setItems(items);
+
+        orderService.createOrder(createDto, user.getId().toString());
+        entityManager.flush();
+
+        // User, products, variants, the order, and one batch for all of its items
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(5);
+        assertThat(statistics.getEntityFetchCount()).isZero();
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1 + LINES);
+    }
+
+    @Test
+    @DisplayName("loads a cart with its items, products and variants in one statement")
+    void loadsCartInOneStatement() {
+        ShoppingCart cart = new ShoppingCart();
+        cart.setUser(entityManager.find(User.class, user.getId()));
+        for (int i = 0; i < LINES / 2; i++) {
+            cart.getCartItems().add(cartItem(cart, products.get(i), null));
+            cart.getCartItems().add(cartItem(cart, products.get(i), variants.get(i)));
+        }
+        entityManager.persist(cart);
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        ShoppingCart loaded = shoppingCartRepository.findWithItemsByUserId(user.getId()).orElseThrow();
+        loaded.getCartItems().forEach(item -> {
+            item.getProduct().getName();
+            if (item.getVariant() != null) {
+                item.getVariant().getSku();
+            }
+        });
+
+        assertThat(loaded.getCartItems()).hasSize(LINES);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityFetchCount()).isZero();
+    }
+
+    private static User user(String name) {
+        User user = new User();
+        user.setFirstName(name);
+        user.setLastName(name);
+        user.setUsername(name);
+        user.setEmail(name + "@example.com");
+        user.setPassword("secret");
+        user.setRole(RoleName.USER);
+        return user;
+    }
+
+    private static Category category(String name, Category parent) {
+        Category category = new Category();
+        category.setName(name);
+        category.setSlug(name);
+        category.setParent(parent);
+        return category;
+    }
+
+    private static CartItem cartItem(ShoppingCart cart, Product product, ProductVariant variant) {
+        CartItem item = new CartItem();
+        item.setCart(cart);
+        item.setProduct(product);
+        item.setVariant(variant);
+        item.setQuantity(1);
+        return item;
+    }
+}
@@ -0,0 +1,333 @@
+package com.ainan.ecommforallbackend.domain.order.service;
+
+import com.ainan.ecommforallbackend.core.config.PricingProperties;
+import com.ainan.ecommforallbackend.core.exception.ResourceNotFoundException;
+import com.ainan.ecommforallbackend.domain.analytics.service.SalesRollupService;
+import com.ainan.ecommforallbackend.domain.cart.dto.CartItemDto;
+import com.ainan.ecommforallbackend.domain.cart.service.ShoppingCartService;
+import com.ainan.ecommforallbackend.domain.inventory.service.InventoryService;
+import com.ainan.ecommforallbackend.domain.order.dto.BulkUpdateOutcome;
+import com.ainan.ecommforallbackend.domain.order.dto.OrderBulkStatusUpdateDto;
+import com.ainan.ecommforallbackend.domain.order.dto.OrderBulkUpdateResultDto;
+import com.ainan.ecommforallbackend.domain.order.dto.OrderCreateDto;
+import com.ainan.ecommforallbackend.domain.order.dto.OrderItemCreateDto;
+import com.ainan.ecommforallbackend.domain.order.dto.OrderListItemDto;
+import com.ainan.ecommforallbackend.domain.order.dto.OrderSummaryDto;
+import com.ainan.ecommforallbackend.domain.order.entity.Order;
+import com.ainan.ecommforallbackend.domain.order.entity.OrderEventType;
+import com.ainan.ecommforallbackend.domain.order.entity.OrderStatus;
+import com.ainan.ecommforallbackend.domain.order.entity.PaymentStatus;
+import com.ainan.ecommforallbackend.domain.order.mapper.OrderMapper;
+import com.ainan.ecommforallbackend.domain.order.repository.OrderArchiveRepository;
+import com.ainan.ecommforallbackend.domain.order.repository.OrderBatchRepository;
+import com.ainan.ecommforallbackend.domain.order.repository.OrderItemRepository;
+import com.ainan.ecommforallbackend.domain.order.repository.OrderRepository;
+import com.ainan.ecommforallbackend.domain.order.repository.OrderStatusView;
+import com.ainan.ecommforallbackend.domain.order.repository.OrderSummaryView;
+import com.ainan.ecommforallbackend.domain.outbox.service.OutboxService;
+import com.ainan.ecommforallbackend.domain.pricing.service.PricingPlan;
+import com.ainan.ecommforallbackend.domain.product.entity.Product;
+import com.ainan.ecommforallbackend.domain.product.entity.ProductVariant;
+import com.ainan.ecommforallbackend.domain.product.repository.ProductRepository;
+import com.ainan.ecommforallbackend.domain.product.repository.ProductVariantRepository;
+import com.ainan.ecommforallbackend.domain.product.service.ProductImageService;
+import com.ainan.ecommforallbackend.domain.user.entity.User;
+import com.ainan.ecommforallbackend.domain.user.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OrderServiceImpl Unit Tests")
+class OrderServiceImplTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+    @Mock
+    private OrderItemRepository orderItemRepository;
+    @Mock
+    private OrderArchiveRepository orderArchiveRepository;
+    @Mock
+    private OrderBatchRepository orderBatchRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private ProductRepository productRepository;
+    @Mock
+    private ProductVariantRepository productVariantRepository;
+    @Mock
+    private ShoppingCartService shoppingCartService;
+    @Mock
+    private OrderMapper orderMapper;
+    @Mock
+    private ProductImageService productImageService;
+    @Mock
+    private InventoryService inventoryService;
+    @Mock
+    private OutboxService outboxService;
+    @Mock
+    private SalesRollupService salesRollupService;
+    @Spy
+    private PricingPlan pricingPlan = PricingPlan.compile(new PricingProperties());
+    @Spy
+    private TaxRegionResolver taxRegionResolver = new TaxRegionResolver(new ObjectMapper());
+
+    @InjectMocks
+    private OrderServiceImpl orderService;
+
+    private final UUID userId = UUID.randomUUID();
+    private final User user = new User();
+    private final List<Product> products = new ArrayList<>();
+    private final List<ProductVariant> variants = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        user.setId(userId);
+        lenient().when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+
+        for (int i = 0; i < 10; i++) {
+            Product product = new Product();
+            product.setId(UUID.randomUUID());
+            product.setName("Product " + i);
+            product.setPrice(new BigDecimal("10.00"));
+            products.add(product);
+
+            ProductVariant variant = new ProductVariant();
+            variant.setId(UUID.randomUUID());
+            variant.setProduct(product);
+            variant.setSku("SKU-" + i);
+            variant.setPrice(new BigDecimal("12.00"));
+            variants.add(variant);
+        }
+    }
+
+    @Nested
+    @DisplayName("createOrder()")
+    class CreateOrder {
+        @Test
+        @DisplayName("builds and prices every line of a 20-line cart")
+        void buildsEveryCartLine() {
+            List<CartItemDto> cartItems = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                cartItems.add(cartItem(products.get(i).getId(), null, 1));
+                cartItems.add(cartItem(products.get(i).getId(), variants.get(i).getId(), 2));
+            }
+            Order order = new Order();
+            order.setUser(user);
+            given(shoppingCartService.getCartItems(userId.toString())).willReturn(cartItems);
+            given(orderMapper.toEntity(any(OrderCreateDto.class), any(User.class))).willReturn(order);
+            given(productRepository.findWithReferencesByIdIn(anySet())).willReturn(products);
+            given(productVariantRepository.findAllById(anySet())).willReturn(variants);
+            given(orderRepository.save(any(Order.class))).willAnswer(invocation -> invocation.getArgument(0));
+
+            orderService.createOrder(new OrderCreateDto(), userId.toString());
+
+            ArgumentCaptor<Order> saved = ArgumentCaptor.forClass(Order.class);
+            verify(orderRepository).save(saved.capture());
+            assertThat(saved.getValue().getItems()).hasSize(20);
+            assertThat(saved.getValue().getSubtotal()).isEqualByComparingTo("340.00");
+            assertThat(saved.getValue().getTax()).isEqualByComparingTo("34.00");
+            assertThat(saved.getValue().getTotalAmount()).isEqualByComparingTo("374.00");
+
+            verify(inventoryService, times(1)).decrementStock(anyList());
+            verify(outboxService).publish(eq(OrderEventType.AGGREGATE_TYPE), any(), eq(OrderEventType.ORDER_CREATED.name()), any());
+        }
+
+        @Test
+        @DisplayName("rejects a variant that belongs to another product")
+        void rejectsForeignVariant() {
+            OrderCreateDto createDto = new OrderCreateDto();
+            createDto.setFromCart(false);
+            createDto.setItems(List.of(new OrderItemCreateDto(products.get(0).getId(), variants.get(1).getId(), 1)));
+            given(orderMapper.toEntity(any(OrderCreateDto.class), any(User.class))).willReturn(new Order());
+            given(productRepository.findWithReferencesByIdIn(anySet())).willReturn(List.of(products.get(0)));
+            given(productVariantRepository.findAllById(anySet())).willReturn(List.of(variants.get(1)));
+
+            assertThatThrownBy(() -> orderService.createOrder(createDto, userId.toString()))
+                    .isInstanceOf(ResourceNotFoundException.class);
+            verify(orderRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("rejects a tax region outside the shipping address country")
+        void rejectsRegionNotMatchingAddress() {
+            OrderCreateDto createDto = new OrderCreateDto();
+            createDto.setShippingAddress("{\"city\":\"Berlin\",\"country\":\"DE\"}");
+            createDto.setRegion("US-OR");
+
+            assertThatThrownBy(() -> orderService.createOrder(createDto, userId.toString()))
+                    .isInstanceOf(IllegalArgumentException.class);
+            verify(shoppingCartService, never()).getCartItems(any());
+            verify(orderRepository, never()).save(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("getAllOrders()")
+    class GetAllOrders {
+        @Test
+        @DisplayName("loads a page with a fixed number of queries and keeps the id order")
+        void twoPhaseFetch() {
+            List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+            PageRequest pageable = PageRequest.of(0, 3);
+            given(orderRepository.findPageOfIds(pageable)).willReturn(new PageImpl<>(ids, pageable, 7));
+            List<Order> loaded = new ArrayList<>();
+            for (UUID id : ids) {
+                Order order = new Order();
+                order.setId(id);
+                order.setUser(user);
+                loaded.add(0, order);
+            }
+            given(orderRepository.findWithUserByIdIn(ids)).willReturn(loaded);
+            given(orderItemRepository.countByOrderIds(ids)).willReturn(List.<Object[]>of(new Object[]{ids.get(1), 4L}));
+            given(orderMapper.toListItemDto(any(Order.class))).willAnswer(invocation -> {
+                OrderListItemDto dto = new OrderListItemDto();
+                dto.setId(invocation.<Order>getArgument(0).getId());
+                return dto;
+            });
+
+            Page<OrderListItemDto> page = orderService.getAllOrders(pageable, false);
+
+            assertThat(page.getTotalElements()).isEqualTo(7);
+            assertThat(page.getContent()).extracting(OrderListItemDto::getId).containsExactlyElementsOf(ids);
+            assertThat(page.getContent()).extracting(OrderListItemDto::getItemCount).containsExactly(0, 4, 0);
+            assertThat(page.getContent()).allSatisfy(dto -> assertThat(dto.getItems()).isNull());
+            verify(orderRepository, never()).findWithItemsByIdIn(any());
+            verify(orderMapper, never()).toDto(any(Order.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("getUserOrders()")
+    class GetUserOrders {
+        private final OrderSummaryView view = mock(OrderSummaryView.class);
+        private final OrderSummaryDto summary = new OrderSummaryDto();
+
+        @Test
+        @DisplayName("maps the page of summary projections")
+        void mapsSummaryPage() {
+            PageRequest pageable = PageRequest.of(1, 1);
+            given(orderRepository.findSummariesByUserId(userId, pageable))
+                    .willReturn(new PageImpl<>(List.of(view), pageable, 5));
+            given(orderMapper.toSummaryDto(view)).willReturn(summary);
+
+            Page<OrderSummaryDto> page = orderService.getUserOrders(userId.toString(), pageable);
+
+            assertThat(page.getContent()).containsExactly(summary);
+            assertThat(page.getTotalElements()).isEqualTo(5);
+        }
+
+        @Test
+        @DisplayName("loads recent orders newest first without counting them")
+        void recentOrdersSkipCount() {
+            given(orderRepository.findSummaryListByUserId(eq(userId), any())).willReturn(List.of(view));
+            given(orderMapper.toSummaryDto(view)).willReturn(summary);
+
+            List<OrderSummaryDto> recent = orderService.getRecentUserOrders(userId.toString(), 3);
+
+            assertThat(recent).containsExactly(summary);
+            ArgumentCaptor<Pageable> captor = ArgumentCaptor.forClass(Pageable.class);
+            verify(orderRepository).findSummaryListByUserId(eq(userId), captor.capture());
+            assertThat(captor.getValue().getPageSize()).isEqualTo(3);
+            assertThat(captor.getValue().getSort()).isEqualTo(Sort.by(Sort.Direction.DESC, "createdAt"));
+            verify(orderRepository, never()).findSummariesByUserId(any(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("bulkUpdateOrderStatus()")
+    class BulkUpdateOrderStatus {
+        @Test
+        @DisplayName("validates against one load, updates the valid orders in one statement and reports each order")
+        void reportsPerOrder() {
+            UUID processing = UUID.randomUUID();
+            UUID pending = UUID.randomUUID();
+            UUID shipped = UUID.randomUUID();
+            UUID raced = UUID.randomUUID();
+            UUID missing = UUID.randomUUID();
+            given(orderRepository.findStatusesByIdIn(any())).willReturn(List.of(
+                    view(processing, OrderStatus.PROCESSING), view(pending, OrderStatus.PENDING),
+                    view(shipped, OrderStatus.SHIPPED), view(raced, OrderStatus.PROCESSING)));
+            given(orderBatchRepository.updateStatuses(anyMap(), eq(OrderStatus.SHIPPED), eq("TRACK-1"), eq("DHL"),
+                    isNull(), any())).willReturn(List.of(processing));
+
+            OrderBulkUpdateResultDto result = orderService.bulkUpdateOrderStatus(new OrderBulkStatusUpdateDto(
+                    List.of(processing, pending, shipped, raced, missing, processing),
+                    OrderStatus.SHIPPED, "TRACK-1", "DHL", null), "admin");
+
+            assertThat(result.getUpdated()).isEqualTo(1);
+            assertThat(result.getResults()).extracting(OrderBulkUpdateResultDto.Line::getOrderId)
+                    .containsExactly(processing, pending, shipped, raced, missing);
+            assertThat(result.getResults()).extracting(OrderBulkUpdateResultDto.Line::getOutcome).containsExactly(
+                    BulkUpdateOutcome.UPDATED, BulkUpdateOutcome.INVALID_TRANSITION, BulkUpdateOutcome.UNCHANGED,
+                    BulkUpdateOutcome.CONFLICT, BulkUpdateOutcome.NOT_FOUND);
+
+            ArgumentCaptor<Map<UUID, OrderStatus>> expected = ArgumentCaptor.forClass(Map.class);
+            verify(orderBatchRepository).updateStatuses(expected.capture(), any(), any(), any(), any(), any());
+            assertThat(expected.getValue()).containsOnlyKeys(processing, raced);
+            verify(orderRepository, never()).findById(any());
+        }
+
+        private OrderStatusView view(UUID id, OrderStatus status) {
+            return new OrderStatusView() {
+                @Override
+                public UUID getId() {
+                    return id;
+                }
+
+                @Override
+                public OrderStatus getStatus() {
+                    return status;
+                }
+
+                @Override
+                public PaymentStatus getPaymentStatus() {
+                    return PaymentStatus.COMPLETED;
+                }
+            };
+        }
+    }
+
+    private static CartItemDto cartItem(UUID productId, UUID variantId, int quantity) {
+        CartItemDto item = new CartItemDto();
+        item.setProductId(productId);
+        item.setVariantId(variantId);
+        item.setQuantity(quantity);
+        return item;
+    }
+}
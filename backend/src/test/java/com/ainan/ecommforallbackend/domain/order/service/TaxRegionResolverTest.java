@@ -0,0 +1,58 @@
+package com.ainan.ecommforallbackend.domain.order.service;
+
+import com.ainan.ecommforallbackend.domain.order.dto.OrderCreateDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("TaxRegionResolver Unit Tests")
+class TaxRegionResolverTest {
+
+    private final TaxRegionResolver resolver = new TaxRegionResolver(new ObjectMapper());
+
+    @Test
+    @DisplayName("derives the region from the shipping address")
+    void derivesFromShippingAddress() {
+        assertThat(resolver.resolve(order("{\"country\":\"de\"}", "{\"country\":\"FR\"}", null))).isEqualTo("DE");
+        assertThat(resolver.resolve(order("{\"country\":\"US\",\"state\":\"ca\"}", null, null))).isEqualTo("US-CA");
+    }
+
+    @Test
+    @DisplayName("falls back to the billing address when the shipping address has no country")
+    void fallsBackToBillingAddress() {
+        assertThat(resolver.resolve(order("{\"city\":\"Paris\"}", "{\"country\":\"FR\"}", null))).isEqualTo("FR");
+    }
+
+    @Test
+    @DisplayName("lets the requested region narrow the address country down")
+    void requestedRegionNarrowsCountry() {
+        assertThat(resolver.resolve(order("{\"country\":\"US\"}", null, "us-ca"))).isEqualTo("US-CA");
+        assertThat(resolver.resolve(order("{\"country\":\"US\",\"state\":\"CA\"}", null, "US"))).isEqualTo("US-CA");
+    }
+
+    @Test
+    @DisplayName("rejects a requested region elsewhere than the address")
+    void rejectsMismatchedRegion() {
+        assertThatThrownBy(() -> resolver.resolve(order("{\"country\":\"DE\"}", null, "US-OR")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> resolver.resolve(order("{\"country\":\"US\",\"state\":\"CA\"}", null, "US-OR")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("ignores the requested region when no address names a country")
+    void ignoresUncheckableRegion() {
+        assertThat(resolver.resolve(order("1 Main St, Springfield", "not json {", "US-OR"))).isNull();
+    }
+
+    private static OrderCreateDto order(String shippingAddress, String billingAddress, String region) {
+        OrderCreateDto order = new OrderCreateDto();
+        order.setShippingAddress(shippingAddress);
+        order.setBillingAddress(billingAddress);
+        order.setRegion(region);
+        return order;
+    }
+}
@@ -0,0 +1,144 @@
+package com.ainan.ecommforallbackend.domain.outbox.service;
+
+import com.ainan.ecommforallbackend.domain.job.service.JobCoordinator;
+import com.ainan.ecommforallbackend.domain.outbox.dto.OutboxEventDto;
+import com.ainan.ecommforallbackend.domain.outbox.repository.OutboxRelayRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OutboxRelay Unit Tests")
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxRelayRepository relayRepository;
+    @Mock
+    private JobCoordinator jobCoordinator;
+
+    private final RecordingHandler first = new RecordingHandler("first", false);
+    private final RecordingHandler failing = new RecordingHandler("failing", true);
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new OutboxRelay(relayRepository, List.of(first, failing), jobCoordinator, 2);
+        ReflectionTestUtils.setField(relay, "maxAttempts", 3);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        relay.shutdown();
+    }
+
+    @Test
+    @DisplayName("marks an event processed when every handler succeeds")
+    void marksProcessed() throws InterruptedException {
+        OutboxEventDto event = event(1);
+        given(relayRepository.claimDue(any(), any(), eq(100))).willReturn(List.of(event));
+
+        RecordingHandler only = new RecordingHandler("only", false);
+        OutboxRelay singleHandlerRelay = new OutboxRelay(relayRepository, List.of(only), jobCoordinator, 2);
+        try {
+            assertThat(singleHandlerRelay.relay()).isEqualTo(1);
+        } finally {
+            singleHandlerRelay.shutdown();
+        }
+
+        assertThat(only.handled).containsExactly(event.getId());
+        verify(relayRepository).saveReceipt(eq(event.getId()), eq("only"), any());
+        verify(relayRepository).markProcessed(eq(event.getId()), any());
+    }
+
+    @Test
+    @DisplayName("schedules a retry and only re-runs handlers without a receipt")
+    void retriesWithoutRerunningSucceededHandlers() {
+        OutboxEventDto event = event(2);
+        given(relayRepository.findReceipts(event.getId())).willReturn(Set.of("first"));
+
+        relay.dispatch(event);
+
+        assertThat(first.handled).isEmpty();
+        verify(relayRepository).scheduleRetry(eq(event.getId()), any(LocalDateTime.class), anyString());
+        verify(relayRepository, never()).markProcessed(any(), any());
+    }
+
+    @Test
+    @DisplayName("dead-letters an event that exhausted its attempts")
+    void deadLettersAfterMaxAttempts() {
+        OutboxEventDto event = event(3);
+        given(relayRepository.findReceipts(event.getId())).willReturn(Set.of());
+
+        relay.dispatch(event);
+
+        verify(relayRepository).markDead(eq(event.getId()), anyString());
+        verify(relayRepository, never()).scheduleRetry(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("keeps backoff within the configured ceiling")
+    void boundsBackoff() {
+        for (int attempt = 1; attempt < 70; attempt++) {
+            assertThat(relay.backoff(attempt)).isBetween(0L, 600_000L);
+        }
+    }
+
+    private static OutboxEventDto event(int attempts) {
+        OutboxEventDto event = new OutboxEventDto();
+        event.setId(UUID.randomUUID());
+        event.setAggregateType("Order");
+        event.setAggregateId(UUID.randomUUID());
+        event.setEventType("ORDER_CREATED");
+        event.setPayload("{}");
+        event.setAttempts(attempts);
+        return event;
+    }
+
+    private static class RecordingHandler implements OutboxEventHandler {
+        private final String name;
+        private final boolean fail;
+        private final List<UUID> handled = new ArrayList<>();
+
+        RecordingHandler(String name, boolean fail) {
+            this.name = name;
+            this.fail = fail;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public boolean supports(String aggregateType, String eventType) {
+            return true;
+        }
+
+        @Override
+        public void handle(OutboxEventDto event) {
+            if (fail) {
+                throw new IllegalStateException("downstream unavailable");
+            }
+            handled.add(event.getId());
+        }
+    }
+}
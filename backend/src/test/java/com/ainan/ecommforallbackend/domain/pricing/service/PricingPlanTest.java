@@ -0,0 +1,101 @@
+package com.ainan.ecommforallbackend.domain.pricing.service;
+
+import com.ainan.ecommforallbackend.core.config.PricingProperties;
+import com.ainan.ecommforallbackend.domain.pricing.dto.PriceBreakdown;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("PricingPlan Unit Tests")
+class PricingPlanTest {
+
+    private PricingProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new PricingProperties();
+        properties.getTax().getRegions().put("de", new BigDecimal("0.19"));
+        properties.setShippingTiers(List.of(tier("0", "4.99"), tier("50", "0")));
+        PricingProperties.Promotion promotion = new PricingProperties.Promotion();
+        promotion.setName("ten-off-100");
+        promotion.setMinSubtotal(new BigDecimal("100"));
+        promotion.setPercentOff(new BigDecimal("0.10"));
+        properties.setPromotions(List.of(promotion));
+    }
+
+    @Nested
+    @DisplayName("evaluate()")
+    class Evaluate {
+        @Test
+        @DisplayName("keeps the historical defaults: 10% tax, no shipping, no discount")
+        void defaults() {
+            PricingPlan plan = PricingPlan.compile(new PricingProperties());
+
+            PriceBreakdown price = plan.evaluate(new long[]{1999, 500}, new int[]{3, 1}, 2, null);
+
+            assertThat(price).isEqualTo(new PriceBreakdown(6497, 0, 0, 650, 7147));
+        }
+
+        @Test
+        @DisplayName("charges the tier shipping cost and the region's tax rate")
+        void shippingAndRegionalTax() {
+            PricingPlan plan = PricingPlan.compile(properties);
+
+            PriceBreakdown price = plan.evaluate(new long[]{2000}, new int[]{2}, 1, "DE");
+
+            assertThat(price).isEqualTo(new PriceBreakdown(4000, 0, 499, 760, 5259));
+        }
+
+        @Test
+        @DisplayName("falls back from a subdivision to its country's rate")
+        void subdivisionFallsBackToCountry() {
+            properties.getTax().getRegions().put("US", new BigDecimal("0.05"));
+            properties.getTax().getRegions().put("US-CA", new BigDecimal("0.0725"));
+            PricingPlan plan = PricingPlan.compile(properties);
+
+            assertThat(plan.taxRatePpm("us-ca")).isEqualTo(72_500);
+            assertThat(plan.taxRatePpm("US-TX")).isEqualTo(50_000);
+            assertThat(plan.taxRatePpm("FR-75")).isEqualTo(100_000);
+        }
+
+        @Test
+        @DisplayName("applies the promotion before choosing the shipping tier")
+        void promotionThenFreeShipping() {
+            PricingPlan plan = PricingPlan.compile(properties);
+
+            PriceBreakdown price = plan.evaluate(List.of(12000L), cents -> cents, cents -> 1, "fr");
+
+            assertThat(price).isEqualTo(new PriceBreakdown(12000, 1200, 0, 1080, 11880));
+        }
+
+        @Test
+        @DisplayName("prices an empty cart at zero")
+        void emptyCart() {
+            PricingPlan plan = PricingPlan.compile(properties);
+
+            assertThat(plan.evaluate(new long[0], new int[0], 0, null)).isEqualTo(new PriceBreakdown(0, 0, 0, 0, 0));
+        }
+    }
+
+    @Test
+    @DisplayName("rejects invalid rules when compiling")
+    void rejectsInvalidRules() {
+        properties.getTax().setDefaultRate(new BigDecimal("1.5"));
+
+        assertThatThrownBy(() -> PricingPlan.compile(properties)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static PricingProperties.ShippingTier tier(String minSubtotal, String cost) {
+        PricingProperties.ShippingTier tier = new PricingProperties.ShippingTier();
+        tier.setMinSubtotal(new BigDecimal(minSubtotal));
+        tier.setCost(new BigDecimal(cost));
+        return tier;
+    }
+}
@@ -0,0 +1,125 @@
+package com.ainan.ecommforallbackend.domain.product.repository;
+
+import com.ainan.ecommforallbackend.core.exception.ResourceNotFoundException;
+import com.ainan.ecommforallbackend.domain.order.dto.ImageSortOrderDto;
+import com.ainan.ecommforallbackend.domain.product.dto.ProductImageDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ImageReorderSql Unit Tests")
+class ImageReorderSqlTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private final UUID productId = UUID.randomUUID();
+
+    private record Row(UUID id, int sortOrder, long version, String state) {
+    }
+
+    private ImageSortOrderDto order(UUID id, int sortOrder, Long version) {
+        ImageSortOrderDto order = new ImageSortOrderDto();
+        order.setId(id);
+        order.setSortOrder(sortOrder);
+        order.setVersion(version);
+        return order;
+    }
+
+    // Feeds the rows to the statement's row handler as the database would
+    private void returnRows(Row... rows) {
+        willAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (Row row : rows) {
+                handler.processRow(resultSet(row));
+            }
+            return null;
+        }).given(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+    }
+
+    private ResultSet resultSet(Row row) throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        given(rs.getString("state")).willReturn(row.state());
+        given(rs.getObject("id", UUID.class)).willReturn(row.id());
+        if (row.state().equals(ImageReorderSql.STATE_UPDATED) || row.state().equals(ImageReorderSql.STATE_UNCHANGED)) {
+            given(rs.getString("image_url")).willReturn("https://bucket/products/" + row.id() + ".jpg");
+            given(rs.getInt("sort_order")).willReturn(row.sortOrder());
+            given(rs.getLong("version")).willReturn(row.version());
+        }
+        return rs;
+    }
+
+    private List<ProductImageDto> reorder(List<ImageSortOrderDto> orders) {
+        return ImageReorderSql.reorder(jdbcTemplate, "product_image", "product_id", "", productId, orders,
+                (rs, rowNum) -> new ProductImageDto(rs.getObject("id", UUID.class), productId,
+                        rs.getString("image_url"), rs.getString("alt_text"), rs.getInt("sort_order"),
+                        rs.getLong("version")));
+    }
+
+    @Test
+    @DisplayName("returns updated and untouched images as the new ordering")
+    void returnsFullOrdering() {
+        UUID moved = UUID.randomUUID();
+        UUID untouched = UUID.randomUUID();
+        returnRows(new Row(moved, 0, 4, ImageReorderSql.STATE_UPDATED),
+                new Row(untouched, 1, 2, ImageReorderSql.STATE_UNCHANGED));
+
+        List<ProductImageDto> ordering = reorder(List.of(order(moved, 0, 3L)));
+
+        assertThat(ordering).extracting(ProductImageDto::getId).containsExactly(moved, untouched);
+        assertThat(ordering.get(0).getVersion()).isEqualTo(4L);
+    }
+
+    @Test
+    @DisplayName("fails with not found when an image does not belong to the owner")
+    void failsOnMissingImage() {
+        UUID missing = UUID.randomUUID();
+        returnRows(new Row(missing, 0, 0, ImageReorderSql.STATE_MISSING));
+
+        assertThatThrownBy(() -> reorder(List.of(order(missing, 0, null))))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining(missing.toString());
+    }
+
+    @Test
+    @DisplayName("fails with a conflict when a supplied version is out of date")
+    void failsOnStaleVersion() {
+        UUID stale = UUID.randomUUID();
+        returnRows(new Row(stale, 0, 5, ImageReorderSql.STATE_STALE));
+
+        assertThatThrownBy(() -> reorder(List.of(order(stale, 0, 4L))))
+                .isInstanceOf(OptimisticLockingFailureException.class)
+                .hasMessageContaining(stale.toString());
+    }
+
+    @Test
+    @DisplayName("rejects duplicate ids before running the statement")
+    void rejectsDuplicates() {
+        UUID id = UUID.randomUUID();
+
+        assertThatThrownBy(() -> reorder(List.of(order(id, 0, null), order(id, 1, null))))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(jdbcTemplate, never()).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+    }
+}
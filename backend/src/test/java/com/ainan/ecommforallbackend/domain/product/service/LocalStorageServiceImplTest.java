@@ -0,0 +1,134 @@
+package com.ainan.ecommforallbackend.domain.product.service;
+
+import com.ainan.ecommforallbackend.domain.product.dto.StoredObjectDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("LocalStorageServiceImpl Unit Tests")
+class LocalStorageServiceImplTest {
+
+    private static final String SECRET = "test-secret-of-at-least-32-bytes";
+
+    @TempDir
+    Path rootDir;
+
+    private LocalStorageServiceImpl storageService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        storageService = new LocalStorageServiceImpl(rootDir.toString(), "http://localhost:8080/", SECRET);
+    }
+
+    @Test
+    @DisplayName("refuses to start without a signing secret of at least 32 bytes")
+    void rejectsWeakSecret() {
+        assertThatThrownBy(() -> new LocalStorageServiceImpl(rootDir.toString(), "http://localhost:8080", ""))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> new LocalStorageServiceImpl(rootDir.toString(), "http://localhost:8080", "short"))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Nested
+    @DisplayName("uploadFile()")
+    class UploadFile {
+        @Test
+        @DisplayName("stores the file under the folder and returns its public url")
+        void storesFileUnderFolder() throws Exception {
+            MockMultipartFile file = new MockMultipartFile("file", "cat photo.jpg", "image/jpeg", new byte[]{1, 2, 3});
+
+            String url = storageService.uploadFile(file, "products");
+
+            String key = URI.create(url).getPath().substring(LocalStorageServiceImpl.PUBLIC_PATH.length());
+            assertThat(url).startsWith("http://localhost:8080/api/storage/products/");
+            assertThat(Files.readAllBytes(storageService.resolve(key))).containsExactly(1, 2, 3);
+        }
+    }
+
+    @Nested
+    @DisplayName("generatePresignedDownloadUrl()")
+    class GeneratePresignedDownloadUrl {
+        @Test
+        @DisplayName("signs urls that verify until they expire")
+        void signsVerifiableUrls() {
+            String url = storageService.generatePresignedDownloadUrl("api/storage/products/a_b.jpg", 5);
+
+            String query = URI.create(url).getQuery();
+            long expires = Long.parseLong(query.replaceAll(".*expires=(\\d+).*", "$1"));
+            String signature = query.replaceAll(".*signature=([0-9a-f]+).*", "$1");
+
+            assertThat(storageService.isValidSignature("products/a_b.jpg", expires, signature)).isTrue();
+            assertThat(storageService.isValidSignature("products/other.jpg", expires, signature)).isFalse();
+            assertThat(storageService.isValidSignature("products/a_b.jpg", expires + 1, signature)).isFalse();
+        }
+
+        @Test
+        @DisplayName("rejects expired signatures")
+        void rejectsExpiredSignatures() {
+            long expired = Instant.now().minusSeconds(1).getEpochSecond();
+            assertThat(storageService.isValidSignature("products/a_b.jpg", expired, "00")).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("listFiles()")
+    class ListFiles {
+        @Test
+        @DisplayName("pages through keys in S3 order, skipping unfinished uploads")
+        void pagesInKeyOrder() throws Exception {
+            for (String key : List.of("a/x", "a-b", "a/y/z", "b", "a/.upload-1.tmp")) {
+                Files.createDirectories(rootDir.resolve(key).getParent());
+                Files.write(rootDir.resolve(key), new byte[]{1});
+            }
+
+            List<String> first = keys(storageService.listFiles(null, 2));
+            List<String> second = keys(storageService.listFiles(first.get(1), 2));
+            List<String> third = keys(storageService.listFiles(second.get(1), 2));
+
+            assertThat(first).containsExactly("a-b", "a/x");
+            assertThat(second).containsExactly("a/y/z", "b");
+            assertThat(third).isEmpty();
+        }
+
+        @Test
+        @DisplayName("resumes from any key and skips files deleted since the last page")
+        void resumesAfterKey() throws Exception {
+            for (String key : List.of("p/1", "p/2", "p/3", "q/4")) {
+                Files.createDirectories(rootDir.resolve(key).getParent());
+                Files.write(rootDir.resolve(key), new byte[]{1});
+            }
+
+            assertThat(keys(storageService.listFiles(null, 1))).containsExactly("p/1");
+            Files.delete(rootDir.resolve("p/2"));
+            assertThat(keys(storageService.listFiles("p/1", 2))).containsExactly("p/3", "q/4");
+            assertThat(keys(storageService.listFiles("p", 10))).containsExactly("p/1", "p/3", "q/4");
+        }
+
+        private List<String> keys(List<StoredObjectDto> objects) {
+            return objects.stream().map(StoredObjectDto::getKey).toList();
+        }
+    }
+
+    @Nested
+    @DisplayName("resolve()")
+    class Resolve {
+        @Test
+        @DisplayName("rejects keys that escape the storage root")
+        void rejectsTraversal() {
+            assertThatThrownBy(() -> storageService.resolve("../outside.txt"))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.ainan.ecommforallbackend.domain.product.service;
+
+import com.ainan.ecommforallbackend.core.exception.LeaseLostException;
+import com.ainan.ecommforallbackend.domain.brand.repository.BrandRepository;
+import com.ainan.ecommforallbackend.domain.category.repository.CategoryRepository;
+import com.ainan.ecommforallbackend.domain.job.service.JobCoordinator;
+import com.ainan.ecommforallbackend.domain.job.service.JobLease;
+import com.ainan.ecommforallbackend.domain.product.dto.StoredObjectDto;
+import com.ainan.ecommforallbackend.domain.product.entity.StorageGcRun;
+import com.ainan.ecommforallbackend.domain.product.entity.StorageGcStatus;
+import com.ainan.ecommforallbackend.domain.product.repository.ProductImageRepository;
+import com.ainan.ecommforallbackend.domain.product.repository.StorageGcRunRepository;
+import com.ainan.ecommforallbackend.domain.product.repository.VariantImageRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willDoNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OrphanedObjectCollector Unit Tests")
+class OrphanedObjectCollectorTest {
+
+    @Mock
+    private S3Service s3Service;
+    @Mock
+    private StorageGcRunRepository runRepository;
+    @Mock
+    private ProductImageRepository productImageRepository;
+    @Mock
+    private VariantImageRepository variantImageRepository;
+    @Mock
+    private BrandRepository brandRepository;
+    @Mock
+    private CategoryRepository categoryRepository;
+    @Mock
+    private JobCoordinator jobCoordinator;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private JobLease lease;
+
+    private OrphanedObjectCollector collector;
+    private final Instant old = Instant.now().minus(3, ChronoUnit.DAYS);
+
+    @BeforeEach
+    void setUp() {
+        collector = new OrphanedObjectCollector(s3Service, runRepository, productImageRepository,
+                variantImageRepository, brandRepository, categoryRepository, jobCoordinator, transactionManager);
+        ReflectionTestUtils.setField(collector, "pageSize", 2);
+        ReflectionTestUtils.setField(collector, "gracePeriodHours", 24L);
+        ReflectionTestUtils.setField(collector, "maxDeletesPerSecond", 10_000);
+    }
+
+    private void stubPass() {
+        given(runRepository.save(any(StorageGcRun.class))).willAnswer(invocation -> invocation.getArgument(0));
+        given(productImageRepository.streamAllImageUrls()).willReturn(Stream.of("https://bucket/products/kept.jpg"));
+        given(variantImageRepository.streamAllImageUrls()).willReturn(Stream.empty());
+        given(brandRepository.streamAllImageUrls()).willReturn(Stream.empty());
+        given(categoryRepository.streamAllImageUrls()).willReturn(Stream.empty());
+        given(s3Service.getKeyFromUrl("https://bucket/products/kept.jpg")).willReturn("products/kept.jpg");
+    }
+
+    @Test
+    @DisplayName("deletes unreferenced objects and records bytes reclaimed")
+    void deletesOrphans() {
+        stubPass();
+        given(runRepository.findFirstByStatusNotOrderByStartedAtDesc(StorageGcStatus.COMPLETED)).willReturn(Optional.empty());
+        given(s3Service.listFiles(null, 2)).willReturn(List.of(
+                new StoredObjectDto("products/kept.jpg", 10, old),
+                new StoredObjectDto("products/orphan.jpg", 20, old)));
+        given(s3Service.listFiles("products/orphan.jpg", 2)).willReturn(List.of(
+                new StoredObjectDto("products/fresh.jpg", 40, Instant.now())));
+        given(s3Service.deleteFiles(List.of("products/orphan.jpg"))).willReturn(List.of("products/orphan.jpg"));
+
+        StorageGcRun run = collector.collect(lease).orElseThrow();
+
+        assertThat(run.getStatus()).isEqualTo(StorageGcStatus.COMPLETED);
+        assertThat(run.getObjectsScanned()).isEqualTo(3);
+        assertThat(run.getObjectsDeleted()).isEqualTo(1);
+        assertThat(run.getBytesReclaimed()).isEqualTo(20);
+        verify(s3Service).deleteFiles(List.of("products/orphan.jpg"));
+        verify(lease, times(2)).checkpoint();
+    }
+
+    @Test
+    @DisplayName("stops without touching the run once the lease is taken over")
+    void stopsWhenLeaseIsLost() {
+        stubPass();
+        given(runRepository.findFirstByStatusNotOrderByStartedAtDesc(StorageGcStatus.COMPLETED)).willReturn(Optional.empty());
+        given(s3Service.listFiles(null, 2)).willReturn(List.of(
+                new StoredObjectDto("products/orphan.jpg", 20, old),
+                new StoredObjectDto("products/other.jpg", 20, old)));
+        given(s3Service.listFiles("products/other.jpg", 2)).willReturn(List.of(
+                new StoredObjectDto("products/orphan2.jpg", 20, old)));
+        given(s3Service.deleteFiles(anyList())).willAnswer(invocation -> invocation.getArgument(0));
+        willDoNothing().willThrow(new LeaseLostException("taken over")).given(lease).checkpoint();
+
+        assertThatThrownBy(() -> collector.collect(lease)).isInstanceOf(LeaseLostException.class);
+
+        verify(s3Service, times(1)).deleteFiles(anyList());
+        verify(runRepository, never()).save(argThat(run -> run.getStatus() == StorageGcStatus.FAILED));
+    }
+
+    @Test
+    @DisplayName("does not start a triggered pass while another node holds the lease")
+    void refusesTriggerWhenLeaseIsHeld() {
+        given(jobCoordinator.runExclusive(anyString(), any())).willReturn(false);
+
+        assertThat(collector.startAsync()).isFalse();
+        verify(jobCoordinator).runExclusive(eq("storage-gc"), any());
+    }
+
+    @Test
+    @DisplayName("resumes an interrupted run after its last checkpointed key")
+    void resumesInterruptedRun() {
+        stubPass();
+        StorageGcRun interrupted = new StorageGcRun();
+        interrupted.setId(UUID.randomUUID());
+        interrupted.setStatus(StorageGcStatus.FAILED);
+        interrupted.setStartedAt(LocalDateTime.now().minusHours(1));
+        interrupted.setLastKey("products/m.jpg");
+        interrupted.setObjectsScanned(500);
+        given(runRepository.findFirstByStatusNotOrderByStartedAtDesc(StorageGcStatus.COMPLETED)).willReturn(Optional.of(interrupted));
+        given(s3Service.listFiles(eq("products/m.jpg"), eq(2))).willReturn(List.of());
+
+        StorageGcRun run = collector.collect(lease).orElseThrow();
+
+        assertThat(run.getId()).isEqualTo(interrupted.getId());
+        assertThat(run.getStatus()).isEqualTo(StorageGcStatus.COMPLETED);
+        assertThat(run.getObjectsScanned()).isEqualTo(500);
+        verify(s3Service, never()).deleteFiles(anyList());
+    }
+}
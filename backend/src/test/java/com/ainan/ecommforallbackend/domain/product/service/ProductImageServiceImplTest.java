@@ -0,0 +1,79 @@
+package com.ainan.ecommforallbackend.domain.product.service;
+
+import com.ainan.ecommforallbackend.core.exception.ResourceNotFoundException;
+import com.ainan.ecommforallbackend.domain.order.dto.ImageSortOrderDto;
+import com.ainan.ecommforallbackend.domain.product.dto.ProductImageDto;
+import com.ainan.ecommforallbackend.domain.product.mapper.ProductImageMapper;
+import com.ainan.ecommforallbackend.domain.product.repository.ProductImageRepository;
+import com.ainan.ecommforallbackend.domain.product.repository.ProductRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProductImageServiceImpl Unit Tests")
+class ProductImageServiceImplTest {
+
+    @Mock
+    private ProductImageRepository productImageRepository;
+    @Mock
+    private ProductRepository productRepository;
+    @Mock
+    private ProductImageMapper productImageMapper;
+    @Mock
+    private S3Service s3Service;
+
+    @InjectMocks
+    private ProductImageServiceImpl productImageService;
+
+    private final UUID productId = UUID.randomUUID();
+
+    @Nested
+    @DisplayName("updateImagesOrder()")
+    class UpdateImagesOrder {
+        private final ImageSortOrderDto order = new ImageSortOrderDto();
+
+        @Test
+        @DisplayName("fails for an unknown product without touching images")
+        void failsForMissingProduct() {
+            given(productRepository.existsById(productId)).willReturn(false);
+
+            assertThatThrownBy(() -> productImageService.updateImagesOrder(productId, List.of(order)))
+                    .isInstanceOf(ResourceNotFoundException.class)
+                    .hasMessageContaining(productId.toString());
+            verify(productImageRepository, never()).reorderImages(any(), any());
+        }
+
+        @Test
+        @DisplayName("returns the new ordering with presigned image URLs")
+        void presignsReturnedRows() {
+            UUID imageId = UUID.randomUUID();
+            given(productRepository.existsById(productId)).willReturn(true);
+            given(productImageRepository.reorderImages(productId, List.of(order))).willReturn(List.of(
+                    new ProductImageDto(imageId, productId, "https://bucket.s3.amazonaws.com/products/a.jpg", null, 0, 2L)));
+            given(s3Service.generatePresignedDownloadUrl("products/a.jpg", 60)).willReturn("https://signed/a.jpg");
+
+            List<ProductImageDto> ordering = productImageService.updateImagesOrder(productId, List.of(order));
+
+            assertThat(ordering).singleElement().satisfies(image -> {
+                assertThat(image.getId()).isEqualTo(imageId);
+                assertThat(image.getImageUrl()).isEqualTo("https://signed/a.jpg");
+                assertThat(image.getVersion()).isEqualTo(2L);
+            });
+        }
+    }
+}
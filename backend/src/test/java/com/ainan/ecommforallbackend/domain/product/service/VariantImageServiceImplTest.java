@@ -0,0 +1,80 @@
+package com.ainan.ecommforallbackend.domain.product.service;
+
+import com.ainan.ecommforallbackend.core.exception.ResourceNotFoundException;
+import com.ainan.ecommforallbackend.domain.order.dto.ImageSortOrderDto;
+import com.ainan.ecommforallbackend.domain.product.dto.VariantImageDto;
+import com.ainan.ecommforallbackend.domain.product.mapper.VariantImageMapper;
+import com.ainan.ecommforallbackend.domain.product.repository.VariantImageRepository;
+import com.ainan.ecommforallbackend.domain.product.repository.ProductVariantRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("VariantImageServiceImpl Unit Tests")
+class VariantImageServiceImplTest {
+
+    @Mock
+    private VariantImageRepository variantImageRepository;
+    @Mock
+    private ProductVariantRepository productVariantRepository;
+    @Mock
+    private VariantImageMapper variantImageMapper;
+    @Mock
+    private S3Service s3Service;
+
+    @InjectMocks
+    private VariantImageServiceImpl variantImageService;
+
+    private final UUID productId = UUID.randomUUID();
+    private final UUID variantId = UUID.randomUUID();
+
+    @Nested
+    @DisplayName("updateImagesOrder()")
+    class UpdateImagesOrder {
+        private final ImageSortOrderDto order = new ImageSortOrderDto();
+
+        @Test
+        @DisplayName("fails for an unknown variant, or one of another product, without touching images")
+        void failsForMissingVariant() {
+            given(productVariantRepository.existsByIdAndProductId(variantId, productId)).willReturn(false);
+
+            assertThatThrownBy(() -> variantImageService.updateImagesOrder(productId, variantId, List.of(order)))
+                    .isInstanceOf(ResourceNotFoundException.class)
+                    .hasMessageContaining(variantId.toString());
+            verify(variantImageRepository, never()).reorderImages(any(), any());
+        }
+
+        @Test
+        @DisplayName("returns the new ordering with presigned image URLs")
+        void presignsReturnedRows() {
+            UUID imageId = UUID.randomUUID();
+            given(productVariantRepository.existsByIdAndProductId(variantId, productId)).willReturn(true);
+            given(variantImageRepository.reorderImages(variantId, List.of(order))).willReturn(List.of(
+                    new VariantImageDto(imageId, variantId, "https://bucket.s3.amazonaws.com/variants/a.jpg", null, 0, 2L)));
+            given(s3Service.generatePresignedDownloadUrl("variants/a.jpg", 60)).willReturn("https://signed/a.jpg");
+
+            List<VariantImageDto> ordering = variantImageService.updateImagesOrder(productId, variantId, List.of(order));
+
+            assertThat(ordering).singleElement().satisfies(image -> {
+                assertThat(image.getId()).isEqualTo(imageId);
+                assertThat(image.getImageUrl()).isEqualTo("https://signed/a.jpg");
+                assertThat(image.getVersion()).isEqualTo(2L);
+            });
+        }
+    }
+}
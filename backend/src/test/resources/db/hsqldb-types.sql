@@ -0,0 +1,3 @@
+-- PostgreSQL column types used by the entities, so Hibernate can create their tables in HSQLDB
+CREATE DOMAIN jsonb AS VARCHAR(4000);
+CREATE DOMAIN text AS LONGVARCHAR;
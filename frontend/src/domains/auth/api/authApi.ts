@@ -14,6 +14,8 @@ export async function login(data: LoginFormValues) {
         method: "POST",
         headers: { "Content-Type": "application/json" },
         body: JSON.stringify(data),
+        // Sends the guest cart cookie so the guest cart is merged into the user's cart
+        credentials: "include",
     });
     if (!response.ok) {
         const errorData = await response.json().catch(() => ({}));
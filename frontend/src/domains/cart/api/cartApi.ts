@@ -3,6 +3,8 @@ import { API } from "../../../config/api";
 import {
     Cart,
     CartItem,
+    CartSummary,
+    CartItemOperation,
     AddToCartRequest,
     UpdateCartItemRequest,
 } from "../types";
@@ -31,6 +33,31 @@ export async function getCart(): Promise<Cart> {
     return response.json();
 }
 
+/**
+ * Get item count and totals of the current user's cart
+ */
+export async function getCartSummary(region?: string): Promise<CartSummary> {
+    const token = localStorage.getItem("authToken");
+
+    if (!token) {
+        throw new Error("Authentication required");
+    }
+
+    const query = region ? `?region=${encodeURIComponent(region)}` : "";
+    const response = await fetch(`${API.BASE_URL}/cart/summary${query}`, {
+        method: "GET",
+        headers: {
+            Authorization: `Bearer ${token}`,
+        },
+    });
+
+    if (!response.ok) {
+        throw new Error(`Failed to fetch cart summary: ${response.status}`);
+    }
+
+    return response.json();
+}
+
 /**
  * Add item to cart
  */
@@ -60,6 +87,94 @@ export async function addToCart(request: AddToCartRequest): Promise<CartItem> {
     return response.json();
 }
 
+/**
+ * Apply several add/set/remove operations in one request, e.g. "add all to cart" or re-order.
+ * Returns the resulting cart.
+ */
+export async function applyCartOperations(
+    operations: CartItemOperation[]
+): Promise<Cart> {
+    const token = localStorage.getItem("authToken");
+
+    if (!token) {
+        throw new Error("Authentication required");
+    }
+
+    const response = await fetch(`${API.BASE_URL}/cart/items/bulk`, {
+        method: "POST",
+        headers: {
+            Authorization: `Bearer ${token}`,
+            "Content-Type": "application/json",
+        },
+        body: JSON.stringify({ operations }),
+    });
+
+    if (!response.ok) {
+        const errorData = await response.json().catch(() => ({}));
+        throw new Error(
+            errorData.message || `Failed to update cart: ${response.status}`
+        );
+    }
+
+    return response.json();
+}
+
+/**
+ * Get the cart of a shopper who is not logged in, identified by the guest cart cookie
+ */
+export async function getGuestCart(): Promise<Cart> {
+    const response = await fetch(`${API.BASE_URL}/cart/guest`, {
+        method: "GET",
+        credentials: "include",
+    });
+
+    if (!response.ok) {
+        throw new Error(`Failed to fetch guest cart: ${response.status}`);
+    }
+
+    return response.json();
+}
+
+/**
+ * Apply add, set and remove operations to the guest cart; it is merged into
+ * the user's cart on login
+ */
+export async function applyGuestCartOperations(
+    operations: CartItemOperation[]
+): Promise<Cart> {
+    const response = await fetch(`${API.BASE_URL}/cart/guest/items/bulk`, {
+        method: "POST",
+        headers: {
+            "Content-Type": "application/json",
+        },
+        credentials: "include",
+        body: JSON.stringify({ operations }),
+    });
+
+    if (!response.ok) {
+        const errorData = await response.json().catch(() => ({}));
+        throw new Error(
+            errorData.message || `Failed to update guest cart: ${response.status}`
+        );
+    }
+
+    return response.json();
+}
+
+/**
+ * Forget the guest cart
+ */
+export async function clearGuestCart(): Promise<void> {
+    const response = await fetch(`${API.BASE_URL}/cart/guest`, {
+        method: "DELETE",
+        credentials: "include",
+    });
+
+    if (!response.ok) {
+        throw new Error(`Failed to clear guest cart: ${response.status}`);
+    }
+}
+
 /**
  * Update cart item quantity
  */
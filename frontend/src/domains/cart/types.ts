@@ -27,12 +27,33 @@ export interface Cart {
     status: boolean; // true for active, false for archived
 }
 
+// Badge count and priced totals, summed server-side without loading the items
+export interface CartSummary {
+    itemCount: number;
+    lineCount: number;
+    subtotal: number;
+    discount: number;
+    shippingCost: number;
+    tax: number;
+    totalAmount: number;
+}
+
 export interface AddToCartRequest {
     productId: string;
     variantId?: string;
     quantity: number;
 }
 
+export type CartOperationType = "ADD" | "SET" | "REMOVE";
+
+// Lines are addressed by product and variant; quantity is required for ADD and SET
+export interface CartItemOperation {
+    type: CartOperationType;
+    productId: string;
+    variantId?: string;
+    quantity?: number;
+}
+
 export interface UpdateCartItemRequest {
     quantity: number;
 }
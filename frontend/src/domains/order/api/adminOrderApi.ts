@@ -1,5 +1,6 @@
 import { API } from "../../../config/api";
 import {
+    BulkOrderUpdateResult,
     Order,
     OrdersResponse,
     OrderQueryParams,
@@ -330,8 +331,9 @@ export async function updatePaymentStatus(
 export async function bulkUpdateOrderStatus(
     orderIds: string[],
     status: OrderStatus,
-    notes?: string
-): Promise<Order[]> {
+    trackingNumber?: string,
+    shippingCarrier?: string
+): Promise<BulkOrderUpdateResult> {
     const token = localStorage.getItem("authToken");
 
     if (!token) {
@@ -344,7 +346,12 @@ export async function bulkUpdateOrderStatus(
             "Content-Type": "application/json",
             Authorization: `Bearer ${token}`,
         },
-        body: JSON.stringify({ orderIds, status, notes }),
+        body: JSON.stringify({
+            orderIds,
+            status,
+            trackingNumber,
+            shippingCarrier,
+        }),
     });
 
     if (!response.ok) {
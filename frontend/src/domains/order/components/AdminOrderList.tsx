@@ -264,8 +264,8 @@ export function AdminOrderList({
                                             </Table.Td>
                                             <Table.Td>
                                                 <Text size="sm">
-                                                    {order.items.length} item
-                                                    {order.items.length !== 1
+                                                    {order.itemCount ?? order.items.length} item
+                                                    {(order.itemCount ?? order.items.length) !== 1
                                                         ? "s"
                                                         : ""}
                                                 </Text>
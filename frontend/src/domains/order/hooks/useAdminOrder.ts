@@ -288,13 +288,21 @@ export function useBulkUpdateOrderStatus() {
         mutationFn: ({
             orderIds,
             status,
-            notes,
+            trackingNumber,
+            shippingCarrier,
         }: {
             orderIds: string[];
             status: OrderStatus;
-            notes?: string;
-        }) => bulkUpdateOrderStatus(orderIds, status, notes),
-        onSuccess: (updatedOrders) => {
+            trackingNumber?: string;
+            shippingCarrier?: string;
+        }) =>
+            bulkUpdateOrderStatus(
+                orderIds,
+                status,
+                trackingNumber,
+                shippingCarrier
+            ),
+        onSuccess: (result) => {
             // Invalidate all orders queries
             queryClient.invalidateQueries({ queryKey: ["admin", "orders"] });
             queryClient.invalidateQueries({ queryKey: ["seller", "orders"] });
@@ -305,7 +313,7 @@ export function useBulkUpdateOrderStatus() {
 
             notifications.show({
                 title: "Bulk Update Successful",
-                message: `${updatedOrders.length} orders have been updated`,
+                message: `${result.updated} of ${result.results.length} orders have been updated`,
                 color: "green",
             });
         },
@@ -117,6 +117,7 @@ export interface Order {
     discountAmount?: number;
     createdAt: string;
     updatedAt: string;
+    itemCount?: number; // Set by list endpoints, which leave items out
 
     // Full details - only available in detailed views
     items: OrderItem[];
@@ -156,6 +157,22 @@ export interface UpdateOrderRequest {
     notes?: string;
 }
 
+// Bulk Update Result Interface (one line per requested order)
+export interface BulkOrderUpdateResult {
+    updated: number;
+    results: Array<{
+        orderId: string;
+        outcome:
+            | "UPDATED"
+            | "UNCHANGED"
+            | "NOT_FOUND"
+            | "INVALID_TRANSITION"
+            | "CONFLICT";
+        previousStatus?: string;
+        message?: string;
+    }>;
+}
+
 // Orders Response Interface (for paginated results)
 export interface OrdersResponse {
     content: OrderSummary[]; // Changed from Order[] to OrderSummary[]